@@ -0,0 +1,190 @@
+package raisetech.student.management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.student.management.config.StudentDetailCacheProperties;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.event.StudentDataChangedEvent;
+
+/**
+ * 受講生IDごとに組み立て済みの受講生詳細を保持する読み込み型（read-through）のキャッシュです。
+ * キャッシュにない受講生詳細は呼び出し側が渡した処理で読み込み、次回以降はキャッシュから返します。
+ * 受講生データの登録・更新がコミットされると、その受講生のエントリを破棄します。
+ * ヒット・ミス・破棄の件数は cache.* メトリクス（cache=studentDetails）として記録します。
+ */
+@Component
+public class StudentDetailCache {
+
+  static final String CACHE_NAME = "studentDetails";
+
+  /** 世代番号を分散させる区画数 */
+  private static final int GENERATION_STRIPES = 64;
+
+  private final boolean enabled;
+  private final Cache<Integer, StudentDetail> cache;
+
+  /**
+   * 受講生IDの区画ごとに、破棄のたびに進める世代番号。
+   * 読み込み中に同じ区画で破棄が行われた場合、更新前のデータを読んだ可能性がある受講生詳細をキャッシュに残さないために使います。
+   */
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+  @Autowired
+  public StudentDetailCache(StudentDetailCacheProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.isEnabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getTimeToLive())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * 受講生IDに対応する受講生詳細を取得します。
+   * キャッシュになければloaderで読み込み、受講生が存在すればキャッシュします。
+   *
+   * @param studentId 受講生ID
+   * @param loader キャッシュにない場合に受講生詳細を読み込む処理。受講生が存在しなければnullを返すこと
+   * @return 受講生詳細。受講生が存在しなければnull
+   */
+  public StudentDetail getStudentDetail(int studentId, IntFunction<StudentDetail> loader) {
+    if (!enabled) {
+      return loader.apply(studentId);
+    }
+
+    StudentDetail cached = cache.getIfPresent(studentId);
+    if (cached != null) {
+      return cached;
+    }
+
+    long loadedGeneration = generations.get(stripe(studentId));
+    StudentDetail loaded = loader.apply(studentId);
+    return loaded == null ? null : putIfNotInvalidated(studentId, loaded, loadedGeneration);
+  }
+
+  /**
+   * 受講生IDのリストに対応する受講生詳細をまとめて取得します。
+   * キャッシュにない受講生IDだけをまとめてloaderに渡して読み込み、読み込んだ受講生詳細をキャッシュします。
+   *
+   * @param studentIds 受講生IDのリスト
+   * @param loader キャッシュにない受講生IDのリストから、受講生IDをキーとする受講生詳細のMapを読み込む処理
+   * @return 受講生IDをキーとする受講生詳細のMap。受講生が存在しないIDは含まない
+   */
+  public Map<Integer, StudentDetail> getStudentDetails(List<Integer> studentIds,
+      Function<List<Integer>, Map<Integer, StudentDetail>> loader) {
+    if (!enabled) {
+      return loader.apply(studentIds);
+    }
+
+    Map<Integer, StudentDetail> result = new HashMap<>(cache.getAllPresent(studentIds));
+    List<Integer> missingIds = studentIds.stream()
+        .filter(id -> !result.containsKey(id))
+        .distinct()
+        .toList();
+    if (missingIds.isEmpty()) {
+      return result;
+    }
+
+    Map<Integer, Long> loadedGenerations = new HashMap<>();
+    for (Integer studentId : missingIds) {
+      loadedGenerations.put(studentId, generations.get(stripe(studentId)));
+    }
+    loader.apply(missingIds).forEach((studentId, detail) -> result.put(studentId,
+        putIfNotInvalidated(studentId, detail, loadedGenerations.get(studentId))));
+    return result;
+  }
+
+  /**
+   * 受講生IDのリストのうち、キャッシュにある受講生詳細だけを返します。キャッシュにない受講生詳細の読み込みは行いません。
+   *
+   * @param studentIds 受講生IDのリスト
+   * @return 受講生IDをキーとする受講生詳細のMap。キャッシュが無効なら空のMap
+   */
+  public Map<Integer, StudentDetail> getPresentStudentDetails(List<Integer> studentIds) {
+    return enabled ? cache.getAllPresent(studentIds) : Map.of();
+  }
+
+  /**
+   * 受講生データの登録・更新がコミットされたとき、変更された受講生のエントリをまとめて破棄します。
+   *
+   * @param event 受講生データ変更イベント
+   */
+  @Order(StudentDataChangedEvent.CACHE_LISTENER_ORDER)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentDataChanged(StudentDataChangedEvent event) {
+    List<Integer> studentIds = event.getStudentIds();
+    if (studentIds == null) {
+      invalidateAll();
+      return;
+    }
+    for (int studentId : studentIds) {
+      generations.incrementAndGet(stripe(studentId));
+    }
+    cache.invalidateAll(studentIds);
+  }
+
+  /**
+   * 全てのエントリを破棄します。
+   */
+  public void invalidateAll() {
+    for (int i = 0; i < GENERATION_STRIPES; i++) {
+      generations.incrementAndGet(i);
+    }
+    cache.invalidateAll();
+  }
+
+  /**
+   * 保留中の破棄処理を実行します。件数上限による破棄は非同期に行われるため、テストで破棄件数を確定させるために使います。
+   */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  /**
+   * ヒット・ミス・破棄の件数などの統計情報を返します。
+   * @return 統計情報
+   */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  /**
+   * 読み込み開始時から世代番号が変わっていなければ、受講生詳細をキャッシュに登録します。
+   * 破棄は世代番号を進めてからエントリを削除するため、読み込み中に破棄された受講生詳細は登録されません。
+   * 呼び出し側が後から変更できないよう、受講生コースのリストは変更不可のコピーにして保持します。
+   *
+   * @param studentId 受講生ID
+   * @param detail 読み込んだ受講生詳細
+   * @param loadedGeneration 読み込み開始時の世代番号
+   * @return キャッシュに登録する形に変換した受講生詳細
+   */
+  private StudentDetail putIfNotInvalidated(Integer studentId, StudentDetail detail,
+      long loadedGeneration) {
+    StudentDetail frozen = new StudentDetail(detail.getStudent(), List.copyOf(detail.getStudentCourses()));
+    int stripe = stripe(studentId);
+    // 世代番号の確認と登録を同じキーの破棄と排他して行い、破棄の直後に古い受講生詳細が残らないようにする
+    cache.asMap().compute(studentId,
+        (id, current) -> generations.get(stripe) == loadedGeneration ? frozen : current);
+    return frozen;
+  }
+
+  private static int stripe(int studentId) {
+    return Math.floorMod(studentId, GENERATION_STRIPES);
+  }
+
+}
@@ -0,0 +1,257 @@
+package raisetech.student.management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+
+/**
+ * 検索条件を列ごとの条件に分け、条件ごとに一致した受講生IDを圧縮ビットマップで保持するキャッシュです。
+ * 「削除されていない」「受講中のコースがある」のように多くの検索で繰り返し使われる条件の結果を使い回し、
+ * キャッシュにない条件だけをDBで検索して、ビットマップの共通部分から検索結果を求めます。
+ * キャッシュにある条件の共通部分が少数の受講生に絞られている場合、キャッシュにない条件はその受講生だけをDBで判定し、
+ * 判定結果はキャッシュしません。
+ * 受講生データの登録・更新がコミットされると、エントリは破棄せずにその受講生を再判定待ちにし、
+ * 次にエントリが使われたときに再判定待ちの受講生だけをDBで判定し直します。
+ * ヒット・ミス・破棄の件数は cache.* メトリクス（cache=studentFilterBitmaps）として、
+ * 保持しているビットマップの大きさは student.search.filter-cache.size メトリクスとして記録します。
+ */
+@Component
+public class StudentFilterBitmapCache {
+
+  static final String CACHE_NAME = "studentFilterBitmaps";
+
+  private final boolean enabled;
+  private final int maxStaleStudentIds;
+  private final int loadPageSize;
+  private final int narrowMaxStudentIds;
+  private final Cache<StudentSearchCriteria, Entry> cache;
+
+  /**
+   * 受講生データの変更のたびに進める世代番号。
+   * 読み込み中に変更がコミットされた場合、変更前のデータを読んだ可能性があるビットマップをキャッシュに残さないために使います。
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  @Autowired
+  public StudentFilterBitmapCache(StudentSearchProperties searchProperties,
+      MeterRegistry meterRegistry) {
+    StudentSearchProperties.FilterCache properties = searchProperties.getFilterCache();
+    this.enabled = properties.isEnabled();
+    this.maxStaleStudentIds = properties.getMaxStaleStudentIds();
+    this.loadPageSize = properties.getLoadPageSize();
+    this.narrowMaxStudentIds = properties.getNarrowMaxStudentIds();
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(properties.getMaximumSize().toBytes())
+        .weigher((StudentSearchCriteria criteria, Entry entry) -> entry.weight())
+        .expireAfterWrite(properties.getTimeToLive())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    Gauge.builder("student.search.filter-cache.size", this, StudentFilterBitmapCache::estimatedSizeInBytes)
+        .description("条件ごとのビットマップキャッシュが保持しているビットマップの大きさの概算")
+        .baseUnit(BaseUnits.BYTES)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 検索条件に一致する受講生IDを受講生ID順に返します。ページング条件（afterStudentId, limit）も適用します。
+   * 列ごとの条件のうち、キャッシュにある条件を先に組み合わせ、一致する受講生がいなくなればDBでは検索しません。
+   * キャッシュにない条件は1つずつ、それまでの共通部分が narrowMaxStudentIds 件以下ならその受講生だけをloaderで判定し、
+   * そうでなければloaderで一定件数ずつ全件検索してビットマップにしてキャッシュします。
+   *
+   * @param criteria 正規化済みの検索条件
+   * @param loader 列ごとの条件に一致する受講生IDを、ページング条件（afterStudentId, limit）に従って受講生ID順に検索する処理
+   * @return 条件に一致する受講生IDのリスト
+   */
+  public List<Integer> findMatchedStudentIds(StudentSearchCriteria criteria,
+      Function<StudentSearchCriteria, List<Integer>> loader) {
+    List<StudentSearchCriteria> parts = criteria.splitByField();
+    if (!enabled || parts.isEmpty()) {
+      return loader.apply(criteria);
+    }
+
+    StudentIdBitmap matched = null;
+    List<StudentSearchCriteria> missingParts = new ArrayList<>();
+    for (StudentSearchCriteria part : parts) {
+      Entry entry = cache.getIfPresent(part);
+      if (entry == null) {
+        missingParts.add(part);
+        continue;
+      }
+      StudentIdBitmap bitmap = refresh(part, entry, loader);
+      matched = matched == null ? bitmap : matched.and(bitmap);
+      if (matched.isEmpty()) {
+        return List.of();
+      }
+    }
+    for (StudentSearchCriteria part : missingParts) {
+      StudentIdBitmap bitmap = matched != null && matched.cardinality() <= narrowMaxStudentIds
+          ? narrow(part, matched, loader)
+          : load(part, loader);
+      matched = matched == null ? bitmap : matched.and(bitmap);
+      if (matched.isEmpty()) {
+        return List.of();
+      }
+    }
+
+    int limit = criteria.getLimit() == null ? Integer.MAX_VALUE : criteria.getLimit();
+    return matched.toList(criteria.getAfterStudentId(), limit);
+  }
+
+  /**
+   * 保持しているビットマップの大きさの概算を返します。
+   * @return バイト数
+   */
+  public long estimatedSizeInBytes() {
+    return cache.asMap().values().stream().mapToLong(Entry::weight).sum();
+  }
+
+  /**
+   * 受講生データの登録・更新がコミットされたとき、全てのエントリで変更された受講生をまとめて再判定待ちにします。
+   * 再判定待ちが上限件数を超えたエントリと、受講生を特定できない変更の場合は破棄します。
+   *
+   * @param event 受講生データ変更イベント
+   */
+  @Order(StudentDataChangedEvent.CACHE_LISTENER_ORDER)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentDataChanged(StudentDataChangedEvent event) {
+    generation.incrementAndGet();
+    List<Integer> studentIds = event.getStudentIds();
+    if (studentIds == null) {
+      cache.invalidateAll();
+      return;
+    }
+    if (studentIds.isEmpty()) {
+      return;
+    }
+    for (StudentSearchCriteria key : cache.asMap().keySet()) {
+      cache.asMap().computeIfPresent(key, (criteria, entry) ->
+          entry.staleStudentIds.size() + studentIds.size() > maxStaleStudentIds
+              ? null : entry.withStale(studentIds));
+    }
+  }
+
+  /**
+   * 全てのエントリを破棄します。
+   */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private StudentIdBitmap load(StudentSearchCriteria part,
+      Function<StudentSearchCriteria, List<Integer>> loader) {
+    long loadedGeneration = generation.get();
+    StudentIdBitmap bitmap = loadInPages(part, loader);
+    // loaderが索引で絞り込んだ候補をキャッシュのキーに残さない
+    part.restrictToStudentIds(null);
+    Entry loaded = new Entry(bitmap, Set.of());
+    // 世代番号の確認と登録を同じキーの更新と排他して行い、変更の直後に古いビットマップが残らないようにする
+    cache.asMap().compute(part,
+        (key, current) -> generation.get() == loadedGeneration ? loaded : current);
+    return bitmap;
+  }
+
+  /**
+   * キャッシュにない条件を、それまでの共通部分に含まれる受講生だけに限定してloaderで判定します。
+   * 判定結果は共通部分に限った一部の受講生のものなので、キャッシュしません。
+   */
+  private StudentIdBitmap narrow(StudentSearchCriteria part, StudentIdBitmap matched,
+      Function<StudentSearchCriteria, List<Integer>> loader) {
+    // partはsplitByFieldで作られた呼び出しごとのインスタンスのため、キャッシュのキーに影響せず候補を設定できる
+    part.restrictToStudentIds(matched.toList(null, Integer.MAX_VALUE));
+    StudentIdBitmap narrowed = StudentIdBitmap.of(loader.apply(part)).and(matched);
+    part.restrictToStudentIds(null);
+    return narrowed;
+  }
+
+  /**
+   * 条件に一致する受講生IDを loadPageSize 件ずつ受講生ID順に読み込み、読み込んだ分からビットマップに加えます。
+   * 一致する受講生が多い条件でも、全件の受講生IDのリストをメモリに載せずに済みます。
+   * 読み込みのために設定したページング条件は、キャッシュのキーに残さないよう最後に戻します。
+   */
+  private StudentIdBitmap loadInPages(StudentSearchCriteria part,
+      Function<StudentSearchCriteria, List<Integer>> loader) {
+    StudentIdBitmap bitmap = StudentIdBitmap.EMPTY;
+    Integer afterStudentId = null;
+    try {
+      while (true) {
+        part.applyPage(afterStudentId, loadPageSize);
+        List<Integer> page = loader.apply(part);
+        bitmap = bitmap.or(StudentIdBitmap.of(page));
+        if (page.size() < loadPageSize) {
+          return bitmap;
+        }
+        afterStudentId = page.get(page.size() - 1);
+      }
+    } finally {
+      part.applyPage(null, null);
+    }
+  }
+
+  /**
+   * 再判定待ちの受講生があれば、その受講生だけをloaderで判定し直したビットマップを返します。
+   * 判定中に新たな変更がなければ、判定し直したビットマップでエントリを置き換えます。
+   */
+  private StudentIdBitmap refresh(StudentSearchCriteria part, Entry entry,
+      Function<StudentSearchCriteria, List<Integer>> loader) {
+    if (entry.staleStudentIds.isEmpty()) {
+      return entry.bitmap;
+    }
+    StudentIdBitmap stale = StudentIdBitmap.of(entry.staleStudentIds);
+    // partはsplitByFieldで作られた呼び出しごとのインスタンスのため、キャッシュのキーに影響せず候補を設定できる
+    part.restrictToStudentIds(stale.toList(null, Integer.MAX_VALUE));
+    StudentIdBitmap rechecked = StudentIdBitmap.of(loader.apply(part)).and(stale);
+    part.restrictToStudentIds(null);
+
+    StudentIdBitmap bitmap = entry.bitmap.andNot(stale).or(rechecked);
+    cache.asMap().replace(part, entry, new Entry(bitmap, Set.of()));
+    return bitmap;
+  }
+
+  /**
+   * キャッシュのエントリ。同一性で比較するため、equalsは実装しません。
+   */
+  private static final class Entry {
+
+    private final StudentIdBitmap bitmap;
+
+    /** 変更がコミットされ、ビットマップでの判定が古くなっている可能性のある受講生ID */
+    private final Set<Integer> staleStudentIds;
+
+    Entry(StudentIdBitmap bitmap, Set<Integer> staleStudentIds) {
+      this.bitmap = bitmap;
+      this.staleStudentIds = staleStudentIds;
+    }
+
+    Entry withStale(Collection<Integer> studentIds) {
+      Set<Integer> stale = new HashSet<>(staleStudentIds);
+      stale.addAll(studentIds);
+      return new Entry(bitmap, Set.copyOf(stale));
+    }
+
+    int weight() {
+      long bytes = bitmap.sizeInBytes() + staleStudentIds.size() * 32L;
+      return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+  }
+
+}
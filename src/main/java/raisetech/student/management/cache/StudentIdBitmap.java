@@ -0,0 +1,424 @@
+package raisetech.student.management.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 受講生IDの集合を圧縮して保持するビットマップです（Roaring Bitmap 方式）。
+ * 受講生IDの上位16ビットごとにコンテナを分け、要素数が4096件以下のコンテナは下位16ビットの昇順の配列、
+ * それを超えるコンテナは65536ビットのビット列で保持します。
+ * 疎な範囲は配列、密な範囲はビット列になるため、どちらでも1件あたり2バイト程度に収まります。
+ * 変更不可のオブジェクトで、集合演算は新しいインスタンスを返します。受講生IDは0以上であることを前提とします。
+ */
+final class StudentIdBitmap {
+
+  /** 配列で保持するコンテナの最大要素数。これを超えるとビット列の方が小さくなる */
+  private static final int ARRAY_CONTAINER_MAX = 4096;
+
+  /** ビット列のコンテナの語数（65536ビット） */
+  private static final int BITMAP_WORDS = 1024;
+
+  /** オブジェクトヘッダと参照の大きさの概算 */
+  private static final int OBJECT_OVERHEAD_BYTES = 16;
+
+  static final StudentIdBitmap EMPTY = new StudentIdBitmap(new int[0], new Container[0]);
+
+  /** コンテナのキー（受講生IDの上位16ビット）。昇順 */
+  private final int[] keys;
+
+  /** キーと同じ添字のコンテナ */
+  private final Container[] containers;
+
+  private StudentIdBitmap(int[] keys, Container[] containers) {
+    this.keys = keys;
+    this.containers = containers;
+  }
+
+  /**
+   * 受講生IDのコレクションからビットマップを作ります。順序と重複は問いません。
+   * @param studentIds 受講生ID
+   * @return ビットマップ
+   */
+  static StudentIdBitmap of(Collection<Integer> studentIds) {
+    int[] ids = studentIds.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+    int[] newKeys = new int[ids.length];
+    Container[] newContainers = new Container[ids.length];
+    int size = 0;
+    int i = 0;
+    while (i < ids.length) {
+      int key = ids[i] >>> 16;
+      int end = i;
+      while (end < ids.length && ids[end] >>> 16 == key) {
+        end++;
+      }
+      int count = end - i;
+      if (count <= ARRAY_CONTAINER_MAX) {
+        char[] values = new char[count];
+        for (int k = 0; k < count; k++) {
+          values[k] = (char) ids[i + k];
+        }
+        newContainers[size] = new ArrayContainer(values);
+      } else {
+        long[] words = new long[BITMAP_WORDS];
+        for (int k = i; k < end; k++) {
+          words[(ids[k] & 0xFFFF) >>> 6] |= 1L << ids[k];
+        }
+        newContainers[size] = new BitmapContainer(words, count);
+      }
+      newKeys[size++] = key;
+      i = end;
+    }
+    return new StudentIdBitmap(Arrays.copyOf(newKeys, size), Arrays.copyOf(newContainers, size));
+  }
+
+  /**
+   * 共通部分（AND）を返します。
+   * @param other もう一方のビットマップ
+   * @return 両方に含まれる受講生IDのビットマップ
+   */
+  StudentIdBitmap and(StudentIdBitmap other) {
+    int[] newKeys = new int[Math.min(keys.length, other.keys.length)];
+    Container[] newContainers = new Container[newKeys.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < keys.length && j < other.keys.length) {
+      if (keys[i] == other.keys[j]) {
+        Container container = containers[i].and(other.containers[j]);
+        if (container != null) {
+          newKeys[size] = keys[i];
+          newContainers[size++] = container;
+        }
+        i++;
+        j++;
+      } else if (keys[i] < other.keys[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return new StudentIdBitmap(Arrays.copyOf(newKeys, size), Arrays.copyOf(newContainers, size));
+  }
+
+  /**
+   * 和集合（OR）を返します。
+   * @param other もう一方のビットマップ
+   * @return どちらかに含まれる受講生IDのビットマップ
+   */
+  StudentIdBitmap or(StudentIdBitmap other) {
+    int[] newKeys = new int[keys.length + other.keys.length];
+    Container[] newContainers = new Container[newKeys.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < keys.length || j < other.keys.length) {
+      if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+        newKeys[size] = keys[i];
+        newContainers[size++] = containers[i++];
+      } else if (i == keys.length || other.keys[j] < keys[i]) {
+        newKeys[size] = other.keys[j];
+        newContainers[size++] = other.containers[j++];
+      } else {
+        newKeys[size] = keys[i];
+        newContainers[size++] = containers[i++].or(other.containers[j++]);
+      }
+    }
+    return new StudentIdBitmap(Arrays.copyOf(newKeys, size), Arrays.copyOf(newContainers, size));
+  }
+
+  /**
+   * 差集合を返します。
+   * @param other 取り除く受講生IDのビットマップ
+   * @return このビットマップにあり、otherにない受講生IDのビットマップ
+   */
+  StudentIdBitmap andNot(StudentIdBitmap other) {
+    int[] newKeys = new int[keys.length];
+    Container[] newContainers = new Container[keys.length];
+    int size = 0;
+    int j = 0;
+    for (int i = 0; i < keys.length; i++) {
+      while (j < other.keys.length && other.keys[j] < keys[i]) {
+        j++;
+      }
+      Container container = j < other.keys.length && other.keys[j] == keys[i]
+          ? containers[i].andNot(other.containers[j])
+          : containers[i];
+      if (container != null) {
+        newKeys[size] = keys[i];
+        newContainers[size++] = container;
+      }
+    }
+    return new StudentIdBitmap(Arrays.copyOf(newKeys, size), Arrays.copyOf(newContainers, size));
+  }
+
+  boolean contains(int studentId) {
+    int position = Arrays.binarySearch(keys, studentId >>> 16);
+    return position >= 0 && containers[position].contains((char) studentId);
+  }
+
+  boolean isEmpty() {
+    return keys.length == 0;
+  }
+
+  /**
+   * 含まれる受講生IDの件数を返します。
+   * @return 件数
+   */
+  int cardinality() {
+    int cardinality = 0;
+    for (Container container : containers) {
+      cardinality += container.cardinality();
+    }
+    return cardinality;
+  }
+
+  /**
+   * 保持しているデータの大きさの概算を返します。
+   * @return バイト数
+   */
+  long sizeInBytes() {
+    long bytes = OBJECT_OVERHEAD_BYTES * 3L + keys.length * (long) Integer.BYTES;
+    for (Container container : containers) {
+      bytes += container.sizeInBytes();
+    }
+    return bytes;
+  }
+
+  /**
+   * 受講生IDを昇順に、afterStudentIdより後ろから最大limit件のリストにして返します。
+   * @param afterStudentId この受講生IDより大きいIDだけを返す。nullなら先頭から
+   * @param limit 返す件数の上限
+   * @return 受講生IDのリスト
+   */
+  List<Integer> toList(Integer afterStudentId, int limit) {
+    List<Integer> studentIds = new ArrayList<>(Math.min(limit, 1024));
+    int from = afterStudentId == null ? 0 : afterStudentId + 1;
+    for (int i = 0; i < keys.length && studentIds.size() < limit; i++) {
+      if (keys[i] < from >>> 16) {
+        continue;
+      }
+      int fromLow = keys[i] == from >>> 16 ? from & 0xFFFF : 0;
+      containers[i].collect(keys[i] << 16, fromLow, studentIds, limit);
+    }
+    return studentIds;
+  }
+
+  /**====================
+   * コンテナ
+   *=====================*/
+
+  private abstract static class Container {
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    abstract long sizeInBytes();
+
+    /** 65536ビットのビット列に展開する */
+    abstract long[] toWords();
+
+    /** 下位16ビットがfromLow以上の値を、上位ビットを付けてlimit件までoutに追加する */
+    abstract void collect(int high, int fromLow, List<Integer> out, int limit);
+
+    /** 共通部分。空ならnull */
+    abstract Container and(Container other);
+
+    /** 差集合。空ならnull */
+    abstract Container andNot(Container other);
+
+    Container or(Container other) {
+      long[] words = toWords();
+      long[] otherWords = other.toWords();
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        words[i] |= otherWords[i];
+      }
+      return fromWords(words);
+    }
+
+    /** ビット列から、要素数に応じた種類のコンテナを作る。空ならnull */
+    static Container fromWords(long[] words) {
+      int cardinality = 0;
+      for (long word : words) {
+        cardinality += Long.bitCount(word);
+      }
+      if (cardinality == 0) {
+        return null;
+      }
+      if (cardinality > ARRAY_CONTAINER_MAX) {
+        return new BitmapContainer(words, cardinality);
+      }
+      char[] values = new char[cardinality];
+      int size = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        long word = words[i];
+        while (word != 0) {
+          values[size++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+      return new ArrayContainer(values);
+    }
+  }
+
+  /** 下位16ビットを昇順の配列で保持するコンテナ */
+  private static final class ArrayContainer extends Container {
+
+    private final char[] values;
+
+    ArrayContainer(char[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int cardinality() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    long sizeInBytes() {
+      return OBJECT_OVERHEAD_BYTES * 2L + values.length * (long) Character.BYTES;
+    }
+
+    @Override
+    long[] toWords() {
+      long[] words = new long[BITMAP_WORDS];
+      for (char value : values) {
+        words[value >>> 6] |= 1L << value;
+      }
+      return words;
+    }
+
+    @Override
+    void collect(int high, int fromLow, List<Integer> out, int limit) {
+      int position = Arrays.binarySearch(values, (char) fromLow);
+      for (int i = position >= 0 ? position : -position - 1;
+          i < values.length && out.size() < limit; i++) {
+        out.add(high | values[i]);
+      }
+    }
+
+    @Override
+    Container and(Container other) {
+      char[] result = new char[values.length];
+      int size = 0;
+      for (char value : values) {
+        if (other.contains(value)) {
+          result[size++] = value;
+        }
+      }
+      return size == 0 ? null : new ArrayContainer(Arrays.copyOf(result, size));
+    }
+
+    @Override
+    Container andNot(Container other) {
+      char[] result = new char[values.length];
+      int size = 0;
+      for (char value : values) {
+        if (!other.contains(value)) {
+          result[size++] = value;
+        }
+      }
+      return size == 0 ? null : new ArrayContainer(Arrays.copyOf(result, size));
+    }
+
+    @Override
+    Container or(Container other) {
+      if (!(other instanceof ArrayContainer array)
+          || values.length + array.values.length > ARRAY_CONTAINER_MAX) {
+        return super.or(other);
+      }
+      // 配列同士で合計が小さい場合は、ビット列に展開せずにマージする
+      char[] merged = new char[values.length + array.values.length];
+      int size = 0;
+      int i = 0;
+      int j = 0;
+      while (i < values.length || j < array.values.length) {
+        char next;
+        if (j == array.values.length || (i < values.length && values[i] < array.values[j])) {
+          next = values[i++];
+        } else if (i == values.length || array.values[j] < values[i]) {
+          next = array.values[j++];
+        } else {
+          next = values[i++];
+          j++;
+        }
+        merged[size++] = next;
+      }
+      return new ArrayContainer(Arrays.copyOf(merged, size));
+    }
+  }
+
+  /** 下位16ビットを65536ビットのビット列で保持するコンテナ */
+  private static final class BitmapContainer extends Container {
+
+    private final long[] words;
+    private final int cardinality;
+
+    BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    long sizeInBytes() {
+      return OBJECT_OVERHEAD_BYTES * 2L + BITMAP_WORDS * (long) Long.BYTES;
+    }
+
+    @Override
+    long[] toWords() {
+      return words.clone();
+    }
+
+    @Override
+    void collect(int high, int fromLow, List<Integer> out, int limit) {
+      for (int i = fromLow >>> 6; i < BITMAP_WORDS && out.size() < limit; i++) {
+        long word = i == fromLow >>> 6 ? words[i] & (-1L << fromLow) : words[i];
+        while (word != 0 && out.size() < limit) {
+          out.add(high | ((i << 6) + Long.numberOfTrailingZeros(word)));
+          word &= word - 1;
+        }
+      }
+    }
+
+    @Override
+    Container and(Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.and(this);
+      }
+      long[] result = ((BitmapContainer) other).words.clone();
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] &= words[i];
+      }
+      return fromWords(result);
+    }
+
+    @Override
+    Container andNot(Container other) {
+      long[] result = words.clone();
+      long[] otherWords = other.toWords();
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] &= ~otherWords[i];
+      }
+      return fromWords(result);
+    }
+  }
+
+}
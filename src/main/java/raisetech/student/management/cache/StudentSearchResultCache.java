@@ -0,0 +1,128 @@
+package raisetech.student.management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+
+/**
+ * 検索条件に一致した受講生IDのリストを保持するキャッシュです。
+ * 正規化済みの検索条件（ページング条件を含む）をキーとし、件数と有効期間の上限を設定して保持します。
+ * 受講生データの登録・更新がコミットされると、全てのエントリを破棄します。
+ */
+@Component
+public class StudentSearchResultCache {
+
+  private final boolean enabled;
+  private final Cache<StudentSearchCriteria, List<Integer>> cache;
+
+  /**
+   * 破棄のたびに進める世代番号。
+   * 検索中に破棄が行われた場合、破棄前のデータを読んだ可能性がある結果をキャッシュに残さないために使います。
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  @Autowired
+  public StudentSearchResultCache(StudentSearchProperties searchProperties) {
+    StudentSearchProperties.ResultCache properties = searchProperties.getResultCache();
+    this.enabled = properties.isEnabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getTimeToLive())
+        .build();
+  }
+
+  /**
+   * 検索条件に一致する受講生IDのリストを取得します。
+   * キャッシュにあればそれを返し、なければloaderで検索した結果をキャッシュして返します。
+   *
+   * @param criteria 正規化済みの検索条件。キャッシュのキーになるため、呼び出し後に変更しないこと
+   * @param loader キャッシュにない場合に受講生IDを検索する処理
+   * @return 条件に一致する受講生IDのリスト（変更不可）
+   */
+  public List<Integer> getMatchedStudentIds(StudentSearchCriteria criteria,
+      Function<StudentSearchCriteria, List<Integer>> loader) {
+    if (!enabled) {
+      return loader.apply(criteria);
+    }
+
+    List<Integer> cached = cache.getIfPresent(criteria);
+    if (cached != null) {
+      return cached;
+    }
+
+    long loadedGeneration = generation.get();
+    List<Integer> loaded = List.copyOf(loader.apply(criteria));
+    // 世代番号の確認と登録を同じキーの破棄と排他して行い、破棄の直後に古い結果が残らないようにする
+    cache.asMap().compute(criteria,
+        (key, current) -> generation.get() == loadedGeneration ? loaded : current);
+    return loaded;
+  }
+
+  /**
+   * 複数の検索条件それぞれに一致する受講生IDのリストをまとめて取得します。
+   * キャッシュにない検索条件だけをまとめてloaderに渡して検索し、検索結果をキャッシュします。
+   *
+   * @param criteriaList 正規化済みで重複のない検索条件のリスト。キャッシュのキーになるため、呼び出し後に変更しないこと
+   * @param loader キャッシュにない検索条件のリストから、同じ順の受講生IDのリストを検索する処理
+   * @return 検索条件をキーとする、条件に一致する受講生IDのリスト（変更不可）のMap
+   */
+  public Map<StudentSearchCriteria, List<Integer>> getAllMatchedStudentIds(
+      List<StudentSearchCriteria> criteriaList,
+      Function<List<StudentSearchCriteria>, List<List<Integer>>> loader) {
+    Map<StudentSearchCriteria, List<Integer>> result = new HashMap<>();
+    if (enabled) {
+      result.putAll(cache.getAllPresent(criteriaList));
+    }
+    List<StudentSearchCriteria> missing = criteriaList.stream()
+        .filter(criteria -> !result.containsKey(criteria))
+        .toList();
+    if (missing.isEmpty()) {
+      return result;
+    }
+
+    long loadedGeneration = generation.get();
+    List<List<Integer>> loaded = loader.apply(missing);
+    for (int i = 0; i < missing.size(); i++) {
+      List<Integer> studentIds = List.copyOf(loaded.get(i));
+      result.put(missing.get(i), studentIds);
+      if (enabled) {
+        cache.asMap().compute(missing.get(i),
+            (key, current) -> generation.get() == loadedGeneration ? studentIds : current);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 受講生データの登録・更新がコミットされたとき、全てのエントリを破棄します。
+   * 追加・更新された受講生がどの検索条件に一致するかは判定できないため、全件を対象とします。
+   *
+   * @param event 受講生データ変更イベント
+   */
+  @Order(StudentDataChangedEvent.CACHE_LISTENER_ORDER)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentDataChanged(StudentDataChangedEvent event) {
+    invalidateAll();
+  }
+
+  /**
+   * 全てのエントリを破棄します。
+   */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+}
@@ -0,0 +1,30 @@
+package raisetech.student.management.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import raisetech.student.management.status.CourseDateRule;
+
+/**
+ * 受講生コースのステータスの状態遷移表に関する設定値です。application.properties の student.course-status.* から読み込みます。
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.course-status")
+public class CourseStatusProperties {
+
+  /**
+   * ステータスマスタと遷移マスタを読み込み直す間隔。
+   * 読み込んでからこの時間が過ぎた後の最初の参照で読み込み直します。0以下なら読み込み直しません
+   */
+  private Duration reloadInterval = Duration.ofMinutes(10);
+
+  /** 遷移後のステータスIDごとの、受講生コースの日付のルール。指定のないステータスは日付を変更しません */
+  private Map<Integer, CourseDateRule> dateRules = new HashMap<>(Map.of(
+      3, CourseDateRule.START,
+      4, CourseDateRule.FINISH));
+
+}
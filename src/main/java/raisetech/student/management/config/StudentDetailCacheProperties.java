@@ -0,0 +1,25 @@
+package raisetech.student.management.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 受講生詳細キャッシュに関する設定値です。application.properties の student.detail-cache.* から読み込みます。
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.detail-cache")
+public class StudentDetailCacheProperties {
+
+  /** キャッシュを有効にするか */
+  private boolean enabled = true;
+
+  /** 保持する受講生詳細の最大件数。超えた場合は利用頻度の低いものから破棄します */
+  private long maximumSize = 10000;
+
+  /** 登録してから破棄するまでの時間。更新時の破棄漏れに対する保険として設定します */
+  private Duration timeToLive = Duration.ofMinutes(30);
+
+}
@@ -0,0 +1,36 @@
+package raisetech.student.management.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 非同期検索ジョブに関する設定値です。application.properties の student.search-job.* から読み込みます。
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.search-job")
+public class StudentSearchJobProperties {
+
+  /**
+   * ジョブを実行するスレッド数。実行中のジョブはそれぞれDB接続を1本使うため、
+   * 通常のリクエストに使う接続が不足しないよう、コネクションプールの上限より十分小さくします
+   */
+  private int workerThreads = 2;
+
+  /** 実行待ちにできるジョブの件数。超えた場合は受け付けません */
+  private int queueCapacity = 20;
+
+  /** 1ジョブが検索結果を書き出すまでにメモリに溜める上限。超えるたびにディスクへ書き出します */
+  private DataSize memoryBudget = DataSize.ofMegabytes(4);
+
+  /** 検索結果のファイルを書き出すディレクトリ */
+  private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "student-search-jobs");
+
+  /** 完了したジョブと検索結果のファイルを保持する時間 */
+  private Duration retention = Duration.ofHours(1);
+
+}
@@ -0,0 +1,161 @@
+package raisetech.student.management.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 受講生検索に関する設定値です。application.properties の student.search.* から読み込みます。
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "student.search")
+public class StudentSearchProperties {
+
+  /** limit未指定時の1ページあたりの取得件数 */
+  private int defaultPageSize = 100;
+
+  /** 1ページあたりの最大取得件数。これを超えるlimitは最大件数に切り詰めます */
+  private int maxPageSize = 1000;
+
+  /**
+   * 並び順を指定した検索で、並び順の先頭から辿れる件数の上限（並び替えの範囲）。
+   * 上位K件のKはこれを超えず、これより後ろを指すカーソルは不正なカーソルとして扱います。maxPageSize 以上にしてください
+   */
+  private int sortWindow = 10_000;
+
+  /** 検索結果（一致した受講生IDのリスト）のキャッシュ設定 */
+  private ResultCache resultCache = new ResultCache();
+
+  /** 列ごとの条件に一致した受講生IDを保持するビットマップキャッシュの設定 */
+  private FilterCache filterCache = new FilterCache();
+
+  /** インメモリ検索エンジンの設定 */
+  private InMemoryEngine inMemoryEngine = new InMemoryEngine();
+
+  /** 部分一致検索用のn-gram索引の設定 */
+  private NgramIndex ngramIndex = new NgramIndex();
+
+  /** 後方一致検索用の逆順キー索引の設定 */
+  private SuffixIndex suffixIndex = new SuffixIndex();
+
+  /** 入力補完用の索引の設定 */
+  private SuggestIndex suggestIndex = new SuggestIndex();
+
+  /** 受講期間の区間索引の設定 */
+  private IntervalIndex intervalIndex = new IntervalIndex();
+
+  @Getter
+  @Setter
+  public static class ResultCache {
+
+    /** キャッシュを有効にするか */
+    private boolean enabled = true;
+
+    /** 保持する検索条件の最大件数。超えた場合は最近使われていないものから破棄します */
+    private long maximumSize = 1000;
+
+    /** 登録してから破棄するまでの時間 */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+  }
+
+  @Getter
+  @Setter
+  public static class FilterCache {
+
+    /** 検索条件を列ごとの条件に分け、条件ごとに一致した受講生IDを圧縮ビットマップで保持して組み合わせるか */
+    private boolean enabled = true;
+
+    /** 保持するビットマップの合計サイズの上限。超えた場合は利用頻度の低いものから破棄します */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /** 登録してから破棄するまでの時間 */
+    private Duration timeToLive = Duration.ofMinutes(30);
+
+    /** 1つのビットマップで再判定待ちにできる受講生IDの件数。超えた場合はビットマップを破棄します */
+    private int maxStaleStudentIds = 1000;
+
+    /** ビットマップを作るときに1回で読み込む受講生IDの件数。一致する受講生IDはこの件数ずつ読み込んでビットマップに加えます */
+    private int loadPageSize = 10_000;
+
+    /**
+     * キャッシュにある条件の共通部分がこの件数以下なら、キャッシュにない条件は全件検索してキャッシュせず、
+     * 共通部分の受講生だけをDBで判定します。0なら常に全件検索してキャッシュします
+     */
+    private int narrowMaxStudentIds = 1000;
+
+  }
+
+  @Getter
+  @Setter
+  public static class InMemoryEngine {
+
+    /** 受講生と受講生コースをメモリに保持し、受講生IDの検索をDBではなくメモリ上で行うか */
+    private boolean enabled = false;
+
+    /** 並列走査に使うスレッド数 */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** 1タスクで走査する行数の目安。これ以下の件数は分割せずに走査します */
+    private int chunkRows = 8192;
+
+    /**
+     * 文字列の比較で、大文字・小文字、ひらがな・カタカナ、全角・半角、小書きの仮名、濁点・半濁点やアクセント記号の違いを区別しないか。
+     * DBの照合順序（utf8mb4_0900_ai_ci）に合わせて既定値はtrue
+     */
+    private boolean ignoreCase = true;
+
+  }
+
+  @Getter
+  @Setter
+  public static class NgramIndex {
+
+    /** 氏名・よみがな・地域・備考の部分一致検索で、n-gram索引により候補の受講生IDを絞り込むか */
+    private boolean enabled = true;
+
+    /** 絞り込みに使う候補の最大件数。これを超える場合は絞り込まずにDBで検索します */
+    private int maxCandidates = 1000;
+
+  }
+
+  @Getter
+  @Setter
+  public static class SuffixIndex {
+
+    /** 文字列の列の後方一致検索で、逆順キー索引により候補の受講生IDを絞り込むか */
+    private boolean enabled = true;
+
+    /** 絞り込みに使う候補の最大件数。これを超える場合は絞り込まずにDBで検索します */
+    private int maxCandidates = 1000;
+
+  }
+
+  @Getter
+  @Setter
+  public static class SuggestIndex {
+
+    /** 入力補完の候補を、DBではなくメモリ上の基数木から返すか */
+    private boolean enabled = true;
+
+    /** limit未指定時に返す候補の件数 */
+    private int defaultLimit = 10;
+
+  }
+
+  @Getter
+  @Setter
+  public static class IntervalIndex {
+
+    /** 受講期間の重なり検索と受講開始日の範囲検索で、区間木により候補の受講生IDを絞り込むか */
+    private boolean enabled = true;
+
+    /** 絞り込みに使う候補の最大件数。これを超える場合は絞り込まずにDBで検索します */
+    private int maxCandidates = 1000;
+
+  }
+
+}
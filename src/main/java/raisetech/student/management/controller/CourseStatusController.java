@@ -0,0 +1,42 @@
+package raisetech.student.management.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.student.management.status.CourseStatusMachineRegistry;
+
+/**
+ * 受講生コースのステータスの状態遷移表を管理するREST APIとして実行されるControllerです。
+ */
+@RestController
+public class CourseStatusController {
+
+  private CourseStatusMachineRegistry statusMachineRegistry;
+
+  @Autowired
+  public CourseStatusController(CourseStatusMachineRegistry statusMachineRegistry) {
+    this.statusMachineRegistry = statusMachineRegistry;
+  }
+
+  @Operation(
+      summary = "ステータス遷移表の再読み込み",
+      description = """
+        ステータスマスタと遷移マスタを読み込み直し、受講生コースのステータス更新で使う状態遷移表を作り直します。
+        マスタを変更した後、student.course-status.reload-interval を待たずに反映したいときに使用します。
+        """,
+      responses = {
+          @ApiResponse(
+              responseCode = "204", description = "再読み込み成功"
+          )
+      }
+  )
+  @PostMapping("/course-statuses/reload")
+  public ResponseEntity<Void> reloadCourseStatuses() {
+    statusMachineRegistry.reload();
+    return ResponseEntity.noContent().build();
+  }
+
+}
@@ -0,0 +1,59 @@
+package raisetech.student.management.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.InputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.student.management.data.domain.StudentBulkRegistrationResult;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.service.StudentBulkRegistrationService;
+
+/**
+ * 受講生詳細をまとめて登録するREST APIとして実行されるControllerです。
+ */
+@RestController
+public class StudentBulkRegistrationController {
+
+  private StudentBulkRegistrationService service;
+
+  @Autowired
+  public StudentBulkRegistrationController(StudentBulkRegistrationService service) {
+    this.service = service;
+  }
+
+  @Operation(
+      summary = "受講生一括登録",
+      description = """
+        受講生詳細のJSON配列を受け取り、まとめて登録します。数千件単位の受講生を一度に登録するときに使用します。
+        各受講生詳細には POST /students と同じ入力チェックを行い、入力値が不正な受講生詳細は登録せずに残りの登録を続けます。
+        受講生詳細ごとの登録結果と、登録件数・処理速度（1秒あたりの登録件数）を返します。
+        """,
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          description = "登録したい受講生詳細の配列",
+          required = true,
+          content = @Content(
+              mediaType = MediaType.APPLICATION_JSON_VALUE,
+              array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))
+          )
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "読み込みと登録の完了。登録できなかった受講生詳細があっても200を返します",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = StudentBulkRegistrationResult.class)
+              ))
+      }
+  )
+  @PostMapping(value = "/students/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public StudentBulkRegistrationResult registerStudents(InputStream body) {
+    return service.registerStudentDetails(body);
+  }
+
+}
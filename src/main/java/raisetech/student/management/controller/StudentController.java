@@ -3,15 +3,20 @@ package raisetech.student.management.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,16 +25,33 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeRequest;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeResult;
 import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.data.domain.StudentDetailBatch;
 import raisetech.student.management.exception.handler.ErrorResponse;
+import raisetech.student.management.search.facet.StudentSearchSummary;
+import raisetech.student.management.search.pagination.StudentDetailPage;
+import raisetech.student.management.search.pagination.StudentSearchResultPage;
+import raisetech.student.management.search.projection.StudentProjection;
+import raisetech.student.management.search.request.SearchPageRequest;
 import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import raisetech.student.management.search.request.StudentBatchGetRequest;
+import raisetech.student.management.search.request.StudentFieldsRequest;
+import raisetech.student.management.search.request.StudentMultiSearchRequest;
+import raisetech.student.management.search.request.StudentSearchSummaryRequest;
 import raisetech.student.management.search.request.StudentSimpleSearchRequest;
+import raisetech.student.management.search.request.StudentSuggestRequest;
+import raisetech.student.management.search.suggest.StudentSuggestion;
 import raisetech.student.management.service.StudentService;
 import raisetech.student.management.validation.CreateGroup;
 import raisetech.student.management.validation.UpdateGroup;
+import tools.jackson.databind.ObjectMapper;
 
 /**
  * 受講生の検索や登録、更新などを行うREST APIとして実行されるControllerです。
@@ -38,24 +60,35 @@ import raisetech.student.management.validation.UpdateGroup;
 @RestController
 public class StudentController {
 
+  /** 次ページ取得用のカーソルを返すレスポンスヘッダー名 */
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private StudentService service;
+  private ObjectMapper objectMapper;
 
   @Autowired
-  public StudentController(StudentService service) {
+  public StudentController(StudentService service, ObjectMapper objectMapper) {
     this.service = service;
+    this.objectMapper = objectMapper;
   }
 
   @Operation(
       summary = "受講生詳細簡易検索",
       description = """
         受講生詳細を検索条件に応じて一覧取得します。
-        例: /students?fullNameContains=田中&ageMin=20&isDeleted=false
-        クエリパラメータを省略した場合は、受講生詳細一覧を全件取得します。
+        例: /students?fullNameContains=田中&ageMin=20&isDeleted=false&limit=50
+        検索条件を省略した場合は、受講生詳細の全件が検索対象になります。
+        結果は受講生IDの昇順で1ページ分（limit件、最大件数はサーバー設定）返します。
+        sort を指定すると、指定したフィールドの順で並べます（例: sort=-courseApplyAt,kanaName）。
+        fields を指定すると、指定した項目だけを返します（例: fields=studentId,fullName,kanaName）。
+        studentCourses を指定しなければ受講生コース情報は返さず、検索もしません。
+        続きがある場合はレスポンスヘッダー X-Next-Cursor の値を after に指定すると次ページを取得できます。
         """,
       responses = {
           @ApiResponse(
               responseCode = "200",
               description = "検索成功",
+              headers = @Header(name = NEXT_CURSOR_HEADER, description = "次ページ取得用のカーソル。最終ページでは返しません"),
               content = @Content(
                   mediaType = "application/json",
                   array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))
@@ -72,15 +105,88 @@ public class StudentController {
       }
   )
   @GetMapping("/students")
-  public List<StudentDetail> searchStudentsSimple(
+  public ResponseEntity<List<?>> searchStudentsSimple(
+      @ParameterObject @ModelAttribute @Validated StudentSimpleSearchRequest request,
+      @ParameterObject @ModelAttribute @Validated SearchPageRequest page
+  ) {
+    return toPageResponse(service.searchStudentDetailsSimple(request, page),
+        StudentProjection.of(page.getFields()));
+  }
+
+  @Operation(
+      summary = "受講生詳細簡易検索（ストリーミング）",
+      description = """
+        Accept: application/x-ndjson を指定すると、簡易検索に一致する受講生詳細をページングせずに全件、
+        1行1件のNDJSON形式で逐次返します。エクスポートや連携バッチ向けです。
+        検索条件の指定方法は通常の簡易検索と同じで、limit, after は無視されます。
+        """,
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "検索成功",
+              content = @Content(
+                  mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                  schema = @Schema(implementation = StudentDetail.class)
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "クエリパラメータの形式が不正であったときのエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              )
+          )
+      }
+  )
+  @GetMapping(value = "/students", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamStudentsSimple(
       @ParameterObject @ModelAttribute @Validated StudentSimpleSearchRequest request
   ) {
-    return service.searchStudentDetailsSimple(request);
+    StreamingResponseBody body = outputStream ->
+        service.streamStudentDetailsSimple(request, chunk -> writeNdjsonChunk(outputStream, chunk));
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  @Operation(
+      summary = "受講生情報の入力補完",
+      description = """
+        入力途中の文字列に続く氏名・よみがな・ニックネーム・地域の値を、その値を持つ受講生の人数が多い順に返します。
+        例: /students/suggest?field=fullName&prefix=田中&limit=10
+        検索フォームでの1文字入力ごとの呼び出しを想定し、受講生詳細の検索は行いません。
+        """,
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "ok",
+              content = @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(schema = @Schema(implementation = StudentSuggestion.class))
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "クエリパラメータの形式が不正であったときのエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              )
+          )
+      }
+  )
+  @GetMapping("/students/suggest")
+  public List<StudentSuggestion> suggestStudents(
+      @ParameterObject @ModelAttribute @Validated StudentSuggestRequest request
+  ) {
+    return service.suggestStudents(request);
   }
 
   @Operation(
       summary = "受講生詳細ID検索",
-      description = "受講生詳細の全件から受講生IDが一致する受講生の詳細を取得します。",
+      description = """
+        受講生詳細の全件から受講生IDが一致する受講生の詳細を取得します。
+        fields を指定すると、指定した項目だけを返します（例: fields=studentId,fullName,studentCourses）。
+        """,
       parameters = {
           @Parameter(in = ParameterIn.PATH,
               name = "studentId", required = true,
@@ -104,7 +210,7 @@ public class StudentController {
                   schema = @Schema(implementation = ErrorResponse.class)
               )),
           @ApiResponse(
-              responseCode = "400", description = "受講生IDの形式が不正であったときのエラー",
+              responseCode = "400", description = "受講生IDかfieldsの形式が不正であったときのエラー",
               content = @Content(
                   mediaType = "application/json",
                   schema = @Schema(implementation = ErrorResponse.class)
@@ -112,13 +218,55 @@ public class StudentController {
       }
   )
   @GetMapping("/students/{studentId}")
-  public StudentDetail getStudent(@PathVariable @Positive int studentId){
-    return service.searchStudentDetail(studentId);
+  public Object getStudent(@PathVariable @Positive int studentId,
+      @ParameterObject @ModelAttribute @Validated StudentFieldsRequest fields){
+    StudentProjection projection = StudentProjection.of(fields.getFields());
+    if (projection == null) {
+      return service.searchStudentDetail(studentId);
+    }
+    return projection.project(service.searchStudentDetail(studentId, projection));
+  }
+
+  @Operation(
+      summary = "受講生詳細一括取得",
+      description = """
+        受講生IDのリスト（最大5000件）に対応する受講生詳細をまとめて取得します。
+        受講生IDごとに GET /students/{studentId} を呼び出す代わりに使用します。
+        結果は指定した受講生IDの順で返し、存在しない受講生IDがあってもエラーにせず missingStudentIds で返します。
+        """,
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          description = "取得する受講生IDのリスト",
+          required = true,
+          content = @Content(
+              schema = @Schema(implementation = StudentBatchGetRequest.class)
+          )
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "ok",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = StudentDetailBatch.class)
+              )),
+          @ApiResponse(
+              responseCode = "400", description = "リクエストボディの形式か値が不正であった時のエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              ))
+      }
+  )
+  @PostMapping("/students/batch-get")
+  public StudentDetailBatch getStudents(@RequestBody @Validated StudentBatchGetRequest request) {
+    return service.searchStudentDetailsByIds(request);
   }
 
   @Operation(
       summary = "受講生詳細高度検索",
-      description = "受講生詳細の全件に対してリクエストボディで高度な検索フィルターを設定し、該当する受講生詳細を一覧で取得します。",
+      description = """
+        受講生詳細の全件に対してリクエストボディで高度な検索フィルターを設定し、該当する受講生詳細を一覧で取得します。
+        ページングはクエリパラメータ limit, after で、並び順は sort で、取得項目は fields で指定します（GET /students と同様）。
+        """,
       requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
           description = "検索フィルターのリスト",
           required = true,
@@ -129,9 +277,10 @@ public class StudentController {
       responses = {
           @ApiResponse(
               responseCode = "200", description = "ok",
+              headers = @Header(name = NEXT_CURSOR_HEADER, description = "次ページ取得用のカーソル。最終ページでは返しません"),
               content = @Content(
                   mediaType = "application/json",
-                  schema = @Schema(implementation = StudentDetail.class)
+                  array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))
               )),
           @ApiResponse(
               responseCode = "400", description = "リクエストボディの形式か値が不正であった時のエラー",
@@ -142,10 +291,131 @@ public class StudentController {
       }
   )
   @PostMapping("/students/search")
-  public List<StudentDetail> searchStudentsAdvanced(
+  public ResponseEntity<List<?>> searchStudentsAdvanced(
+      @RequestBody @Validated StudentAdvancedSearchRequest request,
+      @ParameterObject @ModelAttribute @Validated SearchPageRequest page
+  ) {
+    return toPageResponse(service.searchStudentDetailsAdvanced(request, page),
+        StudentProjection.of(page.getFields()));
+  }
+
+  @Operation(
+      summary = "受講生詳細高度検索の一括実行",
+      description = """
+        複数の高度検索条件（最大20件）をまとめて検索し、検索条件ごとに先頭ページの検索結果を返します。
+        画面表示のたびに高度検索を何回も呼び出す代わりに使用します。
+        同じ検索条件は1回だけ検索し、受講生詳細は全ての検索結果についてまとめて取得します。
+        クエリパラメータ limit, sort, fields は全ての検索条件に適用し、after は無視します。
+        続きのページは、検索条件ごとの nextCursor を after に指定して POST /students/search で取得します。
+        """,
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          description = "高度検索条件のリスト",
+          required = true,
+          content = @Content(
+              schema = @Schema(implementation = StudentMultiSearchRequest.class)
+          )
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "ok",
+              content = @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(schema = @Schema(implementation = StudentSearchResultPage.class))
+              )),
+          @ApiResponse(
+              responseCode = "400", description = "リクエストボディの形式か値が不正であった時のエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              ))
+      }
+  )
+  @PostMapping("/students/search/batch")
+  public List<StudentSearchResultPage> searchStudentsMulti(
+      @RequestBody @Validated StudentMultiSearchRequest request,
+      @ParameterObject @ModelAttribute @Validated SearchPageRequest page
+  ) {
+    StudentProjection projection = StudentProjection.of(page.getFields());
+    return service.searchStudentDetailsMulti(request, page).stream()
+        .map(result -> new StudentSearchResultPage(project(result.getStudentDetails(), projection),
+            result.getNextCursor()))
+        .toList();
+  }
+
+  @Operation(
+      summary = "受講生詳細高度検索の件数・集計",
+      description = """
+        高度検索に一致する受講生の人数と、項目の値ごとの人数を返します。受講生詳細は返しません。
+        検索フィルターの横に「N人が該当」や値ごとの人数を表示するために使用します。
+        facets に sex, statusId, courseCode, prefecture（地域の都道府県）を指定すると、値ごとの人数を集計します。
+        受講コースの項目は、その値の受講生コースを1件以上持つ受講生の人数です。
+        existsOnly=true を指定すると、一致する受講生がいるかだけを返します。
+        """,
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          description = "検索フィルターのリスト",
+          required = true,
+          content = @Content(
+              schema = @Schema(implementation = StudentAdvancedSearchRequest.class)
+          )
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "ok",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = StudentSearchSummary.class)
+              )),
+          @ApiResponse(
+              responseCode = "400", description = "リクエストボディかクエリパラメータの形式か値が不正であった時のエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              ))
+      }
+  )
+  @PostMapping("/students/search/summary")
+  public StudentSearchSummary summarizeStudents(
+      @RequestBody @Validated StudentAdvancedSearchRequest request,
+      @ParameterObject @ModelAttribute @Validated StudentSearchSummaryRequest summary
+  ) {
+    return service.summarizeStudentSearch(request, summary);
+  }
+
+  @Operation(
+      summary = "受講生詳細高度検索（ストリーミング）",
+      description = """
+        Accept: application/x-ndjson を指定すると、高度検索に一致する受講生詳細をページングせずに全件、
+        1行1件のNDJSON形式で逐次返します。エクスポートや連携バッチ向けです。
+        """,
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          description = "検索フィルターのリスト",
+          required = true,
+          content = @Content(
+              schema = @Schema(implementation = StudentAdvancedSearchRequest.class)
+          )
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "ok",
+              content = @Content(
+                  mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                  schema = @Schema(implementation = StudentDetail.class)
+              )),
+          @ApiResponse(
+              responseCode = "400", description = "リクエストボディの形式か値が不正であった時のエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              ))
+      }
+  )
+  @PostMapping(value = "/students/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamStudentsAdvanced(
       @RequestBody @Validated StudentAdvancedSearchRequest request
   ) {
-    return service.searchStudentDetailsAdvanced(request);
+    StreamingResponseBody body = outputStream ->
+        service.streamStudentDetailsAdvanced(request, chunk -> writeNdjsonChunk(outputStream, chunk));
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   @Operation(
@@ -270,7 +540,10 @@ public class StudentController {
 
   @Operation(
       summary = "受講生コース更新",
-      description = "受講生コース更新を行います。ステータスのみを更新します",
+      description = """
+        受講生コース更新を行います。ステータスのみを更新します。
+        expectedStatusId を指定すると、現在のステータスがそのステータスの場合だけ更新し、他の更新で変わっていれば409を返します。
+        """,
       parameters = {
           @Parameter(in = ParameterIn.PATH,
               name = "studentId", required = true,
@@ -279,6 +552,14 @@ public class StudentController {
                   type = "integer",
                   format = "int32"
               )
+          ),
+          @Parameter(in = ParameterIn.QUERY,
+              name = "expectedStatusId", required = false,
+              description = "クライアントが想定している更新前のステータスID",
+              schema = @Schema(
+                  type = "integer",
+                  format = "int32"
+              )
           )},
       requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
           description = "更新したい受講生コース情報",
@@ -306,15 +587,104 @@ public class StudentController {
               content = @Content(
                   mediaType = "application/json",
                   schema = @Schema(implementation = ErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "409", description = "更新しようとした時点で、ステータスが他の更新で変更されていたときのエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class))
           )
       }
   )
   @PutMapping("/students/{studentId}/courses")
   public ResponseEntity<StudentCourse> updateStudentCourse(
       @PathVariable @Positive int studentId,
+      @RequestParam(required = false) @Positive Integer expectedStatusId,
       @RequestBody @Validated(UpdateGroup.class) StudentCourse request){
-    StudentCourse response = service.updateStudentCourse(request,studentId);
+    StudentCourse response = service.updateStudentCourse(request,studentId,expectedStatusId);
     return ResponseEntity.ok(response);
   }
 
+  @Operation(
+      summary = "受講生コースステータス一括更新",
+      description = """
+        複数の受講生コースのステータスをまとめて更新します。期の開始時に本申込の受講生コースをまとめて受講中にする場合などに使用します。
+        遷移できない受講生コースがあっても残りの更新を続け、受講生コースごとの更新結果をリクエストと同じ順に返します。
+        """,
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          description = "受講生コースごとのステータス変更内容",
+          required = true,
+          content = @Content(
+              schema = @Schema(implementation = StudentCourseStatusChangeRequest.class)
+          )
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "更新処理の完了。更新できなかった受講生コースがあっても200を返します",
+              content = @Content(
+                  mediaType = "application/json",
+                  array = @ArraySchema(schema = @Schema(implementation = StudentCourseStatusChangeResult.class))
+              )
+          ),
+          @ApiResponse(
+              responseCode = "400", description = "入力値のバリデーションエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class))
+          )
+      }
+  )
+  @PutMapping("/students/courses/statuses")
+  public List<StudentCourseStatusChangeResult> updateStudentCourseStatuses(
+      @RequestBody @Validated StudentCourseStatusChangeRequest request) {
+    return service.updateStudentCourseStatuses(request);
+  }
+
+  /**
+   * 検索結果の1ページ分をレスポンスボディに、次ページのカーソルをレスポンスヘッダーに設定します。
+   * 取得項目が指定されていれば、受講生詳細は指定された項目だけを持つMapに変換します。
+   * @param page 検索結果の1ページ分
+   * @param projection レスポンスに含める項目。nullなら全項目
+   * @return 受講生詳細の一覧をボディに持つレスポンス
+   */
+  private ResponseEntity<List<?>> toPageResponse(StudentDetailPage page,
+      StudentProjection projection) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return builder.body(project(page.getStudentDetails(), projection));
+  }
+
+  /**
+   * 取得項目が指定されていれば、受講生詳細を指定された項目だけを持つMapに変換します。
+   * @param studentDetails 受講生詳細の一覧
+   * @param projection レスポンスに含める項目。nullなら全項目
+   * @return レスポンスボディにする受講生詳細の一覧
+   */
+  private static List<?> project(List<StudentDetail> studentDetails, StudentProjection projection) {
+    if (projection == null) {
+      return studentDetails;
+    }
+    return studentDetails.stream().map(projection::project).toList();
+  }
+
+  /**
+   * 受講生詳細をそれぞれJSONにシリアライズし、改行を付けてNDJSONの1行ずつ書き出してからフラッシュします。
+   * フラッシュは1行ごとではなく、サービスが組み立てた受講生詳細のまとまりごとに1回だけ行います。
+   * @param outputStream レスポンスの出力先
+   * @param studentDetails 受講生詳細の一覧
+   */
+  private void writeNdjsonChunk(OutputStream outputStream, List<StudentDetail> studentDetails) {
+    try {
+      for (StudentDetail studentDetail : studentDetails) {
+        outputStream.write(objectMapper.writeValueAsBytes(studentDetail));
+        outputStream.write('\n');
+      }
+      outputStream.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
 }
@@ -0,0 +1,137 @@
+package raisetech.student.management.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.net.URI;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import raisetech.student.management.exception.handler.ErrorResponse;
+import raisetech.student.management.search.job.StudentSearchJob;
+import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import raisetech.student.management.service.StudentSearchJobService;
+
+/**
+ * 一致件数の多い高度検索を非同期に実行する検索ジョブのREST APIとして実行されるControllerです。
+ */
+@RestController
+public class StudentSearchJobController {
+
+  private StudentSearchJobService service;
+
+  @Autowired
+  public StudentSearchJobController(StudentSearchJobService service) {
+    this.service = service;
+  }
+
+  @Operation(
+      summary = "検索ジョブの受付",
+      description = """
+        高度検索をジョブとして受け付け、バックグラウンドで実行します。
+        一致件数が多く、POST /students/search のストリーミング検索では時間がかかりすぎる場合に使用します。
+        受け付けたジョブの状態は GET /students/search-jobs/{jobId} で確認し、
+        完了（SUCCEEDED）したら GET /students/search-jobs/{jobId}/result で検索結果をダウンロードします。
+        """,
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          description = "検索フィルターのリスト",
+          required = true,
+          content = @Content(
+              schema = @Schema(implementation = StudentAdvancedSearchRequest.class)
+          )
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "202", description = "受付成功",
+              headers = @Header(name = HttpHeaders.LOCATION, description = "ジョブの状態を取得するURL"),
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = StudentSearchJob.class)
+              )),
+          @ApiResponse(
+              responseCode = "400", description = "リクエストボディの形式か値が不正であった時のエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              )),
+          @ApiResponse(
+              responseCode = "503", description = "実行待ちのジョブが上限に達しているときのエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              ))
+      }
+  )
+  @PostMapping("/students/search-jobs")
+  public ResponseEntity<StudentSearchJob> submitSearchJob(
+      @RequestBody @Validated StudentAdvancedSearchRequest request) {
+    StudentSearchJob job = service.submit(request);
+    return ResponseEntity.accepted()
+        .location(URI.create("/students/search-jobs/" + job.getJobId()))
+        .body(job);
+  }
+
+  @Operation(
+      summary = "検索ジョブの状態取得",
+      description = "検索ジョブの状態と、これまでに書き出した受講生詳細の件数を取得します。",
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "ok",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = StudentSearchJob.class)
+              )),
+          @ApiResponse(
+              responseCode = "404", description = "指定されたジョブが存在しないか、保持期間を過ぎて削除されたときのエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              ))
+      }
+  )
+  @GetMapping("/students/search-jobs/{jobId}")
+  public StudentSearchJob getSearchJob(@PathVariable String jobId) {
+    return service.getJob(jobId);
+  }
+
+  @Operation(
+      summary = "検索ジョブの結果ダウンロード",
+      description = "完了した検索ジョブの検索結果を、受講生詳細1件を1行とするNDJSON形式で返します。",
+      responses = {
+          @ApiResponse(
+              responseCode = "200", description = "ok",
+              content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+          @ApiResponse(
+              responseCode = "404", description = "指定されたジョブが存在しないか、保持期間を過ぎて削除されたときのエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              )),
+          @ApiResponse(
+              responseCode = "409", description = "ジョブが完了していないときのエラー",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = ErrorResponse.class)
+              ))
+      }
+  )
+  @GetMapping("/students/search-jobs/{jobId}/result")
+  public ResponseEntity<Resource> getSearchJobResult(@PathVariable String jobId) {
+    Resource result = new FileSystemResource(service.getResultFile(jobId));
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(result);
+  }
+
+}
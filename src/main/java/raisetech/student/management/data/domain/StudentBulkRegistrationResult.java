@@ -0,0 +1,43 @@
+package raisetech.student.management.data.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 受講生詳細の一括登録の結果です。件数と処理速度、受講生詳細1件ごとの登録結果を持ちます。
+ */
+@Schema(description = "受講生詳細の一括登録結果")
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentBulkRegistrationResult {
+
+  @Schema(description = "リクエストボディに含まれていた受講生詳細の件数", example = "5000")
+  private int totalCount;
+
+  @Schema(description = "登録できた受講生詳細の件数", example = "4998")
+  private int createdCount;
+
+  @Schema(description = "入力値が不正なため登録しなかった受講生詳細の件数", example = "1")
+  private int invalidCount;
+
+  @Schema(description = "DBへの登録に失敗した受講生詳細の件数", example = "1")
+  private int failedCount;
+
+  @Schema(description = "読み込みから登録までにかかった時間（ミリ秒）", example = "1820")
+  private long elapsedMillis;
+
+  @Schema(description = "1秒あたりに登録できた受講生の件数", example = "2746.2")
+  private double rowsPerSecond;
+
+  @Schema(description = "受講生詳細1件ごとの登録結果。リクエストボディの配列の順に並べます")
+  private List<StudentRegistrationItemResult> items;
+
+}
@@ -0,0 +1,35 @@
+package raisetech.student.management.data.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Schema(description = "受講生コース1件のステータス変更内容")
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentCourseStatusChange {
+
+  @Schema(description = "受講生コースID", example = "2")
+  @NotNull
+  @Positive
+  private Integer studentCourseId;
+
+  @Schema(description = "受講生コースが紐づく受講生ID", example = "2")
+  @NotNull
+  @Positive
+  private Integer studentId;
+
+  @Schema(description = "変更後のステータスID", example = "3")
+  @NotNull
+  @Positive
+  private Integer toStatusId;
+
+}
@@ -0,0 +1,25 @@
+package raisetech.student.management.data.domain;
+
+/**
+ * 受講生コースのステータス一括変更における1件ごとの結果です。
+ */
+public enum StudentCourseStatusChangeOutcome {
+  /** ステータスを変更できた */
+  UPDATED,
+  /** 受講生コースIDが存在しないか、受講生IDと紐づかない */
+  NOT_FOUND,
+  /** 現在のステータスから変更後のステータスへは遷移できない */
+  INVALID_TRANSITION,
+  /** 読み込んだ後に他の更新でステータスが変わったため、変更しなかった */
+  CONFLICT,
+  /** 同じ受講生コースが先に指定されているため、変更しなかった */
+  DUPLICATE;
+
+  /**
+   * ステータスを変更できたかを返します。
+   * @return 変更できた場合はtrue
+   */
+  public boolean isSucceeded() {
+    return this == UPDATED;
+  }
+}
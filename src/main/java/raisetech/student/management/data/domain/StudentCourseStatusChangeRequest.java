@@ -0,0 +1,31 @@
+package raisetech.student.management.data.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "受講生コースのステータス一括変更内容",
+    example = "{\"changes\": [{\"studentCourseId\": 2, \"studentId\": 2, \"toStatusId\": 3}]}")
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentCourseStatusChangeRequest {
+
+  /** 一度に指定できるステータス変更の上限 */
+  public static final int MAX_CHANGES = 5000;
+
+  @Schema(description = "受講生コースごとのステータス変更内容。結果はこの順で返します")
+  @NotEmpty
+  @Size(max = MAX_CHANGES)
+  @Valid
+  private List<@NotNull StudentCourseStatusChange> changes;
+
+}
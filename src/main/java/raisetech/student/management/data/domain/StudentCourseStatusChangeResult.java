@@ -0,0 +1,67 @@
+package raisetech.student.management.data.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 一括変更した受講生コース1件ごとのステータス変更結果です。
+ */
+@Schema(description = "受講生コース1件ごとのステータス変更結果")
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentCourseStatusChangeResult {
+
+  @Schema(description = "リクエストの changes 内での位置（0始まり）", example = "0")
+  private int index;
+
+  @Schema(description = "受講生コースID", example = "2")
+  private Integer studentCourseId;
+
+  @Schema(description = "受講生ID", example = "2")
+  private Integer studentId;
+
+  @Schema(description = "変更結果", example = "UPDATED")
+  private StudentCourseStatusChangeOutcome outcome;
+
+  @Schema(description = "変更前のステータスID。受講生コースが見つからなかった場合はnull", example = "2")
+  private @Nullable Integer fromStatusId;
+
+  @Schema(description = "変更後のステータスID", example = "3")
+  private Integer toStatusId;
+
+  @Schema(description = "変更できなかった理由。変更できた場合はnull")
+  private @Nullable String message;
+
+  /**
+   * 受講生コース1件の変更結果を作ります。
+   * @param index changes 内での位置
+   * @param change 変更内容
+   * @param outcome 変更結果
+   * @param fromStatusId 変更前のステータスID。受講生コースが見つからなかった場合はnull
+   * @return 変更結果
+   */
+  public static StudentCourseStatusChangeResult of(int index, StudentCourseStatusChange change,
+      StudentCourseStatusChangeOutcome outcome, @Nullable Integer fromStatusId) {
+    return new StudentCourseStatusChangeResult(index, change.getStudentCourseId(),
+        change.getStudentId(), outcome, fromStatusId, change.getToStatusId(), messageOf(outcome));
+  }
+
+  private static String messageOf(StudentCourseStatusChangeOutcome outcome) {
+    return switch (outcome) {
+      case UPDATED -> null;
+      case NOT_FOUND -> "受講生IDと受講生コースIDで指定できる受講生コースが存在しません";
+      case INVALID_TRANSITION -> "許可されていないステータス遷移です";
+      case CONFLICT -> "他の更新でステータスが変わったため、変更しませんでした";
+      case DUPLICATE -> "同じ受講生コースが先に指定されているため、変更しませんでした";
+    };
+  }
+
+}
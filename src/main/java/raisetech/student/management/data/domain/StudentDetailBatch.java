@@ -0,0 +1,26 @@
+package raisetech.student.management.data.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 受講生IDのリストで一括取得した受講生詳細と、見つからなかった受講生IDです。
+ */
+@Schema(description = "受講生詳細の一括取得結果")
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentDetailBatch {
+
+  @Schema(description = "見つかった受講生詳細。指定された受講生IDの順に並べます")
+  private List<StudentDetail> studentDetails;
+
+  @Schema(description = "見つからなかった受講生ID。指定された順に並べます", example = "[999]")
+  private List<Integer> missingStudentIds;
+
+}
@@ -0,0 +1,48 @@
+package raisetech.student.management.data.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 一括登録した受講生詳細1件ごとの登録結果です。
+ */
+@Schema(description = "受講生詳細1件ごとの登録結果")
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentRegistrationItemResult {
+
+  @Schema(description = "リクエストボディの配列内での位置（0始まり）", example = "0")
+  private int index;
+
+  @Schema(description = "登録結果", example = "CREATED")
+  private StudentRegistrationStatus status;
+
+  @Schema(description = "採番された受講生ID。登録できなかった場合はnull", example = "101")
+  private @Nullable Integer studentId;
+
+  @Schema(description = "登録できなかった理由。エラーレスポンスの details と同じ形式です。登録できた場合は空")
+  private List<Map<String, String>> errors;
+
+  public static StudentRegistrationItemResult created(int index, Integer studentId) {
+    return new StudentRegistrationItemResult(index, StudentRegistrationStatus.CREATED, studentId, List.of());
+  }
+
+  public static StudentRegistrationItemResult invalid(int index, List<Map<String, String>> errors) {
+    return new StudentRegistrationItemResult(index, StudentRegistrationStatus.INVALID, null, errors);
+  }
+
+  public static StudentRegistrationItemResult failed(int index, List<Map<String, String>> errors) {
+    return new StudentRegistrationItemResult(index, StudentRegistrationStatus.FAILED, null, errors);
+  }
+
+}
@@ -0,0 +1,13 @@
+package raisetech.student.management.data.domain;
+
+/**
+ * 受講生詳細の一括登録における1件ごとの登録結果です。
+ */
+public enum StudentRegistrationStatus {
+  /** 登録できた */
+  CREATED,
+  /** JSONの形式か入力値が不正なため登録しなかった */
+  INVALID,
+  /** 入力値は正しいが、メールアドレスの重複などでDBへの登録に失敗した */
+  FAILED
+}
@@ -0,0 +1,25 @@
+package raisetech.student.management.data.master;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Schema(description = "受講生コースのステータス")
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Getter
+public class CourseStatus {
+
+  @Schema(description = "ステータスID", example = "3")
+  private final int statusId;
+
+  @Schema(description = "ステータス名", example = "受講中")
+  private final String statusName;
+
+  @Schema(description = "終端のステータスか。終端のステータスからは遷移できません", example = "false")
+  private final boolean terminal;
+
+}
@@ -0,0 +1,22 @@
+package raisetech.student.management.data.master;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Schema(description = "ステータス遷移")
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Getter
+public class StatusTransition {
+
+  @Schema(description = "遷移前のステータスID", example = "2")
+  private final int fromStatusId;
+
+  @Schema(description = "遷移後のステータスID", example = "3")
+  private final int toStatusId;
+
+}
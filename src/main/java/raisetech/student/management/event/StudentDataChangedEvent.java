@@ -0,0 +1,50 @@
+package raisetech.student.management.event;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 受講生または受講生コースが登録・更新されたことを表すイベントです。
+ * 検索結果のキャッシュなど、受講生データから派生した情報を破棄するために使用します。
+ * トランザクション内で発行され、リスナーはコミット後に受け取ります。
+ * 一括登録・一括更新では、まとまりごとに1つのイベントで変更された受講生IDをまとめて通知します。
+ */
+@Getter
+@EqualsAndHashCode
+public class StudentDataChangedEvent {
+
+  /** 検索用のインデックスなど、受講生データの複製を更新するリスナーの実行順序 */
+  public static final int INDEX_LISTENER_ORDER = 0;
+
+  /** キャッシュを破棄するリスナーの実行順序。複製の更新後に破棄し、古い複製から再度キャッシュされないようにする */
+  public static final int CACHE_LISTENER_ORDER = 100;
+
+  /** 登録・更新された受講生の受講生ID（昇順、重複なし）。変更された受講生を特定できない場合はnull */
+  private final List<Integer> studentIds;
+
+  /**
+   * 1人の受講生の変更を表すイベントを作ります。
+   *
+   * @param studentId 登録・更新された受講生の受講生ID。変更された受講生を特定できない場合はnull
+   */
+  public StudentDataChangedEvent(Integer studentId) {
+    this.studentIds = studentId == null ? null : List.of(studentId);
+  }
+
+  private StudentDataChangedEvent(List<Integer> studentIds) {
+    this.studentIds = studentIds;
+  }
+
+  /**
+   * 複数の受講生の変更をまとめて表すイベントを作ります。
+   *
+   * @param studentIds 登録・更新された受講生の受講生ID
+   * @return 受講生データ変更イベント
+   */
+  public static StudentDataChangedEvent of(Collection<Integer> studentIds) {
+    return new StudentDataChangedEvent(studentIds.stream().distinct().sorted().toList());
+  }
+
+}
@@ -0,0 +1,96 @@
+package raisetech.student.management.event;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+
+/**
+ * 受講生データ変更イベントの対象の受講生と受講生コースを、DBからまとめて読み直したことを表すイベントです。
+ * 検索用のインデックスなど受講生データの複製を持つコンポーネントは、このイベントの内容を反映することで、
+ * 読み直しのSQLを複製ごとに実行せずに済みます。StudentDataReloader がコミット後に同期的に発行します。
+ * 起動完了時と、変更された受講生を特定できない変更では、全ての受講生と受講生コースを1回だけ読み込んで配ります。
+ */
+@Getter
+public class StudentDataReloadedEvent {
+
+  /** 読み直した受講生の受講生ID（昇順）。全件の読み直しの場合はnull */
+  private final List<Integer> studentIds;
+
+  /** 受講生IDごとの受講生。物理削除などで存在しない受講生は含みません */
+  private final Map<Integer, Student> students;
+
+  /** 受講生IDごとの受講生コース。受講生コースのない受講生は含みません */
+  private final Map<Integer, List<StudentCourse>> studentCourses;
+
+  /** 全件の読み直しの場合の、全ての受講生（受講生ID順）。受講生単位の読み直しでは空 */
+  private final List<Student> allStudents;
+
+  /** 全件の読み直しの場合の、全ての受講生コース（受講生コースID順）。受講生単位の読み直しでは空 */
+  private final List<StudentCourse> allStudentCourses;
+
+  /**
+   * 受講生単位の読み直しのイベントを作ります。
+   *
+   * @param studentIds 読み直した受講生の受講生ID（昇順）
+   * @param students 受講生IDごとの受講生
+   * @param studentCourses 受講生IDごとの受講生コース
+   */
+  public StudentDataReloadedEvent(List<Integer> studentIds, Map<Integer, Student> students,
+      Map<Integer, List<StudentCourse>> studentCourses) {
+    this(studentIds, students, studentCourses, List.of(), List.of());
+  }
+
+  private StudentDataReloadedEvent(List<Integer> studentIds, Map<Integer, Student> students,
+      Map<Integer, List<StudentCourse>> studentCourses, List<Student> allStudents,
+      List<StudentCourse> allStudentCourses) {
+    this.studentIds = studentIds;
+    this.students = students;
+    this.studentCourses = studentCourses;
+    this.allStudents = allStudents;
+    this.allStudentCourses = allStudentCourses;
+  }
+
+  /**
+   * 全件の読み直しのイベントを作ります。
+   *
+   * @param allStudents 全ての受講生（受講生ID順）
+   * @param allStudentCourses 全ての受講生コース（受講生コースID順）
+   * @return 全件の読み直しのイベント
+   */
+  public static StudentDataReloadedEvent ofAll(List<Student> allStudents,
+      List<StudentCourse> allStudentCourses) {
+    return new StudentDataReloadedEvent(null, Map.of(), Map.of(), allStudents, allStudentCourses);
+  }
+
+  /**
+   * 全ての受講生と受講生コースを読み直したイベントで、複製を作り直す必要があるかを返します。
+   *
+   * @return 全件の読み直しの場合はtrue
+   */
+  public boolean isFullReload() {
+    return studentIds == null;
+  }
+
+  /**
+   * 読み直した受講生を返します。
+   *
+   * @param studentId 受講生ID
+   * @return 受講生。存在しない場合はnull
+   */
+  public Student getStudent(int studentId) {
+    return students.get(studentId);
+  }
+
+  /**
+   * 読み直した受講生コースを返します。
+   *
+   * @param studentId 受講生ID
+   * @return 受講生コースのリスト。受講生コースがない場合は空
+   */
+  public List<StudentCourse> getStudentCourses(int studentId) {
+    return studentCourses.getOrDefault(studentId, List.of());
+  }
+
+}
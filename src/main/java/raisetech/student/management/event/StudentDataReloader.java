@@ -0,0 +1,104 @@
+package raisetech.student.management.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 受講生データの登録・更新がコミットされたとき、変更された受講生と受講生コースをIN句でまとめてDBから読み直し、
+ * StudentDataReloadedEvent として検索用のインデックスなどに配ります。
+ * 読み直しは受講生の人数やインデックスの数によらず、RELOAD_CHUNK_SIZE 人ごとに受講生と受講生コースの2回で済みます。
+ * アプリケーションの起動完了時と、変更された受講生を特定できない変更では、有効な StudentDataReplica が使う
+ * 全ての受講生と受講生コースを1回だけ読み込み、全件の読み直しのイベントとして配ります。
+ */
+@Component
+public class StudentDataReloader {
+
+  /** 1回のIN句で読み直す受講生IDの最大件数 */
+  static final int RELOAD_CHUNK_SIZE = 1000;
+
+  private StudentRepository studentRepository;
+  private List<StudentDataReplica> replicas;
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  public StudentDataReloader(StudentRepository studentRepository,
+      List<StudentDataReplica> replicas, ApplicationEventPublisher eventPublisher) {
+    this.studentRepository = studentRepository;
+    this.replicas = replicas;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * アプリケーションの起動完了時に、有効な複製が使う全件を読み込んで配ります。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    reloadAll();
+  }
+
+  /**
+   * 変更された受講生と受講生コースを読み直して StudentDataReloadedEvent を発行します。
+   * 検索結果のキャッシュが古い複製から再度キャッシュしないよう、キャッシュの破棄より先に実行します。
+   *
+   * @param event 受講生データ変更イベント
+   */
+  @Order(StudentDataChangedEvent.INDEX_LISTENER_ORDER)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentDataChanged(StudentDataChangedEvent event) {
+    List<Integer> studentIds = event.getStudentIds();
+    if (studentIds == null) {
+      reloadAll();
+      return;
+    }
+    if (studentIds.isEmpty()) {
+      return;
+    }
+
+    Map<Integer, Student> students = new HashMap<>();
+    Map<Integer, List<StudentCourse>> studentCourses = new HashMap<>();
+    for (int start = 0; start < studentIds.size(); start += RELOAD_CHUNK_SIZE) {
+      List<Integer> chunk = studentIds.subList(start,
+          Math.min(start + RELOAD_CHUNK_SIZE, studentIds.size()));
+      for (Student student : studentRepository.searchStudentsByIds(chunk)) {
+        students.put(student.getStudentId(), student);
+      }
+      for (StudentCourse studentCourse : studentRepository.searchStudentCoursesByStudentIds(chunk)) {
+        studentCourses.computeIfAbsent(studentCourse.getStudentId(), key -> new ArrayList<>())
+            .add(studentCourse);
+      }
+    }
+    eventPublisher.publishEvent(new StudentDataReloadedEvent(studentIds, students, studentCourses));
+  }
+
+  /**
+   * 有効な複製のいずれかが使う受講生と受講生コースだけを全件読み込み、全件の読み直しのイベントを発行します。
+   * 有効な複製がなければ読み込みません。
+   */
+  private void reloadAll() {
+    List<StudentDataReplica> enabled = replicas.stream().filter(StudentDataReplica::isEnabled).toList();
+    if (enabled.isEmpty()) {
+      return;
+    }
+    List<Student> students = enabled.stream().anyMatch(StudentDataReplica::usesStudents)
+        ? studentRepository.searchAllStudents()
+        : List.of();
+    List<StudentCourse> studentCourses = enabled.stream().anyMatch(StudentDataReplica::usesStudentCourses)
+        ? studentRepository.searchAllStudentCourses()
+        : List.of();
+    eventPublisher.publishEvent(StudentDataReloadedEvent.ofAll(students, studentCourses));
+  }
+
+}
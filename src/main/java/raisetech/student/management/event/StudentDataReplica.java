@@ -0,0 +1,113 @@
+package raisetech.student.management.event;
+
+import java.util.List;
+import org.springframework.context.event.EventListener;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+
+/**
+ * 検索用のインデックスやインメモリ検索エンジンのように、受講生データの複製をメモリに持つコンポーネントの基底クラスです。
+ * 全件の読み込みと受講生単位の反映は、どちらも StudentDataReloader が発行する StudentDataReloadedEvent で受け取ります。
+ * 全件の読み込みは StudentDataReloader が有効な複製の分をまとめて1回だけ行うため、複製ごとにDBを全件読み込むことはありません。
+ * 全件読み込みと受講生単位の反映はこのクラスで直列化し、サブクラスは作り直しと反映の処理だけを実装します。
+ */
+public abstract class StudentDataReplica {
+
+  private final boolean enabled;
+
+  /** 全件読み込みと受講生単位の反映を直列化するためのモニタ */
+  private final Object refreshMonitor = new Object();
+
+  /** 全件読み込みが完了していればtrue */
+  private volatile boolean loaded;
+
+  protected StudentDataReplica(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * 有効に設定されているかを返します。無効な複製には全件読み込みも受講生単位の反映も行いません。
+   * @return 有効ならtrue
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 複製が使用可能かを返します。無効に設定されている場合と、全件読み込みが完了していない場合はfalseです。
+   * @return 使用可能ならtrue
+   */
+  public boolean isAvailable() {
+    return loaded;
+  }
+
+  /**
+   * 全件読み込みに受講生を使うかを返します。
+   * @return 使う場合はtrue
+   */
+  public boolean usesStudents() {
+    return true;
+  }
+
+  /**
+   * 全件読み込みに受講生コースを使うかを返します。
+   * @return 使う場合はtrue
+   */
+  public boolean usesStudentCourses() {
+    return false;
+  }
+
+  /**
+   * 全ての受講生と受講生コースから複製を作り直します。
+   * 読み込み中にコミットされた変更は、読み込み完了後に受講生単位の反映で取り込まれます。
+   *
+   * @param students 全ての受講生（受講生ID順）。usesStudents()がfalseなら空
+   * @param studentCourses 全ての受講生コース（受講生コースID順）。usesStudentCourses()がfalseなら空
+   */
+  public void load(List<Student> students, List<StudentCourse> studentCourses) {
+    synchronized (refreshMonitor) {
+      rebuild(students, studentCourses);
+      loaded = true;
+    }
+  }
+
+  /**
+   * 受講生データがDBから読み直されたとき、その内容を複製に反映します。全件の読み直しなら複製を作り直します。
+   * 検索結果のキャッシュの破棄より先に、コミット後の同じ処理の中で呼び出されます。
+   *
+   * @param event 受講生データ再読み込みイベント
+   */
+  @EventListener
+  public void onStudentDataReloaded(StudentDataReloadedEvent event) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (refreshMonitor) {
+      if (event.isFullReload()) {
+        load(event.getAllStudents(), event.getAllStudentCourses());
+        return;
+      }
+      // 全件読み込み前の変更は、全件読み込みに含まれる
+      if (!loaded) {
+        return;
+      }
+      apply(event);
+    }
+  }
+
+  /**
+   * 全ての受講生と受講生コースから複製を作り直し、検索中の処理と排他して差し替えます。
+   *
+   * @param students 全ての受講生（受講生ID順）
+   * @param studentCourses 全ての受講生コース（受講生コースID順）
+   */
+  protected abstract void rebuild(List<Student> students, List<StudentCourse> studentCourses);
+
+  /**
+   * 読み直した受講生と受講生コースを、検索中の処理と排他して複製に反映します。
+   *
+   * @param event 受講生単位の受講生データ再読み込みイベント
+   */
+  protected abstract void apply(StudentDataReloadedEvent event);
+
+}
@@ -0,0 +1,14 @@
+package raisetech.student.management.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidPageCursorException extends RuntimeException {
+
+  private final String cursor;
+
+  public InvalidPageCursorException(String cursor) {
+    super("ページングカーソルの形式が不正です。前ページのレスポンスで返されたカーソルを指定してください。");
+    this.cursor = cursor;
+  }
+}
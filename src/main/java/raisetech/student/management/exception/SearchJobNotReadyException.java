@@ -0,0 +1,17 @@
+package raisetech.student.management.exception;
+
+import lombok.Getter;
+import raisetech.student.management.search.job.SearchJobStatus;
+
+@Getter
+public class SearchJobNotReadyException extends RuntimeException {
+
+  private final String jobId;
+  private final SearchJobStatus status;
+
+  public SearchJobNotReadyException(String jobId, SearchJobStatus status) {
+    super("検索ジョブが完了していないため、検索結果をダウンロードできません。（状態: " + status + "）");
+    this.jobId = jobId;
+    this.status = status;
+  }
+}
@@ -0,0 +1,14 @@
+package raisetech.student.management.exception;
+
+import lombok.Getter;
+
+@Getter
+public class SearchJobRejectedException extends RuntimeException {
+
+  private final int queueCapacity;
+
+  public SearchJobRejectedException(int queueCapacity) {
+    super("実行待ちの検索ジョブが上限（" + queueCapacity + "件）に達しています。しばらくしてから再度送信してください。");
+    this.queueCapacity = queueCapacity;
+  }
+}
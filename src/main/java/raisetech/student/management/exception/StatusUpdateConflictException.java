@@ -0,0 +1,19 @@
+package raisetech.student.management.exception;
+
+import lombok.Getter;
+
+@Getter
+public class StatusUpdateConflictException extends RuntimeException {
+
+  private final Integer studentCourseId;
+  private final Integer expectedStatusId;
+  private final Integer actualStatusId;
+
+  public StatusUpdateConflictException(Integer studentCourseId, Integer expectedStatusId,
+      Integer actualStatusId) {
+    super("受講生コースのステータスが他の更新で変更されたため、更新できませんでした。最新のステータスを確認してから再度更新してください");
+    this.studentCourseId = studentCourseId;
+    this.expectedStatusId = expectedStatusId;
+    this.actualStatusId = actualStatusId;
+  }
+}
@@ -10,8 +10,12 @@ import java.util.stream.Stream;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import raisetech.student.management.exception.InvalidPageCursorException;
 import raisetech.student.management.exception.InvalidSearchCriteriaException;
 import raisetech.student.management.exception.InvalidStatusTransitionException;
+import raisetech.student.management.exception.SearchJobNotReadyException;
+import raisetech.student.management.exception.SearchJobRejectedException;
+import raisetech.student.management.exception.StatusUpdateConflictException;
 import raisetech.student.management.exception.TargetNotFoundException;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JacksonException.Reference;
@@ -169,6 +173,81 @@ public class ErrorDetailsBuilder {
     return errors;
   }
 
+  /**
+   * InvalidPageCursorExceptionを受け取り、不正だったカーソルとエラーメッセージを返します。
+   *
+   * @param ex InvalidPageCursorException
+   * @return エラー発生個所（after）と不正だったカーソル、エラーメッセージ
+   */
+  public List<Map<String, String>> buildErrorDetails(InvalidPageCursorException ex) {
+    List<Map<String, String>> errors = new ArrayList<>();
+
+    Map<String, String> error = new HashMap<>();
+    error.put("field", "after");
+    error.put("value", ex.getCursor());
+    error.put("message", ex.getMessage());
+    errors.add(error);
+
+    return errors;
+  }
+
+  /**
+   * SearchJobRejectedExceptionを受け取り、実行待ちにできるジョブの上限とエラーメッセージを返します。
+   *
+   * @param ex SearchJobRejectedException
+   * @return 実行待ちにできるジョブの上限とエラーメッセージ
+   */
+  public List<Map<String, String>> buildErrorDetails(SearchJobRejectedException ex) {
+    List<Map<String, String>> errors = new ArrayList<>();
+
+    Map<String, String> error = new HashMap<>();
+    error.put("value", "上限: " + ex.getQueueCapacity());
+    error.put("message", ex.getMessage());
+    errors.add(error);
+
+    return errors;
+  }
+
+  /**
+   * SearchJobNotReadyExceptionを受け取り、ジョブIDと現在の状態、エラーメッセージを返します。
+   *
+   * @param ex SearchJobNotReadyException
+   * @return エラー発生個所（jobId）とジョブの状態、エラーメッセージ
+   */
+  public List<Map<String, String>> buildErrorDetails(SearchJobNotReadyException ex) {
+    List<Map<String, String>> errors = new ArrayList<>();
+
+    Map<String, String> error = new HashMap<>();
+    error.put("field", "jobId");
+    error.put("value", ex.getJobId() + " (" + ex.getStatus() + ")");
+    error.put("message", ex.getMessage());
+    errors.add(error);
+
+    return errors;
+  }
+
+  /**
+   * StatusUpdateConflictExceptionを受け取り、想定していたステータスIDと現在のステータスID、エラーメッセージを返します。
+   * 想定していたステータスIDが指定されていない場合は、現在のステータスIDだけを返します。
+   *
+   * @param ex StatusUpdateConflictException
+   * @return エラー発生個所（statusId）と想定していた・現在のステータスID、エラーメッセージ
+   */
+  public List<Map<String, String>> buildErrorDetails(StatusUpdateConflictException ex) {
+    List<Map<String, String>> errors = new ArrayList<>();
+
+    Map<String, String> error = new HashMap<>();
+    error.put("field", "statusId");
+    String actual = "現在: " + ex.getActualStatusId();
+    error.put("value", ex.getExpectedStatusId() == null
+        ? actual
+        : "想定: " + ex.getExpectedStatusId() + " -> " + actual);
+    error.put("message", ex.getMessage());
+    errors.add(error);
+
+    return errors;
+  }
+
   /**
    * 例外インスタンスが持っている例外発生箇所のパスをAPI利用者が理解しやすい形に整形します。
    * @param path JacksonException#getPath()で取得したパス
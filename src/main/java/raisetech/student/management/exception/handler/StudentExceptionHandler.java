@@ -12,8 +12,12 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import raisetech.student.management.exception.InvalidPageCursorException;
 import raisetech.student.management.exception.InvalidSearchCriteriaException;
 import raisetech.student.management.exception.InvalidStatusTransitionException;
+import raisetech.student.management.exception.SearchJobNotReadyException;
+import raisetech.student.management.exception.SearchJobRejectedException;
+import raisetech.student.management.exception.StatusUpdateConflictException;
 import raisetech.student.management.exception.TargetNotFoundException;
 import tools.jackson.core.JacksonException;
 
@@ -106,6 +110,22 @@ public class StudentExceptionHandler {
 
   }
 
+  /**
+   * 受講生コースのステータスを更新しようとした時点で、想定していたステータスから他の更新で変更されていたことをクライアントに返します。
+   *
+   * @param ex StatusUpdateConflictException
+   * @return HTTPステータス(CONFLICT), エラー詳細
+   */
+  @ExceptionHandler(StatusUpdateConflictException.class)
+  public ResponseEntity<ErrorResponse> handleStatusUpdateConflictException(
+      StatusUpdateConflictException ex) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT,
+        "status update conflict", errorDetailsBuilder.buildErrorDetails(ex));
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+
+  }
+
   @ExceptionHandler(HttpMessageNotReadableException.class)
   public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
       HttpMessageNotReadableException ex){
@@ -156,4 +176,52 @@ public class StudentExceptionHandler {
     return ResponseEntity.badRequest().body(errorResponse);
 
   }
+
+  /**
+   * ページングカーソル（after）として解析できない値が指定された場合にサービス層から送出されます。
+   *
+   * @param ex InvalidPageCursorException
+   * @return HTTPステータス(BAD_REQUEST), エラー詳細
+   */
+  @ExceptionHandler(InvalidPageCursorException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidPageCursorException(
+      InvalidPageCursorException ex) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST,
+        "invalid page cursor", errorDetailsBuilder.buildErrorDetails(ex));
+    return ResponseEntity.badRequest().body(errorResponse);
+
+  }
+
+  /**
+   * 実行待ちの検索ジョブが上限に達しており、新しいジョブを受け付けられない場合にサービス層から送出されます。
+   *
+   * @param ex SearchJobRejectedException
+   * @return HTTPステータス(SERVICE_UNAVAILABLE), エラー詳細
+   */
+  @ExceptionHandler(SearchJobRejectedException.class)
+  public ResponseEntity<ErrorResponse> handleSearchJobRejectedException(
+      SearchJobRejectedException ex) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+        "search job rejected", errorDetailsBuilder.buildErrorDetails(ex));
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+
+  }
+
+  /**
+   * 完了していない検索ジョブの検索結果をダウンロードしようとした場合にサービス層から送出されます。
+   *
+   * @param ex SearchJobNotReadyException
+   * @return HTTPステータス(CONFLICT), エラー詳細
+   */
+  @ExceptionHandler(SearchJobNotReadyException.class)
+  public ResponseEntity<ErrorResponse> handleSearchJobNotReadyException(
+      SearchJobNotReadyException ex) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT,
+        "search job not ready", errorDetailsBuilder.buildErrorDetails(ex));
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+
+  }
 }
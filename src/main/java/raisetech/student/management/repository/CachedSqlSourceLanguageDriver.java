@@ -0,0 +1,28 @@
+package raisetech.student.management.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * SQLの文字列ごとに、パラメータの解析済みの SqlSource を使い回す LanguageDriver です。
+ * MyBatis は @SelectProvider が返したSQLを実行のたびに解析するため、
+ * 同じSQLを返すプロバイダー（StudentSearchSqlProvider）と組み合わせて、2回目以降の解析を省きます。
+ * 動的SQL（&lt;script&gt; や ${}）を含まないSQLだけに使用してください。
+ */
+public class CachedSqlSourceLanguageDriver extends XMLLanguageDriver {
+
+  private final Cache<String, SqlSource> sqlSources = Caffeine.newBuilder()
+      .maximumSize(StudentSearchSqlProvider.MAXIMUM_TEMPLATES)
+      .build();
+
+  @Override
+  public SqlSource createSqlSource(Configuration configuration, String script,
+      Class<?> parameterType) {
+    return sqlSources.get(script,
+        key -> super.createSqlSource(configuration, key, parameterType));
+  }
+
+}
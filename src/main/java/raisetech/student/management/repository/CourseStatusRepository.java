@@ -1,28 +1,36 @@
 package raisetech.student.management.repository;
 
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Select;
+import raisetech.student.management.data.master.CourseStatus;
+import raisetech.student.management.data.master.StatusTransition;
 
 @Mapper
 public interface CourseStatusRepository {
 
   /**
-   * あるステータスから別のステータスへ遷移可能かを判定します。
-   * 元ステータスが終端でなく、かつ遷移マスタに定義がある場合にtrueを返します。
+   * ステータスマスタを全件、ステータスID順に取得します。状態遷移表の作成に使用します。
    *
-   * @param fromStatusId 現在のステータスID
-   * @param toStatusId 更新先のステータスID
-   * @return 遷移可能ならtrue
+   * @return 全てのステータス
    */
   @Select("""
-      SELECT COUNT(*) > 0
-      FROM status_master sm
-      JOIN status_transition_master stm
-        ON sm.status_id = stm.from_status_id
-      WHERE sm.status_id = #{fromStatusId}
-        AND stm.to_status_id = #{toStatusId}
-        AND sm.is_terminal = false
+      SELECT status_id, status_name, is_terminal
+      FROM status_master
+      ORDER BY status_id
       """)
-  boolean canTransition(int fromStatusId, int toStatusId);
+  List<CourseStatus> findAllStatuses();
+
+  /**
+   * 遷移マスタを全件取得します。元ステータスが終端かどうかは考慮しません。状態遷移表の作成に使用します。
+   *
+   * @return 全てのステータス遷移
+   */
+  @Select("""
+      SELECT from_status_id, to_status_id
+      FROM status_transition_master
+      ORDER BY from_status_id, to_status_id
+      """)
+  List<StatusTransition> findAllTransitions();
 
 }
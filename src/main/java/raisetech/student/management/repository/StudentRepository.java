@@ -1,10 +1,17 @@
 package raisetech.student.management.repository;
 
 import java.util.List;
+import org.apache.ibatis.annotations.Lang;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.cursor.Cursor;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.facet.StudentFacetRow;
+import raisetech.student.management.search.suggest.StudentSuggestion;
 
 /**
  * 受講生テーブルと受講生コース情報テーブルに紐づくRepositoryです。
@@ -23,11 +30,70 @@ public interface StudentRepository {
   /**
    * 検索条件に一致する受講生ID一覧を取得します。
    * 条件を指定しない場合は全ての受講生ID一覧を取得します。
+   * SQLは StudentSearchSqlProvider が、指定されている条件の組み合わせごとに組み立ててキャッシュします。
    * @param criteria 検索条件
    * @return 条件に一致する受講生ID一覧
    */
+  @Lang(CachedSqlSourceLanguageDriver.class)
+  @SelectProvider(type = StudentSearchSqlProvider.class, method = "findMatchedStudentIds")
   List<Integer> findMatchedStudentIds(StudentSearchCriteria criteria);
 
+  /**
+   * 検索条件に一致する受講生IDを、全件をメモリに載せずに1件ずつ読み出せるカーソルとして取得します。
+   * カーソルはトランザクション内で使用し、使用後はクローズしてください。
+   * MySQLでは接続URLに useCursorFetch=true を指定するとサーバーサイドカーソルで読み出します。
+   * @param criteria 検索条件
+   * @return 条件に一致する受講生IDを受講生ID順に返すカーソル
+   */
+  @Lang(CachedSqlSourceLanguageDriver.class)
+  @SelectProvider(type = StudentSearchSqlProvider.class, method = "findMatchedStudentIds")
+  @Options(fetchSize = 1000)
+  Cursor<Integer> streamMatchedStudentIds(StudentSearchCriteria criteria);
+
+  /**
+   * 検索条件に一致する受講生の人数を数えます。並び順とページング条件は無視します。
+   * @param criteria 検索条件
+   * @return 条件に一致する受講生の人数
+   */
+  @Lang(CachedSqlSourceLanguageDriver.class)
+  @SelectProvider(type = StudentSearchSqlProvider.class, method = "countMatchedStudents")
+  long countMatchedStudents(StudentSearchCriteria criteria);
+
+  /**
+   * 検索条件に一致する受講生の性別と地域を、受講生ID順に読み出せるカーソルとして取得します。検索結果の集計に使用します。
+   * カーソルはトランザクション内で使用し、使用後はクローズしてください。
+   * @param criteria 検索条件
+   * @return 受講生1人につき1行を返すカーソル
+   */
+  @Lang(CachedSqlSourceLanguageDriver.class)
+  @SelectProvider(type = StudentSearchSqlProvider.class, method = "findStudentFacetRows")
+  @Options(fetchSize = 1000)
+  Cursor<StudentFacetRow> streamStudentFacetRows(StudentSearchCriteria criteria);
+
+  /**
+   * 検索条件に一致する受講生の性別と地域、受講生コースのコースコードとステータスIDを、
+   * 受講生ID順に読み出せるカーソルとして取得します。検索結果の集計に使用します。
+   * カーソルはトランザクション内で使用し、使用後はクローズしてください。
+   * @param criteria 検索条件
+   * @return 受講生コース1件につき1行（受講生コースのない受講生は1行）を返すカーソル
+   */
+  @Lang(CachedSqlSourceLanguageDriver.class)
+  @SelectProvider(type = StudentSearchSqlProvider.class, method = "findStudentCourseFacetRows")
+  @Options(fetchSize = 1000)
+  Cursor<StudentFacetRow> streamStudentCourseFacetRows(StudentSearchCriteria criteria);
+
+  /**
+   * 全ての受講生を受講生ID順に取得します。インメモリ検索エンジンや索引の構築に使用します。
+   * @return 全ての受講生
+   */
+  List<Student> searchAllStudents();
+
+  /**
+   * 全ての受講生コースを受講生コースID順に取得します。インメモリ検索エンジンの構築に使用します。
+   * @return 全ての受講生コース
+   */
+  List<StudentCourse> searchAllStudentCourses();
+
   /**
    * 受講生IDに紐づく受講生コース情報の検索を行います。
    * @param studentId 受講性ID
@@ -35,6 +101,42 @@ public interface StudentRepository {
    */
   List<StudentCourse> searchStudentCourses(int studentId);
 
+  /**
+   * 受講生IDのリストに一致する受講生を一括で検索します。
+   * 返却順は保証しないため、呼び出し側で受講生IDをもとに並べ替えてください。
+   * @param studentIds 受講生IDのリスト（空リストは不可）
+   * @return 受講生IDに一致する受講生の一覧
+   */
+  List<Student> searchStudentsByIds(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 受講生IDのリストに一致する受講生を、指定された列だけ一括で検索します。指定されなかった項目はnullになります。
+   * 返却順は保証しないため、呼び出し側で受講生IDをもとに並べ替えてください。
+   * @param studentIds 受講生IDのリスト（空リストは不可）
+   * @param columns 取得する列名のリスト。StudentProjection#studentColumns の値のみ指定可能
+   * @return 受講生IDに一致する受講生の一覧
+   */
+  List<Student> searchStudentColumnsByIds(@Param("studentIds") List<Integer> studentIds,
+      @Param("columns") List<String> columns);
+
+  /**
+   * 受講生IDのリストに紐づく受講生コース情報を一括で検索します。
+   * 受講生ID、受講生コースIDの昇順で返却します。
+   * @param studentIds 受講生IDのリスト（空リストは不可）
+   * @return 受講生IDに紐づく受講生コース情報の一覧
+   */
+  List<StudentCourse> searchStudentCoursesByStudentIds(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 列の値が前方一致する受講生を値ごとに数え、人数の多い順に取得します。入力補完の索引が使えないときに使用します。
+   * @param field 補完する列のフィールド名（fullName, kanaName, nickname, area）
+   * @param prefixLike 前方一致のLIKEパターン。例: "田中%"。文字として一致させる % _ \ は \ でエスケープします
+   * @param limit 取得件数の上限
+   * @return 値と人数のリスト
+   */
+  List<StudentSuggestion> suggestStudentValues(@Param("field") String field,
+      @Param("prefixLike") String prefixLike, @Param("limit") int limit);
+
   /**
    * 受講生の新規登録を行います。受講生IDは自動採番を行います。
    * @param student 受講生
@@ -47,6 +149,18 @@ public interface StudentRepository {
    */
   void registerStudentCourse(StudentCourse studentCourse);
 
+  /**
+   * 複数の受講生を1回の複数行INSERTで新規登録します。受講生IDは自動採番を行い、リストの各受講生にセットします。
+   * @param students 受講生のリスト（空リストは不可）
+   */
+  void registerStudents(@Param("students") List<Student> students);
+
+  /**
+   * 複数の受講生コースを1回の複数行INSERTで新規登録します。受講生コースIDは自動採番を行い、リストの各受講生コースにセットします。
+   * @param studentCourses 受講生コースのリスト（空リストは不可）
+   */
+  void registerStudentCourses(@Param("studentCourses") List<StudentCourse> studentCourses);
+
   /**
    * 受講生の更新を行います。削除フラグの更新（論理削除）もここで行います。
    * @param student 受講生
@@ -54,10 +168,27 @@ public interface StudentRepository {
   int updateStudent(Student student);
 
   /**
-   * 受講生コースの更新を行います。
-   * @param studentCourse 受講生コース
+   * 受講生コースIDと受講生IDで指定する受講生コースのステータスを、現在のステータスが遷移前のステータスのいずれかである場合のみ更新します。
+   * 現在のステータスの確認と更新を1つのUPDATEで行うため、読み込んでから更新するまでの間に他の更新が割り込むことはありません。
+   * 受講開始日・受講終了予定日・受講終了実績日は、値がnullでない場合のみ更新します。
+   * @param studentCourse 受講生コースID・受講生ID・更新後のステータスIDと日付を持つ受講生コース
+   * @param expectedStatusIds 遷移前として許可するステータスIDのリスト（空リストは不可）
+   * @return 更新件数。受講生コースが存在しないか、現在のステータスがいずれとも一致しない場合は0
    */
-  int updateStudentCourseStatus(StudentCourse studentCourse);
+  int compareAndSetStudentCourseStatus(@Param("studentCourse") StudentCourse studentCourse,
+      @Param("expectedStatusIds") List<Integer> expectedStatusIds);
+
+  /**
+   * 受講生コースIDのリストに含まれ、現在のステータスが遷移前のステータスと一致する受講生コースのステータスを一括で更新します。
+   * 受講開始日・受講終了予定日・受講終了実績日は、値がnullでない場合のみ更新します。
+   * 読み込んだ後に他の更新でステータスが変わった受講生コースは更新しません。
+   * @param studentCourseIds 受講生コースIDのリスト（空リストは不可）
+   * @param fromStatusId 遷移前のステータスID
+   * @param studentCourse 更新後のステータスIDと日付を持つ受講生コース
+   * @return 更新件数
+   */
+  int updateStudentCourseStatuses(@Param("studentCourseIds") List<Integer> studentCourseIds,
+      @Param("fromStatusId") int fromStatusId, @Param("studentCourse") StudentCourse studentCourse);
 
   /**
    * 受講生コースIDと受講生IDで指定する受講生コースの現在のステータスを取得します。
@@ -66,6 +197,14 @@ public interface StudentRepository {
    */
   Integer findStatusId(StudentCourse studentCourse);
 
+  /**
+   * 受講生コースIDのリストに一致する受講生コースの、受講生IDと現在のステータスIDを一括で取得します。
+   * 返却順は保証しないため、呼び出し側で受講生コースIDをもとに対応付けてください。
+   * @param studentCourseIds 受講生コースIDのリスト（空リストは不可）
+   * @return 受講生コースID・受講生ID・ステータスIDだけをセットした受講生コースの一覧
+   */
+  List<StudentCourse> findStudentCourseStatuses(@Param("studentCourseIds") List<Integer> studentCourseIds);
+
   /**
    * 受講生IDがアクティブな受講生の中に存在するかのチェックを行います。
    * @param studentId 受講生ID
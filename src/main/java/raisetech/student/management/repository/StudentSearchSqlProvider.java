@@ -0,0 +1,462 @@
+package raisetech.student.management.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSearchPredicate;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.And;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Match;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Not;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Or;
+import raisetech.student.management.search.criteria.StudentSortKey;
+import raisetech.student.management.search.request.SearchableField;
+
+/**
+ * 受講生IDの検索クエリを組み立てる、StudentRepository の @SelectProvider です。
+ * 検索条件ごとに、どの条件が指定されているかをビットマスクで表し、同じビットマスク（とINのリストの件数の区分）の検索では
+ * 同じSQLを返します。SQLはキャッシュするため、検索のたびにOGNL式を評価して組み立てることはありません。
+ * INのリストのプレースホルダーは件数を2のべき乗に切り上げた数だけ用意し、余った分には末尾の値を繰り返してバインドします。
+ * 候補の受講生IDの件数が検索ごとに変わっても、SQLとプリペアドステートメントの種類は件数の桁数程度に収まります。
+ * 同じSQLではプレースホルダーの並び順も同じため、パラメータは常に同じ位置にバインドされます。
+ * 列名と、受講生・受講生コースのどちらの条件かは SearchableField から求めます。
+ * 検索フィルターグループの条件の木は、AND / OR / NOT を組み合わせた1つの述語にして同じクエリで評価します。
+ * 並び順が指定されていれば、その ORDER BY 句もSQLを区別するキーに含めます。
+ * 同じ検索条件の述語で、受講生IDのほか人数や集計用の項目を取得するSQLも組み立てます。
+ */
+public final class StudentSearchSqlProvider {
+
+  /** キャッシュするSQLの上限数 */
+  static final int MAXIMUM_TEMPLATES = 1_024;
+
+  /** 検索条件の項目。定義順がビットマスクのビットの位置とSQLでの条件の並び順になります */
+  private static final List<Condition> CONDITIONS = List.of(
+      Condition.compare(SearchableField.FULL_NAME, "Eq", "=", StudentSearchCriteria::getFullNameEq),
+      Condition.compare(SearchableField.FULL_NAME, "Like", "LIKE", StudentSearchCriteria::getFullNameLike),
+      Condition.compare(SearchableField.KANA_NAME, "Eq", "=", StudentSearchCriteria::getKanaNameEq),
+      Condition.compare(SearchableField.KANA_NAME, "Like", "LIKE", StudentSearchCriteria::getKanaNameLike),
+      Condition.compare(SearchableField.NICKNAME, "Eq", "=", StudentSearchCriteria::getNicknameEq),
+      Condition.compare(SearchableField.NICKNAME, "Like", "LIKE", StudentSearchCriteria::getNicknameLike),
+      Condition.compare(SearchableField.AGE, "Eq", "=", StudentSearchCriteria::getAgeEq),
+      Condition.compare(SearchableField.AGE, "Min", ">=", StudentSearchCriteria::getAgeMin),
+      Condition.compare(SearchableField.AGE, "Max", "<=", StudentSearchCriteria::getAgeMax),
+      Condition.compare(SearchableField.IS_DELETED, "", "=", StudentSearchCriteria::getIsDeleted),
+      Condition.compare(SearchableField.EMAIL, "Eq", "=", StudentSearchCriteria::getEmailEq),
+      Condition.compare(SearchableField.EMAIL, "Like", "LIKE", StudentSearchCriteria::getEmailLike),
+      Condition.compare(SearchableField.AREA, "Eq", "=", StudentSearchCriteria::getAreaEq),
+      Condition.compare(SearchableField.AREA, "Like", "LIKE", StudentSearchCriteria::getAreaLike),
+      Condition.compare(SearchableField.TELEPHONE, "Eq", "=", StudentSearchCriteria::getTelephoneEq),
+      Condition.compare(SearchableField.TELEPHONE, "Like", "LIKE", StudentSearchCriteria::getTelephoneLike),
+      Condition.compare(SearchableField.SEX, "Eq", "=", StudentSearchCriteria::getSexEq),
+      Condition.in(SearchableField.SEX, StudentSearchCriteria::getSexIn),
+      Condition.compare(SearchableField.REMARK, "Eq", "=", StudentSearchCriteria::getRemarkEq),
+      Condition.compare(SearchableField.REMARK, "Like", "LIKE", StudentSearchCriteria::getRemarkLike),
+      Condition.compare(SearchableField.COURSE_CODE, "Eq", "=", StudentSearchCriteria::getCourseCodeEq),
+      Condition.in(SearchableField.COURSE_CODE, StudentSearchCriteria::getCourseCodeIn),
+      Condition.compare(SearchableField.STATUS_ID, "Eq", "=", StudentSearchCriteria::getStatusIdEq),
+      Condition.in(SearchableField.STATUS_ID, StudentSearchCriteria::getStatusIdIn),
+      Condition.compare(SearchableField.COURSE_APPLY_AT, "Eq", "=", StudentSearchCriteria::getCourseApplyAtEq),
+      Condition.compare(SearchableField.COURSE_APPLY_AT, "From", ">=", StudentSearchCriteria::getCourseApplyAtFrom),
+      Condition.compare(SearchableField.COURSE_APPLY_AT, "To", "<=", StudentSearchCriteria::getCourseApplyAtTo),
+      Condition.compare(SearchableField.COURSE_START_AT, "Eq", "=", StudentSearchCriteria::getCourseStartAtEq),
+      Condition.compare(SearchableField.COURSE_START_AT, "From", ">=", StudentSearchCriteria::getCourseStartAtFrom),
+      Condition.compare(SearchableField.COURSE_START_AT, "To", "<=", StudentSearchCriteria::getCourseStartAtTo),
+      Condition.compare(SearchableField.COURSE_PLANNED_END_AT, "Eq", "=", StudentSearchCriteria::getCoursePlannedEndAtEq),
+      Condition.compare(SearchableField.COURSE_PLANNED_END_AT, "From", ">=", StudentSearchCriteria::getCoursePlannedEndAtFrom),
+      Condition.compare(SearchableField.COURSE_PLANNED_END_AT, "To", "<=", StudentSearchCriteria::getCoursePlannedEndAtTo),
+      Condition.compare(SearchableField.COURSE_FINISHED_AT, "Eq", "=", StudentSearchCriteria::getCourseFinishedAtEq),
+      Condition.compare(SearchableField.COURSE_FINISHED_AT, "From", ">=", StudentSearchCriteria::getCourseFinishedAtFrom),
+      Condition.compare(SearchableField.COURSE_FINISHED_AT, "To", "<=", StudentSearchCriteria::getCourseFinishedAtTo),
+      // 受講期間は受講終了実績日（なければ受講終了予定日）と受講開始日で重なりを判定する
+      Condition.expression(SearchableField.COURSE_PERIOD,
+          "COALESCE(sc.course_finished_at, sc.course_planned_end_at)", ">=", "coursePeriodFrom",
+          StudentSearchCriteria::getCoursePeriodFrom),
+      Condition.expression(SearchableField.COURSE_PERIOD,
+          "sc.course_start_at", "<=", "coursePeriodTo", StudentSearchCriteria::getCoursePeriodTo)
+  );
+
+  private static final long CANDIDATE_BIT = 1L << CONDITIONS.size();
+  private static final long AFTER_STUDENT_ID_BIT = CANDIDATE_BIT << 1;
+  private static final long LIMIT_BIT = AFTER_STUDENT_ID_BIT << 1;
+  private static final long COURSE_MASK = courseMask();
+
+  /** NOT NULL 制約があり、並べるときにnullを考えなくてよい受講生の項目 */
+  private static final Set<SearchableField> NOT_NULL_FIELDS = EnumSet.of(SearchableField.FULL_NAME,
+      SearchableField.KANA_NAME, SearchableField.EMAIL, SearchableField.IS_DELETED);
+
+  private static final Cache<Shape, String> TEMPLATES = Caffeine.newBuilder()
+      .maximumSize(MAXIMUM_TEMPLATES)
+      .build();
+
+  private StudentSearchSqlProvider() {
+  }
+
+  /**
+   * 検索条件に一致する受講生IDを受講生ID順に取得するSQLを返します。
+   * 受講コースの条件は、同じ受講生コースの行で全て満たすものがあるかを EXISTS で判定し、
+   * 受講コースの条件がなければ student_courses を参照しません。
+   *
+   * @param criteria 検索条件
+   * @return SQL
+   */
+  public static String findMatchedStudentIds(StudentSearchCriteria criteria) {
+    return TEMPLATES.get(shapeOf(criteria, Select.STUDENT_IDS), StudentSearchSqlProvider::buildSql);
+  }
+
+  /**
+   * 検索条件に一致する受講生の人数を数えるSQLを返します。受講生テーブルの1行が1人の受講生のため、
+   * 受講コースの条件があっても EXISTS で判定するだけで行は増えず、COUNT(*) がそのまま受講生の人数になります。
+   * 並び順とページング条件は無視します。
+   *
+   * @param criteria 検索条件
+   * @return SQL
+   */
+  public static String countMatchedStudents(StudentSearchCriteria criteria) {
+    return TEMPLATES.get(shapeOf(criteria, Select.COUNT), StudentSearchSqlProvider::buildSql);
+  }
+
+  /**
+   * 検索条件に一致する受講生の、集計に使う受講生の項目を受講生ID順に取得するSQLを返します。
+   * 並び順とページング条件は無視します。
+   *
+   * @param criteria 検索条件
+   * @return SQL
+   */
+  public static String findStudentFacetRows(StudentSearchCriteria criteria) {
+    return TEMPLATES.get(shapeOf(criteria, Select.FACET_ROWS), StudentSearchSqlProvider::buildSql);
+  }
+
+  /**
+   * 検索条件に一致する受講生の、集計に使う受講生と受講生コースの項目を受講生ID順に取得するSQLを返します。
+   * 受講生コースは外部結合するため、受講生コースのない受講生も1行返します。並び順とページング条件は無視します。
+   *
+   * @param criteria 検索条件
+   * @return SQL
+   */
+  public static String findStudentCourseFacetRows(StudentSearchCriteria criteria) {
+    return TEMPLATES.get(shapeOf(criteria, Select.COURSE_FACET_ROWS),
+        StudentSearchSqlProvider::buildSql);
+  }
+
+  /**
+   * 検索条件に指定されている項目をビットマスクで返します。
+   * @param criteria 検索条件
+   * @return 指定されている項目のビットを立てた値
+   */
+  static long maskOf(StudentSearchCriteria criteria) {
+    long mask = 0;
+    for (int i = 0; i < CONDITIONS.size(); i++) {
+      if (CONDITIONS.get(i).isPresent(criteria)) {
+        mask |= 1L << i;
+      }
+    }
+    if (criteria.getCandidateStudentIds() != null) {
+      mask |= CANDIDATE_BIT;
+    }
+    if (criteria.getAfterStudentId() != null) {
+      mask |= AFTER_STUDENT_ID_BIT;
+    }
+    if (criteria.getLimit() != null) {
+      mask |= LIMIT_BIT;
+    }
+    return mask;
+  }
+
+  private static Shape shapeOf(StudentSearchCriteria criteria, Select select) {
+    long mask = maskOf(criteria);
+    if (select != Select.STUDENT_IDS) {
+      mask &= ~(AFTER_STUDENT_ID_BIT | LIMIT_BIT);
+    }
+    int[] listSizes = listSizesOf(criteria, mask);
+    if ((mask & CANDIDATE_BIT) != 0) {
+      listSizes[CONDITIONS.size()] =
+          StudentSearchCriteria.inListSlots(criteria.getCandidateStudentIds().size());
+    }
+    String filterTreeSql = criteria.getFilterTree() == null
+        ? null : predicateSql(criteria.getFilterTree(), "filterTree.");
+    String orderBySql = select == Select.STUDENT_IDS ? orderBySql(criteria.getSortKeys())
+        : select == Select.COUNT ? "" : " ORDER BY s.student_id";
+    return new Shape(select, mask, listSizes, filterTreeSql, orderBySql);
+  }
+
+  /**
+   * INのリストのプレースホルダーの数を返します。プレースホルダーの数が件数で変わるため、SQLを区別するキーに含めます。
+   * 件数は2のべき乗に切り上げるため、件数が近い検索は同じSQLになります。末尾の要素は候補の受講生ID用です。
+   */
+  private static int[] listSizesOf(StudentSearchCriteria criteria, long mask) {
+    int[] listSizes = new int[CONDITIONS.size() + 1];
+    for (int i = 0; i < CONDITIONS.size(); i++) {
+      if ((mask & 1L << i) != 0 && CONDITIONS.get(i).listProperty != null) {
+        listSizes[i] = StudentSearchCriteria.inListSlots(
+            ((List<?>) CONDITIONS.get(i).getter.apply(criteria)).size());
+      }
+    }
+    return listSizes;
+  }
+
+  private static String buildSql(Shape shape) {
+    List<String> predicates = new ArrayList<>();
+    if ((shape.mask & CANDIDATE_BIT) != 0) {
+      int size = shape.listSizes[CONDITIONS.size()];
+      // 候補が空なら一致する受講生はいない
+      predicates.add(size == 0 ? "1 = 0" : "s.student_id " + inList("paddedCandidateStudentIds", size));
+    }
+    predicates.addAll(conditionSql(shape.mask, shape.listSizes, ""));
+    if (shape.filterTreeSql != null) {
+      predicates.add(shape.filterTreeSql);
+    }
+    if ((shape.mask & AFTER_STUDENT_ID_BIT) != 0) {
+      predicates.add("s.student_id > #{afterStudentId}");
+    }
+
+    StringBuilder sql = new StringBuilder(shape.select.sql);
+    if (!predicates.isEmpty()) {
+      sql.append(" WHERE ").append(String.join(" AND ", predicates));
+    }
+    sql.append(shape.orderBySql);
+    if ((shape.mask & LIMIT_BIT) != 0) {
+      sql.append(" LIMIT #{limit}");
+    }
+    return sql.toString();
+  }
+
+  /**
+   * 並び順の ORDER BY 句を返します。最後に受講生IDの昇順を加え、同じ順位の受講生の順序を決めます。
+   * nullになりうる項目は、向きによらずnullを最後にするため「式 IS NULL」で先に並べます。
+   * LIMIT と組み合わせるため、DBは全件を並べ替えずに上位の件数だけを求められます（索引順の走査や上位N件のソート）。
+   *
+   * @param sortKeys 並び順のリスト。nullなら受講生IDの昇順
+   */
+  private static String orderBySql(List<StudentSortKey> sortKeys) {
+    StringBuilder sql = new StringBuilder(" ORDER BY ");
+    if (sortKeys != null) {
+      for (StudentSortKey sortKey : sortKeys) {
+        SearchableField field = sortKey.getField();
+        String expression = sortExpression(sortKey);
+        if (field.isCourseField() || !NOT_NULL_FIELDS.contains(field)) {
+          sql.append(expression).append(" IS NULL, ");
+        }
+        sql.append(expression).append(sortKey.isDescending() ? " DESC, " : ", ");
+      }
+    }
+    return sql.append("s.student_id").toString();
+  }
+
+  /**
+   * 並び順の項目の式を返します。受講コースの項目は、受講生ごとに昇順なら最小値、降順なら最大値を求めるサブクエリです。
+   * 受講期間は受講開始日で並べます。
+   */
+  private static String sortExpression(StudentSortKey sortKey) {
+    SearchableField field = sortKey.getField();
+    if (!field.isCourseField()) {
+      return Condition.column(field);
+    }
+    SearchableField column = field == SearchableField.COURSE_PERIOD ? SearchableField.COURSE_START_AT : field;
+    return "(SELECT " + (sortKey.isDescending() ? "MAX" : "MIN") + "(" + Condition.column(column)
+        + ") FROM student_courses sc WHERE sc.student_id = s.student_id)";
+  }
+
+  /**
+   * 指定されている条件の述語を、受講生の条件、受講コースの条件をまとめた EXISTS の順に返します。
+   *
+   * @param mask 指定されている項目のビットマスク
+   * @param listSizes INのリストの件数
+   * @param prefix パラメータのプロパティ名に付ける接頭辞
+   */
+  private static List<String> conditionSql(long mask, int[] listSizes, String prefix) {
+    List<String> predicates = new ArrayList<>();
+    List<String> coursePredicates = new ArrayList<>();
+    for (int i = 0; i < CONDITIONS.size(); i++) {
+      if ((mask & 1L << i) == 0) {
+        continue;
+      }
+      Condition condition = CONDITIONS.get(i);
+      String predicate = condition.toSql(prefix, listSizes[i]);
+      (condition.field.isCourseField() ? coursePredicates : predicates).add(predicate);
+    }
+    if ((mask & COURSE_MASK) != 0) {
+      predicates.add("EXISTS (SELECT 1 FROM student_courses sc WHERE sc.student_id = s.student_id AND "
+          + String.join(" AND ", coursePredicates) + ")");
+    }
+    return predicates;
+  }
+
+  /**
+   * 検索フィルターグループの条件の木を1つの述語にします。
+   * 受講コースの条件だけの NOT は、受講生コースに対する NOT EXISTS（アンチ結合）にします。
+   * それ以外の NOT は、列の値がnullの受講生も一致するよう IS NOT TRUE で否定します。
+   *
+   * @param predicate 条件の木のノード
+   * @param path 検索条件からノードまでのプロパティのパス（末尾は "."）
+   */
+  private static String predicateSql(StudentSearchPredicate predicate, String path) {
+    if (predicate instanceof Match match) {
+      List<String> predicates = matchSql(match, path);
+      return predicates.size() == 1 ? predicates.get(0) : "(" + String.join(" AND ", predicates) + ")";
+    }
+    if (predicate instanceof And and) {
+      return childrenSql(and.getChildren(), path, " AND ");
+    }
+    if (predicate instanceof Or or) {
+      return childrenSql(or.getChildren(), path, " OR ");
+    }
+    StudentSearchPredicate child = ((Not) predicate).getChild();
+    if (child instanceof Match match && (maskOf(match.getCriteria()) & ~COURSE_MASK) == 0) {
+      return "NOT " + matchSql(match, path + "child.").get(0);
+    }
+    return "(" + predicateSql(child, path + "child.") + ") IS NOT TRUE";
+  }
+
+  private static List<String> matchSql(Match match, String path) {
+    StudentSearchCriteria criteria = match.getCriteria();
+    long mask = maskOf(criteria);
+    List<String> predicates = conditionSql(mask, listSizesOf(criteria, mask), path + "criteria.");
+    return predicates.isEmpty() ? List.of("1 = 1") : predicates;
+  }
+
+  private static String childrenSql(List<StudentSearchPredicate> children, String path,
+      String operator) {
+    List<String> predicates = new ArrayList<>();
+    for (int i = 0; i < children.size(); i++) {
+      predicates.add(predicateSql(children.get(i), path + "children[" + i + "]."));
+    }
+    return "(" + String.join(operator, predicates) + ")";
+  }
+
+  private static String inList(String property, int size) {
+    StringBuilder sql = new StringBuilder("IN (");
+    for (int i = 0; i < size; i++) {
+      sql.append(i == 0 ? "" : ", ").append("#{").append(property).append('[').append(i).append("]}");
+    }
+    return sql.append(')').toString();
+  }
+
+  private static long courseMask() {
+    long mask = 0;
+    for (int i = 0; i < CONDITIONS.size(); i++) {
+      if (CONDITIONS.get(i).field.isCourseField()) {
+        mask |= 1L << i;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * 検索クエリが取得する内容と、その SELECT 句・FROM 句です。
+   */
+  private enum Select {
+    /** 受講生ID。並び順とページング条件は検索条件に従います */
+    STUDENT_IDS("SELECT s.student_id FROM students s"),
+    /** 受講生の人数 */
+    COUNT("SELECT COUNT(*) FROM students s"),
+    /** 集計に使う受講生の項目 */
+    FACET_ROWS("SELECT s.student_id, s.sex, s.area FROM students s"),
+    /** 集計に使う受講生と受講生コースの項目。EXISTS の受講生コース（sc）と区別するため別名は fc */
+    COURSE_FACET_ROWS("SELECT s.student_id, s.sex, s.area, fc.course_code, fc.status_id"
+        + " FROM students s LEFT JOIN student_courses fc ON fc.student_id = s.student_id");
+
+    private final String sql;
+
+    Select(String sql) {
+      this.sql = sql;
+    }
+  }
+
+  /**
+   * 取得する内容、指定されている項目のビットマスク、INのリストの件数、条件の木の述語、並び順の組。
+   * 同じ組の検索条件には同じSQLを使います。
+   */
+  @EqualsAndHashCode
+  private static final class Shape {
+
+    private final Select select;
+    private final long mask;
+    private final int[] listSizes;
+    /** 検索フィルターグループの条件の木の述語。条件の木がなければnull */
+    private final String filterTreeSql;
+    /** ORDER BY 句 */
+    private final String orderBySql;
+
+    Shape(Select select, long mask, int[] listSizes, String filterTreeSql, String orderBySql) {
+      this.select = select;
+      this.mask = mask;
+      this.listSizes = listSizes;
+      this.filterTreeSql = filterTreeSql;
+      this.orderBySql = orderBySql;
+    }
+  }
+
+  /**
+   * 検索条件の1項目と、その条件を表すSQLの述語です。
+   */
+  private static final class Condition {
+
+    private final SearchableField field;
+    private final Function<StudentSearchCriteria, Object> getter;
+    /** 比較する列（または式） */
+    private final String left;
+    /** 比較演算子。INの場合はnull */
+    private final String operator;
+    /** 値のプロパティ名 */
+    private final String property;
+    /** INのリストにバインドする、末尾の値で埋めたリストのプロパティ名。INでなければnull */
+    private final String listProperty;
+
+    private Condition(SearchableField field, Function<StudentSearchCriteria, Object> getter,
+        String left, String operator, String property) {
+      this.field = field;
+      this.getter = getter;
+      this.left = left;
+      this.operator = operator;
+      this.property = property;
+      this.listProperty = operator == null
+          ? "padded" + Character.toUpperCase(property.charAt(0)) + property.substring(1) : null;
+    }
+
+    /**
+     * 列と値を比較する条件。プロパティ名は項目名に接尾辞（Eq, Like, Min など）を付けたものです。
+     */
+    static Condition compare(SearchableField field, String suffix, String operator,
+        Function<StudentSearchCriteria, Object> getter) {
+      return new Condition(field, getter, column(field), operator, field.getFieldName() + suffix);
+    }
+
+    /**
+     * 列の値がリストのいずれかに一致する条件。プロパティ名は項目名に In を付けたものです。
+     */
+    static Condition in(SearchableField field, Function<StudentSearchCriteria, Object> getter) {
+      return new Condition(field, getter, column(field), null, field.getFieldName() + "In");
+    }
+
+    /**
+     * 列ではなく式と値を比較する条件。
+     */
+    static Condition expression(SearchableField field, String left, String operator,
+        String property, Function<StudentSearchCriteria, Object> getter) {
+      return new Condition(field, getter, left, operator, property);
+    }
+
+    private static String column(SearchableField field) {
+      String column = field.getFieldName().replaceAll("([A-Z])", "_$1").toLowerCase(Locale.ROOT);
+      return (field.isCourseField() ? "sc." : "s.") + column;
+    }
+
+    boolean isPresent(StudentSearchCriteria criteria) {
+      Object value = getter.apply(criteria);
+      return listProperty == null ? value != null : value != null && !((List<?>) value).isEmpty();
+    }
+
+    String toSql(String prefix, int listSize) {
+      return listProperty == null
+          ? left + " " + operator + " #{" + prefix + property + "}"
+          : left + " " + inList(prefix + listProperty, listSize);
+    }
+  }
+
+}
@@ -0,0 +1,243 @@
+package raisetech.student.management.search.converter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSearchPredicate;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.And;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Match;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Not;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Or;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchFilterGroup;
+import raisetech.student.management.search.request.SearchOperator;
+import raisetech.student.management.search.request.SearchableField;
+
+/**
+ * 検索フィルターグループを、1回の検索で評価できる条件の木（StudentSearchPredicate）に変換します。
+ * 変換時に次の最適化を行います。
+ * <ul>
+ *   <li>AND グループのフィルターは1つの Match にまとめ、受講コースの条件は同じ受講生コースの行で満たすものとします。</li>
+ *   <li>OR グループで同じフィールドの EQ / IN が並ぶ場合は、1つの IN にまとめます（IN に対応するフィールドのみ）。</li>
+ *   <li>AND の子ノードは、絞り込みが強いと見込まれるものから並べます。NOT は最後に評価します。</li>
+ *   <li>同じ種類の入れ子（AND の中の AND など）は平らにし、子が1つだけのノードと二重否定は取り除きます。</li>
+ * </ul>
+ */
+final class SearchFilterTreeCompiler {
+
+  /** OR で並んだ値を IN にまとめられるフィールド */
+  private static final Set<SearchableField> IN_FIELDS =
+      EnumSet.of(SearchableField.SEX, SearchableField.COURSE_CODE, SearchableField.STATUS_ID);
+
+  /** 絞り込みの強さを見込めない Match の順位 */
+  private static final int UNKNOWN_RANK = 5;
+
+  /** AND の子ノードの評価順。Match、AND、OR、NOT の順に、Match は絞り込みが強いと見込まれるものから並べる */
+  private static final Comparator<StudentSearchPredicate> EVALUATION_ORDER =
+      Comparator.comparingInt(SearchFilterTreeCompiler::kindOrder)
+          .thenComparingInt(SearchFilterTreeCompiler::selectivityRank);
+
+  private SearchFilterTreeCompiler() {
+  }
+
+  /**
+   * 検索フィルターグループのリストを、全てのグループを満たす条件の木に変換します。
+   * @param groups 検索フィルターグループのリスト（1件以上）
+   * @return 条件の木
+   */
+  static StudentSearchPredicate compile(List<SearchFilterGroup> groups) {
+    List<StudentSearchPredicate> children = new ArrayList<>();
+    for (SearchFilterGroup group : groups) {
+      children.add(compile(group));
+    }
+    return and(children);
+  }
+
+  private static StudentSearchPredicate compile(SearchFilterGroup group) {
+    List<SearchFilter> filters = group.getFilters() == null ? List.of() : group.getFilters();
+    List<StudentSearchPredicate> children = new ArrayList<>();
+    if (group.getGroups() != null) {
+      for (SearchFilterGroup child : group.getGroups()) {
+        children.add(compile(child));
+      }
+    }
+
+    return switch (group.getOperator()) {
+      case AND -> and(withMatch(filters, children));
+      case OR -> or(withMatches(mergeIntoIn(filters), children));
+      case NOT -> not(and(withMatch(filters, children)));
+    };
+  }
+
+  /**
+   * フィルターを全て満たす1つの Match を子ノードの先頭に加えます。
+   */
+  private static List<StudentSearchPredicate> withMatch(List<SearchFilter> filters,
+      List<StudentSearchPredicate> children) {
+    List<StudentSearchPredicate> result = new ArrayList<>();
+    if (!filters.isEmpty()) {
+      result.add(match(filters));
+    }
+    result.addAll(children);
+    return result;
+  }
+
+  /**
+   * フィルターごとの Match を子ノードの先頭に加えます。
+   */
+  private static List<StudentSearchPredicate> withMatches(List<SearchFilter> filters,
+      List<StudentSearchPredicate> children) {
+    List<StudentSearchPredicate> result = new ArrayList<>();
+    for (SearchFilter filter : filters) {
+      result.add(match(List.of(filter)));
+    }
+    result.addAll(children);
+    return result;
+  }
+
+  private static Match match(List<SearchFilter> filters) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    for (SearchFilter filter : filters) {
+      StudentSearchCriteriaConverter.applyFilter(criteria, filter);
+    }
+    criteria.normalize();
+    return new Match(criteria);
+  }
+
+  /**
+   * OR で並んだ同じフィールドの EQ / IN を、最初に現れた位置の1つの IN にまとめます。
+   */
+  private static List<SearchFilter> mergeIntoIn(List<SearchFilter> filters) {
+    Map<Object, List<SearchFilter>> grouped = new LinkedHashMap<>();
+    for (SearchFilter filter : filters) {
+      SearchableField field = SearchableField.fromFieldName(filter.getField());
+      boolean mergeable = IN_FIELDS.contains(field)
+          && (filter.getOperator() == SearchOperator.EQ || filter.getOperator() == SearchOperator.IN);
+      // まとめられないフィルターは他と重ならないキーで、そのまま残す
+      grouped.computeIfAbsent(mergeable ? field : new Object(), key -> new ArrayList<>()).add(filter);
+    }
+
+    List<SearchFilter> merged = new ArrayList<>();
+    for (List<SearchFilter> sameField : grouped.values()) {
+      if (sameField.size() == 1) {
+        merged.add(sameField.get(0));
+        continue;
+      }
+      Set<String> values = new LinkedHashSet<>();
+      for (SearchFilter filter : sameField) {
+        if (filter.getOperator() == SearchOperator.EQ) {
+          values.add(filter.getValue());
+        } else {
+          values.addAll(filter.getValues());
+        }
+      }
+      merged.add(new SearchFilter(sameField.get(0).getField(), SearchOperator.IN, null,
+          List.copyOf(values)));
+    }
+    return merged;
+  }
+
+  private static StudentSearchPredicate and(List<StudentSearchPredicate> children) {
+    List<StudentSearchPredicate> flattened = new ArrayList<>();
+    for (StudentSearchPredicate child : children) {
+      if (child instanceof And and) {
+        flattened.addAll(and.getChildren());
+      } else {
+        flattened.add(child);
+      }
+    }
+    if (flattened.size() == 1) {
+      return flattened.get(0);
+    }
+    flattened.sort(EVALUATION_ORDER);
+    return new And(flattened);
+  }
+
+  private static StudentSearchPredicate or(List<StudentSearchPredicate> children) {
+    List<StudentSearchPredicate> flattened = new ArrayList<>();
+    for (StudentSearchPredicate child : children) {
+      if (child instanceof Or or) {
+        flattened.addAll(or.getChildren());
+      } else {
+        flattened.add(child);
+      }
+    }
+    return flattened.size() == 1 ? flattened.get(0) : new Or(flattened);
+  }
+
+  private static StudentSearchPredicate not(StudentSearchPredicate child) {
+    return child instanceof Not not ? not.getChild() : new Not(child);
+  }
+
+  private static int kindOrder(StudentSearchPredicate predicate) {
+    if (predicate instanceof Match) {
+      return 0;
+    }
+    if (predicate instanceof And) {
+      return 1;
+    }
+    return predicate instanceof Or ? 2 : 3;
+  }
+
+  /**
+   * Match の絞り込みの強さの見込みを、値が小さいほど強い順位で返します。
+   * 一意な列の完全一致、その他の完全一致、値の種類が多い列の一致・IN・前方一致、範囲・部分一致、
+   * 値の種類が少ない列（性別・削除フラグ・備考）の順とし、Match の中で最も強い条件の順位を使います。
+   */
+  private static int selectivityRank(StudentSearchPredicate predicate) {
+    if (!(predicate instanceof Match match)) {
+      return UNKNOWN_RANK;
+    }
+    StudentSearchCriteria c = match.getCriteria();
+    if (anyPresent(c.getEmailEq(), c.getTelephoneEq())) {
+      return 0;
+    }
+    if (anyPresent(c.getFullNameEq(), c.getKanaNameEq(), c.getNicknameEq(),
+        c.getCourseApplyAtEq(), c.getCourseStartAtEq(), c.getCoursePlannedEndAtEq(),
+        c.getCourseFinishedAtEq())) {
+      return 1;
+    }
+    if (anyPresent(c.getAreaEq(), c.getAgeEq(), c.getCourseCodeEq(), c.getCourseCodeIn(),
+        c.getStatusIdEq(), c.getStatusIdIn(),
+        prefixPattern(c.getFullNameLike()), prefixPattern(c.getKanaNameLike()),
+        prefixPattern(c.getNicknameLike()), prefixPattern(c.getEmailLike()),
+        prefixPattern(c.getAreaLike()), prefixPattern(c.getTelephoneLike()))) {
+      return 2;
+    }
+    if (anyPresent(c.getFullNameLike(), c.getKanaNameLike(), c.getNicknameLike(),
+        c.getEmailLike(), c.getAreaLike(), c.getTelephoneLike(), c.getRemarkLike(),
+        c.getAgeMin(), c.getAgeMax(), c.getCourseApplyAtFrom(), c.getCourseApplyAtTo(),
+        c.getCourseStartAtFrom(), c.getCourseStartAtTo(), c.getCoursePlannedEndAtFrom(),
+        c.getCoursePlannedEndAtTo(), c.getCourseFinishedAtFrom(), c.getCourseFinishedAtTo(),
+        c.getCoursePeriodFrom(), c.getCoursePeriodTo())) {
+      return 3;
+    }
+    if (anyPresent(c.getSexEq(), c.getSexIn(), c.getIsDeleted(), c.getRemarkEq())) {
+      return 4;
+    }
+    return UNKNOWN_RANK;
+  }
+
+  private static boolean anyPresent(Object... values) {
+    for (Object value : values) {
+      if (value != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * LIKE のパターンが前方一致（先頭がワイルドカードでない）ならそのまま、そうでなければnullを返します。
+   */
+  private static String prefixPattern(String like) {
+    return like == null || like.startsWith("%") ? null : like;
+  }
+
+}
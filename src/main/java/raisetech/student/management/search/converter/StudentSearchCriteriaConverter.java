@@ -13,31 +13,15 @@ public class StudentSearchCriteriaConverter {
 
   public StudentSearchCriteria toCriteria(StudentAdvancedSearchRequest request) {
     StudentSearchCriteria criteria = new StudentSearchCriteria();
-    List<SearchFilter> filters = request.getFilters();
+    List<SearchFilter> filters = request.getFilters() == null ? List.of() : request.getFilters();
 
     for (SearchFilter filter : filters) {
-      SearchableField field = SearchableField.fromFieldName(filter.getField());
-
-      switch (field) {
-        case FULL_NAME -> criteria.applyFullNameFilter(filter);
-        case KANA_NAME -> criteria.applyKanaNameFilter(filter);
-        case NICKNAME -> criteria.applyNicknameFilter(filter);
-        case EMAIL -> criteria.applyEmailFilter(filter);
-        case AREA -> criteria.applyAreaFilter(filter);
-        case TELEPHONE -> criteria.applyTelephoneFilter(filter);
-        case AGE -> criteria.applyAgeFilter(filter);
-        case SEX -> criteria.applySexFilter(filter);
-        case REMARK -> criteria.applyRemarkFilter(filter);
-        case IS_DELETED -> criteria.applyIsDeletedFilter(filter);
-        case COURSE_CODE -> criteria.applyCourseCodeFilter(filter);
-        case STATUS_ID -> criteria.applyStatusIdFilter(filter);
-        case COURSE_APPLY_AT -> criteria.applyCourseApplyAtFilter(filter);
-        case COURSE_START_AT -> criteria.applyCourseStartAtFilter(filter);
-        case COURSE_PLANNED_END_AT -> criteria.applyCoursePlannedEndAtFilter(filter);
-        case COURSE_FINISHED_AT -> criteria.applyCourseFinishedAtFilter(filter);
-      }
+      applyFilter(criteria, filter);
+    }
+
+    if (request.getGroups() != null && !request.getGroups().isEmpty()) {
+      criteria.applyFilterTree(SearchFilterTreeCompiler.compile(request.getGroups()));
     }
-    
     return criteria;
   }
 
@@ -45,4 +29,33 @@ public class StudentSearchCriteriaConverter {
     return new StudentSearchCriteria(request);
   }
 
-}
\ No newline at end of file
+  /**
+   * 検索フィルター1件を、フィールドに対応する検索条件として設定します。
+   * @param criteria 設定先の検索条件
+   * @param filter 検索フィルター
+   */
+  static void applyFilter(StudentSearchCriteria criteria, SearchFilter filter) {
+    SearchableField field = SearchableField.fromFieldName(filter.getField());
+
+    switch (field) {
+      case FULL_NAME -> criteria.applyFullNameFilter(filter);
+      case KANA_NAME -> criteria.applyKanaNameFilter(filter);
+      case NICKNAME -> criteria.applyNicknameFilter(filter);
+      case EMAIL -> criteria.applyEmailFilter(filter);
+      case AREA -> criteria.applyAreaFilter(filter);
+      case TELEPHONE -> criteria.applyTelephoneFilter(filter);
+      case AGE -> criteria.applyAgeFilter(filter);
+      case SEX -> criteria.applySexFilter(filter);
+      case REMARK -> criteria.applyRemarkFilter(filter);
+      case IS_DELETED -> criteria.applyIsDeletedFilter(filter);
+      case COURSE_CODE -> criteria.applyCourseCodeFilter(filter);
+      case STATUS_ID -> criteria.applyStatusIdFilter(filter);
+      case COURSE_APPLY_AT -> criteria.applyCourseApplyAtFilter(filter);
+      case COURSE_START_AT -> criteria.applyCourseStartAtFilter(filter);
+      case COURSE_PLANNED_END_AT -> criteria.applyCoursePlannedEndAtFilter(filter);
+      case COURSE_FINISHED_AT -> criteria.applyCourseFinishedAtFilter(filter);
+      case COURSE_PERIOD -> criteria.applyCoursePeriodFilter(filter);
+    }
+  }
+
+}
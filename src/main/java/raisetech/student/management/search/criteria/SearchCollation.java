@@ -0,0 +1,65 @@
+package raisetech.student.management.search.criteria;
+
+import java.text.Normalizer;
+
+/**
+ * DBの照合順序（utf8mb4_0900_ai_ci）で同じとみなされる文字列を、同じ文字列（照合キー）に置き換えます。
+ * DBを使わずに文字列を比較する索引やインメモリ検索エンジンが、DBと同じ受講生を一致とみなすために使います。
+ * 置き換えは1文字ずつ行う（1文字が複数文字や空文字になることもあります）ため、
+ * 元の文字列で部分一致・前方一致・後方一致する文字列は、照合キーでも同じように一致します。
+ */
+public final class SearchCollation {
+
+  private static final String SMALL_KANA = "ぁぃぅぇぉっゃゅょゎゕゖ";
+
+  private static final String LARGE_KANA = "あいうえおつやゆよわかけ";
+
+  private SearchCollation() {
+  }
+
+  /**
+   * 文字列を照合キーに置き換えます。
+   * 1文字ずつ互換分解（NFKD）して濁点・半濁点やアクセント記号などの結合文字を取り除き、
+   * 大文字を小文字に、カタカナをひらがなに、小書きの仮名を通常の仮名に置き換えます。
+   * 全角英数字・半角カタカナや濁音・半濁音の表記の違いは、同じ照合キーになります。
+   * @param text 文字列
+   * @return 照合キー
+   */
+  public static String fold(String text) {
+    StringBuilder folded = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); ) {
+      int codePoint = text.codePointAt(i);
+      i += Character.charCount(codePoint);
+      if (codePoint < 0x80) {
+        folded.append((char) Character.toLowerCase(codePoint));
+        continue;
+      }
+      String decomposed = Normalizer.normalize(Character.toString(codePoint), Normalizer.Form.NFKD);
+      for (int j = 0; j < decomposed.length(); ) {
+        int c = decomposed.codePointAt(j);
+        j += Character.charCount(c);
+        // 濁点・半濁点（U+3099, U+309A）とアクセント記号などの結合文字は区別しない
+        if (Character.getType(c) == Character.NON_SPACING_MARK) {
+          continue;
+        }
+        folded.appendCodePoint(foldKana(Character.toLowerCase(c)));
+      }
+    }
+    return folded.toString();
+  }
+
+  /**
+   * カタカナをひらがなに、小書きの仮名を通常の仮名に置き換えます。
+   * @param c 文字
+   * @return 置き換えた文字
+   */
+  private static int foldKana(int c) {
+    // ァ(U+30A1)〜ヶ(U+30F6) をぁ(U+3041)〜ゖ(U+3096) に寄せる
+    if (c >= 'ァ' && c <= 'ヶ') {
+      c -= 0x60;
+    }
+    int small = SMALL_KANA.indexOf(c);
+    return small < 0 ? c : LARGE_KANA.charAt(small);
+  }
+
+}
@@ -3,9 +3,15 @@ package raisetech.student.management.search.criteria;
 import static raisetech.student.management.search.request.SearchOperator.EQ;
 
 import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -128,6 +134,31 @@ public class StudentSearchCriteria {
   /** 受講終了実績日 上限 */
   private LocalDate courseFinishedAtTo;
 
+  /** 受講期間 重なりを判定する期間の始端（受講期間の終了日がこの日以降） */
+  private LocalDate coursePeriodFrom;
+
+  /** 受講期間 重なりを判定する期間の終端（受講開始日がこの日以前） */
+  private LocalDate coursePeriodTo;
+
+  /** 検索フィルターグループを組み立てた条件の木。他の条件と全て満たす受講生に一致する。nullなら条件なし */
+  private StudentSearchPredicate filterTree;
+
+  /** 並び順。nullなら受講生IDの昇順 */
+  private List<StudentSortKey> sortKeys;
+
+  /** キーセットページング この受講生IDより大きいIDのみを取得する */
+  private Integer afterStudentId;
+
+  /** 取得件数の上限 */
+  private Integer limit;
+
+  /**
+   * 検索対象とする受講生IDの候補。部分一致・後方一致検索の条件を索引で絞り込んだ結果で、nullなら絞り込まない。
+   * 検索条件そのものではないため、等価性（検索結果キャッシュのキー）には含めない
+   */
+  @EqualsAndHashCode.Exclude
+  private List<Integer> candidateStudentIds;
+
   public StudentSearchCriteria(StudentSimpleSearchRequest simplerRequest) {
     String valueForFullName = simplerRequest.getFullNameContains();
     this.fullNameLike = valueForFullName == null ? null : "%" + valueForFullName + "%";
@@ -147,6 +178,292 @@ public class StudentSearchCriteria {
     this.isDeleted = simplerRequest.getIsDeleted();
   }
 
+  /**
+   * キーセットページングの条件を設定します。
+   * 受講生IDの昇順で、afterStudentIdより後ろの受講生IDを最大limit件取得するようになります。
+   *
+   * @param afterStudentId 前ページ末尾の受講生ID。先頭ページならnull
+   * @param limit 取得件数の上限
+   */
+  public void applyPage(Integer afterStudentId, Integer limit) {
+    this.afterStudentId = afterStudentId;
+    this.limit = limit;
+  }
+
+  /**
+   * 検索結果の並び順を設定します。受講生IDの昇順以外で並べる場合、キーセットページング（afterStudentId）は使えず、
+   * 並び順の先頭からlimit件を取得します。同じ順位の受講生は受講生IDの昇順に並べます。
+   *
+   * @param sortKeys 並び順のリスト。nullか空なら受講生IDの昇順
+   */
+  public void applySort(List<StudentSortKey> sortKeys) {
+    this.sortKeys = sortKeys == null || sortKeys.isEmpty() ? null : List.copyOf(sortKeys);
+  }
+
+  /**
+   * 受講生IDの昇順以外の並び順が指定されているかを返します。
+   * @return 並び順が指定されていればtrue
+   */
+  public boolean isSorted() {
+    return sortKeys != null;
+  }
+
+  /**
+   * 検索対象を指定した受講生IDの中に限定します。
+   * 部分一致・後方一致検索の候補を索引で絞り込んだときに、DBでの検索範囲を狭めるために使います。
+   *
+   * @param candidateStudentIds 候補の受講生IDのリスト。nullなら限定しない
+   */
+  public void restrictToStudentIds(List<Integer> candidateStudentIds) {
+    this.candidateStudentIds = candidateStudentIds;
+  }
+
+  /**
+   * SQLのINのリストのプレースホルダーの数を返します。件数を2のべき乗に切り上げ、
+   * 件数が少し違うだけの検索で同じSQL（プリペアドステートメント）を使い回せるようにします。
+   *
+   * @param size リストの件数
+   * @return プレースホルダーの数。0件なら0
+   */
+  public static int inListSlots(int size) {
+    return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+  }
+
+  /**
+   * SQLのINのリストにバインドする候補の受講生IDを返します。
+   * @return inListSlots の件数まで末尾の受講生IDを繰り返したリスト。候補がなければnull
+   */
+  public List<Integer> getPaddedCandidateStudentIds() {
+    return padInList(candidateStudentIds);
+  }
+
+  /**
+   * SQLのINのリストにバインドする性別を返します。
+   * @return inListSlots の件数まで末尾の値を繰り返したリスト。条件がなければnull
+   */
+  public List<String> getPaddedSexIn() {
+    return padInList(sexIn);
+  }
+
+  /**
+   * SQLのINのリストにバインドするコースコードを返します。
+   * @return inListSlots の件数まで末尾の値を繰り返したリスト。条件がなければnull
+   */
+  public List<String> getPaddedCourseCodeIn() {
+    return padInList(courseCodeIn);
+  }
+
+  /**
+   * SQLのINのリストにバインドするステータスIDを返します。
+   * @return inListSlots の件数まで末尾の値を繰り返したリスト。条件がなければnull
+   */
+  public List<Integer> getPaddedStatusIdIn() {
+    return padInList(statusIdIn);
+  }
+
+  /**
+   * INのリストを inListSlots の件数まで末尾の値で埋めたビューを返します。同じ値が重なってもINの結果は変わりません。
+   * プレースホルダーごとに呼ばれるため、コピーせずに元のリストを参照します。
+   */
+  private static <T> List<T> padInList(List<T> values) {
+    if (values == null || values.isEmpty()) {
+      return values;
+    }
+    int slots = inListSlots(values.size());
+    return new AbstractList<>() {
+      @Override
+      public T get(int index) {
+        Objects.checkIndex(index, slots);
+        return values.get(Math.min(index, values.size() - 1));
+      }
+
+      @Override
+      public int size() {
+        return slots;
+      }
+    };
+  }
+
+  /**
+   * 検索フィルターグループを組み立てた条件の木を、他の条件に追加します。
+   *
+   * @param filterTree 条件の木。nullなら条件の木を使わない
+   */
+  public void applyFilterTree(StudentSearchPredicate filterTree) {
+    this.filterTree = filterTree;
+  }
+
+  /**
+   * 検索条件を、受講生の列ごとの条件と、受講コースの条件をまとめた1つの条件に分割します。
+   * 受講コースの条件は全て同じ受講生コースの行で満たす必要があるため、列ごとには分けません。
+   * 検索フィルターグループの条件の木も、分けずに1つの条件にします。
+   * 分割した全ての条件に一致する受講生IDは、元の検索条件に一致する受講生IDと同じになります。
+   * 並び順、ページング条件と候補の受講生IDは引き継ぎません。
+   *
+   * @return 分割した検索条件のリスト。条件が1つもなければ空のリスト
+   */
+  public List<StudentSearchCriteria> splitByField() {
+    List<StudentSearchCriteria> parts = new ArrayList<>();
+    addPart(parts, part -> {
+      part.fullNameEq = fullNameEq;
+      part.fullNameLike = fullNameLike;
+    });
+    addPart(parts, part -> {
+      part.kanaNameEq = kanaNameEq;
+      part.kanaNameLike = kanaNameLike;
+    });
+    addPart(parts, part -> {
+      part.nicknameEq = nicknameEq;
+      part.nicknameLike = nicknameLike;
+    });
+    addPart(parts, part -> {
+      part.emailEq = emailEq;
+      part.emailLike = emailLike;
+    });
+    addPart(parts, part -> {
+      part.areaEq = areaEq;
+      part.areaLike = areaLike;
+    });
+    addPart(parts, part -> {
+      part.telephoneEq = telephoneEq;
+      part.telephoneLike = telephoneLike;
+    });
+    addPart(parts, part -> {
+      part.ageEq = ageEq;
+      part.ageMin = ageMin;
+      part.ageMax = ageMax;
+    });
+    addPart(parts, part -> {
+      part.sexEq = sexEq;
+      part.sexIn = sexIn;
+    });
+    addPart(parts, part -> {
+      part.remarkEq = remarkEq;
+      part.remarkLike = remarkLike;
+    });
+    addPart(parts, part -> part.isDeleted = isDeleted);
+    addPart(parts, part -> {
+      part.courseCodeEq = courseCodeEq;
+      part.courseCodeIn = courseCodeIn;
+      part.statusIdEq = statusIdEq;
+      part.statusIdIn = statusIdIn;
+      part.courseApplyAtEq = courseApplyAtEq;
+      part.courseApplyAtFrom = courseApplyAtFrom;
+      part.courseApplyAtTo = courseApplyAtTo;
+      part.courseStartAtEq = courseStartAtEq;
+      part.courseStartAtFrom = courseStartAtFrom;
+      part.courseStartAtTo = courseStartAtTo;
+      part.coursePlannedEndAtEq = coursePlannedEndAtEq;
+      part.coursePlannedEndAtFrom = coursePlannedEndAtFrom;
+      part.coursePlannedEndAtTo = coursePlannedEndAtTo;
+      part.courseFinishedAtEq = courseFinishedAtEq;
+      part.courseFinishedAtFrom = courseFinishedAtFrom;
+      part.courseFinishedAtTo = courseFinishedAtTo;
+      part.coursePeriodFrom = coursePeriodFrom;
+      part.coursePeriodTo = coursePeriodTo;
+    });
+    addPart(parts, part -> part.filterTree = filterTree);
+    return parts;
+  }
+
+  /**
+   * 受講コースの条件が1つでも指定されているかを返します。
+   * 受講生IDの検索クエリで、受講生コースを参照する必要があるかの判定に使います。
+   *
+   * @return 受講コースの条件があればtrue
+   */
+  public boolean hasCourseCondition() {
+    return Stream.of(courseCodeEq, courseCodeIn, statusIdEq, statusIdIn,
+            courseApplyAtEq, courseApplyAtFrom, courseApplyAtTo,
+            courseStartAtEq, courseStartAtFrom, courseStartAtTo,
+            coursePlannedEndAtEq, coursePlannedEndAtFrom, coursePlannedEndAtTo,
+            courseFinishedAtEq, courseFinishedAtFrom, courseFinishedAtTo,
+            coursePeriodFrom, coursePeriodTo)
+        .anyMatch(Objects::nonNull);
+  }
+
+  /**
+   * copierで条件を写した検索条件を、条件が1つでもあればリストに追加します。
+   */
+  private static void addPart(List<StudentSearchCriteria> parts,
+      Consumer<StudentSearchCriteria> copier) {
+    StudentSearchCriteria part = new StudentSearchCriteria();
+    copier.accept(part);
+    if (!part.equals(new StudentSearchCriteria())) {
+      parts.add(part);
+    }
+  }
+
+  /**
+   * 同じ結果になる検索条件が同じ値を持つように、条件を正規化します。
+   * 検索結果キャッシュのキーとして使うため、検索前に呼び出します。
+   * <ul>
+   *   <li>IN のリストは重複を除いて昇順に並べ替えます。1件だけならEQに置き換えます。</li>
+   *   <li>下限と上限が同じ値の範囲検索はEQに置き換えます。</li>
+   * </ul>
+   * BETWEEN と GTE + LTE はapply*Filterの時点で同じ下限・上限にセットされるため、ここでは扱いません。
+   */
+  public void normalize() {
+    this.sexIn = canonicalize(this.sexIn);
+    if (this.sexIn != null && this.sexIn.size() == 1) {
+      this.sexEq = this.sexIn.get(0);
+      this.sexIn = null;
+    }
+    this.courseCodeIn = canonicalize(this.courseCodeIn);
+    if (this.courseCodeIn != null && this.courseCodeIn.size() == 1) {
+      this.courseCodeEq = this.courseCodeIn.get(0);
+      this.courseCodeIn = null;
+    }
+    this.statusIdIn = canonicalize(this.statusIdIn);
+    if (this.statusIdIn != null && this.statusIdIn.size() == 1) {
+      this.statusIdEq = this.statusIdIn.get(0);
+      this.statusIdIn = null;
+    }
+
+    if (this.ageMin != null && this.ageMin.equals(this.ageMax)) {
+      this.ageEq = this.ageMin;
+      this.ageMin = null;
+      this.ageMax = null;
+    }
+    if (this.courseApplyAtFrom != null && this.courseApplyAtFrom.equals(this.courseApplyAtTo)) {
+      this.courseApplyAtEq = this.courseApplyAtFrom;
+      this.courseApplyAtFrom = null;
+      this.courseApplyAtTo = null;
+    }
+    if (this.courseStartAtFrom != null && this.courseStartAtFrom.equals(this.courseStartAtTo)) {
+      this.courseStartAtEq = this.courseStartAtFrom;
+      this.courseStartAtFrom = null;
+      this.courseStartAtTo = null;
+    }
+    if (this.coursePlannedEndAtFrom != null
+        && this.coursePlannedEndAtFrom.equals(this.coursePlannedEndAtTo)) {
+      this.coursePlannedEndAtEq = this.coursePlannedEndAtFrom;
+      this.coursePlannedEndAtFrom = null;
+      this.coursePlannedEndAtTo = null;
+    }
+    if (this.courseFinishedAtFrom != null
+        && this.courseFinishedAtFrom.equals(this.courseFinishedAtTo)) {
+      this.courseFinishedAtEq = this.courseFinishedAtFrom;
+      this.courseFinishedAtFrom = null;
+      this.courseFinishedAtTo = null;
+    }
+  }
+
+  /**
+   * INのリストから重複を除き、昇順に並べ替えた変更不可のリストを返します。
+   * @param values INのリスト
+   * @return 正規化したリスト。引数がnullならnull
+   */
+  private static <T extends Comparable<? super T>> List<T> canonicalize(List<T> values) {
+    if (values == null) {
+      return null;
+    }
+    return values.stream()
+        .distinct()
+        .sorted(Comparator.nullsLast(Comparator.naturalOrder()))
+        .toList();
+  }
+
   /**====================
    * 再代入不可のsetter群
    *=====================*/
@@ -475,6 +792,24 @@ public class StudentSearchCriteria {
     this.courseFinishedAtTo = courseFinishedAtTo;
   }
 
+  private void setCoursePeriodFrom(LocalDate coursePeriodFrom) {
+    if(this.coursePeriodFrom != null){
+      throw new InvalidSearchCriteriaException(
+          SearchableField.COURSE_PERIOD,
+          "このフィールドの期間条件の始端が既に設定されています。重複指定はできません。");
+    }
+    this.coursePeriodFrom = coursePeriodFrom;
+  }
+
+  private void setCoursePeriodTo(LocalDate coursePeriodTo) {
+    if(this.coursePeriodTo != null){
+      throw new InvalidSearchCriteriaException(
+          SearchableField.COURSE_PERIOD,
+          "このフィールドの期間条件の終端が既に設定されています。重複指定はできません。");
+    }
+    this.coursePeriodTo = coursePeriodTo;
+  }
+
   /**====================
    * 検索対象カラムごとの整合性を保ちつつ
    * 値をフィールドにセットするメソッド群
@@ -931,4 +1266,37 @@ public class StudentSearchCriteria {
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * 受講期間（受講開始日から受講終了日まで）の条件を設定します。
+   * 受講終了日は受講終了実績日を優先し、未設定なら受講終了予定日を使います。受講開始日がない受講生コースは一致しません。
+   * <ul>
+   *   <li>EQ: 指定日に受講中（受講開始日 &lt;= 指定日 &lt;= 受講終了日）の受講生コース</li>
+   *   <li>OVERLAPS: 受講期間が指定した期間と1日でも重なる受講生コース。2件の日付は同じ日でも構いません</li>
+   * </ul>
+   * @param filter 検索フィルター
+   */
+  public void applyCoursePeriodFilter(SearchFilter filter) {
+    SearchOperator operator = filter.getOperator();
+
+    switch (operator) {
+      case EQ -> {
+        String rawValue = filter.getValue();
+        LocalDate date = LocalDate.parse(rawValue);
+        setCoursePeriodFrom(date);
+        setCoursePeriodTo(date);
+      }
+      case OVERLAPS -> {
+        List<String> rawValues = filter.getValues();
+        List<LocalDate> range = rawValues.stream().map(LocalDate::parse).toList();
+        if (range.size() != 2) {
+          throw new InvalidSearchCriteriaException(SearchableField.COURSE_PERIOD, operator, "2件の日付で指定してください");
+        }
+        setCoursePeriodFrom(Collections.min(range));
+        setCoursePeriodTo(Collections.max(range));
+      }
+      default -> throw new InvalidSearchCriteriaException(
+          SearchableField.COURSE_PERIOD, operator, "このフィールドに指定できない演算子です。");
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+package raisetech.student.management.search.criteria;
+
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 検索フィルターグループ（AND / OR / NOT）を組み立てた条件の木です。
+ * 葉（Match）は1つの StudentSearchCriteria で、その条件を全て満たす受講生に一致します。
+ * 受講コースの条件は、同じ Match の中では全て同じ受講生コースの行で満たす必要があります。
+ * それ以外のノードは、子ノードに一致する受講生の集合の共通部分（And）、和集合（Or）、補集合（Not）に一致します。
+ * 検索結果キャッシュのキーに含まれるため、等価性は木の構造と各条件の値で判定します。
+ */
+public abstract class StudentSearchPredicate {
+
+  /**
+   * 1つの検索条件を全て満たす受講生に一致する葉ノードです。
+   */
+  @Getter
+  @EqualsAndHashCode(callSuper = false)
+  public static final class Match extends StudentSearchPredicate {
+
+    private final StudentSearchCriteria criteria;
+
+    public Match(StudentSearchCriteria criteria) {
+      this.criteria = criteria;
+    }
+  }
+
+  /**
+   * 全ての子ノードに一致する受講生に一致します。子ノードは絞り込みの強いものから並べます。
+   */
+  @Getter
+  @EqualsAndHashCode(callSuper = false)
+  public static final class And extends StudentSearchPredicate {
+
+    private final List<StudentSearchPredicate> children;
+
+    public And(List<StudentSearchPredicate> children) {
+      this.children = List.copyOf(children);
+    }
+  }
+
+  /**
+   * いずれかの子ノードに一致する受講生に一致します。
+   */
+  @Getter
+  @EqualsAndHashCode(callSuper = false)
+  public static final class Or extends StudentSearchPredicate {
+
+    private final List<StudentSearchPredicate> children;
+
+    public Or(List<StudentSearchPredicate> children) {
+      this.children = List.copyOf(children);
+    }
+  }
+
+  /**
+   * 子ノードに一致しない受講生に一致します。列の値がnullの受講生も一致します。
+   */
+  @Getter
+  @EqualsAndHashCode(callSuper = false)
+  public static final class Not extends StudentSearchPredicate {
+
+    private final StudentSearchPredicate child;
+
+    public Not(StudentSearchPredicate child) {
+      this.child = child;
+    }
+  }
+
+}
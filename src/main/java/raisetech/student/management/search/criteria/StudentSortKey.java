@@ -0,0 +1,60 @@
+package raisetech.student.management.search.criteria;
+
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import raisetech.student.management.search.request.SearchableField;
+
+/**
+ * 検索結果の並び順の1項目です。クエリパラメータ sort の1要素（例: "-courseApplyAt", "kanaName"）から作ります。
+ * 先頭に "-" があれば降順、なければ昇順です。どちらの向きでも、値がnullの受講生は最後に並べます。
+ * 受講コースの項目は受講生ごとに、昇順なら最小値、降順なら最大値で並べます。
+ * 受講期間（coursePeriod）は受講開始日で並べます。
+ */
+@Getter
+@EqualsAndHashCode
+public final class StudentSortKey {
+
+  /** 降順を表す接頭辞 */
+  private static final String DESCENDING_PREFIX = "-";
+
+  private final SearchableField field;
+  private final boolean descending;
+
+  public StudentSortKey(SearchableField field, boolean descending) {
+    this.field = field;
+    this.descending = descending;
+  }
+
+  /**
+   * クエリパラメータ sort の1要素を解析します。
+   * @param value フィールド名。降順なら先頭に "-" を付ける
+   * @return 並び順の1項目
+   * @throws IllegalArgumentException フィールド名が存在しない場合
+   */
+  public static StudentSortKey parse(String value) {
+    boolean descending = value != null && value.startsWith(DESCENDING_PREFIX);
+    String fieldName = descending ? value.substring(DESCENDING_PREFIX.length()) : value;
+    return new StudentSortKey(SearchableField.fromFieldName(fieldName), descending);
+  }
+
+  /**
+   * クエリパラメータ sort の各要素を解析します。
+   * @param values クエリパラメータ sort の値。nullなら並び順の指定なし
+   * @return 並び順のリスト。指定がなければ空のリスト
+   */
+  public static List<StudentSortKey> parseAll(List<String> values) {
+    return values == null ? List.of() : values.stream().map(StudentSortKey::parse).toList();
+  }
+
+  /**
+   * クエリパラメータ sort の1要素として解析できるかを返します。
+   * @param value フィールド名。降順なら先頭に "-" を付ける
+   * @return 解析できるならtrue
+   */
+  public static boolean isValid(String value) {
+    return value != null && SearchableField.exists(
+        value.startsWith(DESCENDING_PREFIX) ? value.substring(DESCENDING_PREFIX.length()) : value);
+  }
+
+}
@@ -0,0 +1,145 @@
+package raisetech.student.management.search.engine;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.event.StudentDataReplica;
+import raisetech.student.management.repository.StudentRepository;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.facet.StudentFacetCounter;
+
+/**
+ * 受講生と受講生コースを列形式でメモリに保持し、StudentSearchCriteriaによる受講生IDの検索をDBを使わずに行う検索エンジンです。
+ * student.search.in-memory-engine.enabled=true のとき、アプリケーションの起動完了時に全件を読み込みます。
+ * 以降は受講生データの登録・更新のコミットごとに、読み直された受講生と受講生コースを反映します。
+ */
+@Component
+public class InMemoryStudentSearchEngine extends StudentDataReplica {
+
+  /** 受講生IDの順序を保てない追加があったときに、全件を読み込み直すために使う */
+  private final StudentRepository studentRepository;
+  private final boolean ignoreCase;
+
+  /** 検索（読み取り）と反映（書き込み）の排他 */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final ForkJoinPool pool;
+  private final StudentColumnScanner scanner;
+
+  /** 列ストア。全件読み込みが完了するまではnull */
+  private volatile StudentColumnStore store;
+
+  @Autowired
+  public InMemoryStudentSearchEngine(StudentRepository studentRepository,
+      StudentSearchProperties searchProperties) {
+    super(searchProperties.getInMemoryEngine().isEnabled());
+    StudentSearchProperties.InMemoryEngine properties = searchProperties.getInMemoryEngine();
+    this.studentRepository = studentRepository;
+    this.ignoreCase = properties.isIgnoreCase();
+    this.pool = properties.isEnabled() ? new ForkJoinPool(properties.getParallelism()) : null;
+    this.scanner = new StudentColumnScanner(pool, properties.getChunkRows(), ignoreCase);
+  }
+
+  @Override
+  public boolean usesStudentCourses() {
+    return true;
+  }
+
+  @Override
+  protected void rebuild(List<Student> students, List<StudentCourse> studentCourses) {
+    StudentColumnStore loaded = StudentColumnStore.build(students, studentCourses, ignoreCase);
+    lock.writeLock().lock();
+    try {
+      store = loaded;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  protected void apply(StudentDataReloadedEvent event) {
+    boolean replaced = true;
+    lock.writeLock().lock();
+    try {
+      for (int studentId : event.getStudentIds()) {
+        Student student = event.getStudent(studentId);
+        List<StudentCourse> studentCourses = event.getStudentCourses(studentId);
+        if (!store.replaceStudent(studentId, student, studentCourses)) {
+          replaced = false;
+          break;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+    // 受講生IDの順序を保てない追加は、全件読み込みで作り直す
+    if (!replaced) {
+      load(studentRepository.searchAllStudents(), studentRepository.searchAllStudentCourses());
+    }
+  }
+
+  /**
+   * 検索条件に一致する受講生IDを受講生ID順に返します。ページング条件も適用します。
+   * isAvailable()がtrueのときだけ呼び出してください。
+   *
+   * @param criteria 検索条件
+   * @return 条件に一致する受講生IDのリスト
+   */
+  public List<Integer> findMatchedStudentIds(StudentSearchCriteria criteria) {
+    lock.readLock().lock();
+    try {
+      return scanner.scan(store, criteria);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 複数の検索条件に一致する受講生IDを、列ストアの1回の走査でまとめて求めます。
+   * 全ての検索条件を同じ読み取りロックの中で評価するため、検索結果は同じ時点のデータに対するものになります。
+   * isAvailable()がtrueのときだけ呼び出してください。
+   *
+   * @param criteriaList 検索条件のリスト
+   * @return 検索条件と同じ順の、条件に一致する受講生IDのリスト
+   */
+  public List<List<Integer>> findAllMatchedStudentIds(List<StudentSearchCriteria> criteriaList) {
+    lock.readLock().lock();
+    try {
+      return scanner.scanAll(store, criteriaList);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 検索条件に一致する受講生の人数と、集計項目の値ごとの人数を数えます。受講生IDのリストは作りません。
+   * isAvailable()がtrueのときだけ呼び出してください。
+   *
+   * @param criteria 検索条件
+   * @param counter 数えた結果を加える先
+   */
+  public void countFacets(StudentSearchCriteria criteria, StudentFacetCounter counter) {
+    lock.readLock().lock();
+    try {
+      scanner.countFacets(store, criteria, counter);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+package raisetech.student.management.search.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQLのLIKE述語と同じ規則で文字列を照合するパターンです。
+ * % は0文字以上の任意の文字列、_ は任意の1文字に一致し、\ の直後の文字はワイルドカードではなく文字そのものとして扱います。
+ * 照合順序で同じとみなされる表記の違いを区別しない場合は、パターンの文字を照合キーに置き換えて保持するため、
+ * 照合する文字列も同じ規則で照合キーに置き換えてから渡してください。
+ */
+final class LikePattern {
+
+  private static final int ANY_SEQUENCE = -1;
+  private static final int ANY_CHAR = -2;
+  private static final char ESCAPE = '\\';
+
+  /** パターンを文字（0以上）とワイルドカード（負数）の並びに分解したもの */
+  private final int[] tokens;
+
+  private LikePattern(int[] tokens) {
+    this.tokens = tokens;
+  }
+
+  /**
+   * LIKEのパターン文字列を解析します。
+   * ワイルドカードで区切られた文字の並びは、ignoreCase なら StudentColumnStore.collationKey で照合キーに置き換えます。
+   * 1文字が複数文字の照合キーになる文字（合字など）では、_ は置き換え後の1文字に一致します。
+   * @param pattern パターン文字列。例: "%田中%"
+   * @param ignoreCase 照合順序で同じとみなされる表記の違いを区別しない場合はtrue
+   * @return 解析したパターン
+   */
+  static LikePattern compile(String pattern, boolean ignoreCase) {
+    List<Integer> tokens = new ArrayList<>(pattern.length());
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == ESCAPE && i + 1 < pattern.length()) {
+        literal.append(pattern.charAt(++i));
+        continue;
+      }
+      if (c != '%' && c != '_') {
+        literal.append(c);
+        continue;
+      }
+      addLiteral(tokens, literal, ignoreCase);
+      if (c == '_') {
+        tokens.add(ANY_CHAR);
+      } else if (tokens.isEmpty() || tokens.get(tokens.size() - 1) != ANY_SEQUENCE) {
+        // 連続する % は1つと同じ
+        tokens.add(ANY_SEQUENCE);
+      }
+    }
+    addLiteral(tokens, literal, ignoreCase);
+    return new LikePattern(tokens.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  /**
+   * ワイルドカードで区切られた文字の並びを、照合キーに置き換えてから文字ごとのトークンとして追加し、空にします。
+   */
+  private static void addLiteral(List<Integer> tokens, StringBuilder literal, boolean ignoreCase) {
+    if (literal.isEmpty()) {
+      return;
+    }
+    String key = StudentColumnStore.collationKey(literal.toString(), ignoreCase);
+    for (int i = 0; i < key.length(); i++) {
+      tokens.add((int) key.charAt(i));
+    }
+    literal.setLength(0);
+  }
+
+  /**
+   * 文字列がパターンに一致するかを判定します。
+   * @param text 判定する文字列。パターンを照合キーで解析した場合は、照合キーに置き換えた文字列
+   * @return 一致すればtrue。文字列がnullならfalse
+   */
+  boolean matches(String text) {
+    if (text == null) {
+      return false;
+    }
+    int t = 0;
+    int p = 0;
+    // 直近の % の位置と、その % に割り当てた文字列の終端。不一致時はここからやり直す
+    int sequenceToken = -1;
+    int sequenceText = 0;
+
+    while (t < text.length()) {
+      if (p < tokens.length && tokens[p] != ANY_SEQUENCE
+          && (tokens[p] == ANY_CHAR || tokens[p] == text.charAt(t))) {
+        t++;
+        p++;
+      } else if (p < tokens.length && tokens[p] == ANY_SEQUENCE) {
+        sequenceToken = p++;
+        sequenceText = t;
+      } else if (sequenceToken >= 0) {
+        p = sequenceToken + 1;
+        t = ++sequenceText;
+      } else {
+        return false;
+      }
+    }
+    while (p < tokens.length && tokens[p] == ANY_SEQUENCE) {
+      p++;
+    }
+    return p == tokens.length;
+  }
+
+}
@@ -0,0 +1,94 @@
+package raisetech.student.management.search.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 文字列の列を整数IDで保持するための辞書です。
+ * 性別や地域など取りうる値の種類が少ない列は、行ごとに文字列を比較する代わりに
+ * 辞書の各値を一度だけ判定し、行ではIDの一致だけを見ることで走査を軽くします。
+ * 同期は行わないため、呼び出し側でロックを取得して使用してください。
+ */
+final class StringDictionary {
+
+  /** nullを表すID */
+  static final int NULL_CODE = -1;
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+
+  /**
+   * 文字列に対応するIDを返します。未登録の文字列なら新しいIDを割り当てます。
+   * @param value 文字列
+   * @return ID。文字列がnullならNULL_CODE
+   */
+  int encode(String value) {
+    if (value == null) {
+      return NULL_CODE;
+    }
+    return codes.computeIfAbsent(value, v -> {
+      values.add(v);
+      return values.size() - 1;
+    });
+  }
+
+  /**
+   * IDに対応する文字列を返します。
+   * @param code ID
+   * @return 文字列。IDがNULL_CODEならnull
+   */
+  String value(int code) {
+    return code == NULL_CODE ? null : values.get(code);
+  }
+
+  /**
+   * 辞書の各値が条件を満たすかを、IDを添字とする配列で返します。
+   * @param matcher 値の判定条件
+   * @return IDごとの判定結果
+   */
+  boolean[] matching(Predicate<String> matcher) {
+    boolean[] matched = new boolean[values.size()];
+    for (int code = 0; code < values.size(); code++) {
+      matched[code] = matcher.test(values.get(code));
+    }
+    return matched;
+  }
+
+  /**
+   * 辞書の各値を並べたときの順位を、IDを添字とする配列で返します。等しい値は同じ順位になります。
+   * 行の並び替えで、文字列を比較する代わりに順位の整数を比較するために使います。
+   * @param order 値の並び順
+   * @return IDごとの順位
+   */
+  int[] ranks(Comparator<String> order) {
+    Integer[] sortedCodes = new Integer[values.size()];
+    for (int code = 0; code < sortedCodes.length; code++) {
+      sortedCodes[code] = code;
+    }
+    Arrays.sort(sortedCodes, (left, right) -> order.compare(values.get(left), values.get(right)));
+
+    int[] ranks = new int[values.size()];
+    int rank = 0;
+    for (int i = 0; i < sortedCodes.length; i++) {
+      if (i > 0 && order.compare(values.get(sortedCodes[i - 1]), values.get(sortedCodes[i])) != 0) {
+        rank++;
+      }
+      ranks[sortedCodes[i]] = rank;
+    }
+    return ranks;
+  }
+
+  /**
+   * 登録されている値の件数を返します。
+   * @return 値の件数
+   */
+  int size() {
+    return values.size();
+  }
+
+}
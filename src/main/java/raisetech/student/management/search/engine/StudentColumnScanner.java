@@ -0,0 +1,577 @@
+package raisetech.student.management.search.engine;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSearchPredicate;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.And;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Match;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Not;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Or;
+import raisetech.student.management.search.facet.StudentFacet;
+import raisetech.student.management.search.facet.StudentFacetCounter;
+
+/**
+ * StudentSearchCriteriaを列ストアに対する行単位の判定条件に変換し、並列に走査して一致する受講生IDを求めます。
+ * SQLの LEFT JOIN と同じく、受講コースの条件は全て同じ受講生コースの行で満たされる必要があり、
+ * 受講生コースを持たない受講生は受講コースの条件に一致しません。
+ * 一致した行はビット列に記録するため、受講コースが複数一致しても受講生IDは重複しません。
+ */
+final class StudentColumnScanner {
+
+  private final ForkJoinPool pool;
+  private final int chunkRows;
+  private final boolean ignoreCase;
+  private final StudentRowSorter sorter;
+
+  /**
+   * @param pool 走査に使用するスレッドプール
+   * @param chunkRows 1タスクで走査する行数の目安。これ以下の件数は呼び出し元のスレッドで走査します
+   * @param ignoreCase 文字列をDBの照合順序（utf8mb4_0900_ai_ci）と同じ規則で比較する場合はtrue。列ストアと同じ値にすること
+   */
+  StudentColumnScanner(ForkJoinPool pool, int chunkRows, boolean ignoreCase) {
+    this.pool = pool;
+    // ビット列の1語（64行）単位で分割し、タスク間で同じ語に書き込まないようにする
+    this.chunkRows = Math.max(64, chunkRows - chunkRows % 64);
+    this.ignoreCase = ignoreCase;
+    this.sorter = new StudentRowSorter(ignoreCase);
+  }
+
+  /**
+   * 検索条件に一致する受講生IDを、検索条件の並び順（指定がなければ受講生ID順）に返します。
+   * ページング条件（afterStudentId, limit）と、検索フィルターグループの条件の木も適用します。
+   *
+   * @param store 列ストア。呼び出し側で読み取りロックを保持していること
+   * @param criteria 検索条件
+   * @return 条件に一致する受講生IDのリスト
+   */
+  List<Integer> scan(StudentColumnStore store, StudentSearchCriteria criteria) {
+    return scanAll(store, List.of(criteria)).get(0);
+  }
+
+  /**
+   * 複数の検索条件に一致する受講生IDを、検索条件ごとに返します。
+   * 受講生コースの行と受講生の行はそれぞれ1回だけ走査し、各行で全ての検索条件を判定するため、
+   * 検索条件ごとに走査する場合に比べて列の読み込みが検索条件の数だけ繰り返されることはありません。
+   *
+   * @param store 列ストア。呼び出し側で読み取りロックを保持していること
+   * @param criteriaList 検索条件のリスト
+   * @return 検索条件と同じ順の、条件に一致する受講生IDのリスト
+   */
+  List<List<Integer>> scanAll(StudentColumnStore store, List<StudentSearchCriteria> criteriaList) {
+    int[] startRows = new int[criteriaList.size()];
+    for (int i = 0; i < startRows.length; i++) {
+      startRows[i] = store.firstRowAfter(criteriaList.get(i).getAfterStudentId());
+    }
+    BitSet[] matched = matchRows(store, criteriaList, startRows);
+
+    List<List<Integer>> results = new ArrayList<>(criteriaList.size());
+    for (int i = 0; i < startRows.length; i++) {
+      results.add(collect(store, criteriaList.get(i), matched[i], startRows[i]));
+    }
+    return results;
+  }
+
+  /**
+   * 検索条件に一致する受講生の人数と、集計項目の値ごとの人数を数えます。並び順とページング条件は無視します。
+   * 受講生の項目は一致した行を1回たどって辞書のIDごとに数え、最後にIDを値に戻します。
+   * 受講コースの項目は受講生コースの行を1回たどり、値ごとに受講生の行をビット列に記録して、
+   * 同じ受講生の同じ値の受講生コースを重複して数えないようにします。
+   *
+   * @param store 列ストア。呼び出し側で読み取りロックを保持していること
+   * @param criteria 検索条件
+   * @param counter 数えた結果を加える先
+   */
+  void countFacets(StudentColumnStore store, StudentSearchCriteria criteria,
+      StudentFacetCounter counter) {
+    BitSet matched = matchRows(store, List.of(criteria), new int[] {0})[0];
+    if (criteria.getFilterTree() != null && !matched.isEmpty()) {
+      matched.and(matchRows(store, criteria.getFilterTree()));
+    }
+    counter.addStudents(matched.cardinality());
+
+    int[] sexCodes = store.sexCodes();
+    int[] areaCodes = store.areaCodes();
+    long[] sexCounts = new long[store.sexDictionary().size()];
+    long[] areaCounts = new long[store.areaDictionary().size()];
+    for (int row = matched.nextSetBit(0); row >= 0; row = matched.nextSetBit(row + 1)) {
+      if (sexCodes[row] != StringDictionary.NULL_CODE) {
+        sexCounts[sexCodes[row]]++;
+      }
+      if (areaCodes[row] != StringDictionary.NULL_CODE) {
+        areaCounts[areaCodes[row]]++;
+      }
+    }
+    for (int code = 0; code < sexCounts.length; code++) {
+      counter.add(StudentFacet.SEX, store.sexDictionary().value(code), sexCounts[code]);
+    }
+    for (int code = 0; code < areaCounts.length; code++) {
+      counter.add(StudentFacet.PREFECTURE,
+          StudentFacet.prefectureOf(store.areaDictionary().value(code)), areaCounts[code]);
+    }
+
+    if (!counter.counts(StudentFacet.COURSE_CODE) && !counter.counts(StudentFacet.STATUS_ID)) {
+      return;
+    }
+    int[] courseStudentRows = store.courseStudentRows();
+    int[] courseCodes = store.courseCodes();
+    int[] statusIds = store.statusIds();
+    Map<Integer, BitSet> courseCodeRows = new HashMap<>();
+    Map<Integer, BitSet> statusIdRows = new HashMap<>();
+    for (int courseRow = 0; courseRow < store.courseCount(); courseRow++) {
+      int studentRow = courseStudentRows[courseRow];
+      if (studentRow < 0 || !matched.get(studentRow)) {
+        continue;
+      }
+      if (courseCodes[courseRow] != StringDictionary.NULL_CODE) {
+        courseCodeRows.computeIfAbsent(courseCodes[courseRow], code -> new BitSet()).set(studentRow);
+      }
+      if (statusIds[courseRow] != StudentColumnStore.NULL_INT) {
+        statusIdRows.computeIfAbsent(statusIds[courseRow], statusId -> new BitSet()).set(studentRow);
+      }
+    }
+    courseCodeRows.forEach((code, rows) -> counter.add(StudentFacet.COURSE_CODE,
+        store.courseCodeDictionary().value(code), rows.cardinality()));
+    statusIdRows.forEach((statusId, rows) -> counter.add(StudentFacet.STATUS_ID,
+        String.valueOf(statusId), rows.cardinality()));
+  }
+
+  /**
+   * 検索条件（条件の木を除く）に一致した行に条件の木を適用し、並び順とページング条件に従って受講生IDを取り出します。
+   */
+  private List<Integer> collect(StudentColumnStore store, StudentSearchCriteria criteria,
+      BitSet matched, int startRow) {
+    if (criteria.getFilterTree() != null && !matched.isEmpty()) {
+      matched.and(matchRows(store, criteria.getFilterTree()));
+    }
+
+    int limit = criteria.getLimit() == null ? Integer.MAX_VALUE : criteria.getLimit();
+    if (criteria.isSorted()) {
+      return sorter.topK(store, matched, criteria.getSortKeys(), limit);
+    }
+    List<Integer> result = new ArrayList<>();
+    int[] studentIds = store.studentIds();
+    for (int row = matched.nextSetBit(startRow); row >= 0 && result.size() < limit;
+        row = matched.nextSetBit(row + 1)) {
+      result.add(studentIds[row]);
+    }
+    return result;
+  }
+
+  /**
+   * 各検索条件（条件の木を除く）に一致する行を、開始行を含む語の先頭から走査して返します。
+   * 開始行より前のビットは呼び出し側で読み飛ばしてください。
+   */
+  private BitSet[] matchRows(StudentColumnStore store, List<StudentSearchCriteria> criteriaList,
+      int[] startRows) {
+    int count = criteriaList.size();
+    int words = wordCount(store.studentCount());
+    IntPredicate[] studentPredicates = new IntPredicate[count];
+    IntPredicate[] coursePredicates = new IntPredicate[count];
+    AtomicLongArray[] courseMatchedRows = new AtomicLongArray[count];
+    long[][] matchedRows = new long[count][];
+    int[] alignedStartRows = new int[count];
+    boolean hasCoursePredicates = false;
+    int from = store.studentCount();
+    for (int i = 0; i < count; i++) {
+      StudentSearchCriteria criteria = criteriaList.get(i);
+      studentPredicates[i] = allOf(compileStudentPredicates(store, criteria));
+      List<IntPredicate> courses = compileCoursePredicates(store, criteria);
+      if (!courses.isEmpty()) {
+        coursePredicates[i] = allOf(courses);
+        courseMatchedRows[i] = new AtomicLongArray(words);
+        hasCoursePredicates = true;
+      }
+      matchedRows[i] = new long[words];
+      alignedStartRows[i] = startRows[i] - startRows[i] % 64;
+      from = Math.min(from, alignedStartRows[i]);
+    }
+
+    if (hasCoursePredicates) {
+      run(new CourseScanTask(store, coursePredicates, courseMatchedRows, 0, store.courseCount()));
+    }
+    run(new StudentScanTask(store, studentPredicates, alignedStartRows, courseMatchedRows,
+        matchedRows, from, store.studentCount()));
+
+    BitSet[] result = new BitSet[count];
+    for (int i = 0; i < count; i++) {
+      result[i] = BitSet.valueOf(matchedRows[i]);
+    }
+    return result;
+  }
+
+  /**
+   * 条件の木に一致する行を返します。AND は一致する行がなくなった時点で残りの子ノードを評価しません。
+   */
+  private BitSet matchRows(StudentColumnStore store, StudentSearchPredicate predicate) {
+    if (predicate instanceof Match match) {
+      return matchRows(store, List.of(match.getCriteria()), new int[] {0})[0];
+    }
+    if (predicate instanceof And and) {
+      BitSet matched = null;
+      for (StudentSearchPredicate child : and.getChildren()) {
+        BitSet childRows = matchRows(store, child);
+        if (matched == null) {
+          matched = childRows;
+        } else {
+          matched.and(childRows);
+        }
+        if (matched.isEmpty()) {
+          break;
+        }
+      }
+      return matched;
+    }
+    if (predicate instanceof Or or) {
+      BitSet matched = new BitSet();
+      for (StudentSearchPredicate child : or.getChildren()) {
+        matched.or(matchRows(store, child));
+      }
+      return matched;
+    }
+    // 削除済みの行を除いた全ての行から、子ノードに一致する行を除く
+    BitSet matched = new BitSet();
+    matched.set(0, store.studentCount());
+    matched.andNot(store.removed());
+    matched.andNot(matchRows(store, ((Not) predicate).getChild()));
+    return matched;
+  }
+
+  private void run(RangeTask task) {
+    if (task.to - task.from <= chunkRows) {
+      task.compute();
+    } else {
+      pool.invoke(task);
+    }
+  }
+
+  private static int wordCount(int rows) {
+    return (rows + 63) >>> 6;
+  }
+
+  private static IntPredicate allOf(List<IntPredicate> predicates) {
+    IntPredicate[] array = predicates.toArray(IntPredicate[]::new);
+    return switch (array.length) {
+      case 0 -> row -> true;
+      case 1 -> array[0];
+      default -> row -> {
+        for (IntPredicate predicate : array) {
+          if (!predicate.test(row)) {
+            return false;
+          }
+        }
+        return true;
+      };
+    };
+  }
+
+  /**====================
+   * 判定条件の組み立て
+   *=====================*/
+
+  private List<IntPredicate> compileStudentPredicates(StudentColumnStore store,
+      StudentSearchCriteria criteria) {
+    List<IntPredicate> predicates = new ArrayList<>();
+    addStringPredicates(predicates, store.fullNames(), criteria.getFullNameEq(), criteria.getFullNameLike());
+    addStringPredicates(predicates, store.kanaNames(), criteria.getKanaNameEq(), criteria.getKanaNameLike());
+    addStringPredicates(predicates, store.nicknames(), criteria.getNicknameEq(), criteria.getNicknameLike());
+    addStringPredicates(predicates, store.emails(), criteria.getEmailEq(), criteria.getEmailLike());
+    addStringPredicates(predicates, store.telephones(), criteria.getTelephoneEq(), criteria.getTelephoneLike());
+    addStringPredicates(predicates, store.remarks(), criteria.getRemarkEq(), criteria.getRemarkLike());
+    addDictionaryPredicates(predicates, store.areaCodes(), store.areaDictionary(),
+        criteria.getAreaEq(), null, criteria.getAreaLike());
+    addDictionaryPredicates(predicates, store.sexCodes(), store.sexDictionary(),
+        criteria.getSexEq(), criteria.getSexIn(), null);
+    addRangePredicate(predicates, store.ages(),
+        criteria.getAgeEq(), criteria.getAgeMin(), criteria.getAgeMax());
+
+    if (criteria.getIsDeleted() != null) {
+      BitSet deleted = store.deleted();
+      boolean expected = criteria.getIsDeleted();
+      predicates.add(row -> deleted.get(row) == expected);
+    }
+    return predicates;
+  }
+
+  private List<IntPredicate> compileCoursePredicates(StudentColumnStore store,
+      StudentSearchCriteria criteria) {
+    List<IntPredicate> predicates = new ArrayList<>();
+    addDictionaryPredicates(predicates, store.courseCodes(), store.courseCodeDictionary(),
+        criteria.getCourseCodeEq(), criteria.getCourseCodeIn(), null);
+
+    int[] statusIds = store.statusIds();
+    if (criteria.getStatusIdEq() != null) {
+      int statusId = criteria.getStatusIdEq();
+      predicates.add(row -> statusIds[row] == statusId);
+    }
+    if (criteria.getStatusIdIn() != null && !criteria.getStatusIdIn().isEmpty()) {
+      int[] sorted = criteria.getStatusIdIn().stream().mapToInt(Integer::intValue).sorted().toArray();
+      predicates.add(row -> statusIds[row] != StudentColumnStore.NULL_INT
+          && Arrays.binarySearch(sorted, statusIds[row]) >= 0);
+    }
+
+    addDateRangePredicate(predicates, store.courseApplyAts(), criteria.getCourseApplyAtEq(),
+        criteria.getCourseApplyAtFrom(), criteria.getCourseApplyAtTo());
+    addDateRangePredicate(predicates, store.courseStartAts(), criteria.getCourseStartAtEq(),
+        criteria.getCourseStartAtFrom(), criteria.getCourseStartAtTo());
+    addDateRangePredicate(predicates, store.coursePlannedEndAts(), criteria.getCoursePlannedEndAtEq(),
+        criteria.getCoursePlannedEndAtFrom(), criteria.getCoursePlannedEndAtTo());
+    addDateRangePredicate(predicates, store.courseFinishedAts(), criteria.getCourseFinishedAtEq(),
+        criteria.getCourseFinishedAtFrom(), criteria.getCourseFinishedAtTo());
+    addPeriodPredicate(predicates, store, criteria.getCoursePeriodFrom(), criteria.getCoursePeriodTo());
+    return predicates;
+  }
+
+  private void addStringPredicates(List<IntPredicate> predicates, String[] column,
+      String eq, String like) {
+    if (eq != null) {
+      // 列には照合キーが入っているため、検索値も照合キーにして比べる
+      String expected = StudentColumnStore.collationKey(eq, ignoreCase);
+      predicates.add(row -> expected.equals(column[row]));
+    }
+    if (like != null) {
+      LikePattern pattern = LikePattern.compile(like, ignoreCase);
+      predicates.add(row -> pattern.matches(column[row]));
+    }
+  }
+
+  /**
+   * 辞書IDの列に対する条件を追加します。辞書の各値を先に判定し、行ではIDで判定結果を引くだけにします。
+   * 辞書には元の値が入っているため、照合キーに置き換えてから判定します。
+   */
+  private void addDictionaryPredicates(List<IntPredicate> predicates, int[] codes,
+      StringDictionary dictionary, String eq, List<String> in, String like) {
+    if (eq != null) {
+      predicates.add(dictionaryPredicate(codes, dictionary.matching(equalsMatcher(eq))));
+    }
+    if (in != null && !in.isEmpty()) {
+      Set<String> expectedKeys = in.stream()
+          .map(value -> StudentColumnStore.collationKey(value, ignoreCase))
+          .collect(Collectors.toSet());
+      predicates.add(dictionaryPredicate(codes, dictionary.matching(
+          value -> expectedKeys.contains(StudentColumnStore.collationKey(value, ignoreCase)))));
+    }
+    if (like != null) {
+      LikePattern pattern = LikePattern.compile(like, ignoreCase);
+      predicates.add(dictionaryPredicate(codes, dictionary.matching(
+          value -> pattern.matches(StudentColumnStore.collationKey(value, ignoreCase)))));
+    }
+  }
+
+  private static IntPredicate dictionaryPredicate(int[] codes, boolean[] matchedCodes) {
+    return row -> {
+      int code = codes[row];
+      return code != StringDictionary.NULL_CODE && matchedCodes[code];
+    };
+  }
+
+  /**
+   * 辞書の元の値が検索値と等しいかを、照合キーどうしで判定する条件を返します。
+   */
+  private Predicate<String> equalsMatcher(String expected) {
+    String expectedKey = StudentColumnStore.collationKey(expected, ignoreCase);
+    return value -> expectedKey.equals(StudentColumnStore.collationKey(value, ignoreCase));
+  }
+
+  private static void addDateRangePredicate(List<IntPredicate> predicates, int[] column,
+      LocalDate eq, LocalDate from, LocalDate to) {
+    addRangePredicate(predicates, column,
+        eq == null ? null : StudentColumnStore.toEpochDay(eq),
+        from == null ? null : StudentColumnStore.toEpochDay(from),
+        to == null ? null : StudentColumnStore.toEpochDay(to));
+  }
+
+  /**
+   * 受講期間（受講開始日から、受講終了実績日か受講終了予定日まで）が指定した期間と重なる条件を追加します。
+   * SQLと同じく、受講開始日か受講終了日がない行は一致しません。
+   */
+  private static void addPeriodPredicate(List<IntPredicate> predicates, StudentColumnStore store,
+      LocalDate from, LocalDate to) {
+    if (from == null && to == null) {
+      return;
+    }
+    int[] startAts = store.courseStartAts();
+    int[] plannedEndAts = store.coursePlannedEndAts();
+    int[] finishedAts = store.courseFinishedAts();
+    int lower = from == null ? Integer.MIN_VALUE : StudentColumnStore.toEpochDay(from);
+    int upper = to == null ? Integer.MAX_VALUE : StudentColumnStore.toEpochDay(to);
+    predicates.add(row -> {
+      int start = startAts[row];
+      int end = finishedAts[row] != StudentColumnStore.NULL_INT ? finishedAts[row] : plannedEndAts[row];
+      return start != StudentColumnStore.NULL_INT && end != StudentColumnStore.NULL_INT
+          && start <= upper && end >= lower;
+    });
+  }
+
+  /**
+   * 数値の列に対する一致・範囲の条件を、1つの下限・上限の判定にまとめて追加します。
+   * SQLと同じく、値がnullの行はどの比較にも一致しません。
+   */
+  private static void addRangePredicate(List<IntPredicate> predicates, int[] column,
+      Integer eq, Integer min, Integer max) {
+    if (eq == null && min == null && max == null) {
+      return;
+    }
+    int lower = Integer.MIN_VALUE;
+    int upper = Integer.MAX_VALUE;
+    if (eq != null) {
+      lower = eq;
+      upper = eq;
+    }
+    if (min != null) {
+      lower = Math.max(lower, min);
+    }
+    if (max != null) {
+      upper = Math.min(upper, max);
+    }
+    int low = lower;
+    int high = upper;
+    predicates.add(row -> {
+      int value = column[row];
+      return value != StudentColumnStore.NULL_INT && value >= low && value <= high;
+    });
+  }
+
+  /**====================
+   * 並列走査のタスク
+   *=====================*/
+
+  private abstract class RangeTask extends RecursiveAction {
+
+    final int from;
+    final int to;
+
+    RangeTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= chunkRows) {
+        scanRange();
+        return;
+      }
+      int middle = from + (to - from) / 2;
+      middle -= middle % 64;
+      if (middle <= from) {
+        middle = from + 64;
+      }
+      invokeAll(split(from, middle), split(middle, to));
+    }
+
+    abstract void scanRange();
+
+    abstract RangeTask split(int from, int to);
+  }
+
+  /**
+   * 受講生コースの行を走査し、検索条件ごとに、全ての受講コースの条件を満たす行が属する受講生の行をビット列に記録します。
+   * 受講コースの条件がない検索条件は、判定条件とビット列がnullです。
+   * 複数の受講生コースが同じ受講生の語に書き込むため、ビット列はアトミックに更新します。
+   */
+  private final class CourseScanTask extends RangeTask {
+
+    private final StudentColumnStore store;
+    private final IntPredicate[] predicates;
+    private final AtomicLongArray[] courseMatchedRows;
+
+    CourseScanTask(StudentColumnStore store, IntPredicate[] predicates,
+        AtomicLongArray[] courseMatchedRows, int from, int to) {
+      super(from, to);
+      this.store = store;
+      this.predicates = predicates;
+      this.courseMatchedRows = courseMatchedRows;
+    }
+
+    @Override
+    void scanRange() {
+      int[] courseStudentRows = store.courseStudentRows();
+      for (int courseRow = from; courseRow < to; courseRow++) {
+        int studentRow = courseStudentRows[courseRow];
+        if (studentRow < 0) {
+          continue;
+        }
+        int word = studentRow >>> 6;
+        long bit = 1L << studentRow;
+        for (int i = 0; i < predicates.length; i++) {
+          AtomicLongArray matchedRows = courseMatchedRows[i];
+          // 同じ受講生の別の受講生コースで一致済みなら判定を省く
+          if (matchedRows == null || (matchedRows.get(word) & bit) != 0
+              || !predicates[i].test(courseRow)) {
+            continue;
+          }
+          matchedRows.getAndAccumulate(word, bit, (current, added) -> current | added);
+        }
+      }
+    }
+
+    @Override
+    RangeTask split(int from, int to) {
+      return new CourseScanTask(store, predicates, courseMatchedRows, from, to);
+    }
+  }
+
+  /**
+   * 受講生の行を走査し、検索条件ごとに、受講生の条件と受講コースの条件を満たす行をビット列に記録します。
+   * 各タスクは64行単位で区切った範囲を担当するため、ビット列の同じ語に複数のタスクが書き込むことはありません。
+   */
+  private final class StudentScanTask extends RangeTask {
+
+    private final StudentColumnStore store;
+    private final IntPredicate[] predicates;
+    private final int[] startRows;
+    private final AtomicLongArray[] courseMatchedRows;
+    private final long[][] matchedRows;
+
+    StudentScanTask(StudentColumnStore store, IntPredicate[] predicates, int[] startRows,
+        AtomicLongArray[] courseMatchedRows, long[][] matchedRows, int from, int to) {
+      super(from, to);
+      this.store = store;
+      this.predicates = predicates;
+      this.startRows = startRows;
+      this.courseMatchedRows = courseMatchedRows;
+      this.matchedRows = matchedRows;
+    }
+
+    @Override
+    void scanRange() {
+      BitSet removed = store.removed();
+      for (int row = from; row < to; row++) {
+        if (removed.get(row)) {
+          continue;
+        }
+        int word = row >>> 6;
+        long bit = 1L << row;
+        for (int i = 0; i < predicates.length; i++) {
+          if (row < startRows[i]
+              || (courseMatchedRows[i] != null && (courseMatchedRows[i].get(word) & bit) == 0)) {
+            continue;
+          }
+          if (predicates[i].test(row)) {
+            matchedRows[i][word] |= bit;
+          }
+        }
+      }
+    }
+
+    @Override
+    RangeTask split(int from, int to) {
+      return new StudentScanTask(store, predicates, startRows, courseMatchedRows, matchedRows,
+          from, to);
+    }
+  }
+
+}
@@ -0,0 +1,370 @@
+package raisetech.student.management.search.engine;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.search.criteria.SearchCollation;
+
+/**
+ * 受講生と受講生コースを列ごとの配列で保持するストアです。
+ * 数値は int 配列、日付はエポック日数の int 配列、性別・地域・コースコードは辞書IDの int 配列、
+ * 削除フラグはビットセットで保持し、それ以外の文字列は照合キー（collationKey）の文字列配列で保持します。
+ * 辞書には集計結果として返せるよう元の値を登録するため、辞書の値は比較の前に照合キーに置き換えてください。
+ * 受講生の行は受講生IDの昇順に並び、受講生コースの各行は所属する受講生の行番号を持ちます。
+ * 受講生ごとの受講生コースの行は、受講生の行から始まる行番号の連結リストでたどれます。
+ * 同期は行わないため、呼び出し側で読み取りロック・書き込みロックを取得して使用してください。
+ */
+final class StudentColumnStore {
+
+  /** 数値・日付の列でnullを表す値 */
+  static final int NULL_INT = Integer.MIN_VALUE;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  // 受講生の列
+  private int studentCount;
+  private int[] studentIds = new int[INITIAL_CAPACITY];
+  private String[] fullNames = new String[INITIAL_CAPACITY];
+  private String[] kanaNames = new String[INITIAL_CAPACITY];
+  private String[] nicknames = new String[INITIAL_CAPACITY];
+  private String[] emails = new String[INITIAL_CAPACITY];
+  private String[] telephones = new String[INITIAL_CAPACITY];
+  private String[] remarks = new String[INITIAL_CAPACITY];
+  private int[] ages = new int[INITIAL_CAPACITY];
+  private int[] sexCodes = new int[INITIAL_CAPACITY];
+  private int[] areaCodes = new int[INITIAL_CAPACITY];
+  private final BitSet deleted = new BitSet();
+  /** 受講生テーブルから消えた行。受講生は論理削除のため通常は使われません */
+  private final BitSet removed = new BitSet();
+  private final Map<Integer, Integer> studentRowById = new HashMap<>();
+  /** 受講生の行ごとの、所属する受講生コースの先頭の行番号。なければ-1 */
+  private int[] firstCourseRows = new int[INITIAL_CAPACITY];
+
+  // 受講生コースの列
+  private int courseCount;
+  private int[] studentCourseIds = new int[INITIAL_CAPACITY];
+  private int[] courseStudentRows = new int[INITIAL_CAPACITY];
+  /** 受講生コースの行ごとの、同じ受講生の次の受講生コースの行番号。なければ-1 */
+  private int[] nextCourseRows = new int[INITIAL_CAPACITY];
+  private int[] courseCodes = new int[INITIAL_CAPACITY];
+  private int[] statusIds = new int[INITIAL_CAPACITY];
+  private int[] courseApplyAts = new int[INITIAL_CAPACITY];
+  private int[] courseStartAts = new int[INITIAL_CAPACITY];
+  private int[] coursePlannedEndAts = new int[INITIAL_CAPACITY];
+  private int[] courseFinishedAts = new int[INITIAL_CAPACITY];
+  private final Map<Integer, Integer> courseRowById = new HashMap<>();
+
+  private final StringDictionary sexDictionary = new StringDictionary();
+  private final StringDictionary areaDictionary = new StringDictionary();
+  private final StringDictionary courseCodeDictionary = new StringDictionary();
+
+  /** 文字列をDBの照合順序で同じとみなされる表記に揃えてから比較するか */
+  private final boolean ignoreCase;
+
+  private StudentColumnStore(boolean ignoreCase) {
+    this.ignoreCase = ignoreCase;
+  }
+
+  /**
+   * 全ての受講生と受講生コースから列ストアを構築します。
+   * @param students 全ての受講生
+   * @param studentCourses 全ての受講生コース
+   * @param ignoreCase 文字列をDBの照合順序（utf8mb4_0900_ai_ci）と同じく、大文字・小文字や仮名・全角半角の違いを区別せずに比較する場合はtrue
+   * @return 構築した列ストア
+   */
+  static StudentColumnStore build(List<Student> students, List<StudentCourse> studentCourses,
+      boolean ignoreCase) {
+    StudentColumnStore store = new StudentColumnStore(ignoreCase);
+    students.stream()
+        .sorted((a, b) -> Integer.compare(a.getStudentId(), b.getStudentId()))
+        .forEach(store::appendStudent);
+    studentCourses.forEach(store::putStudentCourse);
+    return store;
+  }
+
+  /**
+   * 1人の受講生について、受講生と受講生コースの行を最新の内容に置き換えます。
+   * 新しい受講生は末尾に追加するため、既存の最大の受講生IDより小さいIDの受講生は追加できません。
+   *
+   * @param studentId 受講生ID
+   * @param student 最新の受講生。受講生テーブルに存在しなければnull
+   * @param studentCourses 最新の受講生コースの一覧
+   * @return 置き換えられた場合はtrue。受講生IDの順序を保てず追加できない場合はfalse
+   */
+  boolean replaceStudent(int studentId, Student student, List<StudentCourse> studentCourses) {
+    Integer row = studentRowById.get(studentId);
+    if (student == null) {
+      if (row != null) {
+        removed.set(row);
+      }
+      return true;
+    }
+
+    if (row == null) {
+      if (studentCount > 0 && studentIds[studentCount - 1] > studentId) {
+        return false;
+      }
+      appendStudent(student);
+    } else {
+      setStudentColumns(row, student);
+      removed.clear(row);
+    }
+
+    // 受講生コースは削除されない前提だが、一覧から消えたものは受講生から切り離しておく。
+    // たどるのはこの受講生の受講生コースの行だけのため、全ての受講生コースの行は走査しない
+    Set<Integer> current = new HashSet<>();
+    for (StudentCourse studentCourse : studentCourses) {
+      current.add(putStudentCourse(studentCourse));
+    }
+    int studentRow = studentRowById.get(studentId);
+    int courseRow = firstCourseRows[studentRow];
+    while (courseRow >= 0) {
+      int next = nextCourseRows[courseRow];
+      if (!current.contains(courseRow)) {
+        unlinkCourseRow(studentRow, courseRow);
+        courseStudentRows[courseRow] = -1;
+      }
+      courseRow = next;
+    }
+    return true;
+  }
+
+  private void appendStudent(Student student) {
+    if (studentCount == studentIds.length) {
+      growStudents(studentCount * 2);
+    }
+    int row = studentCount++;
+    studentIds[row] = student.getStudentId();
+    firstCourseRows[row] = -1;
+    studentRowById.put(student.getStudentId(), row);
+    setStudentColumns(row, student);
+  }
+
+  private void setStudentColumns(int row, Student student) {
+    fullNames[row] = collationKey(student.getFullName(), ignoreCase);
+    kanaNames[row] = collationKey(student.getKanaName(), ignoreCase);
+    nicknames[row] = collationKey(student.getNickname(), ignoreCase);
+    emails[row] = collationKey(student.getEmail(), ignoreCase);
+    telephones[row] = collationKey(student.getTelephone(), ignoreCase);
+    remarks[row] = collationKey(student.getRemark(), ignoreCase);
+    ages[row] = student.getAge() == null ? NULL_INT : student.getAge();
+    sexCodes[row] = sexDictionary.encode(student.getSex());
+    areaCodes[row] = areaDictionary.encode(student.getArea());
+    deleted.set(row, Boolean.TRUE.equals(student.getIsDeleted()));
+  }
+
+  /**
+   * 受講生コースの行を追加または更新します。所属する受講生の行がなければ何もしません。
+   * @param studentCourse 受講生コース
+   * @return 受講生コースの行番号。所属する受講生の行がなければ-1
+   */
+  private int putStudentCourse(StudentCourse studentCourse) {
+    Integer studentRow = studentRowById.get(studentCourse.getStudentId());
+    if (studentRow == null) {
+      return -1;
+    }
+    Integer row = courseRowById.get(studentCourse.getStudentCourseId());
+    if (row == null) {
+      if (courseCount == studentCourseIds.length) {
+        growCourses(courseCount * 2);
+      }
+      row = courseCount++;
+      studentCourseIds[row] = studentCourse.getStudentCourseId();
+      courseRowById.put(studentCourse.getStudentCourseId(), row);
+      courseStudentRows[row] = -1;
+    }
+    if (courseStudentRows[row] != studentRow) {
+      if (courseStudentRows[row] >= 0) {
+        unlinkCourseRow(courseStudentRows[row], row);
+      }
+      nextCourseRows[row] = firstCourseRows[studentRow];
+      firstCourseRows[studentRow] = row;
+      courseStudentRows[row] = studentRow;
+    }
+    courseCodes[row] = courseCodeDictionary.encode(studentCourse.getCourseCode());
+    statusIds[row] = studentCourse.getStatusId() == null ? NULL_INT : studentCourse.getStatusId();
+    courseApplyAts[row] = toEpochDay(studentCourse.getCourseApplyAt());
+    courseStartAts[row] = toEpochDay(studentCourse.getCourseStartAt());
+    coursePlannedEndAts[row] = toEpochDay(studentCourse.getCoursePlannedEndAt());
+    courseFinishedAts[row] = toEpochDay(studentCourse.getCourseFinishedAt());
+    return row;
+  }
+
+  /**
+   * 文字列を、列ストアで比較に使う照合キーに置き換えます。
+   * ignoreCase なら SearchCollation.fold でDBの照合順序と同じ規則で置き換え、そうでなければそのまま返します。
+   * @param value 文字列
+   * @param ignoreCase 照合順序で同じとみなされる表記に揃える場合はtrue
+   * @return 照合キー。文字列がnullならnull
+   */
+  static String collationKey(String value, boolean ignoreCase) {
+    return value == null || !ignoreCase ? value : SearchCollation.fold(value);
+  }
+
+  /**
+   * 受講生コースの行を、受講生の受講生コースの連結リストから外します。
+   * @param studentRow 受講生の行番号
+   * @param courseRow 外す受講生コースの行番号
+   */
+  private void unlinkCourseRow(int studentRow, int courseRow) {
+    if (firstCourseRows[studentRow] == courseRow) {
+      firstCourseRows[studentRow] = nextCourseRows[courseRow];
+      return;
+    }
+    for (int row = firstCourseRows[studentRow]; row >= 0; row = nextCourseRows[row]) {
+      if (nextCourseRows[row] == courseRow) {
+        nextCourseRows[row] = nextCourseRows[courseRow];
+        return;
+      }
+    }
+  }
+
+  static int toEpochDay(LocalDate date) {
+    return date == null ? NULL_INT : Math.toIntExact(date.toEpochDay());
+  }
+
+  private void growStudents(int capacity) {
+    studentIds = Arrays.copyOf(studentIds, capacity);
+    firstCourseRows = Arrays.copyOf(firstCourseRows, capacity);
+    fullNames = Arrays.copyOf(fullNames, capacity);
+    kanaNames = Arrays.copyOf(kanaNames, capacity);
+    nicknames = Arrays.copyOf(nicknames, capacity);
+    emails = Arrays.copyOf(emails, capacity);
+    telephones = Arrays.copyOf(telephones, capacity);
+    remarks = Arrays.copyOf(remarks, capacity);
+    ages = Arrays.copyOf(ages, capacity);
+    sexCodes = Arrays.copyOf(sexCodes, capacity);
+    areaCodes = Arrays.copyOf(areaCodes, capacity);
+  }
+
+  private void growCourses(int capacity) {
+    studentCourseIds = Arrays.copyOf(studentCourseIds, capacity);
+    courseStudentRows = Arrays.copyOf(courseStudentRows, capacity);
+    nextCourseRows = Arrays.copyOf(nextCourseRows, capacity);
+    courseCodes = Arrays.copyOf(courseCodes, capacity);
+    statusIds = Arrays.copyOf(statusIds, capacity);
+    courseApplyAts = Arrays.copyOf(courseApplyAts, capacity);
+    courseStartAts = Arrays.copyOf(courseStartAts, capacity);
+    coursePlannedEndAts = Arrays.copyOf(coursePlannedEndAts, capacity);
+    courseFinishedAts = Arrays.copyOf(courseFinishedAts, capacity);
+  }
+
+  /**
+   * 受講生IDがstudentIdより大きい最初の受講生の行番号を返します。
+   * @param studentId 受講生ID。nullなら先頭の行
+   * @return 行番号。該当する行がなければ受講生の件数
+   */
+  int firstRowAfter(Integer studentId) {
+    if (studentId == null) {
+      return 0;
+    }
+    int index = Arrays.binarySearch(studentIds, 0, studentCount, studentId);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  // 走査用の列の参照。配列は追加時に差し替わるため、読み取りロックを保持している間だけ使用すること
+
+  int studentCount() {
+    return studentCount;
+  }
+
+  int[] studentIds() {
+    return studentIds;
+  }
+
+  String[] fullNames() {
+    return fullNames;
+  }
+
+  String[] kanaNames() {
+    return kanaNames;
+  }
+
+  String[] nicknames() {
+    return nicknames;
+  }
+
+  String[] emails() {
+    return emails;
+  }
+
+  String[] telephones() {
+    return telephones;
+  }
+
+  String[] remarks() {
+    return remarks;
+  }
+
+  int[] ages() {
+    return ages;
+  }
+
+  int[] sexCodes() {
+    return sexCodes;
+  }
+
+  int[] areaCodes() {
+    return areaCodes;
+  }
+
+  BitSet deleted() {
+    return deleted;
+  }
+
+  BitSet removed() {
+    return removed;
+  }
+
+  int courseCount() {
+    return courseCount;
+  }
+
+  int[] courseStudentRows() {
+    return courseStudentRows;
+  }
+
+  int[] courseCodes() {
+    return courseCodes;
+  }
+
+  int[] statusIds() {
+    return statusIds;
+  }
+
+  int[] courseApplyAts() {
+    return courseApplyAts;
+  }
+
+  int[] courseStartAts() {
+    return courseStartAts;
+  }
+
+  int[] coursePlannedEndAts() {
+    return coursePlannedEndAts;
+  }
+
+  int[] courseFinishedAts() {
+    return courseFinishedAts;
+  }
+
+  StringDictionary sexDictionary() {
+    return sexDictionary;
+  }
+
+  StringDictionary areaDictionary() {
+    return areaDictionary;
+  }
+
+  StringDictionary courseCodeDictionary() {
+    return courseCodeDictionary;
+  }
+
+}
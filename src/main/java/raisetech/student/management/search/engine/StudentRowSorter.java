@@ -0,0 +1,176 @@
+package raisetech.student.management.search.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntUnaryOperator;
+import raisetech.student.management.search.criteria.StudentSortKey;
+
+/**
+ * 列ストアの行を検索条件の並び順で並べ、先頭からK件の受講生IDを返します。
+ * 件数Kのヒープ（最も後ろに並ぶ行が先頭）に一致した行を1件ずつ入れ、あふれた行を捨てていくため、
+ * 一致件数nに対して O(n log K) で求まり、保持するのもK件分だけです。
+ * SQLの ORDER BY と同じく、値がnullの行は向きによらず最後に、同じ順位の行は受講生IDの昇順に並べます。
+ * 受講コースの項目は、受講生ごとに昇順なら最小値、降順なら最大値で並べます。
+ * 文字列は照合キーの順に並べるため、照合順序で同じとみなされる値は同じ順位になり、受講生IDの昇順に並びます。
+ */
+final class StudentRowSorter {
+
+  /** 文字列の列は照合キーで保持しているため、そのまま比べる */
+  private final Comparator<String> stringOrder = Comparator.naturalOrder();
+
+  /** 辞書の値は元の値のため、照合キーに置き換えてから比べる */
+  private final Comparator<String> dictionaryOrder;
+
+  /**
+   * @param ignoreCase 文字列をDBの照合順序（utf8mb4_0900_ai_ci）と同じ規則で比較する場合はtrue。列ストアと同じ値にすること
+   */
+  StudentRowSorter(boolean ignoreCase) {
+    this.dictionaryOrder = Comparator.comparing(
+        value -> StudentColumnStore.collationKey(value, ignoreCase));
+  }
+
+  /**
+   * 一致した行を並び順で並べ、先頭からlimit件の受講生IDを返します。
+   *
+   * @param store 列ストア。呼び出し側で読み取りロックを保持していること
+   * @param rows 一致した行
+   * @param sortKeys 並び順のリスト（1件以上）
+   * @param limit 取得件数の上限
+   * @return 並び順に並べた受講生IDのリスト
+   */
+  List<Integer> topK(StudentColumnStore store, BitSet rows, List<StudentSortKey> sortKeys,
+      int limit) {
+    int capacity = Math.min(limit, rows.cardinality());
+    if (capacity == 0) {
+      return List.of();
+    }
+    Comparator<Integer> order = rowOrder(store, sortKeys);
+    PriorityQueue<Integer> heap = new PriorityQueue<>(capacity, order.reversed());
+    for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+      if (heap.size() < limit) {
+        heap.add(row);
+      } else if (order.compare(row, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(row);
+      }
+    }
+
+    Integer[] sortedRows = heap.toArray(Integer[]::new);
+    Arrays.sort(sortedRows, order);
+    int[] studentIds = store.studentIds();
+    List<Integer> result = new ArrayList<>(sortedRows.length);
+    for (int row : sortedRows) {
+      result.add(studentIds[row]);
+    }
+    return result;
+  }
+
+  private Comparator<Integer> rowOrder(StudentColumnStore store, List<StudentSortKey> sortKeys) {
+    Comparator<Integer> order = null;
+    for (StudentSortKey sortKey : sortKeys) {
+      Comparator<Integer> keyOrder = keyOrder(store, sortKey);
+      order = order == null ? keyOrder : order.thenComparing(keyOrder);
+    }
+    // 行は受講生IDの昇順に並んでいるため、行番号の昇順が受講生IDの昇順になる
+    return order.thenComparingInt(Integer::intValue);
+  }
+
+  private Comparator<Integer> keyOrder(StudentColumnStore store, StudentSortKey sortKey) {
+    boolean descending = sortKey.isDescending();
+    return switch (sortKey.getField()) {
+      case FULL_NAME -> stringOrder(store.fullNames(), descending);
+      case KANA_NAME -> stringOrder(store.kanaNames(), descending);
+      case NICKNAME -> stringOrder(store.nicknames(), descending);
+      case EMAIL -> stringOrder(store.emails(), descending);
+      case TELEPHONE -> stringOrder(store.telephones(), descending);
+      case REMARK -> stringOrder(store.remarks(), descending);
+      case AREA -> intOrder(ranked(store.areaCodes(), store.areaDictionary()), descending);
+      case SEX -> intOrder(ranked(store.sexCodes(), store.sexDictionary()), descending);
+      case AGE -> intOrder(column(store.ages()), descending);
+      case IS_DELETED -> {
+        BitSet deleted = store.deleted();
+        Comparator<Integer> order = (left, right) -> Boolean.compare(deleted.get(left), deleted.get(right));
+        yield descending ? order.reversed() : order;
+      }
+      case COURSE_CODE -> courseOrder(store,
+          ranked(store.courseCodes(), store.courseCodeDictionary()), descending);
+      case STATUS_ID -> courseOrder(store, column(store.statusIds()), descending);
+      case COURSE_APPLY_AT -> courseOrder(store, column(store.courseApplyAts()), descending);
+      // 受講期間は受講開始日で並べる
+      case COURSE_START_AT, COURSE_PERIOD ->
+          courseOrder(store, column(store.courseStartAts()), descending);
+      case COURSE_PLANNED_END_AT ->
+          courseOrder(store, column(store.coursePlannedEndAts()), descending);
+      case COURSE_FINISHED_AT ->
+          courseOrder(store, column(store.courseFinishedAts()), descending);
+    };
+  }
+
+  private static IntUnaryOperator column(int[] values) {
+    return row -> values[row];
+  }
+
+  /**
+   * 辞書IDの列を、辞書の値の順位の列として返します。nullはNULL_INTになります。
+   */
+  private IntUnaryOperator ranked(int[] codes, StringDictionary dictionary) {
+    int[] ranks = dictionary.ranks(dictionaryOrder);
+    return row -> codes[row] == StringDictionary.NULL_CODE
+        ? StudentColumnStore.NULL_INT
+        : ranks[codes[row]];
+  }
+
+  /**
+   * 受講コースの列を受講生ごとに、昇順なら最小値、降順なら最大値に集約して並べます。
+   * 集約は受講生コースの行を1回走査するだけで、並べ替えは行いません。
+   */
+  private static Comparator<Integer> courseOrder(StudentColumnStore store,
+      IntUnaryOperator courseValues, boolean descending) {
+    int[] aggregated = new int[store.studentCount()];
+    Arrays.fill(aggregated, StudentColumnStore.NULL_INT);
+    int[] courseStudentRows = store.courseStudentRows();
+    for (int courseRow = 0; courseRow < store.courseCount(); courseRow++) {
+      int studentRow = courseStudentRows[courseRow];
+      int value = courseValues.applyAsInt(courseRow);
+      if (studentRow < 0 || value == StudentColumnStore.NULL_INT) {
+        continue;
+      }
+      int current = aggregated[studentRow];
+      if (current == StudentColumnStore.NULL_INT || (descending ? value > current : value < current)) {
+        aggregated[studentRow] = value;
+      }
+    }
+    return intOrder(row -> aggregated[row], descending);
+  }
+
+  private static Comparator<Integer> intOrder(IntUnaryOperator values, boolean descending) {
+    return (left, right) -> {
+      int leftValue = values.applyAsInt(left);
+      int rightValue = values.applyAsInt(right);
+      if (leftValue == StudentColumnStore.NULL_INT || rightValue == StudentColumnStore.NULL_INT) {
+        // nullは向きによらず最後
+        return Boolean.compare(leftValue == StudentColumnStore.NULL_INT,
+            rightValue == StudentColumnStore.NULL_INT);
+      }
+      return descending ? Integer.compare(rightValue, leftValue) : Integer.compare(leftValue, rightValue);
+    };
+  }
+
+  private Comparator<Integer> stringOrder(String[] column, boolean descending) {
+    Comparator<String> valueOrder = descending ? stringOrder.reversed() : stringOrder;
+    return (left, right) -> {
+      String leftValue = column[left];
+      String rightValue = column[right];
+      if (leftValue == null || rightValue == null) {
+        // nullは向きによらず最後
+        return Boolean.compare(leftValue == null, rightValue == null);
+      }
+      return valueOrder.compare(leftValue, rightValue);
+    };
+  }
+
+}
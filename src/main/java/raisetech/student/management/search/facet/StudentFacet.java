@@ -0,0 +1,98 @@
+package raisetech.student.management.search.facet;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+
+/**
+ * 検索結果を値ごとに集計できる項目です。
+ * 受講コースの項目は、その値の受講生コースを1件以上持つ受講生の人数を数えます。
+ */
+@Getter
+public enum StudentFacet {
+
+  SEX("sex"),
+  STATUS_ID("statusId"),
+  COURSE_CODE("courseCode"),
+  /** 地域の先頭の都道府県名 */
+  PREFECTURE("prefecture");
+
+  /** 都道府県名として読み取れない地域の集計値 */
+  public static final String OTHER_PREFECTURE = "その他";
+
+  private static final Pattern PREFECTURE_PATTERN =
+      Pattern.compile("^(北海道|東京都|(?:京都|大阪)府|.{2,3}?県)");
+
+  private final String facetName;
+
+  StudentFacet(String facetName) {
+    this.facetName = facetName;
+  }
+
+  /**
+   * 受講コースの項目かを返します。
+   * @return 受講コースの項目ならtrue
+   */
+  public boolean isCourseFacet() {
+    return this == STATUS_ID || this == COURSE_CODE;
+  }
+
+  /**
+   * 集計項目名に対応する集計項目を返します。
+   * @param facetName 集計項目名
+   * @return 集計項目
+   * @throws IllegalArgumentException 集計項目名が存在しない場合
+   */
+  public static StudentFacet fromFacetName(String facetName) {
+    for (StudentFacet facet : values()) {
+      if (facet.facetName.equals(facetName)) {
+        return facet;
+      }
+    }
+    throw new IllegalArgumentException("集計できない項目です: " + facetName);
+  }
+
+  /**
+   * クエリパラメータ facets の各要素を解析します。
+   * @param facetNames クエリパラメータ facets の値。nullなら集計しない
+   * @return 集計項目の集合
+   */
+  public static Set<StudentFacet> parseAll(List<String> facetNames) {
+    Set<StudentFacet> facets = EnumSet.noneOf(StudentFacet.class);
+    if (facetNames != null) {
+      facetNames.forEach(facetName -> facets.add(fromFacetName(facetName)));
+    }
+    return facets;
+  }
+
+  /**
+   * クエリパラメータ facets の1要素として解析できるかを返します。
+   * @param facetName 集計項目名
+   * @return 解析できるならtrue
+   */
+  public static boolean isValid(String facetName) {
+    for (StudentFacet facet : values()) {
+      if (facet.facetName.equals(facetName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 地域の先頭から都道府県名を取り出します。
+   * @param area 地域。例: "東京都練馬区"
+   * @return 都道府県名。読み取れなければ OTHER_PREFECTURE、地域がnullならnull
+   */
+  public static String prefectureOf(String area) {
+    if (area == null) {
+      return null;
+    }
+    Matcher matcher = PREFECTURE_PATTERN.matcher(area);
+    return matcher.find() ? matcher.group(1) : OTHER_PREFECTURE;
+  }
+
+}
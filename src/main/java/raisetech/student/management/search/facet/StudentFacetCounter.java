@@ -0,0 +1,115 @@
+package raisetech.student.management.search.facet;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 検索条件に一致した受講生の人数と、集計項目の値ごとの人数を数えます。
+ * 受講生ID順に並んだ行を1回たどるだけで、人数と全ての集計項目を数えられます。
+ * 同期は行わないため、1回の集計の中だけで使用してください。
+ */
+public final class StudentFacetCounter {
+
+  private final Map<StudentFacet, Map<String, Long>> counts = new EnumMap<>(StudentFacet.class);
+  private long studentCount;
+
+  /** 行をたどっている受講生の受講生ID。同じ受講生の受講コースの値を重複して数えないために使います */
+  private Integer currentStudentId;
+  private final Set<String> currentCourseCodes = new HashSet<>();
+  private final Set<String> currentStatusIds = new HashSet<>();
+
+  /**
+   * @param facets 集計項目
+   */
+  public StudentFacetCounter(Set<StudentFacet> facets) {
+    facets.forEach(facet -> counts.put(facet, new HashMap<>()));
+  }
+
+  /**
+   * 集計項目を数える対象にしているかを返します。
+   * @param facet 集計項目
+   * @return 数える対象ならtrue
+   */
+  public boolean counts(StudentFacet facet) {
+    return counts.containsKey(facet);
+  }
+
+  /**
+   * 受講生ID順に並んだ行を1行数えます。同じ受講生の行は続けて渡してください。
+   * 受講生の項目は受講生ごとに1回、受講コースの項目は受講生ごとに値の種類ごとに1回だけ数えます。
+   *
+   * @param row 受講生と受講生コース1件分の項目
+   */
+  public void addRow(StudentFacetRow row) {
+    if (!Objects.equals(row.getStudentId(), currentStudentId)) {
+      flushStudentCourses();
+      currentStudentId = row.getStudentId();
+      addStudents(1);
+      add(StudentFacet.SEX, row.getSex(), 1);
+      add(StudentFacet.PREFECTURE, StudentFacet.prefectureOf(row.getArea()), 1);
+    }
+    if (row.getCourseCode() != null) {
+      currentCourseCodes.add(row.getCourseCode());
+    }
+    if (row.getStatusId() != null) {
+      currentStatusIds.add(String.valueOf(row.getStatusId()));
+    }
+  }
+
+  /**
+   * 一致した受講生の人数を加えます。
+   * @param count 人数
+   */
+  public void addStudents(long count) {
+    studentCount += count;
+  }
+
+  /**
+   * 集計項目の値の人数を加えます。集計しない項目と、nullの値は無視します。
+   * @param facet 集計項目
+   * @param value 値
+   * @param count 人数
+   */
+  public void add(StudentFacet facet, String value, long count) {
+    Map<String, Long> facetCounts = counts.get(facet);
+    if (facetCounts != null && value != null && count > 0) {
+      facetCounts.merge(value, count, Long::sum);
+    }
+  }
+
+  /**
+   * 数えた結果を返します。集計項目の値は人数の多い順（同じ人数なら値の順）に並べます。
+   * @return 検索結果の件数と集計
+   */
+  public StudentSearchSummary toSummary() {
+    flushStudentCourses();
+    Map<String, Map<String, Long>> facets = null;
+    if (!counts.isEmpty()) {
+      facets = new LinkedHashMap<>();
+      for (Entry<StudentFacet, Map<String, Long>> entry : counts.entrySet()) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        entry.getValue().entrySet().stream()
+            .sorted(Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Entry.comparingByKey()))
+            .forEach(count -> sorted.put(count.getKey(), count.getValue()));
+        facets.put(entry.getKey().getFacetName(), sorted);
+      }
+    }
+    return new StudentSearchSummary(studentCount > 0, studentCount, facets);
+  }
+
+  private void flushStudentCourses() {
+    currentCourseCodes.forEach(courseCode -> add(StudentFacet.COURSE_CODE, courseCode, 1));
+    currentStatusIds.forEach(statusId -> add(StudentFacet.STATUS_ID, statusId, 1));
+    currentCourseCodes.clear();
+    currentStatusIds.clear();
+  }
+
+}
@@ -0,0 +1,26 @@
+package raisetech.student.management.search.facet;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 検索結果の集計に使う、受講生と受講生コース1件分の項目です。
+ * 受講コースの項目を集計しない場合と、受講生コースのない受講生では、受講コースの項目はnullです。
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentFacetRow {
+
+  private Integer studentId;
+  private String sex;
+  private String area;
+  private String courseCode;
+  private Integer statusId;
+
+}
@@ -0,0 +1,41 @@
+package raisetech.student.management.search.facet;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 検索条件に一致する受講生の有無・人数と、項目の値ごとの人数です。
+ */
+@Schema(description = "検索結果の件数と集計")
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class StudentSearchSummary {
+
+  @Schema(description = "一致する受講生がいるか", example = "true")
+  private final boolean exists;
+
+  @Schema(description = "一致する受講生の人数。existsOnly を指定した場合はnull", example = "120")
+  private final @Nullable Long count;
+
+  @Schema(description = """
+      集計項目ごとの、値と一致する受講生の人数。人数の多い順に並べます。集計項目を指定しなかった場合はnull""",
+      example = "{\"sex\": {\"女\": 70, \"男\": 50}, \"prefecture\": {\"東京都\": 80, \"大阪府\": 40}}")
+  private final @Nullable Map<String, Map<String, Long>> facets;
+
+  /**
+   * 一致する受講生の有無だけを持つ結果を作ります。
+   * @param exists 一致する受講生がいるか
+   * @return 検索結果の件数と集計
+   */
+  public static StudentSearchSummary ofExists(boolean exists) {
+    return new StudentSearchSummary(exists, null, null);
+  }
+
+}
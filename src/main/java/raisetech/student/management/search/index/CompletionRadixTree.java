@@ -0,0 +1,265 @@
+package raisetech.student.management.search.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import raisetech.student.management.search.suggest.StudentSuggestion;
+
+/**
+ * 入力補完用の基数木（共通の接頭辞をまとめたトライ木）です。
+ * 列の値ごとに、その値を持つ受講生の人数を保持し、接頭辞に続く値を人数の多い順に返します。
+ * 各ノードは部分木の中の最大人数を保持しているため、人数の多い部分木から順にたどり、
+ * 部分木の全件を集めずに上位N件を取り出せます。
+ * 取り出した上位の候補はノードごとに保持し、値の追加・削除で経路上のノードの分だけ破棄します。
+ * 入力のたびに同じ接頭辞を引き直す入力補完では、ほとんどの問い合わせが木をたどるだけで済みます。
+ * 値はn-gram索引と同じ規則で正規化して木に登録し、候補としては最も多く登録された元の表記を返します。
+ * 同期は行わないため、呼び出し側でロックを取得して使用してください。
+ */
+final class CompletionRadixTree {
+
+  private static final class Node {
+
+    /** 親ノードからこのノードまでの辺のラベル（正規化済み） */
+    private String label;
+
+    /** 子ノード。辺のラベルの先頭文字をキーとする */
+    private final TreeMap<Character, Node> children = new TreeMap<>();
+
+    /** 根からこのノードまでの文字列を値に持つ受講生の人数 */
+    private int count;
+
+    /** 正規化前の表記ごとの人数 */
+    private final Map<String, Integer> originals = new HashMap<>();
+
+    /** このノードを根とする部分木の中の最大人数 */
+    private int maxCount;
+
+    /**
+     * このノードを根とする部分木の上位CACHED_LIMIT件の候補。未計算か破棄済みならnull。
+     * 読み取りロック中に複数のスレッドが同時に設定しても、同じ内容の不変リストになるため問題ない
+     */
+    private List<StudentSuggestion> cachedTop;
+
+    private Node(String label) {
+      this.label = label;
+    }
+
+    private void updateMaxCount() {
+      int max = count;
+      for (Node child : children.values()) {
+        max = Math.max(max, child.maxCount);
+      }
+      maxCount = max;
+    }
+
+    private String displayValue() {
+      return originals.entrySet().stream()
+          .max(Map.Entry.<String, Integer>comparingByValue()
+              .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+          .orElseThrow()
+          .getKey();
+    }
+  }
+
+  /** 探索の途中経過。部分木（まだ展開していないノード）か、候補として確定した値のどちらか */
+  private static final class Candidate {
+
+    private final Node node;
+    private final String path;
+    private final int score;
+    private final boolean terminal;
+
+    private Candidate(Node node, String path, int score, boolean terminal) {
+      this.node = node;
+      this.path = path;
+      this.score = score;
+      this.terminal = terminal;
+    }
+  }
+
+  /** 人数の多い順。同じ人数なら正規化した値の辞書順で、同じ値なら確定した値を先にする */
+  private static final Comparator<Candidate> BEST_FIRST =
+      Comparator.<Candidate>comparingInt(c -> -c.score)
+          .thenComparing(c -> c.path)
+          .thenComparing(c -> !c.terminal);
+
+  /** ノードごとに保持する候補の件数。これを超える件数の問い合わせは保持せずに毎回探索する */
+  static final int CACHED_LIMIT = 100;
+
+  private final Node root = new Node("");
+
+  /**
+   * 値を持つ受講生を1人追加します。
+   * @param value 列の値。null・空文字なら何もしない
+   */
+  void add(String value) {
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    String key = NgramTokenizer.normalize(value);
+    List<Node> path = new ArrayList<>();
+    path.add(root);
+    Node node = root;
+    int i = 0;
+    while (i < key.length()) {
+      Node child = node.children.get(key.charAt(i));
+      if (child == null) {
+        child = new Node(key.substring(i));
+        node.children.put(key.charAt(i), child);
+        i = key.length();
+      } else {
+        int common = commonPrefixLength(child.label, key, i);
+        if (common < child.label.length()) {
+          child = split(node, child, common);
+        }
+        i += common;
+      }
+      node = child;
+      path.add(node);
+    }
+    node.count++;
+    node.originals.merge(value, 1, Integer::sum);
+    for (int p = path.size() - 1; p >= 0; p--) {
+      path.get(p).updateMaxCount();
+      path.get(p).cachedTop = null;
+    }
+  }
+
+  /**
+   * 値を持つ受講生を1人取り除きます。人数が0になった値は木から取り除き、不要になったノードをまとめ直します。
+   * @param value 列の値。null・空文字なら何もしない
+   */
+  void remove(String value) {
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    String key = NgramTokenizer.normalize(value);
+    List<Node> path = new ArrayList<>();
+    path.add(root);
+    Node node = root;
+    int i = 0;
+    while (i < key.length()) {
+      Node child = node.children.get(key.charAt(i));
+      if (child == null || !key.startsWith(child.label, i)) {
+        return;
+      }
+      i += child.label.length();
+      node = child;
+      path.add(node);
+    }
+    Integer originalCount = node.originals.get(value);
+    if (originalCount == null) {
+      return;
+    }
+    node.count--;
+    if (originalCount == 1) {
+      node.originals.remove(value);
+    } else {
+      node.originals.put(value, originalCount - 1);
+    }
+
+    for (Node onPath : path) {
+      onPath.cachedTop = null;
+    }
+    for (int p = path.size() - 1; p >= 1; p--) {
+      Node current = path.get(p);
+      Node parent = path.get(p - 1);
+      if (current.count == 0 && current.children.isEmpty()) {
+        parent.children.remove(current.label.charAt(0));
+      } else if (current.count == 0 && current.children.size() == 1) {
+        // 値を持たず子が1つだけのノードは、子と1本の辺にまとめる
+        Node onlyChild = current.children.firstEntry().getValue();
+        onlyChild.label = current.label + onlyChild.label;
+        parent.children.put(onlyChild.label.charAt(0), onlyChild);
+      } else {
+        current.updateMaxCount();
+      }
+    }
+    root.updateMaxCount();
+  }
+
+  /**
+   * 接頭辞に続く値を、受講生の人数が多い順に返します。
+   * @param prefix 接頭辞
+   * @param limit 返す件数の上限
+   * @return 補完候補のリスト
+   */
+  List<StudentSuggestion> complete(String prefix, int limit) {
+    String key = NgramTokenizer.normalize(prefix);
+    Node node = root;
+    StringBuilder path = new StringBuilder();
+    int i = 0;
+    while (i < key.length()) {
+      Node child = node.children.get(key.charAt(i));
+      if (child == null) {
+        return List.of();
+      }
+      int remaining = key.length() - i;
+      if (remaining <= child.label.length()) {
+        if (!child.label.startsWith(key.substring(i))) {
+          return List.of();
+        }
+      } else if (!key.startsWith(child.label, i)) {
+        return List.of();
+      }
+      path.append(child.label);
+      i += child.label.length();
+      node = child;
+    }
+
+    if (limit > CACHED_LIMIT) {
+      return searchTop(node, path.toString(), limit);
+    }
+    if (node.cachedTop == null) {
+      node.cachedTop = List.copyOf(searchTop(node, path.toString(), CACHED_LIMIT));
+    }
+    return node.cachedTop.subList(0, Math.min(limit, node.cachedTop.size()));
+  }
+
+  /**
+   * 部分木の中の値を、人数の多い部分木から順にたどって上位limit件を取り出します。
+   */
+  private static List<StudentSuggestion> searchTop(Node node, String path, int limit) {
+    List<StudentSuggestion> suggestions = new ArrayList<>(Math.min(limit, CACHED_LIMIT));
+    PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+    queue.add(new Candidate(node, path, node.maxCount, false));
+    while (!queue.isEmpty() && suggestions.size() < limit) {
+      Candidate candidate = queue.poll();
+      Node current = candidate.node;
+      if (candidate.terminal) {
+        suggestions.add(new StudentSuggestion(current.displayValue(), current.count));
+        continue;
+      }
+      if (current.count > 0) {
+        queue.add(new Candidate(current, candidate.path, current.count, true));
+      }
+      for (Node child : current.children.values()) {
+        queue.add(new Candidate(child, candidate.path + child.label, child.maxCount, false));
+      }
+    }
+    return suggestions;
+  }
+
+  private static Node split(Node parent, Node child, int at) {
+    Node middle = new Node(child.label.substring(0, at));
+    child.label = child.label.substring(at);
+    middle.children.put(child.label.charAt(0), child);
+    middle.maxCount = child.maxCount;
+    parent.children.put(middle.label.charAt(0), middle);
+    return middle;
+  }
+
+  private static int commonPrefixLength(String label, String key, int offset) {
+    int length = 0;
+    while (length < label.length() && offset + length < key.length()
+        && label.charAt(length) == key.charAt(offset + length)) {
+      length++;
+    }
+    return length;
+  }
+
+}
@@ -0,0 +1,240 @@
+package raisetech.student.management.search.index;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 受講生コースの受講期間（受講開始日から受講終了日まで）を保持する区間木です。
+ * 区間を受講開始日の昇順に並べた配列を、中央の要素を根とする平衡二分木とみなし、
+ * 各部分木の受講終了日の最大値を持たせることで、期間の重なりを O(log n + 一致件数) で求めます。
+ * 受講開始日は昇順に並んでいるため、受講開始日の範囲検索は二分探索で求めます。
+ * 日付はエポック日（1970-01-01からの日数）で扱います。
+ * 変更不可のオブジェクトで、更新は新しいインスタンスを返すため、参照を差し替えるだけで読み取り側と同期できます。
+ */
+final class CourseIntervalTree {
+
+  /** 受講終了日がない区間の受講終了日。どの期間とも重ならない */
+  static final int NO_END = Integer.MIN_VALUE;
+
+  static final CourseIntervalTree EMPTY = new CourseIntervalTree(new int[0], new int[0], new int[0]);
+
+  /** 受講開始日（昇順） */
+  private final int[] starts;
+
+  /** 受講終了日。受講終了日がない区間はNO_END */
+  private final int[] ends;
+
+  /** 区間を持つ受講生ID */
+  private final int[] studentIds;
+
+  /** 添字を根とする部分木の受講終了日の最大値 */
+  private final int[] maxEnds;
+
+  private CourseIntervalTree(int[] starts, int[] ends, int[] studentIds) {
+    this.starts = starts;
+    this.ends = ends;
+    this.studentIds = studentIds;
+    this.maxEnds = new int[starts.length];
+    computeMaxEnds(0, starts.length);
+  }
+
+  /**
+   * 区間の配列から区間木を作ります。3つの配列は同じ添字で1つの区間を表します。
+   * @param studentIds 受講生ID
+   * @param starts 受講開始日
+   * @param ends 受講終了日。ない場合はNO_END
+   * @return 区間木
+   */
+  static CourseIntervalTree of(int[] studentIds, int[] starts, int[] ends) {
+    int[] order = sortedOrder(starts);
+    int[] sortedStarts = new int[order.length];
+    int[] sortedEnds = new int[order.length];
+    int[] sortedStudentIds = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedStarts[i] = starts[order[i]];
+      sortedEnds[i] = ends[order[i]];
+      sortedStudentIds[i] = studentIds[order[i]];
+    }
+    return new CourseIntervalTree(sortedStarts, sortedEnds, sortedStudentIds);
+  }
+
+  /**
+   * 指定した受講生の区間を全て置き換えた区間木を返します。
+   *
+   * @param studentId 受講生ID
+   * @param newStarts 置き換え後の受講開始日。区間がなくなる場合は空の配列
+   * @param newEnds 置き換え後の受講終了日。ない場合はNO_END
+   * @return 置き換えた区間木
+   */
+  CourseIntervalTree replace(int studentId, int[] newStarts, int[] newEnds) {
+    int[] newStudentIds = new int[newStarts.length];
+    Arrays.fill(newStudentIds, studentId);
+    return replaceAll(Set.of(studentId), newStudentIds, newStarts, newEnds);
+  }
+
+  /**
+   * 指定した受講生たちの区間を全て置き換えた区間木を返します。置き換える受講生の人数によらず、1回のマージで作ります。
+   * 既存の区間は受講開始日順に並んでいるため、新しい区間だけを並べ替えてマージします（O(n + m log m)）。
+   * 3つの配列は同じ添字で1つの区間を表します。
+   *
+   * @param replacedStudentIds 区間を置き換える受講生ID。新しい区間がない受講生は区間がなくなります
+   * @param newStudentIds 置き換え後の区間の受講生ID。replacedStudentIdsに含まれる受講生IDのみ
+   * @param newStarts 置き換え後の受講開始日
+   * @param newEnds 置き換え後の受講終了日。ない場合はNO_END
+   * @return 置き換えた区間木
+   */
+  CourseIntervalTree replaceAll(Set<Integer> replacedStudentIds, int[] newStudentIds,
+      int[] newStarts, int[] newEnds) {
+    int[] order = sortedOrder(newStarts);
+    int capacity = starts.length + newStarts.length;
+    int[] mergedStarts = new int[capacity];
+    int[] mergedEnds = new int[capacity];
+    int[] mergedStudentIds = new int[capacity];
+    int length = 0;
+    int next = 0;
+    for (int i = 0; i < starts.length; i++) {
+      if (replacedStudentIds.contains(studentIds[i])) {
+        continue;
+      }
+      while (next < order.length && newStarts[order[next]] < starts[i]) {
+        mergedStarts[length] = newStarts[order[next]];
+        mergedEnds[length] = newEnds[order[next]];
+        mergedStudentIds[length++] = newStudentIds[order[next]];
+        next++;
+      }
+      mergedStarts[length] = starts[i];
+      mergedEnds[length] = ends[i];
+      mergedStudentIds[length++] = studentIds[i];
+    }
+    for (; next < order.length; next++) {
+      mergedStarts[length] = newStarts[order[next]];
+      mergedEnds[length] = newEnds[order[next]];
+      mergedStudentIds[length++] = newStudentIds[order[next]];
+    }
+    return new CourseIntervalTree(Arrays.copyOf(mergedStarts, length),
+        Arrays.copyOf(mergedEnds, length), Arrays.copyOf(mergedStudentIds, length));
+  }
+
+  /**
+   * 保持している区間の件数を返します。
+   * @return 区間の件数
+   */
+  int size() {
+    return starts.length;
+  }
+
+  /**
+   * 期間 [from, to] と1日でも重なる区間（受講開始日 &lt;= to かつ 受講終了日 &gt;= from）を持つ受講生IDを返します。
+   * @param from 期間の始端
+   * @param to 期間の終端
+   * @return 受講生IDの配列（昇順・重複なし）
+   */
+  int[] overlapping(int from, int to) {
+    IdBuffer buffer = new IdBuffer();
+    collectOverlapping(0, starts.length, from, to, buffer);
+    return buffer.toSortedDistinct();
+  }
+
+  /**
+   * 受講開始日が [from, to] の範囲にある区間を持つ受講生IDを返します。
+   * @param from 範囲の下限
+   * @param to 範囲の上限
+   * @return 受講生IDの配列（昇順・重複なし）
+   */
+  int[] startingBetween(int from, int to) {
+    IdBuffer buffer = new IdBuffer();
+    for (int i = lowerBound(from); i < starts.length && starts[i] <= to; i++) {
+      buffer.add(studentIds[i]);
+    }
+    return buffer.toSortedDistinct();
+  }
+
+  private void collectOverlapping(int lo, int hi, int from, int to, IdBuffer buffer) {
+    if (lo >= hi) {
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    // 部分木のどの区間も期間の始端より前に終わっている
+    if (maxEnds[mid] < from) {
+      return;
+    }
+    collectOverlapping(lo, mid, from, to, buffer);
+    // 右側の区間は全てこの区間以降に始まるため、期間の終端より後に始まるなら打ち切る
+    if (starts[mid] > to) {
+      return;
+    }
+    if (ends[mid] >= from) {
+      buffer.add(studentIds[mid]);
+    }
+    collectOverlapping(mid + 1, hi, from, to, buffer);
+  }
+
+  private int computeMaxEnds(int lo, int hi) {
+    if (lo >= hi) {
+      return NO_END;
+    }
+    int mid = (lo + hi) >>> 1;
+    int max = Math.max(ends[mid],
+        Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+    maxEnds[mid] = max;
+    return max;
+  }
+
+  /** 受講開始日がvalue以上になる最初の添字 */
+  private int lowerBound(int value) {
+    int lo = 0;
+    int hi = starts.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (starts[mid] < value) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * 受講開始日の昇順に並べたときの添字の並びを返します。
+   * 受講開始日を上位32ビット、添字を下位32ビットに詰めたlongを並べ替えて、オブジェクトを作らずに求めます。
+   */
+  private static int[] sortedOrder(int[] starts) {
+    long[] keys = new long[starts.length];
+    for (int i = 0; i < starts.length; i++) {
+      keys[i] = ((long) starts[i] << 32) | i;
+    }
+    Arrays.sort(keys);
+    int[] order = new int[starts.length];
+    for (int i = 0; i < keys.length; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  /** 検索結果の受講生IDを溜める可変長の配列 */
+  private static final class IdBuffer {
+
+    private int[] ids = new int[16];
+    private int size;
+
+    void add(int id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+    }
+
+    int[] toSortedDistinct() {
+      Arrays.sort(ids, 0, size);
+      int length = 0;
+      for (int i = 0; i < size; i++) {
+        if (length == 0 || ids[length - 1] != ids[i]) {
+          ids[length++] = ids[i];
+        }
+      }
+      return Arrays.copyOf(ids, length);
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+package raisetech.student.management.search.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 1つの列に対するn-gramの転置索引です。
+ * n-gramごとに、そのn-gramを含む受講生IDのリスト（ポスティングリスト）を昇順で保持します。
+ * 同期は行わないため、呼び出し側でロックを取得して使用してください。
+ */
+final class NgramInvertedIndex {
+
+  private final Map<String, PostingList> postings = new HashMap<>();
+
+  /** 受講生IDごとに登録済みのn-gram。更新時に古いn-gramを取り除くために保持する */
+  private final Map<Integer, Set<String>> indexedGrams = new HashMap<>();
+
+  /**
+   * 受講生の列の値を登録します。登録済みの受講生なら、古い値のn-gramを取り除いてから登録し直します。
+   * @param studentId 受講生ID
+   * @param text 列の値
+   */
+  void put(int studentId, String text) {
+    remove(studentId);
+    Set<String> grams = NgramTokenizer.tokenize(text);
+    for (String gram : grams) {
+      postings.computeIfAbsent(gram, g -> new PostingList()).add(studentId);
+    }
+    indexedGrams.put(studentId, grams);
+  }
+
+  /**
+   * 受講生を索引から取り除きます。
+   * @param studentId 受講生ID
+   */
+  void remove(int studentId) {
+    Set<String> grams = indexedGrams.remove(studentId);
+    if (grams == null) {
+      return;
+    }
+    for (String gram : grams) {
+      PostingList posting = postings.get(gram);
+      posting.remove(studentId);
+      if (posting.isEmpty()) {
+        postings.remove(gram);
+      }
+    }
+  }
+
+  /**
+   * 全てのn-gramを含む受講生IDを返します。
+   * 件数の最も少ないポスティングリストを候補とし、残りのリストで順に絞り込みます。途中で空になれば打ち切ります。
+   * @param grams 検索するn-gram。1件以上
+   * @return 受講生IDの配列（昇順）
+   */
+  int[] candidates(Set<String> grams) {
+    List<PostingList> lists = new ArrayList<>(grams.size());
+    for (String gram : grams) {
+      PostingList posting = postings.get(gram);
+      if (posting == null) {
+        return new int[0];
+      }
+      lists.add(posting);
+    }
+    lists.sort(Comparator.comparingInt(PostingList::size));
+
+    int[] result = lists.get(0).toArray();
+    for (int i = 1; i < lists.size() && result.length > 0; i++) {
+      result = lists.get(i).retainAll(result);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,102 @@
+package raisetech.student.management.search.index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import raisetech.student.management.search.criteria.SearchCollation;
+
+/**
+ * 文字列をn-gram（1文字と連続する2文字）に分解します。
+ * 索引に登録する文字列と検索する文字列は同じ規則で正規化します。
+ * 正規化は1文字ずつの置き換え（1文字が複数文字や空文字になることもあります）のため、
+ * 元の文字列で部分一致する文字列は正規化後も部分一致します。
+ */
+final class NgramTokenizer {
+
+  private static final char ESCAPE = '\\';
+
+  private NgramTokenizer() {
+  }
+
+  /**
+   * 索引に登録する文字列をn-gramに分解します。全ての1文字と連続する2文字を返します。
+   * @param text 登録する文字列
+   * @return n-gramの集合。文字列がnullなら空
+   */
+  static Set<String> tokenize(String text) {
+    Set<String> grams = new LinkedHashSet<>();
+    if (text == null) {
+      return grams;
+    }
+    String normalized = normalize(text);
+    for (int i = 0; i < normalized.length(); i++) {
+      grams.add(normalized.substring(i, i + 1));
+      if (i + 1 < normalized.length()) {
+        grams.add(normalized.substring(i, i + 2));
+      }
+    }
+    return grams;
+  }
+
+  /**
+   * LIKEのパターンから、一致する文字列が必ず含むn-gramを取り出します。
+   * ワイルドカード（% と _）で区切られた文字の並びごとに、1文字なら1-gram、2文字以上なら2-gramを返します。
+   * \ の直後の文字はワイルドカードではなく文字として扱います。
+   *
+   * @param likePattern LIKEのパターン。例: "%田中%"
+   * @return n-gramの集合。パターンが文字を含まない場合は空
+   */
+  static Set<String> queryGrams(String likePattern) {
+    Set<String> grams = new LinkedHashSet<>();
+    for (String literal : literals(likePattern)) {
+      String normalized = normalize(literal);
+      if (normalized.length() == 1) {
+        grams.add(normalized);
+      }
+      for (int i = 0; i + 1 < normalized.length(); i++) {
+        grams.add(normalized.substring(i, i + 2));
+      }
+    }
+    return grams;
+  }
+
+  /**
+   * LIKEのパターンをワイルドカードで区切り、文字の並びを返します。
+   * @param likePattern LIKEのパターン
+   * @return ワイルドカードを含まない文字の並びのリスト
+   */
+  private static List<String> literals(String likePattern) {
+    List<String> literals = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    for (int i = 0; i < likePattern.length(); i++) {
+      char c = likePattern.charAt(i);
+      if (c == ESCAPE && i + 1 < likePattern.length()) {
+        current.append(likePattern.charAt(++i));
+      } else if (c == '%' || c == '_') {
+        if (!current.isEmpty()) {
+          literals.add(current.toString());
+          current.setLength(0);
+        }
+      } else {
+        current.append(c);
+      }
+    }
+    if (!current.isEmpty()) {
+      literals.add(current.toString());
+    }
+    return literals;
+  }
+
+  /**
+   * DBの照合順序（utf8mb4_0900_ai_ci）で同じ文字とみなされる文字を、同じ文字に置き換えます。
+   * 全角英数字・半角カタカナや濁音・半濁音で検索しても、候補から漏れないようにするためです。
+   * 置き換えの規則は SearchCollation.fold と同じです。
+   * @param text 文字列
+   * @return 正規化した文字列
+   */
+  static String normalize(String text) {
+    return SearchCollation.fold(text);
+  }
+
+}
@@ -0,0 +1,98 @@
+package raisetech.student.management.search.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 受講生IDを昇順に保持する可変長の整数配列です。索引のキーごとに、そのキーを持つ受講生IDを保持します。
+ * 受講生IDは採番順に登録されることが多いため、追加は通常末尾への追記で済みます。
+ * キーごとの件数に比例したメモリしか使わないため、件数の少ないキーが大量にある場合もBitSetより小さく収まります。
+ * 同期は行わないため、呼び出し側でロックを取得して使用してください。
+ */
+final class PostingList {
+
+  private int[] ids = new int[2];
+  private int size;
+
+  /**
+   * 受講生IDを追加します。既に含まれていれば何もしません。
+   * @param id 受講生ID
+   */
+  void add(int id) {
+    if (size > 0 && ids[size - 1] >= id) {
+      int position = Arrays.binarySearch(ids, 0, size, id);
+      if (position >= 0) {
+        return;
+      }
+      insertAt(-position - 1, id);
+      return;
+    }
+    insertAt(size, id);
+  }
+
+  /**
+   * 受講生IDを取り除きます。含まれていなければ何もしません。
+   * @param id 受講生ID
+   */
+  void remove(int id) {
+    int position = Arrays.binarySearch(ids, 0, size, id);
+    if (position < 0) {
+      return;
+    }
+    System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+    size--;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * 受講生IDを昇順に渡します。
+   * @param consumer 受講生IDを受け取る処理
+   */
+  void forEach(IntConsumer consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(ids[i]);
+    }
+  }
+
+  /**
+   * 受講生IDを昇順に並べた新しい配列を返します。
+   * @return 受講生IDの配列
+   */
+  int[] toArray() {
+    return Arrays.copyOf(ids, size);
+  }
+
+  /**
+   * 昇順の受講生IDの配列のうち、このリストに含まれるものだけを返します。
+   * 件数の少ない候補を大きなリストで絞り込むときに、候補の件数に比例する時間で済むよう二分探索で判定します。
+   * @param candidates 昇順の受講生IDの配列
+   * @return 候補のうちこのリストに含まれる受講生IDの配列（昇順）
+   */
+  int[] retainAll(int[] candidates) {
+    int[] retained = new int[candidates.length];
+    int length = 0;
+    for (int candidate : candidates) {
+      if (Arrays.binarySearch(ids, 0, size, candidate) >= 0) {
+        retained[length++] = candidate;
+      }
+    }
+    return Arrays.copyOf(retained, length);
+  }
+
+  private void insertAt(int position, int id) {
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, size * 2);
+    }
+    System.arraycopy(ids, position, ids, position + 1, size - position);
+    ids[position] = id;
+    size++;
+  }
+
+}
@@ -0,0 +1,101 @@
+package raisetech.student.management.search.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * 1つの列に対する、値を逆順にした文字列をキーとする整列済み索引です。
+ * 「xで終わる」は「逆順にするとxの逆順で始まる」と同じなので、後方一致検索をキーの範囲検索に置き換えられます。
+ * 値はn-gram索引と同じ規則で正規化してから逆順にします。
+ * 同期は行わないため、呼び出し側でロックを取得して使用してください。
+ */
+final class ReversedKeyIndex {
+
+  private static final char ESCAPE = '\\';
+
+  /** 逆順にした値ごとの受講生IDのリスト */
+  private final NavigableMap<String, PostingList> keys = new TreeMap<>();
+
+  /** 受講生IDごとに登録済みのキー。更新時に古いキーを取り除くために保持する */
+  private final Map<Integer, String> indexedKeys = new HashMap<>();
+
+  /**
+   * 受講生の列の値を登録します。登録済みの受講生なら、古い値を取り除いてから登録し直します。
+   * @param studentId 受講生ID
+   * @param text 列の値。nullなら登録しない
+   */
+  void put(int studentId, String text) {
+    remove(studentId);
+    if (text == null) {
+      return;
+    }
+    String key = reversedKey(text);
+    keys.computeIfAbsent(key, k -> new PostingList()).add(studentId);
+    indexedKeys.put(studentId, key);
+  }
+
+  /**
+   * 受講生を索引から取り除きます。
+   * @param studentId 受講生ID
+   */
+  void remove(int studentId) {
+    String key = indexedKeys.remove(studentId);
+    if (key == null) {
+      return;
+    }
+    PostingList ids = keys.get(key);
+    ids.remove(studentId);
+    if (ids.isEmpty()) {
+      keys.remove(key);
+    }
+  }
+
+  /**
+   * 指定した文字列で終わる値を持つ受講生IDを返します。
+   * 逆順にしたキーが末尾の文字列の逆順で始まる範囲だけを読むため、読むキーの件数は一致する件数に比例します。
+   * @param suffix 末尾の文字列
+   * @return 受講生IDの配列（昇順）
+   */
+  int[] endingWith(String suffix) {
+    String prefix = reversedKey(suffix);
+    IntStream.Builder ids = IntStream.builder();
+    for (Map.Entry<String, PostingList> entry : keys.tailMap(prefix, true).entrySet()) {
+      if (!entry.getKey().startsWith(prefix)) {
+        break;
+      }
+      entry.getValue().forEach(ids);
+    }
+    return ids.build().sorted().toArray();
+  }
+
+  /**
+   * 後方一致のLIKEパターン（先頭だけが % のパターン）から末尾の文字列を取り出します。
+   * @param likePattern LIKEのパターン。例: "%@example.co.jp"
+   * @return 末尾の文字列。後方一致のパターンでない場合と、末尾の文字列が空の場合はnull
+   */
+  static String literalSuffix(String likePattern) {
+    if (likePattern == null || !likePattern.startsWith("%")) {
+      return null;
+    }
+    StringBuilder suffix = new StringBuilder();
+    for (int i = 1; i < likePattern.length(); i++) {
+      char c = likePattern.charAt(i);
+      if (c == ESCAPE && i + 1 < likePattern.length()) {
+        suffix.append(likePattern.charAt(++i));
+      } else if (c == '%' || c == '_') {
+        return null;
+      } else {
+        suffix.append(c);
+      }
+    }
+    return suffix.isEmpty() ? null : suffix.toString();
+  }
+
+  private static String reversedKey(String text) {
+    return new StringBuilder(NgramTokenizer.normalize(text)).reverse().toString();
+  }
+
+}
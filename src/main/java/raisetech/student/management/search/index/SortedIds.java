@@ -0,0 +1,69 @@
+package raisetech.student.management.search.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 索引が返す、昇順に並んだ受講生IDの配列を扱うユーティリティです。
+ */
+final class SortedIds {
+
+  private SortedIds() {
+  }
+
+  /**
+   * 昇順に並んだ2つの配列の共通部分を返します。nullは絞り込みなし（全件）として扱います。
+   * @param left 昇順の配列。またはnull
+   * @param right 昇順の配列。またはnull
+   * @return 共通部分の配列（昇順）。両方nullならnull
+   */
+  static int[] intersect(int[] left, int[] right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    int[] intersection = new int[Math.min(left.length, right.length)];
+    int length = 0;
+    int i = 0;
+    int j = 0;
+    while (i < left.length && j < right.length) {
+      if (left[i] == right[j]) {
+        intersection[length++] = left[i];
+        i++;
+        j++;
+      } else if (left[i] < right[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return Arrays.copyOf(intersection, length);
+  }
+
+  /**
+   * 候補の受講生IDのうち、afterStudentIdより後ろのものをリストにして返します。
+   * @param ids 昇順の受講生IDの配列
+   * @param afterStudentId この受講生IDより大きいIDだけを返す。nullなら全て
+   * @param maxCandidates 返す件数の上限
+   * @return 受講生IDのリスト。上限件数を超える場合はnull
+   */
+  static List<Integer> toCandidateList(int[] ids, Integer afterStudentId, int maxCandidates) {
+    int from = 0;
+    if (afterStudentId != null) {
+      int position = Arrays.binarySearch(ids, afterStudentId);
+      from = position >= 0 ? position + 1 : -position - 1;
+    }
+    if (ids.length - from > maxCandidates) {
+      return null;
+    }
+    List<Integer> studentIds = new ArrayList<>(ids.length - from);
+    for (int i = from; i < ids.length; i++) {
+      studentIds.add(ids[i]);
+    }
+    return studentIds;
+  }
+
+}
@@ -0,0 +1,126 @@
+package raisetech.student.management.search.index;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.event.StudentDataReplica;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+
+/**
+ * 受講生コースの受講期間の区間索引です。
+ * 受講期間（coursePeriod）の重なり検索と受講開始日の範囲検索は、受講生コースの日付の列を関数で組み合わせて比較するため、
+ * DBの索引では絞り込めず全件走査になります。
+ * そのため該当する条件があるときは区間木で候補の受講生IDを絞り込み、DBでは候補の中だけを検索します。
+ * 索引は受講生単位で候補を返すため、同じ受講生コースで全ての条件を満たすかどうかの最終的な判定はDBで行います。
+ * student.search.interval-index.enabled=true のとき、アプリケーションの起動完了時に全件を読み込み、
+ * 以降は受講生データの登録・更新のコミットごとに、読み直された受講生の受講生コースを反映します。
+ */
+@Component
+public class StudentCourseIntervalIndex extends StudentDataReplica {
+
+  private final int maxCandidates;
+
+  /** 受講期間の区間木。変更不可のため、反映時は作り直した区間木に差し替える。全件読み込みが完了するまではnull */
+  private volatile CourseIntervalTree tree;
+
+  @Autowired
+  public StudentCourseIntervalIndex(StudentSearchProperties searchProperties) {
+    super(searchProperties.getIntervalIndex().isEnabled());
+    this.maxCandidates = searchProperties.getIntervalIndex().getMaxCandidates();
+  }
+
+  @Override
+  public boolean usesStudents() {
+    return false;
+  }
+
+  @Override
+  public boolean usesStudentCourses() {
+    return true;
+  }
+
+  @Override
+  protected void rebuild(List<Student> students, List<StudentCourse> allStudentCourses) {
+    List<StudentCourse> studentCourses = allStudentCourses.stream()
+        .filter(studentCourse -> studentCourse.getCourseStartAt() != null)
+        .toList();
+    int[] studentIds = new int[studentCourses.size()];
+    int[] starts = new int[studentCourses.size()];
+    int[] ends = new int[studentCourses.size()];
+    for (int i = 0; i < studentCourses.size(); i++) {
+      StudentCourse studentCourse = studentCourses.get(i);
+      studentIds[i] = studentCourse.getStudentId();
+      starts[i] = startOf(studentCourse);
+      ends[i] = endOf(studentCourse);
+    }
+    tree = CourseIntervalTree.of(studentIds, starts, ends);
+  }
+
+  @Override
+  protected void apply(StudentDataReloadedEvent event) {
+    List<StudentCourse> studentCourses = event.getStudentIds().stream()
+        .flatMap(studentId -> event.getStudentCourses(studentId).stream())
+        .filter(studentCourse -> studentCourse.getCourseStartAt() != null)
+        .toList();
+    int[] studentIds = studentCourses.stream().mapToInt(StudentCourse::getStudentId).toArray();
+    int[] starts = studentCourses.stream().mapToInt(StudentCourseIntervalIndex::startOf).toArray();
+    int[] ends = studentCourses.stream().mapToInt(StudentCourseIntervalIndex::endOf).toArray();
+    tree = tree.replaceAll(Set.copyOf(event.getStudentIds()), studentIds, starts, ends);
+  }
+
+  /**
+   * 検索条件の受講期間と受講開始日の条件から、一致する可能性のある受講生IDを受講生ID順に返します。
+   * 返した受講生IDのほかに条件に一致する受講生はいませんが、返した受講生IDが全て一致するとは限りません。
+   * afterStudentIdが指定されていれば、それより後ろの受講生IDだけを返します。
+   * isAvailable()がtrueのときだけ呼び出してください。
+   *
+   * @param criteria 検索条件
+   * @return 候補の受講生IDのリスト。該当する条件がない場合と、候補が上限件数を超える場合はnull
+   */
+  public List<Integer> findCandidateStudentIds(StudentSearchCriteria criteria) {
+    CourseIntervalTree current = tree;
+    int[] candidates = null;
+
+    if (criteria.getCoursePeriodFrom() != null || criteria.getCoursePeriodTo() != null) {
+      candidates = current.overlapping(
+          toEpochDay(criteria.getCoursePeriodFrom(), Integer.MIN_VALUE + 1),
+          toEpochDay(criteria.getCoursePeriodTo(), Integer.MAX_VALUE));
+    }
+
+    LocalDate startFrom = criteria.getCourseStartAtEq() != null
+        ? criteria.getCourseStartAtEq() : criteria.getCourseStartAtFrom();
+    LocalDate startTo = criteria.getCourseStartAtEq() != null
+        ? criteria.getCourseStartAtEq() : criteria.getCourseStartAtTo();
+    if (startFrom != null || startTo != null) {
+      candidates = SortedIds.intersect(candidates, current.startingBetween(
+          toEpochDay(startFrom, Integer.MIN_VALUE), toEpochDay(startTo, Integer.MAX_VALUE)));
+    }
+
+    if (candidates == null) {
+      return null;
+    }
+    return SortedIds.toCandidateList(candidates, criteria.getAfterStudentId(), maxCandidates);
+  }
+
+  private static int startOf(StudentCourse studentCourse) {
+    return Math.toIntExact(studentCourse.getCourseStartAt().toEpochDay());
+  }
+
+  /** 受講終了日。受講終了実績日を優先し、未設定なら受講終了予定日を使う */
+  private static int endOf(StudentCourse studentCourse) {
+    LocalDate end = studentCourse.getCourseFinishedAt() != null
+        ? studentCourse.getCourseFinishedAt() : studentCourse.getCoursePlannedEndAt();
+    return end == null ? CourseIntervalTree.NO_END : Math.toIntExact(end.toEpochDay());
+  }
+
+  private static int toEpochDay(LocalDate date, int defaultValue) {
+    return date == null ? defaultValue : Math.toIntExact(date.toEpochDay());
+  }
+
+}
@@ -0,0 +1,142 @@
+package raisetech.student.management.search.index;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.event.StudentDataReplica;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchableField;
+
+/**
+ * 氏名・よみがな・地域・備考のn-gram転置索引です。
+ * LIKE '%x%' はB-tree索引を使えず受講生テーブルの全件走査になるため、部分一致検索の条件があるときは
+ * この索引で候補の受講生IDを絞り込み、DBでは候補の中だけを検索します。
+ * 索引は正規化した文字列で候補を多めに返すため、最終的な一致の判定はDBのLIKEで行います。
+ * student.search.ngram-index.enabled=true のとき、アプリケーションの起動完了時に全件を読み込み、
+ * 以降は受講生データの登録・更新のコミットごとに、読み直された受講生を反映します。
+ */
+@Component
+public class StudentNgramIndex extends StudentDataReplica {
+
+  /** 索引を作る列 */
+  private static final List<SearchableField> INDEXED_FIELDS = List.of(
+      SearchableField.FULL_NAME, SearchableField.KANA_NAME,
+      SearchableField.AREA, SearchableField.REMARK);
+
+  private final int maxCandidates;
+
+  /** 検索（読み取り）と反映（書き込み）の排他 */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** 列ごとの転置索引。全件読み込みが完了するまではnull */
+  private volatile Map<SearchableField, NgramInvertedIndex> indexes;
+
+  @Autowired
+  public StudentNgramIndex(StudentSearchProperties searchProperties) {
+    super(searchProperties.getNgramIndex().isEnabled());
+    this.maxCandidates = searchProperties.getNgramIndex().getMaxCandidates();
+  }
+
+  @Override
+  protected void rebuild(List<Student> students, List<StudentCourse> studentCourses) {
+    Map<SearchableField, NgramInvertedIndex> loaded = new EnumMap<>(SearchableField.class);
+    for (SearchableField field : INDEXED_FIELDS) {
+      loaded.put(field, new NgramInvertedIndex());
+    }
+    for (Student student : students) {
+      put(loaded, student);
+    }
+    lock.writeLock().lock();
+    try {
+      indexes = loaded;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  protected void apply(StudentDataReloadedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (int studentId : event.getStudentIds()) {
+        Student student = event.getStudent(studentId);
+        if (student == null) {
+          indexes.values().forEach(index -> index.remove(studentId));
+        } else {
+          put(indexes, student);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 検索条件の部分一致検索の条件から、一致する可能性のある受講生IDを受講生ID順に返します。
+   * 返した受講生IDのほかに条件に一致する受講生はいませんが、返した受講生IDが全て一致するとは限りません。
+   * afterStudentIdが指定されていれば、それより後ろの受講生IDだけを返します。
+   * isAvailable()がtrueのときだけ呼び出してください。
+   *
+   * @param criteria 検索条件
+   * @return 候補の受講生IDのリスト。索引で絞り込める条件がない場合と、候補が上限件数を超える場合はnull
+   */
+  public List<Integer> findCandidateStudentIds(StudentSearchCriteria criteria) {
+    int[] candidates = null;
+    lock.readLock().lock();
+    try {
+      for (SearchableField field : INDEXED_FIELDS) {
+        String likePattern = likePatternOf(criteria, field);
+        if (likePattern == null) {
+          continue;
+        }
+        Set<String> grams = NgramTokenizer.queryGrams(likePattern);
+        if (grams.isEmpty()) {
+          continue;
+        }
+        candidates = SortedIds.intersect(candidates, indexes.get(field).candidates(grams));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    if (candidates == null) {
+      return null;
+    }
+    return SortedIds.toCandidateList(candidates, criteria.getAfterStudentId(), maxCandidates);
+  }
+
+  private static void put(Map<SearchableField, NgramInvertedIndex> indexes, Student student) {
+    for (SearchableField field : INDEXED_FIELDS) {
+      indexes.get(field).put(student.getStudentId(), valueOf(student, field));
+    }
+  }
+
+  private static String valueOf(Student student, SearchableField field) {
+    return switch (field) {
+      case FULL_NAME -> student.getFullName();
+      case KANA_NAME -> student.getKanaName();
+      case AREA -> student.getArea();
+      case REMARK -> student.getRemark();
+      default -> throw new IllegalArgumentException("n-gram索引の対象外の列です: " + field);
+    };
+  }
+
+  private static String likePatternOf(StudentSearchCriteria criteria, SearchableField field) {
+    return switch (field) {
+      case FULL_NAME -> criteria.getFullNameLike();
+      case KANA_NAME -> criteria.getKanaNameLike();
+      case AREA -> criteria.getAreaLike();
+      case REMARK -> criteria.getRemarkLike();
+      default -> throw new IllegalArgumentException("n-gram索引の対象外の列です: " + field);
+    };
+  }
+
+}
@@ -0,0 +1,144 @@
+package raisetech.student.management.search.index;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.event.StudentDataReplica;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchableField;
+
+/**
+ * 後方一致検索（ENDS_WITH）ができる文字列の列の、逆順キー索引です。
+ * LIKE '%x' は先頭がワイルドカードでB-tree索引を使えず、受講生テーブルの全件走査になります。
+ * そのため後方一致検索の条件があるときは逆順にしたキーの範囲検索で候補の受講生IDを絞り込み、DBでは候補の中だけを検索します。
+ * 索引は正規化した文字列で候補を多めに返すため、最終的な一致の判定はDBのLIKEで行います。
+ * student.search.suffix-index.enabled=true のとき、アプリケーションの起動完了時に全件を読み込み、
+ * 以降は受講生データの登録・更新のコミットごとに、読み直された受講生を反映します。
+ */
+@Component
+public class StudentSuffixIndex extends StudentDataReplica {
+
+  /** 索引を作る列 */
+  private static final List<SearchableField> INDEXED_FIELDS = List.of(
+      SearchableField.FULL_NAME, SearchableField.KANA_NAME, SearchableField.NICKNAME,
+      SearchableField.EMAIL, SearchableField.AREA, SearchableField.TELEPHONE,
+      SearchableField.REMARK);
+
+  private final int maxCandidates;
+
+  /** 検索（読み取り）と反映（書き込み）の排他 */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** 列ごとの逆順キー索引。全件読み込みが完了するまではnull */
+  private volatile Map<SearchableField, ReversedKeyIndex> indexes;
+
+  @Autowired
+  public StudentSuffixIndex(StudentSearchProperties searchProperties) {
+    super(searchProperties.getSuffixIndex().isEnabled());
+    this.maxCandidates = searchProperties.getSuffixIndex().getMaxCandidates();
+  }
+
+  @Override
+  protected void rebuild(List<Student> students, List<StudentCourse> studentCourses) {
+    Map<SearchableField, ReversedKeyIndex> loaded = new EnumMap<>(SearchableField.class);
+    for (SearchableField field : INDEXED_FIELDS) {
+      loaded.put(field, new ReversedKeyIndex());
+    }
+    for (Student student : students) {
+      put(loaded, student);
+    }
+    lock.writeLock().lock();
+    try {
+      indexes = loaded;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  protected void apply(StudentDataReloadedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (int studentId : event.getStudentIds()) {
+        Student student = event.getStudent(studentId);
+        if (student == null) {
+          indexes.values().forEach(index -> index.remove(studentId));
+        } else {
+          put(indexes, student);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 検索条件の後方一致検索の条件から、一致する可能性のある受講生IDを受講生ID順に返します。
+   * 返した受講生IDのほかに条件に一致する受講生はいませんが、返した受講生IDが全て一致するとは限りません。
+   * afterStudentIdが指定されていれば、それより後ろの受講生IDだけを返します。
+   * isAvailable()がtrueのときだけ呼び出してください。
+   *
+   * @param criteria 検索条件
+   * @return 候補の受講生IDのリスト。後方一致検索の条件がない場合と、候補が上限件数を超える場合はnull
+   */
+  public List<Integer> findCandidateStudentIds(StudentSearchCriteria criteria) {
+    int[] candidates = null;
+    lock.readLock().lock();
+    try {
+      for (SearchableField field : INDEXED_FIELDS) {
+        String suffix = ReversedKeyIndex.literalSuffix(likePatternOf(criteria, field));
+        if (suffix == null) {
+          continue;
+        }
+        candidates = SortedIds.intersect(candidates, indexes.get(field).endingWith(suffix));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    if (candidates == null) {
+      return null;
+    }
+    return SortedIds.toCandidateList(candidates, criteria.getAfterStudentId(), maxCandidates);
+  }
+
+  private static void put(Map<SearchableField, ReversedKeyIndex> indexes, Student student) {
+    for (SearchableField field : INDEXED_FIELDS) {
+      indexes.get(field).put(student.getStudentId(), valueOf(student, field));
+    }
+  }
+
+  private static String valueOf(Student student, SearchableField field) {
+    return switch (field) {
+      case FULL_NAME -> student.getFullName();
+      case KANA_NAME -> student.getKanaName();
+      case NICKNAME -> student.getNickname();
+      case EMAIL -> student.getEmail();
+      case AREA -> student.getArea();
+      case TELEPHONE -> student.getTelephone();
+      case REMARK -> student.getRemark();
+      default -> throw new IllegalArgumentException("逆順キー索引の対象外の列です: " + field);
+    };
+  }
+
+  private static String likePatternOf(StudentSearchCriteria criteria, SearchableField field) {
+    return switch (field) {
+      case FULL_NAME -> criteria.getFullNameLike();
+      case KANA_NAME -> criteria.getKanaNameLike();
+      case NICKNAME -> criteria.getNicknameLike();
+      case EMAIL -> criteria.getEmailLike();
+      case AREA -> criteria.getAreaLike();
+      case TELEPHONE -> criteria.getTelephoneLike();
+      case REMARK -> criteria.getRemarkLike();
+      default -> throw new IllegalArgumentException("逆順キー索引の対象外の列です: " + field);
+    };
+  }
+
+}
@@ -0,0 +1,128 @@
+package raisetech.student.management.search.index;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.event.StudentDataReplica;
+import raisetech.student.management.search.request.SearchableField;
+import raisetech.student.management.search.suggest.StudentSuggestion;
+
+/**
+ * 氏名・よみがな・ニックネーム・地域の入力補完用の索引です。
+ * 列ごとに基数木を持ち、入力途中の文字列に続く値を、その値を持つ受講生の人数が多い順に返します。
+ * student.search.suggest-index.enabled=true のとき、アプリケーションの起動完了時に全件を読み込み、
+ * 以降は受講生データの登録・更新のコミットごとに、対象の受講生の古い値を取り除いて新しい値を追加します。
+ */
+@Component
+public class StudentSuggestIndex extends StudentDataReplica {
+
+  /** 補完できる列 */
+  public static final List<SearchableField> SUGGESTABLE_FIELDS = List.of(
+      SearchableField.FULL_NAME, SearchableField.KANA_NAME,
+      SearchableField.NICKNAME, SearchableField.AREA);
+
+  /** 検索（読み取り）と反映（書き込み）の排他 */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** 列ごとの基数木。全件読み込みが完了するまではnull */
+  private volatile Map<SearchableField, CompletionRadixTree> trees;
+
+  /** 受講生IDごとに登録済みの値。更新時に古い値を取り除くために保持する */
+  private Map<Integer, Student> indexedStudents;
+
+  @Autowired
+  public StudentSuggestIndex(StudentSearchProperties searchProperties) {
+    super(searchProperties.getSuggestIndex().isEnabled());
+  }
+
+  @Override
+  protected void rebuild(List<Student> students, List<StudentCourse> studentCourses) {
+    Map<SearchableField, CompletionRadixTree> loaded = new EnumMap<>(SearchableField.class);
+    for (SearchableField field : SUGGESTABLE_FIELDS) {
+      loaded.put(field, new CompletionRadixTree());
+    }
+    Map<Integer, Student> loadedStudents = new HashMap<>();
+    for (Student student : students) {
+      add(loaded, student);
+      loadedStudents.put(student.getStudentId(), student);
+    }
+    lock.writeLock().lock();
+    try {
+      trees = loaded;
+      indexedStudents = loadedStudents;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  protected void apply(StudentDataReloadedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (int studentId : event.getStudentIds()) {
+        Student student = event.getStudent(studentId);
+        Student previous = student == null
+            ? indexedStudents.remove(studentId)
+            : indexedStudents.put(studentId, student);
+        if (previous != null) {
+          remove(trees, previous);
+        }
+        if (student != null) {
+          add(trees, student);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 入力途中の文字列に続く値を、その値を持つ受講生の人数が多い順に返します。
+   * isAvailable()がtrueのときだけ呼び出してください。
+   *
+   * @param field 補完する列。SUGGESTABLE_FIELDSのいずれか
+   * @param prefix 入力途中の文字列
+   * @param limit 返す候補の最大件数
+   * @return 補完候補のリスト
+   */
+  public List<StudentSuggestion> suggest(SearchableField field, String prefix, int limit) {
+    lock.readLock().lock();
+    try {
+      return trees.get(field).complete(prefix, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static void add(Map<SearchableField, CompletionRadixTree> trees, Student student) {
+    for (SearchableField field : SUGGESTABLE_FIELDS) {
+      trees.get(field).add(valueOf(student, field));
+    }
+  }
+
+  private static void remove(Map<SearchableField, CompletionRadixTree> trees, Student student) {
+    for (SearchableField field : SUGGESTABLE_FIELDS) {
+      trees.get(field).remove(valueOf(student, field));
+    }
+  }
+
+  private static String valueOf(Student student, SearchableField field) {
+    return switch (field) {
+      case FULL_NAME -> student.getFullName();
+      case KANA_NAME -> student.getKanaName();
+      case NICKNAME -> student.getNickname();
+      case AREA -> student.getArea();
+      default -> throw new IllegalArgumentException("入力補完の対象外の列です: " + field);
+    };
+  }
+
+}
@@ -0,0 +1,80 @@
+package raisetech.student.management.search.job;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * NDJSONの行をメモリ上のバッファに溜め、バッファが一杯になるたびにまとめてファイルへ書き出します。
+ * メモリに保持するのはバッファの大きさ（メモリ予算）までで、検索結果の件数によらず一定です。
+ * バッファより大きい1行は、溜めずにそのまま書き出します。
+ */
+public final class ChunkedNdjsonWriter implements Closeable {
+
+  private final OutputStream outputStream;
+  private final byte[] buffer;
+  private int size;
+  private long lineCount;
+
+  /**
+   * @param file 書き出し先のファイル。既にあれば上書きします
+   * @param memoryBudget バッファの大きさ（バイト）
+   * @throws IOException ファイルを開けなかった場合
+   */
+  public ChunkedNdjsonWriter(Path file, int memoryBudget) throws IOException {
+    this.outputStream = Files.newOutputStream(file);
+    this.buffer = new byte[memoryBudget];
+  }
+
+  /**
+   * JSONを1行として書き込みます。
+   * @param json 改行を含まないJSON
+   * @throws IOException 書き出しに失敗した場合
+   */
+  public void writeLine(byte[] json) throws IOException {
+    int length = json.length + 1;
+    if (size + length > buffer.length) {
+      flush();
+    }
+    if (length > buffer.length) {
+      outputStream.write(json);
+      outputStream.write('\n');
+    } else {
+      System.arraycopy(json, 0, buffer, size, json.length);
+      size += json.length;
+      buffer[size++] = '\n';
+    }
+    lineCount++;
+  }
+
+  /**
+   * バッファに溜めた行をファイルへ書き出します。
+   * @throws IOException 書き出しに失敗した場合
+   */
+  public void flush() throws IOException {
+    if (size > 0) {
+      outputStream.write(buffer, 0, size);
+      size = 0;
+    }
+  }
+
+  /**
+   * これまでに書き込んだ行数を返します。
+   * @return 行数
+   */
+  public long getLineCount() {
+    return lineCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      outputStream.close();
+    }
+  }
+
+}
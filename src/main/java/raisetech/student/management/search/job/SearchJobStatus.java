@@ -0,0 +1,23 @@
+package raisetech.student.management.search.job;
+
+/**
+ * 非同期検索ジョブの状態です。
+ */
+public enum SearchJobStatus {
+  /** 実行待ち */
+  QUEUED,
+  /** 実行中 */
+  RUNNING,
+  /** 完了。検索結果をダウンロードできる */
+  SUCCEEDED,
+  /** 失敗 */
+  FAILED;
+
+  /**
+   * ジョブが終了しているかを返します。
+   * @return 完了か失敗ならtrue
+   */
+  public boolean isFinished() {
+    return this == SUCCEEDED || this == FAILED;
+  }
+}
@@ -0,0 +1,70 @@
+package raisetech.student.management.search.job;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 非同期検索ジョブのある時点の状態です。状態が変わるたびに新しいインスタンスに置き換えます。
+ */
+@Schema(description = "非同期検索ジョブの状態")
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+public class StudentSearchJob {
+
+  @Schema(description = "ジョブID", example = "5f0c6a8e-2b1d-4c1e-9d7a-0f3b2c1d4e5f")
+  private final String jobId;
+
+  @Schema(description = "ジョブの状態", example = "RUNNING")
+  private final SearchJobStatus status;
+
+  @Schema(description = "受け付けた日時")
+  private final Instant submittedAt;
+
+  @Schema(description = "実行を開始した日時。実行待ちの間はnull")
+  private final @Nullable Instant startedAt;
+
+  @Schema(description = "終了した日時。終了するまではnull")
+  private final @Nullable Instant finishedAt;
+
+  @Schema(description = "これまでに書き出した受講生詳細の件数", example = "120000")
+  private final long resultCount;
+
+  @Schema(description = "失敗した場合の理由")
+  private final @Nullable String errorMessage;
+
+  /**
+   * 実行待ちのジョブを作ります。
+   * @param jobId ジョブID
+   * @param submittedAt 受け付けた日時
+   * @return 実行待ちのジョブ
+   */
+  public static StudentSearchJob queued(String jobId, Instant submittedAt) {
+    return new StudentSearchJob(jobId, SearchJobStatus.QUEUED, submittedAt, null, null, 0, null);
+  }
+
+  public StudentSearchJob running(Instant startedAt) {
+    return new StudentSearchJob(jobId, SearchJobStatus.RUNNING, submittedAt, startedAt, null, 0, null);
+  }
+
+  public StudentSearchJob progressed(long resultCount) {
+    return new StudentSearchJob(jobId, status, submittedAt, startedAt, null, resultCount, null);
+  }
+
+  public StudentSearchJob succeeded(Instant finishedAt, long resultCount) {
+    return new StudentSearchJob(jobId, SearchJobStatus.SUCCEEDED, submittedAt, startedAt,
+        finishedAt, resultCount, null);
+  }
+
+  public StudentSearchJob failed(Instant finishedAt, String errorMessage) {
+    return new StudentSearchJob(jobId, SearchJobStatus.FAILED, submittedAt, startedAt,
+        finishedAt, resultCount, errorMessage);
+  }
+
+}
@@ -0,0 +1,96 @@
+package raisetech.student.management.search.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import raisetech.student.management.exception.InvalidPageCursorException;
+
+/**
+ * キーセットページング用のカーソルを生成・解析します。
+ * カーソルはページ末尾の受講生IDをBase64URLでエンコードした不透明な文字列で、
+ * 次ページは「受講生ID &gt; カーソルの受講生ID」の条件で取得します。
+ * 受講生IDの昇順以外で並べた検索結果では、並び順の先頭から読み飛ばす件数（オフセット）をカーソルにします。
+ * オフセットのカーソルは並び替えの範囲内だけで有効で、範囲を超えるオフセットは不正なカーソルとして扱います。
+ */
+public class PageCursor {
+
+  private static final String VERSION_PREFIX = "v1:";
+
+  /** オフセットのカーソルの接頭辞。受講生IDのカーソルと取り違えないよう別の接頭辞にする */
+  private static final String OFFSET_PREFIX = "o1:";
+
+  /**
+   * インスタンス化を防ぐprivateコンストラクタ
+   */
+  private PageCursor() {
+  }
+
+  /**
+   * ページ末尾の受講生IDからカーソルを生成します。
+   * @param lastStudentId ページ末尾の受講生ID
+   * @return カーソル文字列
+   */
+  public static String encode(int lastStudentId) {
+    byte[] raw = (VERSION_PREFIX + lastStudentId).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+  }
+
+  /**
+   * カーソルを解析して、ページ末尾の受講生IDを取得します。
+   * @param cursor カーソル文字列
+   * @return ページ末尾の受講生ID。カーソルが未指定ならnull
+   * @throws InvalidPageCursorException カーソルの形式が不正な場合
+   */
+  public static Integer decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (!raw.startsWith(VERSION_PREFIX)) {
+        throw new InvalidPageCursorException(cursor);
+      }
+      return Integer.parseInt(raw.substring(VERSION_PREFIX.length()));
+    } catch (IllegalArgumentException e) {
+      // Base64の形式不正とNumberFormatExceptionの両方をここで受ける
+      throw new InvalidPageCursorException(cursor);
+    }
+  }
+
+  /**
+   * 並び順の先頭から読み飛ばす件数からカーソルを生成します。
+   * @param offset 次ページの先頭までの件数
+   * @return カーソル文字列
+   */
+  public static String encodeOffset(int offset) {
+    byte[] raw = (OFFSET_PREFIX + offset).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+  }
+
+  /**
+   * オフセットのカーソルを解析して、並び順の先頭から読み飛ばす件数を取得します。
+   * @param cursor カーソル文字列
+   * @param sortWindow 並び替えの範囲の件数。読み飛ばす件数はこれより小さくなければなりません
+   * @return 読み飛ばす件数。カーソルが未指定なら0
+   * @throws InvalidPageCursorException カーソルの形式が不正な場合か、読み飛ばす件数が並び替えの範囲を超える場合
+   */
+  public static int decodeOffset(String cursor, int sortWindow) {
+    if (cursor == null || cursor.isBlank()) {
+      return 0;
+    }
+
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (!raw.startsWith(OFFSET_PREFIX)) {
+        throw new InvalidPageCursorException(cursor);
+      }
+      int offset = Integer.parseInt(raw.substring(OFFSET_PREFIX.length()));
+      if (offset < 0 || offset >= sortWindow) {
+        throw new InvalidPageCursorException(cursor);
+      }
+      return offset;
+    } catch (IllegalArgumentException e) {
+      throw new InvalidPageCursorException(cursor);
+    }
+  }
+}
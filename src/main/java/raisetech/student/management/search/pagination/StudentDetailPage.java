@@ -0,0 +1,23 @@
+package raisetech.student.management.search.pagination;
+
+import jakarta.annotation.Nullable;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import raisetech.student.management.data.domain.StudentDetail;
+
+/**
+ * 受講生詳細の検索結果1ページ分と、次ページを取得するためのカーソルを保持します。
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class StudentDetailPage {
+
+  private final List<StudentDetail> studentDetails;
+
+  /** 次ページ取得用のカーソル。最終ページの場合はnull */
+  private final @Nullable String nextCursor;
+
+}
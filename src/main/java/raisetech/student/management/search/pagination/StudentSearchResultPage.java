@@ -0,0 +1,29 @@
+package raisetech.student.management.search.pagination;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import raisetech.student.management.data.domain.StudentDetail;
+
+/**
+ * 複数の検索条件をまとめて検索したときの、検索条件1件分の検索結果の先頭ページです。
+ * 取得項目が指定された場合、受講生詳細は指定された項目だけを持つMapになります。
+ */
+@Schema(description = "検索条件1件分の検索結果の先頭ページ")
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class StudentSearchResultPage {
+
+  @ArraySchema(schema = @Schema(implementation = StudentDetail.class))
+  private final List<?> studentDetails;
+
+  /** 次ページ取得用のカーソル。最終ページの場合はnull */
+  @Schema(description = "次ページ取得用のカーソル。同じ検索条件で POST /students/search の after に指定します。最終ページではnull")
+  private final @Nullable String nextCursor;
+
+}
@@ -0,0 +1,143 @@
+package raisetech.student.management.search.projection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.EqualsAndHashCode;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.domain.StudentDetail;
+
+/**
+ * クエリパラメータ fields で指定された、レスポンスに含める受講生詳細の項目です。
+ * 受講生の項目はプロパティ名（例: "fullName"）で、受講生コース情報は "studentCourses" で指定します。
+ * 受講生IDは指定がなくても常に含めます。
+ * 検索では受講生テーブルの指定された列だけを取得し、受講生コース情報の指定がなければ受講生コースを検索しません。
+ */
+@EqualsAndHashCode
+public final class StudentProjection {
+
+  /** 受講生コース情報を表すフィールド名 */
+  public static final String STUDENT_COURSES = "studentCourses";
+
+  /**
+   * 指定できる受講生の項目と、対応する受講生テーブルの列です。
+   * 列名はこの列挙からのみSQLに埋め込むため、リクエストの値がそのままSQLに含まれることはありません。
+   */
+  enum StudentProperty {
+    STUDENT_ID("studentId", "student_id", Student::getStudentId),
+    FULL_NAME("fullName", "full_name", Student::getFullName),
+    KANA_NAME("kanaName", "kana_name", Student::getKanaName),
+    NICKNAME("nickname", "nickname", Student::getNickname),
+    EMAIL("email", "email", Student::getEmail),
+    AREA("area", "area", Student::getArea),
+    TELEPHONE("telephone", "telephone", Student::getTelephone),
+    AGE("age", "age", Student::getAge),
+    SEX("sex", "sex", Student::getSex),
+    REMARK("remark", "remark", Student::getRemark),
+    IS_DELETED("isDeleted", "is_deleted", Student::getIsDeleted);
+
+    private static final Map<String, StudentProperty> PROPERTY_MAP = Arrays.stream(values())
+        .collect(Collectors.toUnmodifiableMap(property -> property.propertyName, property -> property));
+
+    private final String propertyName;
+    private final String column;
+    private final Function<Student, Object> getter;
+
+    StudentProperty(String propertyName, String column, Function<Student, Object> getter) {
+      this.propertyName = propertyName;
+      this.column = column;
+      this.getter = getter;
+    }
+  }
+
+  private final Set<StudentProperty> studentProperties;
+  private final boolean studentCourses;
+
+  private StudentProjection(Set<StudentProperty> studentProperties, boolean studentCourses) {
+    this.studentProperties = studentProperties;
+    this.studentCourses = studentCourses;
+  }
+
+  /**
+   * クエリパラメータ fields の値から、レスポンスに含める項目を作ります。
+   * @param fields フィールド名のリスト。nullか空なら指定なし
+   * @return レスポンスに含める項目。指定がなければnull（全項目を返す）
+   * @throws IllegalArgumentException 存在しないフィールド名が含まれる場合
+   */
+  public static StudentProjection of(List<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return null;
+    }
+    Set<StudentProperty> studentProperties = EnumSet.of(StudentProperty.STUDENT_ID);
+    boolean studentCourses = false;
+    for (String field : fields) {
+      if (STUDENT_COURSES.equals(field)) {
+        studentCourses = true;
+        continue;
+      }
+      StudentProperty property = StudentProperty.PROPERTY_MAP.get(field);
+      if (property == null) {
+        throw new IllegalArgumentException("Unknown field: " + field);
+      }
+      studentProperties.add(property);
+    }
+    return new StudentProjection(studentProperties, studentCourses);
+  }
+
+  /**
+   * クエリパラメータ fields の1要素として指定できるかを返します。
+   * @param field フィールド名
+   * @return 指定できるならtrue
+   */
+  public static boolean isValidField(String field) {
+    return STUDENT_COURSES.equals(field) || StudentProperty.PROPERTY_MAP.containsKey(field);
+  }
+
+  /**
+   * 受講生テーブルから取得する列名のリストを返します。
+   * @return 列名のリスト。受講生IDの列を必ず含む
+   */
+  public List<String> studentColumns() {
+    List<String> columns = new ArrayList<>(studentProperties.size());
+    for (StudentProperty property : studentProperties) {
+      columns.add(property.column);
+    }
+    return columns;
+  }
+
+  /**
+   * 受講生コース情報を含めるかを返します。
+   * @return 含めるならtrue
+   */
+  public boolean includesStudentCourses() {
+    return studentCourses;
+  }
+
+  /**
+   * 受講生詳細から指定された項目だけを取り出し、受講生詳細と同じ形のJSONになるMapを返します。
+   * 受講生の項目は "student" の下に、受講生コース情報は指定があれば "studentCourses" に入れます。
+   * @param studentDetail 受講生詳細
+   * @return 指定された項目だけを持つMap
+   */
+  public Map<String, Object> project(StudentDetail studentDetail) {
+    Student student = studentDetail.getStudent();
+    Map<String, Object> projectedStudent = new LinkedHashMap<>();
+    for (StudentProperty property : studentProperties) {
+      projectedStudent.put(property.propertyName, property.getter.apply(student));
+    }
+
+    Map<String, Object> projected = new LinkedHashMap<>();
+    projected.put("student", projectedStudent);
+    if (studentCourses) {
+      projected.put(STUDENT_COURSES, studentDetail.getStudentCourses());
+    }
+    return projected;
+  }
+
+}
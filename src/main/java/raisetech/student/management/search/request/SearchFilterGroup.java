@@ -0,0 +1,52 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "検索フィルターグループ。filters と入れ子の groups を operator で組み合わせます。")
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchFilterGroup {
+
+  @Schema(description = "グループ内の条件の組み合わせ方", example = "OR",
+      implementation = SearchGroupOperator.class)
+  @NotNull
+  private SearchGroupOperator operator;
+
+  @Schema(description = "グループ内の検索フィルター一覧", nullable = true)
+  @Size(max = 20)
+  @Valid
+  private List<SearchFilter> filters;
+
+  @Schema(description = "入れ子の検索フィルターグループ一覧", nullable = true)
+  @Size(max = 10)
+  @Valid
+  private List<SearchFilterGroup> groups;
+
+  @AssertTrue(message = "グループには filters か groups を1件以上指定してください")
+  public boolean isConditionSpecified() {
+    return (filters != null && !filters.isEmpty()) || (groups != null && !groups.isEmpty());
+  }
+
+  /**
+   * 入れ子のグループを含めた深さを返します。入れ子のグループがなければ1です。
+   * @return グループの深さ
+   */
+  public int depth() {
+    if (groups == null) {
+      return 1;
+    }
+    return 1 + groups.stream().filter(Objects::nonNull).mapToInt(SearchFilterGroup::depth).max().orElse(0);
+  }
+}
@@ -0,0 +1,12 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(
+    description = "検索フィルターグループの論理演算子。NOT はグループ内の全ての条件（AND）を満たさない受講生に一致します"
+)
+public enum SearchGroupOperator {
+  AND,
+  OR,
+  NOT
+}
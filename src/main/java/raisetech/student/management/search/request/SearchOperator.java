@@ -13,5 +13,6 @@ public enum SearchOperator {
   IN,
   GTE,
   LTE,
-  BETWEEN
+  BETWEEN,
+  OVERLAPS
 }
\ No newline at end of file
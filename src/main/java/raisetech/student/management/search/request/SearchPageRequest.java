@@ -0,0 +1,62 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.search.criteria.StudentSortKey;
+import raisetech.student.management.search.projection.StudentProjection;
+
+@Schema(description = "検索結果のページング・並び順・取得項目の条件")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchPageRequest {
+
+  @Schema(description = "1ページあたりの取得件数。省略時はサーバー既定値、上限を超える値は上限値に切り詰めます", example = "50")
+  @Positive
+  private Integer limit;
+
+  @Schema(description = "前ページのレスポンスヘッダー X-Next-Cursor で返されたカーソル。省略時は先頭ページを取得します",
+      example = "djE6MTAw")
+  private String after;
+
+  @Schema(description = """
+      並び順のフィールド名。先頭に "-" を付けると降順。複数指定すると先に指定したものを優先します。
+      値がnullの受講生は最後に、同じ順位の受講生は受講生IDの昇順に並べます。
+      受講コースの項目は、受講生ごとに昇順なら最小値、降順なら最大値で並べます。省略時は受講生IDの昇順です""",
+      example = "[\"-courseApplyAt\", \"kanaName\"]")
+  @Size(max = 5)
+  private List<String> sort;
+
+  @Schema(description = """
+      レスポンスに含める項目。受講生のプロパティ名と、受講生コース情報を表す "studentCourses" を指定できます。
+      受講生IDは常に含めます。省略時は全項目を返します""",
+      example = "[\"studentId\", \"fullName\", \"kanaName\"]")
+  private List<String> fields;
+
+  public SearchPageRequest(Integer limit, String after) {
+    this(limit, after, null, null);
+  }
+
+  public SearchPageRequest(Integer limit, String after, List<String> sort) {
+    this(limit, after, sort, null);
+  }
+
+  @AssertTrue(message = "sortには検索可能なフィールド名（降順なら先頭に\"-\"）を指定してください")
+  public boolean isSortValid() {
+    return sort == null || sort.stream().allMatch(StudentSortKey::isValid);
+  }
+
+  @AssertTrue(message = "fieldsには受講生のプロパティ名か\"studentCourses\"を指定してください")
+  public boolean isFieldsValid() {
+    return fields == null || fields.stream().allMatch(StudentProjection::isValidField);
+  }
+
+}
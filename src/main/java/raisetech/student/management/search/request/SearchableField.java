@@ -2,6 +2,7 @@ package raisetech.student.management.search.request;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,7 +25,8 @@ public enum SearchableField {
   COURSE_APPLY_AT("courseApplyAt", LocalDate.class),
   COURSE_START_AT("courseStartAt", LocalDate.class),
   COURSE_PLANNED_END_AT("coursePlannedEndAt", LocalDate.class),
-  COURSE_FINISHED_AT("courseFinishedAt", LocalDate.class);
+  COURSE_FINISHED_AT("courseFinishedAt", LocalDate.class),
+  COURSE_PERIOD("coursePeriod", LocalDate.class);
 
   private static final Map<String, SearchableField> FIELD_MAP =
       Arrays.stream(values())
@@ -33,6 +35,9 @@ public enum SearchableField {
               field -> field
           ));
 
+  private static final EnumSet<SearchableField> COURSE_FIELDS =
+      EnumSet.range(COURSE_CODE, COURSE_PERIOD);
+
   private final String fieldName;
   private final Class<?> type;
 
@@ -41,6 +46,14 @@ public enum SearchableField {
     this.type = type;
   }
 
+  /**
+   * 受講生コースの項目かを返します。受講生コースの項目の条件は、全て同じ受講生コースの行で満たす必要があります。
+   * @return 受講生コースの項目ならtrue,受講生の項目ならfalse
+   */
+  public boolean isCourseField() {
+    return COURSE_FIELDS.contains(this);
+  }
+
   /**
    * 引数の文字列がfieldNameとして存在するかチェックします。
    * @param inputField 検索フィルターで指定されたフィールド名
@@ -2,8 +2,10 @@ package raisetech.student.management.search.request;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
 import java.util.List;
+import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -15,19 +17,36 @@ import lombok.NoArgsConstructor;
         {
           "filters": [
             {
-              "field": "fullName",
-              "operator": "CONTAINS",
-              "value": "田中"
-            },
+              "field": "isDeleted",
+              "operator": "EQ",
+              "value": "false"
+            }
+          ],
+          "groups": [
             {
-              "field": "statusId",
-              "operator": "IN",
-              "values": ["1", "2"]
+              "operator": "OR",
+              "filters": [
+                {
+                  "field": "courseCode",
+                  "operator": "EQ",
+                  "value": "JA"
+                },
+                {
+                  "field": "area",
+                  "operator": "CONTAINS",
+                  "value": "東京"
+                }
+              ]
             },
             {
-              "field": "courseApplyAt",
-              "operator": "BETWEEN",
-              "values": ["2026-01-01", "2026-03-31"]
+              "operator": "NOT",
+              "filters": [
+                {
+                  "field": "statusId",
+                  "operator": "IN",
+                  "values": ["4", "5"]
+                }
+              ]
             }
           ]
         }
@@ -39,11 +58,35 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class StudentAdvancedSearchRequest {
 
+  /** 検索フィルターグループの入れ子の深さの上限 */
+  public static final int MAX_GROUP_DEPTH = 4;
+
   @Schema(
-      description = "検索フィルター一覧。1件以上必須",
-      requiredMode = Schema.RequiredMode.REQUIRED
+      description = "検索フィルター一覧。全てのフィルターを満たす受講生に一致します。filters か groups のいずれかは必須"
   )
-  @NotEmpty
   @Valid
   private List<SearchFilter> filters;
-}
\ No newline at end of file
+
+  @Schema(
+      description = "検索フィルターグループ一覧。filters と全てのグループを満たす受講生に一致します",
+      nullable = true
+  )
+  @Size(max = 10)
+  @Valid
+  private List<SearchFilterGroup> groups;
+
+  public StudentAdvancedSearchRequest(List<SearchFilter> filters) {
+    this(filters, null);
+  }
+
+  @AssertTrue(message = "filters か groups を1件以上指定してください")
+  public boolean isConditionSpecified() {
+    return (filters != null && !filters.isEmpty()) || (groups != null && !groups.isEmpty());
+  }
+
+  @AssertTrue(message = "groups の入れ子は" + MAX_GROUP_DEPTH + "階層までにしてください")
+  public boolean isGroupDepthValid() {
+    return groups == null || groups.stream().filter(Objects::nonNull)
+        .allMatch(group -> group.depth() <= MAX_GROUP_DEPTH);
+  }
+}
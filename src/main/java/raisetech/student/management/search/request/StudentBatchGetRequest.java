@@ -0,0 +1,29 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "受講生詳細の一括取得条件", example = "{\"studentIds\": [3, 1, 999]}")
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentBatchGetRequest {
+
+  /** 一度に指定できる受講生IDの上限 */
+  public static final int MAX_STUDENT_IDS = 5000;
+
+  @Schema(description = "取得する受講生IDのリスト。結果はこの順で返します（重複は最初の1件のみ）")
+  @NotEmpty
+  @Size(max = MAX_STUDENT_IDS)
+  private List<@NotNull @Positive Integer> studentIds;
+
+}
@@ -0,0 +1,30 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.search.projection.StudentProjection;
+
+@Schema(description = "レスポンスに含める項目の条件")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentFieldsRequest {
+
+  @Schema(description = """
+      レスポンスに含める項目。受講生のプロパティ名と、受講生コース情報を表す "studentCourses" を指定できます。
+      受講生IDは常に含めます。省略時は全項目を返します""",
+      example = "[\"studentId\", \"fullName\", \"studentCourses\"]")
+  private List<String> fields;
+
+  @AssertTrue(message = "fieldsには受講生のプロパティ名か\"studentCourses\"を指定してください")
+  public boolean isFieldsValid() {
+    return fields == null || fields.stream().allMatch(StudentProjection::isValidField);
+  }
+
+}
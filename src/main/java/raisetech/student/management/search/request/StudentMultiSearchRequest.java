@@ -0,0 +1,40 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(
+    description = "受講生高度検索条件のリスト",
+    example = """
+        {
+          "queries": [
+            {"filters": [{"field": "courseCode", "operator": "EQ", "value": "JA"}]},
+            {"filters": [{"field": "statusId", "operator": "EQ", "value": "3"}]}
+          ]
+        }
+        """
+)
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentMultiSearchRequest {
+
+  /** 一度に指定できる検索条件の上限 */
+  public static final int MAX_QUERIES = 20;
+
+  @Schema(description = "高度検索条件のリスト。結果はこの順で返します")
+  @NotEmpty
+  @Size(max = MAX_QUERIES)
+  @Valid
+  private List<@NotNull StudentAdvancedSearchRequest> queries;
+
+}
@@ -0,0 +1,39 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.search.facet.StudentFacet;
+
+@Schema(description = "検索結果の件数と集計の条件")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSearchSummaryRequest {
+
+  @Schema(description = """
+      値ごとの人数を集計する項目。sex, statusId, courseCode, prefecture（地域の都道府県）を指定できます。
+      省略時は人数だけを返します""",
+      example = "[\"sex\", \"courseCode\", \"prefecture\"]")
+  private List<String> facets;
+
+  @Schema(description = "trueなら一致する受講生の有無だけを返します。facetsとは同時に指定できません",
+      example = "false")
+  private Boolean existsOnly;
+
+  @AssertTrue(message = "facetsにはsex, statusId, courseCode, prefectureのいずれかを指定してください")
+  public boolean isFacetsValid() {
+    return facets == null || facets.stream().allMatch(StudentFacet::isValid);
+  }
+
+  @AssertTrue(message = "existsOnlyを指定した場合はfacetsを指定できません")
+  public boolean isExistsOnlyValid() {
+    return !Boolean.TRUE.equals(existsOnly) || facets == null || facets.isEmpty();
+  }
+
+}
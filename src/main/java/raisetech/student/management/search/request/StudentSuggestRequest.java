@@ -0,0 +1,39 @@
+package raisetech.student.management.search.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "入力補完の条件")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSuggestRequest {
+
+  @Schema(description = "補完するフィールド名。fullName, kanaName, nickname, area のいずれか", example = "fullName")
+  @NotBlank
+  @Pattern(
+      regexp = "^(fullName|kanaName|nickname|area)$",
+      message = "補完できるフィールドは「fullName」「kanaName」「nickname」「area」です。"
+  )
+  private String field;
+
+  @Schema(description = "入力途中の文字列（前方一致）", example = "田中")
+  @NotBlank
+  @Size(max = 50)
+  private String prefix;
+
+  @Schema(description = "返す候補の最大件数。省略時は10件", example = "10")
+  @Positive
+  @Max(100)
+  private Integer limit;
+
+}
@@ -0,0 +1,27 @@
+package raisetech.student.management.search.suggest;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 入力補完の候補1件分です。
+ */
+@Schema(description = "入力補完の候補")
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSuggestion {
+
+  @Schema(description = "補完候補の値", example = "田中太郎")
+  private String value;
+
+  @Schema(description = "この値を持つ受講生の人数", example = "3")
+  private int count;
+
+}
@@ -0,0 +1,177 @@
+package raisetech.student.management.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import raisetech.student.management.data.domain.StudentBulkRegistrationResult;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.data.domain.StudentRegistrationItemResult;
+import raisetech.student.management.data.domain.StudentRegistrationStatus;
+import raisetech.student.management.exception.handler.ErrorDetailsBuilder;
+import raisetech.student.management.validation.CreateGroup;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * 受講生詳細のJSON配列を読み込みながら、まとめて登録するサービスです。
+ * 配列全体をメモリに載せずに1件ずつ読み込んで登録時と同じ入力チェックを行い、
+ * 入力値の正しい受講生詳細を CHUNK_SIZE 件ごとに複数行のINSERTで登録します。
+ * 登録はまとまりごとのトランザクションで行うため、途中で失敗しても、それまでに登録できた受講生詳細は取り消しません。
+ */
+@Service
+public class StudentBulkRegistrationService {
+
+  /** 1回の複数行INSERTで登録する受講生詳細の件数 */
+  static final int CHUNK_SIZE = 500;
+
+  private StudentService studentService;
+  private ObjectMapper objectMapper;
+  private Validator validator;
+  private ErrorDetailsBuilder errorDetailsBuilder;
+
+  @Autowired
+  public StudentBulkRegistrationService(StudentService studentService,
+      ObjectMapper objectMapper,
+      Validator validator,
+      ErrorDetailsBuilder errorDetailsBuilder) {
+
+    this.studentService = studentService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.errorDetailsBuilder = errorDetailsBuilder;
+  }
+
+  /**
+   * 受講生詳細のJSON配列を読み込み、入力値の正しい受講生詳細をまとめて登録します。
+   * 入力値が不正な受講生詳細は登録せずに INVALID とし、残りの受講生詳細の登録を続けます。
+   * JSONの構文が壊れている場合はその位置の受講生詳細を INVALID とし、それ以降は読み込みません。
+   * まとめての登録に失敗した場合は、失敗した受講生詳細を特定するためにそのまとまりを1件ずつ登録し直します。
+   *
+   * @param body 受講生詳細のJSON配列
+   * @return 件数と処理速度、受講生詳細1件ごとの登録結果
+   */
+  public StudentBulkRegistrationResult registerStudentDetails(InputStream body) {
+    long startedAt = System.nanoTime();
+    List<StudentRegistrationItemResult> items = new ArrayList<>();
+    Map<Integer, StudentDetail> chunk = new LinkedHashMap<>();
+
+    int index = 0;
+    try {
+      MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(body);
+      for (; nodes.hasNextValue(); index++) {
+        StudentRegistrationItemResult invalid = validate(index, nodes.nextValue(), chunk);
+        if (invalid != null) {
+          items.add(invalid);
+        } else if (chunk.size() == CHUNK_SIZE) {
+          registerChunk(chunk, items);
+        }
+      }
+    } catch (JacksonException e) {
+      // 構文が壊れた位置より後ろは読み進められないため、その位置で打ち切る
+      items.add(StudentRegistrationItemResult.invalid(index, errorDetailsBuilder.buildErrorDetails(e)));
+    }
+    registerChunk(chunk, items);
+
+    items.sort(Comparator.comparingInt(StudentRegistrationItemResult::getIndex));
+    return summarize(items, System.nanoTime() - startedAt);
+  }
+
+  /**
+   * JSONの要素を受講生詳細に変換し、登録時と同じ入力チェックを行います。
+   * 入力値が正しければ登録待ちのまとまりに加えます。
+   *
+   * @param index 配列内での位置
+   * @param node JSONの要素
+   * @param chunk 登録待ちの受講生詳細。配列内での位置をキーとします
+   * @return 入力値が不正な場合はその登録結果、正しい場合はnull
+   */
+  private StudentRegistrationItemResult validate(int index, JsonNode node,
+      Map<Integer, StudentDetail> chunk) {
+    StudentDetail studentDetail;
+    try {
+      studentDetail = objectMapper.treeToValue(node, StudentDetail.class);
+    } catch (JacksonException e) {
+      return StudentRegistrationItemResult.invalid(index, errorDetailsBuilder.buildErrorDetails(e));
+    }
+    if (studentDetail == null) {
+      return StudentRegistrationItemResult.invalid(index,
+          List.of(Map.of("message", "受講生詳細を指定してください")));
+    }
+
+    Set<ConstraintViolation<StudentDetail>> violations =
+        validator.validate(studentDetail, CreateGroup.class);
+    if (!violations.isEmpty()) {
+      return StudentRegistrationItemResult.invalid(index,
+          errorDetailsBuilder.buildErrorDetails(new ConstraintViolationException(violations)));
+    }
+    chunk.put(index, studentDetail);
+    return null;
+  }
+
+  /**
+   * 登録待ちの受講生詳細をまとめて登録し、登録待ちを空にします。
+   *
+   * @param chunk 登録待ちの受講生詳細。配列内での位置をキーとします
+   * @param items 登録結果の追加先
+   */
+  private void registerChunk(Map<Integer, StudentDetail> chunk,
+      List<StudentRegistrationItemResult> items) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    List<Integer> indexes = List.copyOf(chunk.keySet());
+    try {
+      List<StudentDetail> registered = studentService.registerStudentDetails(List.copyOf(chunk.values()));
+      for (int i = 0; i < indexes.size(); i++) {
+        items.add(StudentRegistrationItemResult.created(indexes.get(i),
+            registered.get(i).getStudent().getStudentId()));
+      }
+    } catch (DataAccessException e) {
+      // まとまり全体がロールバックされるため、1件ずつ登録し直して失敗した受講生詳細だけを FAILED にする
+      chunk.forEach((index, studentDetail) -> items.add(registerOne(index, studentDetail)));
+    }
+    chunk.clear();
+  }
+
+  private StudentRegistrationItemResult registerOne(int index, StudentDetail studentDetail) {
+    try {
+      StudentDetail registered = studentService.registerStudentDetail(studentDetail);
+      return StudentRegistrationItemResult.created(index, registered.getStudent().getStudentId());
+    } catch (DataAccessException e) {
+      return StudentRegistrationItemResult.failed(index,
+          List.of(Map.of("message", "受講生詳細を登録できませんでした。メールアドレスが登録済みでないか確認してください")));
+    }
+  }
+
+  private static StudentBulkRegistrationResult summarize(List<StudentRegistrationItemResult> items,
+      long elapsedNanos) {
+    int created = count(items, StudentRegistrationStatus.CREATED);
+    double rowsPerSecond = elapsedNanos > 0 ? created * 1_000_000_000.0 / elapsedNanos : 0;
+    return new StudentBulkRegistrationResult(
+        items.size(),
+        created,
+        count(items, StudentRegistrationStatus.INVALID),
+        count(items, StudentRegistrationStatus.FAILED),
+        elapsedNanos / 1_000_000,
+        rowsPerSecond,
+        items);
+  }
+
+  private static int count(List<StudentRegistrationItemResult> items,
+      StudentRegistrationStatus status) {
+    return (int) items.stream().filter(item -> item.getStatus() == status).count();
+  }
+
+}
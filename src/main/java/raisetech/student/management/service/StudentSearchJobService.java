@@ -0,0 +1,242 @@
+package raisetech.student.management.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import raisetech.student.management.config.StudentSearchJobProperties;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.exception.SearchJobNotReadyException;
+import raisetech.student.management.exception.SearchJobRejectedException;
+import raisetech.student.management.exception.TargetNotFoundException;
+import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
+import raisetech.student.management.search.job.ChunkedNdjsonWriter;
+import raisetech.student.management.search.job.SearchJobStatus;
+import raisetech.student.management.search.job.StudentSearchJob;
+import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * 一致件数の多い高度検索を非同期に実行し、検索結果をNDJSON形式のファイルに書き出すサービスです。
+ * ジョブはスレッド数と実行待ちの件数に上限のある専用のスレッドプールで実行します。
+ * 同時に実行されるジョブはスレッド数までのため、ジョブが使うDB接続とCPUもその分に抑えられますが、
+ * 通常の検索リクエストとはコネクションプールとCPUを共有するため、負荷の影響が全くなくなるわけではありません。
+ * ジョブの状態はメモリ上に保持し、終了から保持期間を過ぎたジョブは検索結果のファイルとともに削除します。
+ * ジョブの状態は再起動で失われるため、前回の起動時に書き出した検索結果のファイルは起動時に削除します。
+ */
+@Service
+public class StudentSearchJobService {
+
+  /** 完了した検索結果のファイルの拡張子 */
+  static final String RESULT_FILE_SUFFIX = ".ndjson";
+
+  /** 書き出し中の検索結果のファイルの拡張子。完了したら RESULT_FILE_SUFFIX に名前を変えます */
+  static final String PART_FILE_SUFFIX = ".ndjson.part";
+
+  /** ジョブの書き出し件数を更新する間隔（件数） */
+  static final int PROGRESS_INTERVAL = 1000;
+
+  /** 失敗したジョブの状態に記録するメッセージ。例外の内容はクライアントに返さずログにだけ出力します */
+  static final String FAILED_MESSAGE = "検索結果の書き出しに失敗しました";
+
+  private static final Logger log = LoggerFactory.getLogger(StudentSearchJobService.class);
+
+  private StudentService studentService;
+  private StudentSearchCriteriaConverter converter;
+  private ObjectMapper objectMapper;
+  private StudentSearchJobProperties properties;
+
+  private final ThreadPoolExecutor executor;
+  private final Map<String, StudentSearchJob> jobs = new ConcurrentHashMap<>();
+
+  @Autowired
+  public StudentSearchJobService(StudentService studentService,
+      StudentSearchCriteriaConverter converter,
+      ObjectMapper objectMapper,
+      StudentSearchJobProperties properties) {
+
+    this.studentService = studentService;
+    this.converter = converter;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.executor = new ThreadPoolExecutor(
+        properties.getWorkerThreads(), properties.getWorkerThreads(),
+        0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+        Thread.ofPlatform()
+            .name("student-search-job-", 0)
+            .daemon(true)
+            .factory());
+    purgeLeftoverFiles();
+  }
+
+  /**
+   * 高度検索のジョブを受け付け、実行待ちにします。
+   * 検索条件の整合性は受付時に確認し、不正な条件のジョブは受け付けません。
+   *
+   * @param request 検索フィルターのリストを保持するリクエストオブジェクト
+   * @return 受け付けたジョブ
+   * @throws SearchJobRejectedException 実行待ちのジョブが上限に達している場合
+   */
+  public StudentSearchJob submit(StudentAdvancedSearchRequest request) {
+    converter.toCriteria(request);
+    purgeExpiredJobs();
+
+    StudentSearchJob job = StudentSearchJob.queued(UUID.randomUUID().toString(), Instant.now());
+    jobs.put(job.getJobId(), job);
+    try {
+      executor.execute(() -> run(job.getJobId(), request));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getJobId());
+      throw new SearchJobRejectedException(properties.getQueueCapacity());
+    }
+    return job;
+  }
+
+  /**
+   * ジョブの現在の状態を取得します。
+   *
+   * @param jobId ジョブID
+   * @return ジョブ
+   * @throws TargetNotFoundException ジョブが存在しないか、保持期間を過ぎて削除された場合
+   */
+  public StudentSearchJob getJob(String jobId) {
+    purgeExpiredJobs();
+    StudentSearchJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new TargetNotFoundException("jobId", "指定したIDの検索ジョブは見つかりませんでした");
+    }
+    return job;
+  }
+
+  /**
+   * 完了したジョブの検索結果のファイルを取得します。
+   *
+   * @param jobId ジョブID
+   * @return 受講生詳細を1行1件で書き出したNDJSON形式のファイル
+   * @throws TargetNotFoundException ジョブが存在しないか、保持期間を過ぎて削除された場合
+   * @throws SearchJobNotReadyException ジョブが正常に完了していない場合
+   */
+  public Path getResultFile(String jobId) {
+    StudentSearchJob job = getJob(jobId);
+    if (job.getStatus() != SearchJobStatus.SUCCEEDED) {
+      throw new SearchJobNotReadyException(jobId, job.getStatus());
+    }
+    return resultFile(jobId, RESULT_FILE_SUFFIX);
+  }
+
+  /**
+   * アプリケーションの終了時に、実行中のジョブを中断してスレッドプールを停止します。
+   */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * ジョブを実行し、検索結果をファイルに書き出します。
+   * 書き出し中は別名のファイルに書き、完了してから名前を変えるため、ダウンロードされるのは完了したファイルだけです。
+   * 受講生詳細はメモリ予算の大きさのバッファに溜めてからまとめて書き出します。
+   *
+   * @param jobId ジョブID
+   * @param request 検索フィルターのリストを保持するリクエストオブジェクト
+   */
+  private void run(String jobId, StudentAdvancedSearchRequest request) {
+    jobs.computeIfPresent(jobId, (id, job) -> job.running(Instant.now()));
+    Path partFile = resultFile(jobId, PART_FILE_SUFFIX);
+    int memoryBudget = (int) Math.min(properties.getMemoryBudget().toBytes(), Integer.MAX_VALUE);
+
+    try {
+      Files.createDirectories(properties.getDirectory());
+      long resultCount;
+      try (ChunkedNdjsonWriter writer = new ChunkedNdjsonWriter(partFile, memoryBudget)) {
+        studentService.streamStudentDetailsAdvanced(request, chunk -> {
+          for (StudentDetail detail : chunk) {
+            writeLine(writer, detail);
+            if (writer.getLineCount() % PROGRESS_INTERVAL == 0) {
+              jobs.computeIfPresent(jobId, (id, job) -> job.progressed(writer.getLineCount()));
+            }
+          }
+        });
+        resultCount = writer.getLineCount();
+      }
+      Files.move(partFile, resultFile(jobId, RESULT_FILE_SUFFIX),
+          StandardCopyOption.REPLACE_EXISTING);
+      jobs.computeIfPresent(jobId, (id, job) -> job.succeeded(Instant.now(), resultCount));
+    } catch (IOException | RuntimeException e) {
+      log.error("検索ジョブが失敗しました: jobId={}", jobId, e);
+      deleteQuietly(partFile);
+      jobs.computeIfPresent(jobId, (id, job) -> job.failed(Instant.now(), FAILED_MESSAGE));
+    }
+  }
+
+  /**
+   * 終了から保持期間を過ぎたジョブを、検索結果のファイルとともに削除します。
+   */
+  private void purgeExpiredJobs() {
+    Instant expiredBefore = Instant.now().minus(properties.getRetention());
+    jobs.values().removeIf(job -> {
+      boolean expired = job.getStatus().isFinished() && job.getFinishedAt().isBefore(expiredBefore);
+      if (expired) {
+        deleteQuietly(resultFile(job.getJobId(), RESULT_FILE_SUFFIX));
+      }
+      return expired;
+    });
+  }
+
+  /**
+   * 前回の起動時に書き出した検索結果のファイルと、書き出し中に終了して残ったファイルを削除します。
+   * 起動時にはどのジョブも存在しないため、ディレクトリ内の検索結果のファイルは全てダウンロードできないファイルです。
+   * 削除できなくても起動は止めず、ログに出力するだけにします。
+   */
+  private void purgeLeftoverFiles() {
+    Path directory = properties.getDirectory();
+    try {
+      Files.createDirectories(directory);
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+          "*{" + RESULT_FILE_SUFFIX + "," + PART_FILE_SUFFIX + "}")) {
+        for (Path file : files) {
+          deleteQuietly(file);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("前回の起動時の検索結果のファイルを削除できませんでした: directory={}", directory, e);
+    }
+  }
+
+  private void writeLine(ChunkedNdjsonWriter writer, StudentDetail studentDetail) {
+    try {
+      writer.writeLine(objectMapper.writeValueAsBytes(studentDetail));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path resultFile(String jobId, String suffix) {
+    return properties.getDirectory().resolve(jobId + suffix);
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+      // ファイルを削除できなくてもジョブの状態には影響させない
+    }
+  }
+
+}
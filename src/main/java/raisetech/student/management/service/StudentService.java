@@ -1,22 +1,69 @@
 package raisetech.student.management.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.cache.StudentDetailCache;
+import raisetech.student.management.cache.StudentFilterBitmapCache;
+import raisetech.student.management.cache.StudentSearchResultCache;
+import raisetech.student.management.config.StudentSearchProperties;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.domain.StudentCourseStatusChange;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeOutcome;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeRequest;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeResult;
 import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.data.domain.StudentDetailBatch;
+import raisetech.student.management.data.master.StatusTransition;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.exception.InvalidPageCursorException;
 import raisetech.student.management.exception.InvalidStatusTransitionException;
+import raisetech.student.management.exception.StatusUpdateConflictException;
 import raisetech.student.management.exception.TargetNotFoundException;
-import raisetech.student.management.repository.CourseStatusRepository;
 import raisetech.student.management.repository.StudentRepository;
 import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
 import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSortKey;
+import raisetech.student.management.search.engine.InMemoryStudentSearchEngine;
+import raisetech.student.management.search.facet.StudentFacet;
+import raisetech.student.management.search.facet.StudentFacetCounter;
+import raisetech.student.management.search.facet.StudentFacetRow;
+import raisetech.student.management.search.facet.StudentSearchSummary;
+import raisetech.student.management.search.index.StudentCourseIntervalIndex;
+import raisetech.student.management.search.index.StudentNgramIndex;
+import raisetech.student.management.search.index.StudentSuffixIndex;
+import raisetech.student.management.search.index.StudentSuggestIndex;
+import raisetech.student.management.search.pagination.PageCursor;
+import raisetech.student.management.search.pagination.StudentDetailPage;
+import raisetech.student.management.search.projection.StudentProjection;
+import raisetech.student.management.search.request.SearchPageRequest;
+import raisetech.student.management.search.request.SearchableField;
 import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import raisetech.student.management.search.request.StudentBatchGetRequest;
+import raisetech.student.management.search.request.StudentMultiSearchRequest;
+import raisetech.student.management.search.request.StudentSearchSummaryRequest;
 import raisetech.student.management.search.request.StudentSimpleSearchRequest;
+import raisetech.student.management.search.request.StudentSuggestRequest;
+import raisetech.student.management.search.suggest.StudentSuggestion;
+import raisetech.student.management.status.CourseDateRule;
+import raisetech.student.management.status.CourseStatusMachine;
+import raisetech.student.management.status.CourseStatusMachineRegistry;
 
 
 /**
@@ -26,60 +73,305 @@ import raisetech.student.management.search.request.StudentSimpleSearchRequest;
 @Service
 public class StudentService {
 
+  /** 受講生詳細を一括で組み立てる際に、1回のIN句に含める受講生IDの最大件数 */
+  static final int ID_CHUNK_SIZE = 1000;
+
+  /** ストリーミング検索で、受講生詳細を組み立てて書き出す単位となる受講生IDの件数 */
+  static final int STREAM_CHUNK_SIZE = 100;
+
+  /** 受講生コースのステータスを一括で変更する際に、1回の読み込みと更新で扱う受講生コースの最大件数 */
+  static final int STATUS_CHUNK_SIZE = 500;
+
   private StudentRepository studentRepository;
-  private CourseStatusRepository statusRepository;
+  private CourseStatusMachineRegistry statusMachineRegistry;
 
   private StudentSearchCriteriaConverter converter;
+  private StudentSearchProperties searchProperties;
+  private StudentSearchResultCache searchResultCache;
+  private StudentDetailCache studentDetailCache;
+  private StudentFilterBitmapCache filterBitmapCache;
+  private InMemoryStudentSearchEngine searchEngine;
+  private StudentNgramIndex ngramIndex;
+  private StudentSuffixIndex suffixIndex;
+  private StudentCourseIntervalIndex intervalIndex;
+  private StudentSuggestIndex suggestIndex;
+
+  private ApplicationEventPublisher eventPublisher;
 
   @Autowired
   public StudentService(StudentRepository studentRepository,
-      CourseStatusRepository statusRepository,
-      StudentSearchCriteriaConverter converter) {
+      CourseStatusMachineRegistry statusMachineRegistry,
+      StudentSearchCriteriaConverter converter,
+      StudentSearchProperties searchProperties,
+      StudentSearchResultCache searchResultCache,
+      StudentDetailCache studentDetailCache,
+      StudentFilterBitmapCache filterBitmapCache,
+      InMemoryStudentSearchEngine searchEngine,
+      StudentNgramIndex ngramIndex,
+      StudentSuffixIndex suffixIndex,
+      StudentCourseIntervalIndex intervalIndex,
+      StudentSuggestIndex suggestIndex,
+      ApplicationEventPublisher eventPublisher) {
 
     this.studentRepository = studentRepository;
-    this.statusRepository = statusRepository;
+    this.statusMachineRegistry = statusMachineRegistry;
     this.converter = converter;
+    this.searchProperties = searchProperties;
+    this.searchResultCache = searchResultCache;
+    this.studentDetailCache = studentDetailCache;
+    this.filterBitmapCache = filterBitmapCache;
+    this.searchEngine = searchEngine;
+    this.ngramIndex = ngramIndex;
+    this.suffixIndex = suffixIndex;
+    this.intervalIndex = intervalIndex;
+    this.suggestIndex = suggestIndex;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
    * クエリパラメータで指定された条件に基づき、受講生詳細の簡易検索を行います。
-   * 条件が指定されない場合は全件を取得します。
+   * 条件が指定されない場合は全件を対象に、並び順（省略時は受講生IDの昇順）で1ページ分を取得します。
+   * ページング条件で取得項目が指定されていれば、受講生詳細はその項目だけを検索します。
    *
    * @param request 簡易検索の条件を保持するリクエストオブジェクト
-   * @return 条件に一致する受講生詳細の一覧
+   * @param page ページング条件
+   * @return 条件に一致する受講生詳細の1ページ分と次ページのカーソル
    */
-  public List<StudentDetail> searchStudentDetailsSimple(StudentSimpleSearchRequest request) {
+  public StudentDetailPage searchStudentDetailsSimple(StudentSimpleSearchRequest request,
+      SearchPageRequest page) {
     StudentSearchCriteria criteria = converter.toCriteria(request);
-    return searchStudentDetails(criteria);
+    return searchStudentDetailPage(criteria, page);
   }
 
   /**
    * 受講生IDに紐づく受講生詳細を検索します。
+   * 受講生詳細キャッシュにあればそれを返し、なければ検索してキャッシュします。
    * @param studentId 受講生ID
    * @return 受講生詳細
    */
   public StudentDetail searchStudentDetail(int studentId){
-    StudentDetail response = buildStudentDetail(studentId);
-    if(response.getStudent() == null){
+    StudentDetail response = studentDetailCache.getStudentDetail(studentId, this::buildStudentDetail);
+    if(response == null){
       throw new TargetNotFoundException("studentId","指定したIDの受講生は見つかりませんでした");
     }
     return response;
   }
 
+  /**
+   * 受講生IDに紐づく受講生詳細のうち、指定された項目だけを検索します。
+   * 受講生詳細キャッシュにあればそれを返し、なければ受講生の指定された列だけを検索します。
+   * 受講生コース情報が指定されていなければ受講生コースは検索しません。取得項目を絞った受講生詳細はキャッシュしません。
+   * @param studentId 受講生ID
+   * @param projection レスポンスに含める項目。nullなら全項目
+   * @return 受講生詳細。指定されなかった項目はnull
+   */
+  public StudentDetail searchStudentDetail(int studentId, StudentProjection projection) {
+    if (projection == null) {
+      return searchStudentDetail(studentId);
+    }
+    List<StudentDetail> response = buildStudentDetails(List.of(studentId), projection);
+    if (response.isEmpty()) {
+      throw new TargetNotFoundException("studentId","指定したIDの受講生は見つかりませんでした");
+    }
+    return response.get(0);
+  }
+
+  /**
+   * 受講生IDのリストに対応する受講生詳細をまとめて取得します。
+   * 受講生詳細キャッシュにない受講生IDの分だけを、受講生と受講生コース情報の一括検索で読み込みます。
+   * 受講生が存在しないIDがあっても失敗せず、見つからなかった受講生IDとして返します。
+   *
+   * @param request 取得する受講生IDのリストを保持するリクエストオブジェクト
+   * @return 指定された順（重複は最初の1件のみ）の受講生詳細と、見つからなかった受講生ID
+   */
+  public StudentDetailBatch searchStudentDetailsByIds(StudentBatchGetRequest request) {
+    List<Integer> studentIds = request.getStudentIds().stream().distinct().toList();
+    Map<Integer, StudentDetail> studentDetailMap =
+        studentDetailCache.getStudentDetails(studentIds, this::loadStudentDetails);
+
+    List<StudentDetail> studentDetails = new ArrayList<>(studentDetailMap.size());
+    List<Integer> missingStudentIds = new ArrayList<>();
+    for (Integer studentId : studentIds) {
+      StudentDetail studentDetail = studentDetailMap.get(studentId);
+      if (studentDetail == null) {
+        missingStudentIds.add(studentId);
+      } else {
+        studentDetails.add(studentDetail);
+      }
+    }
+    return new StudentDetailBatch(studentDetails, missingStudentIds);
+  }
+
   /**
    * リクエストボディで指定された検索フィルターに基づき、受講生詳細の高度検索を行います。
+   * 並び順（省略時は受講生IDの昇順）で1ページ分を取得します。
+   * ページング条件で取得項目が指定されていれば、受講生詳細はその項目だけを検索します。
    *
    * @param request 検索フィルターのリストを保持するリクエストオブジェクト
-   * @return 条件に一致する受講生詳細の一覧
+   * @param page ページング条件
+   * @return 条件に一致する受講生詳細の1ページ分と次ページのカーソル
    */
-  public List<StudentDetail> searchStudentDetailsAdvanced(StudentAdvancedSearchRequest request) {
+  public StudentDetailPage searchStudentDetailsAdvanced(StudentAdvancedSearchRequest request,
+      SearchPageRequest page) {
     StudentSearchCriteria criteria = converter.toCriteria(request);
-    return searchStudentDetails(criteria);
+    return searchStudentDetailPage(criteria, page);
+  }
+
+  /**
+   * 複数の高度検索をまとめて行い、検索条件ごとに先頭の1ページ分を返します。
+   * 正規化して同じになる検索条件は1回だけ検索し、検索結果キャッシュにない検索条件はまとめて検索します
+   * （インメモリ検索エンジンが使用可能なら列ストアの1回の走査で全ての検索条件を評価します）。
+   * 受講生詳細は全ての検索結果の受講生IDの和集合について1回だけ組み立てます。
+   * ページング条件のうち limit, sort, fields を全ての検索条件に適用し、after は無視します。
+   *
+   * @param request 高度検索条件のリストを保持するリクエストオブジェクト
+   * @param page ページング条件
+   * @return 検索条件と同じ順の、条件に一致する受講生詳細の1ページ分と次ページのカーソルのリスト
+   */
+  public List<StudentDetailPage> searchStudentDetailsMulti(StudentMultiSearchRequest request,
+      SearchPageRequest page) {
+    int pageSize = resolvePageSize(page.getLimit());
+    StudentProjection projection = StudentProjection.of(page.getFields());
+    List<StudentSortKey> sortKeys = StudentSortKey.parseAll(page.getSort());
+
+    List<StudentSearchCriteria> criteriaList = new ArrayList<>();
+    for (StudentAdvancedSearchRequest query : request.getQueries()) {
+      StudentSearchCriteria criteria = converter.toCriteria(query);
+      criteria.applySort(sortKeys);
+      // 次ページの有無を判定するために1件多く取得する
+      criteria.applyPage(null, pageSize + 1);
+      criteria.normalize();
+      criteriaList.add(criteria);
+    }
+    Map<StudentSearchCriteria, List<Integer>> matchedStudentIds = searchResultCache
+        .getAllMatchedStudentIds(criteriaList.stream().distinct().toList(),
+            this::findAllMatchedStudentIds);
+
+    List<List<Integer>> pageStudentIdLists = new ArrayList<>(criteriaList.size());
+    List<String> nextCursors = new ArrayList<>(criteriaList.size());
+    Set<Integer> unionStudentIds = new LinkedHashSet<>();
+    for (StudentSearchCriteria criteria : criteriaList) {
+      List<Integer> studentIdList = matchedStudentIds.get(criteria);
+      boolean hasNext = studentIdList.size() > pageSize;
+      List<Integer> pageStudentIds = hasNext ? studentIdList.subList(0, pageSize) : studentIdList;
+      pageStudentIdLists.add(pageStudentIds);
+      nextCursors.add(!hasNext ? null
+          : !criteria.isSorted() ? PageCursor.encode(pageStudentIds.get(pageSize - 1))
+              : pageSize < searchProperties.getSortWindow() ? PageCursor.encodeOffset(pageSize)
+                  : null);
+      unionStudentIds.addAll(pageStudentIds);
+    }
+
+    Map<Integer, StudentDetail> studentDetailMap = new HashMap<>();
+    for (StudentDetail detail : buildStudentDetails(List.copyOf(unionStudentIds), projection)) {
+      studentDetailMap.put(detail.getStudent().getStudentId(), detail);
+    }
+    List<StudentDetailPage> pages = new ArrayList<>(criteriaList.size());
+    for (int i = 0; i < criteriaList.size(); i++) {
+      List<StudentDetail> studentDetails = pageStudentIdLists.get(i).stream()
+          .filter(studentDetailMap::containsKey)
+          .map(studentDetailMap::get)
+          .toList();
+      pages.add(new StudentDetailPage(studentDetails, nextCursors.get(i)));
+    }
+    return pages;
+  }
+
+  /**
+   * リクエストボディで指定された検索フィルターに一致する受講生の人数と、集計項目の値ごとの人数を返します。
+   * 受講生詳細は組み立てません。existsOnly が指定されていれば、一致する受講生が1人でもいるかだけを検索します。
+   * 有無の検索は列ごとのビットマップキャッシュを通さず、DBでは LIMIT 1 の1回の検索で済ませます
+   * （ビットマップを作ると、フィールドの条件ごとに一致する受講生IDを全件読み込むため）。
+   * インメモリ検索エンジンが使用可能なら、人数と全ての集計項目を列ストアの走査で求めます。
+   * そうでなければDBで、集計項目がなければ COUNT で人数だけを数え、集計項目があれば一致する受講生の行を
+   * 受講生ID順に1回だけ読み出して、人数と全ての集計項目を同時に数えます。
+   *
+   * @param request 検索フィルターのリストを保持するリクエストオブジェクト
+   * @param summary 集計項目と、有無だけを返すかの指定
+   * @return 検索結果の件数と集計
+   */
+  @Transactional(readOnly = true)
+  public StudentSearchSummary summarizeStudentSearch(StudentAdvancedSearchRequest request,
+      StudentSearchSummaryRequest summary) {
+    StudentSearchCriteria criteria = converter.toCriteria(request);
+    if (Boolean.TRUE.equals(summary.getExistsOnly())) {
+      criteria.applyPage(null, 1);
+      criteria.normalize();
+      List<Integer> studentIds =
+          searchResultCache.getMatchedStudentIds(criteria, this::findMatchedStudentIds);
+      return StudentSearchSummary.ofExists(!studentIds.isEmpty());
+    }
+
+    Set<StudentFacet> facets = StudentFacet.parseAll(summary.getFacets());
+    StudentFacetCounter counter = new StudentFacetCounter(facets);
+    if (searchEngine.isAvailable()) {
+      searchEngine.countFacets(criteria, counter);
+    } else if (restrictToIndexCandidates(criteria)) {
+      if (facets.isEmpty()) {
+        counter.addStudents(studentRepository.countMatchedStudents(criteria));
+      } else {
+        countFacetRows(criteria, facets, counter);
+      }
+    }
+    return counter.toSummary();
+  }
+
+  /**
+   * クエリパラメータで指定された条件に一致する受講生詳細を、ページングせずに全件逐次取得します。
+   * 受講生詳細は一定件数ごとに組み立て、組み立てた分ごとに順序を保ってconsumerへ渡します。
+   * 受講生詳細キャッシュは参照も更新もしません。
+   * 結果全体をメモリに保持しないため、一致件数によらずメモリ使用量は一定です。
+   *
+   * @param request 簡易検索の条件を保持するリクエストオブジェクト
+   * @param consumer 組み立てた受講生詳細を一定件数ごとに受け取る処理
+   */
+  @Transactional(readOnly = true)
+  public void streamStudentDetailsSimple(StudentSimpleSearchRequest request,
+      Consumer<List<StudentDetail>> consumer) {
+    StudentSearchCriteria criteria = converter.toCriteria(request);
+    streamStudentDetails(criteria, consumer);
+  }
+
+  /**
+   * リクエストボディで指定された検索フィルターに一致する受講生詳細を、ページングせずに全件逐次取得します。
+   * 受講生詳細は一定件数ごとに組み立て、組み立てた分ごとに順序を保ってconsumerへ渡します。
+   * 受講生詳細キャッシュは参照も更新もしないため、検索結果の書き出しジョブからも使えます。
+   *
+   * @param request 検索フィルターのリストを保持するリクエストオブジェクト
+   * @param consumer 組み立てた受講生詳細を一定件数ごとに受け取る処理
+   */
+  @Transactional(readOnly = true)
+  public void streamStudentDetailsAdvanced(StudentAdvancedSearchRequest request,
+      Consumer<List<StudentDetail>> consumer) {
+    StudentSearchCriteria criteria = converter.toCriteria(request);
+    streamStudentDetails(criteria, consumer);
+  }
+
+  /**
+   * 入力途中の文字列に続く氏名・よみがな・ニックネーム・地域の値を、その値を持つ受講生の人数が多い順に返します。
+   * 入力補完の索引が使用可能ならメモリ上の基数木から、そうでなければDBで値ごとに集計して返します。
+   * DBで集計する場合、入力途中の文字列はLIKEのワイルドカード（%, _）とエスケープ文字（\）をエスケープして前方一致させます。
+   *
+   * @param request 補完するフィールドと入力途中の文字列を保持するリクエストオブジェクト
+   * @return 補完候補のリスト
+   */
+  public List<StudentSuggestion> suggestStudents(StudentSuggestRequest request) {
+    int limit = request.getLimit() != null
+        ? request.getLimit()
+        : searchProperties.getSuggestIndex().getDefaultLimit();
+    if (suggestIndex.isAvailable()) {
+      SearchableField field = SearchableField.fromFieldName(request.getField());
+      return suggestIndex.suggest(field, request.getPrefix(), limit);
+    }
+    // 入力途中の文字列に含まれる % や _ はワイルドカードではなく文字として前方一致させる
+    return studentRepository.suggestStudentValues(request.getField(),
+        escapeLike(request.getPrefix()) + "%", limit);
   }
 
   /**
    * 受講生詳細の登録を行います。
-   * 受講生と受講生コース情報を個別に登録し、受講生コース情報には受講生情報を紐づける値と申込状況と受講申込日をセットします。
+   * 受講生を登録したあと、受講生コース情報を1回の複数行INSERTでまとめて登録します。
+   * 受講生コース情報には受講生情報を紐づける値と申込状況と受講申込日をセットし、採番された受講生コースIDを反映します。
    * @param studentDetail 受講生詳細
    * @return 登録後の受講生詳細
    */
@@ -88,15 +380,44 @@ public class StudentService {
     Student student = studentDetail.getStudent();
     studentRepository.registerStudent(student);
 
-    List<StudentCourse> initedStudentCourseList = new ArrayList<>();
-    for(StudentCourse studentCourse : studentDetail.getStudentCourses()){
-      StudentCourse initedStudentCourse = initStudentCourse(studentCourse, student.getStudentId());
-      studentRepository.registerStudentCourse(initedStudentCourse);
-      initedStudentCourseList.add(initedStudentCourse);
-    }
+    List<StudentCourse> initedStudentCourseList =
+        initStudentCourses(studentDetail.getStudentCourses(), student.getStudentId());
+    registerStudentCourses(initedStudentCourseList);
+    eventPublisher.publishEvent(new StudentDataChangedEvent(student.getStudentId()));
     return new StudentDetail(student,initedStudentCourseList);
   }
 
+  /**
+   * 受講生詳細の一括登録を行います。
+   * 受講生と受講生コース情報をそれぞれ1回の複数行INSERTで登録し、採番された受講生IDと受講生コースIDを受講生詳細にセットします。
+   * 受講生コース情報には registerStudentDetail と同じく、受講生情報を紐づける値と申込状況と受講申込日をセットします。
+   * @param studentDetails 受講生詳細のリスト（空リストは不可）
+   * @return 登録後の受講生詳細のリスト。引数と同じ順に並べます
+   */
+  @Transactional
+  public List<StudentDetail> registerStudentDetails(List<StudentDetail> studentDetails) {
+    List<Student> students = studentDetails.stream()
+        .map(StudentDetail::getStudent)
+        .toList();
+    studentRepository.registerStudents(students);
+
+    List<StudentDetail> registeredStudentDetails = new ArrayList<>();
+    List<StudentCourse> initedStudentCourses = new ArrayList<>();
+    for (StudentDetail studentDetail : studentDetails) {
+      Student student = studentDetail.getStudent();
+      List<StudentCourse> initedStudentCourseList =
+          initStudentCourses(studentDetail.getStudentCourses(), student.getStudentId());
+      initedStudentCourses.addAll(initedStudentCourseList);
+      registeredStudentDetails.add(new StudentDetail(student, initedStudentCourseList));
+    }
+    registerStudentCourses(initedStudentCourses);
+
+    // 登録した受講生をまとめて1つのイベントにし、索引とキャッシュへの反映を1回で済ませる
+    eventPublisher.publishEvent(StudentDataChangedEvent.of(
+        students.stream().map(Student::getStudentId).toList()));
+    return registeredStudentDetails;
+  }
+
   /**
    * 受講生の更新を行います
    * @param student 受講生
@@ -108,6 +429,7 @@ public class StudentService {
     if(updatedStudent == 0){
       throw new TargetNotFoundException("studentId","更新対象の受講生が見つかりませんでした");
     }
+    eventPublisher.publishEvent(new StudentDataChangedEvent(student.getStudentId()));
     return student;
   }
 
@@ -124,38 +446,222 @@ public class StudentService {
     }
     StudentCourse initedStudentCourse = initStudentCourse(studentCourse,studentId);
     studentRepository.registerStudentCourse(initedStudentCourse);
+    eventPublisher.publishEvent(new StudentDataChangedEvent(studentId));
     return initedStudentCourse;
   }
 
   /**
    * 受講生コースの更新を行います。受講生コースIDと受講生IDで指定した受講生コースのステータスのみを更新できます。
+   * 遷移できるかと設定する日付はメモリ上の状態遷移表で求め、現在のステータスの確認と更新は1つの条件付きUPDATEで行います。
+   * 遷移前のステータスを指定しない場合は、更新後のステータスへ遷移できるいずれかのステータスであることを条件に更新します。
+   * 遷移前のステータスを指定した場合は、現在のステータスがそのステータスであることを条件に更新します。
+   * 更新できなかった場合だけ現在のステータスを読み込み、失敗の理由を判定します。
    * @param studentCourse 受講生コース
    * @param studentId 受講生ID
+   * @param expectedStatusId クライアントが想定している遷移前のステータスID。指定しない場合はnull
    * @return 引数で受け取った受講生コースに受講生IDと必要な日付情報をセットしなおしたもの
    */
   @Transactional
-  public StudentCourse updateStudentCourse(StudentCourse studentCourse, int studentId){
+  public StudentCourse updateStudentCourse(StudentCourse studentCourse, int studentId,
+      Integer expectedStatusId){
+    CourseStatusMachine statusMachine = statusMachineRegistry.current();
     // 更新後のステータスID
     int toStatusId = studentCourse.getStatusId();
 
-    StudentCourse reflected = reflectStatusTransition(studentCourse,studentId);
+    // UPDATEの条件とする遷移前のステータスID
+    List<Integer> fromStatusIds;
+    if (expectedStatusId != null) {
+      if (!statusMachine.canTransition(expectedStatusId, toStatusId)) {
+        throw new InvalidStatusTransitionException(expectedStatusId, toStatusId);
+      }
+      fromStatusIds = List.of(expectedStatusId);
+    } else {
+      fromStatusIds = statusMachine.findFromStatusIds(toStatusId);
+    }
 
-    // 更新前（現在）のステータスID
-    Integer fromStatusId = studentRepository.findStatusId(reflected);
-    if (fromStatusId == null) {
-      throw new TargetNotFoundException("studentCourse", "受講生IDと受講生コースIDで指定できる受講生コースが存在しません");
+    StudentCourse reflected = reflectStatusTransition(studentCourse, studentId,
+        fromStatusIds.isEmpty() ? CourseDateRule.NONE : statusMachine.findDateRule(toStatusId));
+    int updatedRows = fromStatusIds.isEmpty()
+        ? 0
+        : studentRepository.compareAndSetStudentCourseStatus(reflected, fromStatusIds);
+    if (updatedRows == 0) {
+      throw resolveStatusUpdateFailure(reflected, expectedStatusId, statusMachine);
     }
+    eventPublisher.publishEvent(new StudentDataChangedEvent(studentId));
+    return reflected;
+  }
 
-    // 遷移不可能なら例外をスロー
-    if(!statusRepository.canTransition(fromStatusId,toStatusId)){
-      throw new InvalidStatusTransitionException(fromStatusId,toStatusId);
+  /**
+   * 受講生コースのステータスを更新できなかったとき、現在のステータスを読み込んで失敗の理由に応じた例外を返します。
+   * 受講生コースが存在しなければ TargetNotFoundException、現在のステータスから遷移できなければ InvalidStatusTransitionException、
+   * 想定していたステータスから他の更新で変更されていれば StatusUpdateConflictException を返します。
+   * @param reflected 更新しようとした受講生コース
+   * @param expectedStatusId クライアントが想定していた遷移前のステータスID。指定されていない場合はnull
+   * @param statusMachine 更新時に使用した状態遷移表
+   * @return 送出する例外
+   */
+  private RuntimeException resolveStatusUpdateFailure(StudentCourse reflected,
+      Integer expectedStatusId, CourseStatusMachine statusMachine) {
+    Integer currentStatusId = studentRepository.findStatusId(reflected);
+    if (currentStatusId == null) {
+      return new TargetNotFoundException("studentCourse", "受講生IDと受講生コースIDで指定できる受講生コースが存在しません");
     }
+    if (expectedStatusId == null
+        && !statusMachine.canTransition(currentStatusId, reflected.getStatusId())) {
+      return new InvalidStatusTransitionException(currentStatusId, reflected.getStatusId());
+    }
+    // 想定と異なるステータスになっていたか、UPDATEの後に遷移できるステータスへ変更された
+    return new StatusUpdateConflictException(reflected.getStudentCourseId(), expectedStatusId,
+        currentStatusId);
+  }
 
-    int updatedRows = studentRepository.updateStudentCourseStatus(reflected);
-    if (updatedRows == 0) {
-      throw new TargetNotFoundException("studentCourse", "受講生IDと受講生コースIDで指定できる受講生コースが存在しません");
+  /**
+   * 複数の受講生コースのステータスを一括で変更します。
+   * STATUS_CHUNK_SIZE 件ごとに現在のステータスをまとめて読み込み、遷移可否はメモリ上の状態遷移表で判定します。
+   * 遷移できる受講生コースは (変更前, 変更後) のステータスの組み合わせごとに1回のUPDATEで変更するため、
+   * SQLの実行回数は受講生コースの件数ではなく、まとまりの数とステータスの組み合わせの数で決まります。
+   * UPDATEは変更前のステータスが読み込んだ時点から変わっていない受講生コースだけを対象とし、変わっていたものは CONFLICT とします。
+   * 変更できなかった受講生コースがあっても例外は送出せず、残りの受講生コースの変更を続けます。
+   *
+   * @param request 受講生コースごとのステータス変更内容
+   * @return 受講生コースごとの変更結果。リクエストと同じ順に並べます
+   */
+  @Transactional
+  public List<StudentCourseStatusChangeResult> updateStudentCourseStatuses(
+      StudentCourseStatusChangeRequest request) {
+    List<StudentCourseStatusChange> changes = request.getChanges();
+    // 途中で読み込み直されても、1回の一括変更の中では同じ状態遷移表で判定する
+    CourseStatusMachine statusMachine = statusMachineRegistry.current();
+
+    StudentCourseStatusChangeResult[] results = new StudentCourseStatusChangeResult[changes.size()];
+    Set<Integer> requestedStudentCourseIds = new HashSet<>();
+    for (int start = 0; start < changes.size(); start += STATUS_CHUNK_SIZE) {
+      int end = Math.min(start + STATUS_CHUNK_SIZE, changes.size());
+      updateStudentCourseStatusChunk(changes, start, end, statusMachine,
+          requestedStudentCourseIds, results);
+      // 変更できた受講生をまとまりごとに1つのイベントにし、索引とキャッシュへの反映をまとめて行う
+      List<Integer> updatedStudentIds = Arrays.stream(results, start, end)
+          .filter(result -> result.getOutcome().isSucceeded())
+          .map(StudentCourseStatusChangeResult::getStudentId)
+          .toList();
+      if (!updatedStudentIds.isEmpty()) {
+        eventPublisher.publishEvent(StudentDataChangedEvent.of(updatedStudentIds));
+      }
     }
-    return reflected;
+    return Arrays.asList(results);
+  }
+
+  /**
+   * ステータス変更内容の start から end の手前までを1つのまとまりとして変更し、結果を results に書き込みます。
+   *
+   * @param changes 受講生コースごとのステータス変更内容
+   * @param start まとまりの先頭の位置
+   * @param end まとまりの末尾の次の位置
+   * @param statusMachine 遷移可否と日付のルールを判定する状態遷移表
+   * @param requestedStudentCourseIds これまでに指定された受講生コースID。重複の判定に使い、このまとまりの分を追加します
+   * @param results 変更結果の書き込み先
+   */
+  private void updateStudentCourseStatusChunk(List<StudentCourseStatusChange> changes, int start,
+      int end, CourseStatusMachine statusMachine, Set<Integer> requestedStudentCourseIds,
+      StudentCourseStatusChangeResult[] results) {
+    List<Integer> studentCourseIds = changes.subList(start, end).stream()
+        .map(StudentCourseStatusChange::getStudentCourseId)
+        .distinct()
+        .toList();
+    Map<Integer, StudentCourse> currentStudentCourses = new HashMap<>();
+    for (StudentCourse studentCourse : studentRepository.findStudentCourseStatuses(studentCourseIds)) {
+      currentStudentCourses.put(studentCourse.getStudentCourseId(), studentCourse);
+    }
+
+    // 遷移できる変更内容の位置を、ステータスの組み合わせごとにまとめる
+    Map<StatusTransition, List<Integer>> indexesByTransition = new LinkedHashMap<>();
+    for (int i = start; i < end; i++) {
+      StudentCourseStatusChange change = changes.get(i);
+      if (!requestedStudentCourseIds.add(change.getStudentCourseId())) {
+        results[i] = StudentCourseStatusChangeResult.of(i, change,
+            StudentCourseStatusChangeOutcome.DUPLICATE, null);
+        continue;
+      }
+      StudentCourse current = currentStudentCourses.get(change.getStudentCourseId());
+      if (current == null || !current.getStudentId().equals(change.getStudentId())) {
+        results[i] = StudentCourseStatusChangeResult.of(i, change,
+            StudentCourseStatusChangeOutcome.NOT_FOUND, null);
+        continue;
+      }
+      StatusTransition transition = new StatusTransition(current.getStatusId(), change.getToStatusId());
+      if (!statusMachine.canTransition(current.getStatusId(), change.getToStatusId())) {
+        results[i] = StudentCourseStatusChangeResult.of(i, change,
+            StudentCourseStatusChangeOutcome.INVALID_TRANSITION, current.getStatusId());
+        continue;
+      }
+      indexesByTransition.computeIfAbsent(transition, key -> new ArrayList<>()).add(i);
+    }
+
+    indexesByTransition.forEach((transition, indexes) -> {
+      List<Integer> targetIds = indexes.stream()
+          .map(i -> changes.get(i).getStudentCourseId())
+          .toList();
+      StudentCourse reflected = reflectStatusTransition(
+          new StudentCourse(null, null, null, transition.getToStatusId(), null, null, null, null), null,
+          statusMachine.findTransition(transition.getFromStatusId(), transition.getToStatusId()));
+      int updatedRows = studentRepository.updateStudentCourseStatuses(targetIds,
+          transition.getFromStatusId(), reflected);
+      Set<Integer> conflictedIds = updatedRows == targetIds.size()
+          ? Set.of()
+          : findConflictedStudentCourseIds(targetIds, transition.getToStatusId());
+
+      for (int i : indexes) {
+        StudentCourseStatusChange change = changes.get(i);
+        StudentCourseStatusChangeOutcome outcome = conflictedIds.contains(change.getStudentCourseId())
+            ? StudentCourseStatusChangeOutcome.CONFLICT
+            : StudentCourseStatusChangeOutcome.UPDATED;
+        results[i] = StudentCourseStatusChangeResult.of(i, change, outcome, transition.getFromStatusId());
+      }
+    });
+  }
+
+  /**
+   * 一括更新の件数が対象の件数に満たなかったとき、変更後のステータスになっていない受講生コースIDを返します。
+   * 読み込んだ後に他の更新でステータスが変わり、UPDATEの条件に一致しなかった受講生コースです。
+   *
+   * @param studentCourseIds 一括更新の対象とした受講生コースID
+   * @param toStatusId 変更後のステータスID
+   * @return 変更後のステータスになっていない受講生コースID
+   */
+  private Set<Integer> findConflictedStudentCourseIds(List<Integer> studentCourseIds, int toStatusId) {
+    Set<Integer> conflictedIds = new HashSet<>(studentCourseIds);
+    for (StudentCourse studentCourse : studentRepository.findStudentCourseStatuses(studentCourseIds)) {
+      if (studentCourse.getStatusId() == toStatusId) {
+        conflictedIds.remove(studentCourse.getStudentCourseId());
+      }
+    }
+    return conflictedIds;
+  }
+
+  /**
+   * 登録する受講生コース情報のリストを、受講生IDと申込状況と受講申込日をセットした新しいリストに変換します。
+   * @param studentCourses 入力された受講生コース情報のリスト
+   * @param studentId 紐づける受講生ID
+   * @return 初期化した受講生コース情報のリスト
+   */
+  private List<StudentCourse> initStudentCourses(List<StudentCourse> studentCourses, Integer studentId) {
+    List<StudentCourse> initedStudentCourseList = new ArrayList<>();
+    for (StudentCourse studentCourse : studentCourses) {
+      initedStudentCourseList.add(initStudentCourse(studentCourse, studentId));
+    }
+    return initedStudentCourseList;
+  }
+
+  /**
+   * 受講生コース情報を1回の複数行INSERTでまとめて登録し、採番された受講生コースIDを各受講生コース情報にセットします。
+   * 複数の受講生コース情報を同時に作るときはこのメソッドを使い、受講生コースの数だけ往復しないようにします。
+   * @param studentCourses 初期化済みの受講生コース情報のリスト。空の場合は何もしません
+   */
+  private void registerStudentCourses(List<StudentCourse> studentCourses) {
+    if (studentCourses.isEmpty()) {
+      return;
+    }
+    studentRepository.registerStudentCourses(studentCourses);
   }
 
   /**
@@ -181,55 +687,439 @@ public class StudentService {
 
   /**
    * 受講生コースのステータス更新に付随して必要な日付情報をセットする。
-   * 「受講中」への遷移なら受講開始日に今日を、受講終了予定日に今日から一年後をセットする。
+   * どの日付に何をセットするかは、状態遷移表から求めた遷移後のステータスの日付のルールに従う。
+   * 既定では「受講中」への遷移なら受講開始日に今日を、受講終了予定日に今日から一年後をセットし、
    * 「受講終了」への遷移なら受講終了実績日に今日をセットする。
    * 更新時にリポジトリ層で使用しないコースコードと受講申込日は明示的にnullをセットする。
    * @param studentCourse 受講生コース
    * @param studentId 受講生ID
+   * @param dateRule 遷移後のステータスの日付のルール
    * @return ステータス遷移に応じて日付情報をセットされた受講生コース
    */
-  private StudentCourse reflectStatusTransition(StudentCourse studentCourse, Integer studentId){
+  private StudentCourse reflectStatusTransition(StudentCourse studentCourse, Integer studentId,
+      CourseDateRule dateRule){
     LocalDate now = LocalDate.now();
-    Integer toStatusId = studentCourse.getStatusId();
 
-    // statusId==3は受講中、statusId==4は受講終了
     return new StudentCourse(
       studentCourse.getStudentCourseId(),
         studentId,
         null,
-        toStatusId,
+        studentCourse.getStatusId(),
         null,
-        toStatusId == 3 ? now : null,
-        toStatusId == 3 ? now.plusYears(1) : null,
-        toStatusId == 4 ? now : null
+        dateRule.courseStartAt(now),
+        dateRule.coursePlannedEndAt(now),
+        dateRule.courseFinishedAt(now)
     );
   }
 
   /**
-   * 検索条件（StudentSearchCriteria）に基づき、受講生IDを検索し、
-   * 各受講生IDに対応する受講生詳細情報を組み立てて返却します。
+   * 検索条件（StudentSearchCriteria）とページング条件に基づき受講生IDを検索し、
+   * 一致した受講生IDに対応する受講生詳細情報をまとめて組み立てて返却します。
+   * OFFSETではなく前ページ末尾の受講生IDを起点に検索するため、後方のページでも検索コストは変わりません。
+   * 並び順が指定されていれば、searchSortedStudentDetailPageで上位K件を求めて返します。
+   * 一致した受講生IDのリストは、正規化した検索条件とページング条件をキーにキャッシュします。
+   * キャッシュにない場合は、列ごとの条件に一致する受講生IDのビットマップを組み合わせて求めます。
    *
    * @param criteria 検索条件を保持するオブジェクト
-   * @return 条件に一致する受講生詳細の一覧
+   * @param page ページング条件
+   * @return 条件に一致する受講生詳細の1ページ分と次ページのカーソル
    */
-  private List<StudentDetail> searchStudentDetails(StudentSearchCriteria criteria) {
-    List<Integer> studentIdList = studentRepository.findMatchedStudentIds(criteria);
+  private StudentDetailPage searchStudentDetailPage(StudentSearchCriteria criteria,
+      SearchPageRequest page) {
+    int pageSize = resolvePageSize(page.getLimit());
+    StudentProjection projection = StudentProjection.of(page.getFields());
+    criteria.applySort(StudentSortKey.parseAll(page.getSort()));
+    if (criteria.isSorted()) {
+      return searchSortedStudentDetailPage(criteria, page.getAfter(), pageSize, projection);
+    }
+    Integer afterStudentId = PageCursor.decode(page.getAfter());
+
+    // 次ページの有無を判定するために1件多く取得する
+    criteria.applyPage(afterStudentId, pageSize + 1);
+    // 同じ結果になる条件が同じキャッシュエントリを共有するよう正規化する
+    criteria.normalize();
+    List<Integer> studentIdList = searchResultCache.getMatchedStudentIds(criteria,
+        key -> filterBitmapCache.findMatchedStudentIds(key, this::findMatchedStudentIds));
 
-    return studentIdList.stream()
-        .map(this::buildStudentDetail)
+    boolean hasNext = studentIdList.size() > pageSize;
+    List<Integer> pageStudentIds = hasNext ? studentIdList.subList(0, pageSize) : studentIdList;
+    String nextCursor = hasNext ? PageCursor.encode(pageStudentIds.get(pageSize - 1)) : null;
+
+    return new StudentDetailPage(buildStudentDetails(pageStudentIds, projection), nextCursor);
+  }
+
+  /**
+   * 並び順が指定された検索で、並び順の先頭から次ページの末尾までの受講生IDを上位K件として求め、
+   * カーソルのオフセットより後ろの1ページ分の受講生詳細を返します。
+   * 上位K件は全件を並び替えずに求めます（インメモリ検索エンジンでは件数Kのヒープ、DBでは ORDER BY と LIMIT）。
+   * Kはページの深さに比例するため、並び替えの範囲（sortWindow）までに制限し、範囲の末尾では次ページのカーソルを返しません。
+   * 受講生IDの順でないため、列ごとのビットマップキャッシュは使わず、検索結果のキャッシュだけを使います。
+   *
+   * @param criteria 並び順を設定済みの検索条件
+   * @param cursor 前ページのカーソル。先頭ページならnull
+   * @param pageSize 1ページあたりの取得件数
+   * @param projection レスポンスに含める項目。nullなら全項目
+   * @return 条件に一致する受講生詳細の1ページ分と次ページのカーソル
+   * @throws InvalidPageCursorException カーソルのオフセットが並び替えの範囲を超える場合
+   */
+  private StudentDetailPage searchSortedStudentDetailPage(StudentSearchCriteria criteria,
+      String cursor, int pageSize, StudentProjection projection) {
+    int sortWindow = searchProperties.getSortWindow();
+    int offset = PageCursor.decodeOffset(cursor, sortWindow);
+    int pageEnd = (int) Math.min((long) offset + pageSize, sortWindow);
+    // 次ページの有無を判定するために1件多く取得する
+    criteria.applyPage(null, pageEnd + 1);
+    criteria.normalize();
+    List<Integer> studentIdList =
+        searchResultCache.getMatchedStudentIds(criteria, this::findMatchedStudentIds);
+
+    int from = Math.min(offset, studentIdList.size());
+    int to = Math.min(pageEnd, studentIdList.size());
+    boolean hasNext = studentIdList.size() > to && to < sortWindow;
+    List<Integer> pageStudentIds = studentIdList.subList(from, to);
+    String nextCursor = hasNext ? PageCursor.encodeOffset(to) : null;
+
+    return new StudentDetailPage(buildStudentDetails(pageStudentIds, projection), nextCursor);
+  }
+
+  /**
+   * 検索条件に一致する受講生IDを、検索条件の並び順（指定がなければ受講生IDの昇順）で検索します。
+   * インメモリ検索エンジンが使用可能ならメモリ上で、そうでなければDBで検索します。
+   * DBで検索する場合、部分一致・後方一致検索の条件があれば索引で候補の受講生IDを絞り込んでから検索します。
+   *
+   * @param criteria 検索条件を保持するオブジェクト
+   * @return 条件に一致する受講生IDのリスト
+   */
+  private List<Integer> findMatchedStudentIds(StudentSearchCriteria criteria) {
+    if (searchEngine.isAvailable()) {
+      return searchEngine.findMatchedStudentIds(criteria);
+    }
+    if (!restrictToIndexCandidates(criteria)) {
+      return List.of();
+    }
+    return studentRepository.findMatchedStudentIds(criteria);
+  }
+
+  /**
+   * 複数の検索条件それぞれに一致する受講生IDを検索します。
+   * インメモリ検索エンジンが使用可能なら、列ストアの1回の走査で全ての検索条件を評価します。
+   * そうでなければ検索条件ごとにDBで検索します。並び順の指定がない検索条件は列ごとのビットマップキャッシュを通すため、
+   * 検索条件の間で共通するフィールドの条件は1回だけ検索されます。
+   *
+   * @param criteriaList 検索条件のリスト
+   * @return 検索条件と同じ順の、条件に一致する受講生IDのリスト
+   */
+  private List<List<Integer>> findAllMatchedStudentIds(List<StudentSearchCriteria> criteriaList) {
+    if (searchEngine.isAvailable()) {
+      return searchEngine.findAllMatchedStudentIds(criteriaList);
+    }
+    List<List<Integer>> results = new ArrayList<>(criteriaList.size());
+    for (StudentSearchCriteria criteria : criteriaList) {
+      results.add(criteria.isSorted()
+          ? findMatchedStudentIds(criteria)
+          : filterBitmapCache.findMatchedStudentIds(criteria, this::findMatchedStudentIds));
+    }
+    return results;
+  }
+
+  /**
+   * 使用可能な索引で部分一致検索（n-gram索引）、後方一致検索（逆順キー索引）、
+   * 受講期間・受講開始日の検索（区間索引）の候補となる受講生IDを絞り込み、全ての候補に含まれる受講生IDを検索条件に設定します。
+   * 検索条件に既に候補の受講生IDが設定されていれば、その中からさらに絞り込みます。
+   *
+   * @param criteria 検索条件を保持するオブジェクト
+   * @return 候補が1件もなく、DBで検索するまでもなく一致する受講生がいない場合はfalse
+   */
+  private boolean restrictToIndexCandidates(StudentSearchCriteria criteria) {
+    List<Integer> candidateStudentIds = criteria.getCandidateStudentIds();
+    if (ngramIndex.isAvailable()) {
+      candidateStudentIds =
+          intersectSorted(candidateStudentIds, ngramIndex.findCandidateStudentIds(criteria));
+    }
+    if (suffixIndex.isAvailable()) {
+      candidateStudentIds =
+          intersectSorted(candidateStudentIds, suffixIndex.findCandidateStudentIds(criteria));
+    }
+    if (intervalIndex.isAvailable()) {
+      candidateStudentIds =
+          intersectSorted(candidateStudentIds, intervalIndex.findCandidateStudentIds(criteria));
+    }
+    if (candidateStudentIds != null && candidateStudentIds.isEmpty()) {
+      return false;
+    }
+    criteria.restrictToStudentIds(candidateStudentIds);
+    return true;
+  }
+
+  /**
+   * LIKEのワイルドカード（%, _）とエスケープ文字（\）の前にエスケープ文字を付け、文字として一致させます。
+   * エスケープ文字はMySQLとH2のLIKEの既定値（\）で、NgramTokenizerやLikePatternが解釈する規則と同じです。
+   *
+   * @param text 文字列
+   * @return LIKEのパターンに埋め込める文字列
+   */
+  private static String escapeLike(String text) {
+    StringBuilder escaped = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '%' || c == '_' || c == '\\') {
+        escaped.append('\\');
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+
+  /**
+   * 昇順に並んだ2つの受講生IDのリストの共通部分を返します。nullは絞り込みなし（全件）として扱います。
+   *
+   * @param left 昇順の受講生IDのリスト。またはnull
+   * @param right 昇順の受講生IDのリスト。またはnull
+   * @return 共通部分のリスト。両方nullならnull
+   */
+  private static List<Integer> intersectSorted(List<Integer> left, List<Integer> right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    List<Integer> intersection = new ArrayList<>(Math.min(left.size(), right.size()));
+    int i = 0;
+    int j = 0;
+    while (i < left.size() && j < right.size()) {
+      int compared = Integer.compare(left.get(i), right.get(j));
+      if (compared == 0) {
+        intersection.add(left.get(i));
+        i++;
+        j++;
+      } else if (compared < 0) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return intersection;
+  }
+
+  /**
+   * 検索条件に一致する受講生IDをカーソルで読み出し、STREAM_CHUNK_SIZE件ごとに受講生詳細を組み立ててconsumerへまとめて渡します。
+   * 一度に大量の受講生を読み出すため、受講生詳細キャッシュは参照も更新もしません。
+   *
+   * @param criteria 検索条件を保持するオブジェクト
+   * @param consumer 組み立てた受講生詳細をSTREAM_CHUNK_SIZE件ごとに受け取る処理
+   */
+  private void streamStudentDetails(StudentSearchCriteria criteria,
+      Consumer<List<StudentDetail>> consumer) {
+    if (!restrictToIndexCandidates(criteria)) {
+      return;
+    }
+    try (Cursor<Integer> cursor = studentRepository.streamMatchedStudentIds(criteria)) {
+      List<Integer> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+
+      for (Integer studentId : cursor) {
+        chunk.add(studentId);
+        if (chunk.size() == STREAM_CHUNK_SIZE) {
+          consumer.accept(buildUncachedStudentDetails(chunk));
+          chunk.clear();
+        }
+      }
+      // 端数分
+      if (!chunk.isEmpty()) {
+        consumer.accept(buildUncachedStudentDetails(chunk));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 検索条件に一致する受講生の行をカーソルで受講生ID順に読み出し、人数と集計項目の値ごとの人数を数えます。
+   * 受講コースの項目を集計しない場合は受講生コースを結合せず、受講生1人につき1行だけ読み出します。
+   *
+   * @param criteria 検索条件を保持するオブジェクト
+   * @param facets 集計項目
+   * @param counter 数えた結果を加える先
+   */
+  private void countFacetRows(StudentSearchCriteria criteria, Set<StudentFacet> facets,
+      StudentFacetCounter counter) {
+    boolean hasCourseFacets = facets.stream().anyMatch(StudentFacet::isCourseFacet);
+    try (Cursor<StudentFacetRow> cursor = hasCourseFacets
+        ? studentRepository.streamStudentCourseFacetRows(criteria)
+        : studentRepository.streamStudentFacetRows(criteria)) {
+      for (StudentFacetRow row : cursor) {
+        counter.addRow(row);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * リクエストで指定された取得件数を、設定された既定値と上限値に基づいて確定します。
+   * @param requestedLimit リクエストで指定された取得件数（未指定ならnull）
+   * @return 1ページあたりの取得件数
+   */
+  private int resolvePageSize(Integer requestedLimit) {
+    if (requestedLimit == null) {
+      return searchProperties.getDefaultPageSize();
+    }
+    return Math.min(requestedLimit, searchProperties.getMaxPageSize());
+  }
+
+  /**
+   * 受講生IDのリストに対応する受講生詳細を組み立てます。
+   * 受講生詳細キャッシュにない受講生IDの分だけをまとめて検索し、返却順は引数の受講生IDの順序を保持します。
+   *
+   * @param studentIds 受講生IDのリスト
+   * @return 受講生詳細の一覧
+   */
+  private List<StudentDetail> buildStudentDetails(List<Integer> studentIds) {
+    if (studentIds.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Integer, StudentDetail> studentDetailMap =
+        studentDetailCache.getStudentDetails(studentIds, this::loadStudentDetails);
+
+    // 受講生が取得できなかったIDは結果に含めない
+    return studentIds.stream()
+        .filter(studentDetailMap::containsKey)
+        .map(studentDetailMap::get)
+        .toList();
+  }
+
+  /**
+   * 受講生IDのリストに対応する受講生詳細を、受講生詳細キャッシュを使わずに組み立てます。
+   * 全件の書き出しのように一度しか参照しない受講生詳細で、よく参照される受講生詳細がキャッシュから追い出されないようにします。
+   * 返却順は引数の受講生IDの順序を保持します。
+   *
+   * @param studentIds 受講生IDのリスト
+   * @return 受講生詳細の一覧
+   */
+  private List<StudentDetail> buildUncachedStudentDetails(List<Integer> studentIds) {
+    if (studentIds.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Integer, StudentDetail> studentDetailMap = loadStudentDetails(studentIds);
+
+    // 受講生が取得できなかったIDは結果に含めない
+    return studentIds.stream()
+        .filter(studentDetailMap::containsKey)
+        .map(studentDetailMap::get)
+        .toList();
+  }
+
+  /**
+   * 受講生IDのリストに対応する受講生詳細を、指定された項目だけで組み立てます。
+   * 受講生詳細キャッシュにある受講生詳細はそのまま使い、ない受講生IDの分だけ指定された列を検索します。
+   * 取得項目を絞った受講生詳細はキャッシュしません。返却順は引数の受講生IDの順序を保持します。
+   *
+   * @param studentIds 受講生IDのリスト
+   * @param projection レスポンスに含める項目。nullなら全項目
+   * @return 受講生詳細の一覧。指定されなかった項目はnull
+   */
+  private List<StudentDetail> buildStudentDetails(List<Integer> studentIds,
+      StudentProjection projection) {
+    if (projection == null) {
+      return buildStudentDetails(studentIds);
+    }
+    if (studentIds.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Integer, StudentDetail> studentDetailMap =
+        new HashMap<>(studentDetailCache.getPresentStudentDetails(studentIds));
+    List<Integer> missingIds = studentIds.stream()
+        .filter(id -> !studentDetailMap.containsKey(id))
+        .distinct()
+        .toList();
+    if (!missingIds.isEmpty()) {
+      studentDetailMap.putAll(loadProjectedStudentDetails(missingIds, projection));
+    }
+
+    // 受講生が取得できなかったIDは結果に含めない
+    return studentIds.stream()
+        .filter(studentDetailMap::containsKey)
+        .map(studentDetailMap::get)
         .toList();
   }
 
+  /**
+   * 受講生IDのリストに対応する受講生詳細を、受講生と受講生コース情報の一括検索で組み立てます。
+   * 受講生IDはID_CHUNK_SIZE件ごとに分割して検索するため、クエリ発行回数は件数に比例せず
+   * 分割数 × 2 回に収まります。
+   *
+   * @param studentIds 受講生IDのリスト
+   * @return 受講生IDをキーとする受講生詳細のMap。受講生が取得できなかったIDは含まない
+   */
+  private Map<Integer, StudentDetail> loadStudentDetails(List<Integer> studentIds) {
+    Map<Integer, Student> studentMap = new HashMap<>();
+    Map<Integer, List<StudentCourse>> studentCourseMap = new HashMap<>();
+
+    for (int from = 0; from < studentIds.size(); from += ID_CHUNK_SIZE) {
+      List<Integer> chunk = studentIds.subList(from, Math.min(from + ID_CHUNK_SIZE, studentIds.size()));
+
+      for (Student student : studentRepository.searchStudentsByIds(chunk)) {
+        studentMap.put(student.getStudentId(), student);
+      }
+      for (StudentCourse studentCourse : studentRepository.searchStudentCoursesByStudentIds(chunk)) {
+        studentCourseMap.computeIfAbsent(studentCourse.getStudentId(), id -> new ArrayList<>())
+            .add(studentCourse);
+      }
+    }
+
+    Map<Integer, StudentDetail> studentDetailMap = new HashMap<>();
+    studentMap.forEach((id, student) -> studentDetailMap.put(id,
+        new StudentDetail(student, studentCourseMap.getOrDefault(id, List.of()))));
+    return studentDetailMap;
+  }
+
+  /**
+   * 受講生IDのリストに対応する受講生詳細を、受講生の指定された列と、指定があれば受講生コース情報の一括検索で組み立てます。
+   * 受講生コース情報が指定されていなければ受講生コースは検索せず、受講生コースのリストはnullになります。
+   *
+   * @param studentIds 受講生IDのリスト
+   * @param projection レスポンスに含める項目
+   * @return 受講生IDをキーとする受講生詳細のMap。受講生が取得できなかったIDは含まない
+   */
+  private Map<Integer, StudentDetail> loadProjectedStudentDetails(List<Integer> studentIds,
+      StudentProjection projection) {
+    List<String> columns = projection.studentColumns();
+    Map<Integer, Student> studentMap = new HashMap<>();
+    Map<Integer, List<StudentCourse>> studentCourseMap = new HashMap<>();
+
+    for (int from = 0; from < studentIds.size(); from += ID_CHUNK_SIZE) {
+      List<Integer> chunk = studentIds.subList(from, Math.min(from + ID_CHUNK_SIZE, studentIds.size()));
+
+      for (Student student : studentRepository.searchStudentColumnsByIds(chunk, columns)) {
+        studentMap.put(student.getStudentId(), student);
+      }
+      if (projection.includesStudentCourses()) {
+        for (StudentCourse studentCourse : studentRepository.searchStudentCoursesByStudentIds(chunk)) {
+          studentCourseMap.computeIfAbsent(studentCourse.getStudentId(), id -> new ArrayList<>())
+              .add(studentCourse);
+        }
+      }
+    }
+
+    Map<Integer, StudentDetail> studentDetailMap = new HashMap<>();
+    studentMap.forEach((id, student) -> studentDetailMap.put(id, new StudentDetail(student,
+        projection.includesStudentCourses() ? studentCourseMap.getOrDefault(id, List.of()) : null)));
+    return studentDetailMap;
+  }
+
   /**
    * 受講生IDに紐づく受講生と受講生コース情報を検索し、受講生詳細情報として組み上げます。
    * @param studentId 受講生ID
-   * @return 受講生詳細
+   * @return 受講生詳細。受講生が存在しなければnull
    */
   private StudentDetail buildStudentDetail(int studentId){
     Student student = studentRepository.searchStudent(studentId);
     List<StudentCourse> studentCourses = studentRepository.searchStudentCourses(studentId);
 
-    return new StudentDetail(student, studentCourses);
+    return student == null ? null : new StudentDetail(student, studentCourses);
   }
 
 }
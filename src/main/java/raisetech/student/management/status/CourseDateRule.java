@@ -0,0 +1,54 @@
+package raisetech.student.management.status;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * 受講生コースがあるステータスに遷移したときに、受講生コースの日付をどう設定するかを表すルールです。
+ * ステータスごとのルールは student.course-status.date-rules で設定します。
+ */
+public enum CourseDateRule {
+  /** 日付を変更しない */
+  NONE(false, null, false),
+  /** 受講を開始する。受講開始日を当日、受講終了予定日を当日の1年後にする */
+  START(true, Period.ofYears(1), false),
+  /** 受講を終了する。受講終了実績日を当日にする */
+  FINISH(false, null, true);
+
+  private final boolean setsStartAt;
+  private final Period plannedPeriod;
+  private final boolean setsFinishedAt;
+
+  CourseDateRule(boolean setsStartAt, Period plannedPeriod, boolean setsFinishedAt) {
+    this.setsStartAt = setsStartAt;
+    this.plannedPeriod = plannedPeriod;
+    this.setsFinishedAt = setsFinishedAt;
+  }
+
+  /**
+   * 遷移後の受講開始日を返します。
+   * @param today 遷移した日
+   * @return 受講開始日。変更しない場合はnull
+   */
+  public LocalDate courseStartAt(LocalDate today) {
+    return setsStartAt ? today : null;
+  }
+
+  /**
+   * 遷移後の受講終了予定日を返します。
+   * @param today 遷移した日
+   * @return 受講終了予定日。変更しない場合はnull
+   */
+  public LocalDate coursePlannedEndAt(LocalDate today) {
+    return plannedPeriod != null ? today.plus(plannedPeriod) : null;
+  }
+
+  /**
+   * 遷移後の受講終了実績日を返します。
+   * @param today 遷移した日
+   * @return 受講終了実績日。変更しない場合はnull
+   */
+  public LocalDate courseFinishedAt(LocalDate today) {
+    return setsFinishedAt ? today : null;
+  }
+}
@@ -0,0 +1,138 @@
+package raisetech.student.management.status;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import raisetech.student.management.data.master.CourseStatus;
+import raisetech.student.management.data.master.StatusTransition;
+
+/**
+ * ステータスマスタと遷移マスタをコンパイルした、受講生コースのステータスの状態遷移表です。
+ * 遷移前のステータスIDごとに遷移できるステータスIDのビットセットを持ち、
+ * 遷移できるかと、遷移したときに設定する日付のルールを1回の参照で返します。
+ * 作成後は変更しないため、複数のスレッドから同期せずに参照できます。
+ */
+public final class CourseStatusMachine {
+
+  /** 遷移前のステータスIDを添字とする、遷移できるステータスIDの集合。終端のステータスは空 */
+  private final BitSet[] transitions;
+
+  /** ステータスIDを添字とする、終端のステータスかどうか */
+  private final boolean[] terminal;
+
+  /** 遷移後のステータスIDを添字とする、遷移したときの日付のルール */
+  private final CourseDateRule[] dateRules;
+
+  private CourseStatusMachine(BitSet[] transitions, boolean[] terminal, CourseDateRule[] dateRules) {
+    this.transitions = transitions;
+    this.terminal = terminal;
+    this.dateRules = dateRules;
+  }
+
+  /**
+   * ステータスマスタと遷移マスタの内容から状態遷移表を作ります。
+   * CourseStatusRepository#canTransition と同じく、終端のステータスからの遷移と、
+   * ステータスマスタにないステータスを含む遷移は遷移できないものとします。
+   *
+   * @param statuses ステータスマスタの全件
+   * @param statusTransitions 遷移マスタの全件
+   * @param dateRules 遷移後のステータスIDごとの日付のルール。指定のないステータスは NONE
+   * @return 状態遷移表
+   */
+  public static CourseStatusMachine compile(List<CourseStatus> statuses,
+      List<StatusTransition> statusTransitions, Map<Integer, CourseDateRule> dateRules) {
+    int size = statuses.stream().mapToInt(CourseStatus::getStatusId).max().orElse(-1) + 1;
+    BitSet[] transitions = new BitSet[size];
+    boolean[] terminal = new boolean[size];
+    CourseDateRule[] rules = new CourseDateRule[size];
+    for (CourseStatus status : statuses) {
+      int statusId = status.getStatusId();
+      if (statusId < 0) {
+        throw new IllegalStateException("ステータスIDが負の値です: " + statusId);
+      }
+      transitions[statusId] = new BitSet(size);
+      terminal[statusId] = status.isTerminal();
+      rules[statusId] = dateRules.getOrDefault(statusId, CourseDateRule.NONE);
+    }
+    for (StatusTransition transition : statusTransitions) {
+      int from = transition.getFromStatusId();
+      int to = transition.getToStatusId();
+      if (isDefined(transitions, from) && isDefined(transitions, to) && !terminal[from]) {
+        transitions[from].set(to);
+      }
+    }
+    return new CourseStatusMachine(transitions, terminal, rules);
+  }
+
+  /**
+   * 遷移前のステータスから遷移後のステータスへ遷移できるかを判定し、遷移できる場合は設定する日付のルールを返します。
+   *
+   * @param fromStatusId 遷移前のステータスID
+   * @param toStatusId 遷移後のステータスID
+   * @return 遷移したときの日付のルール。遷移できない場合はnull
+   */
+  public CourseDateRule findTransition(int fromStatusId, int toStatusId) {
+    if (!isDefined(transitions, fromStatusId) || toStatusId < 0
+        || !transitions[fromStatusId].get(toStatusId)) {
+      return null;
+    }
+    return dateRules[toStatusId];
+  }
+
+  /**
+   * 遷移後のステータスへ遷移できる、遷移前のステータスIDを昇順で返します。
+   * 遷移前のステータスを指定しない更新で、UPDATEの条件に使用します。
+   *
+   * @param toStatusId 遷移後のステータスID
+   * @return 遷移前のステータスIDのリスト。どこからも遷移できない場合は空
+   */
+  public List<Integer> findFromStatusIds(int toStatusId) {
+    List<Integer> fromStatusIds = new ArrayList<>();
+    if (!isDefined(transitions, toStatusId)) {
+      return fromStatusIds;
+    }
+    for (int from = 0; from < transitions.length; from++) {
+      if (transitions[from] != null && transitions[from].get(toStatusId)) {
+        fromStatusIds.add(from);
+      }
+    }
+    return fromStatusIds;
+  }
+
+  /**
+   * 遷移後のステータスの日付のルールを返します。日付のルールは遷移前のステータスによらず、遷移後のステータスだけで決まります。
+   *
+   * @param toStatusId 遷移後のステータスID
+   * @return 日付のルール。ステータスマスタにないステータスはnull
+   */
+  public CourseDateRule findDateRule(int toStatusId) {
+    return isDefined(transitions, toStatusId) ? dateRules[toStatusId] : null;
+  }
+
+  /**
+   * 遷移前のステータスから遷移後のステータスへ遷移できるかを返します。
+   *
+   * @param fromStatusId 遷移前のステータスID
+   * @param toStatusId 遷移後のステータスID
+   * @return 遷移できる場合はtrue
+   */
+  public boolean canTransition(int fromStatusId, int toStatusId) {
+    return findTransition(fromStatusId, toStatusId) != null;
+  }
+
+  /**
+   * 終端のステータスかを返します。
+   *
+   * @param statusId ステータスID
+   * @return 終端のステータスならtrue。ステータスマスタにないステータスはfalse
+   */
+  public boolean isTerminal(int statusId) {
+    return isDefined(transitions, statusId) && terminal[statusId];
+  }
+
+  private static boolean isDefined(BitSet[] transitions, int statusId) {
+    return statusId >= 0 && statusId < transitions.length && transitions[statusId] != null;
+  }
+
+}
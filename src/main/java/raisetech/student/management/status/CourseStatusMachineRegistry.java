@@ -0,0 +1,115 @@
+package raisetech.student.management.status;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.config.CourseStatusProperties;
+import raisetech.student.management.repository.CourseStatusRepository;
+
+/**
+ * ステータスマスタと遷移マスタから作った状態遷移表を保持します。
+ * アプリケーションの起動完了時に読み込み、以降は student.course-status.reload-interval ごとに読み込み直します。
+ * 読み込み直している間も、他のスレッドには読み込み済みの状態遷移表を返し、読み込みの完了を待たせません。
+ * マスタを変更した直後に反映したい場合は reload() で読み込み直します。
+ */
+@Component
+public class CourseStatusMachineRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(CourseStatusMachineRegistry.class);
+
+  private final CourseStatusRepository statusRepository;
+  private final Map<Integer, CourseDateRule> dateRules;
+  private final long reloadIntervalNanos;
+
+  /** 読み込み済みの状態遷移表。読み込むまではnull */
+  private volatile CourseStatusMachine machine;
+
+  /** 状態遷移表を読み込んだ時刻（System.nanoTime） */
+  private volatile long loadedAtNanos;
+
+  /** 間隔を過ぎた状態遷移表をいずれかのスレッドが読み込み直している間true */
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  @Autowired
+  public CourseStatusMachineRegistry(CourseStatusRepository statusRepository,
+      CourseStatusProperties properties) {
+    this.statusRepository = statusRepository;
+    this.dateRules = Map.copyOf(properties.getDateRules());
+    Duration reloadInterval = properties.getReloadInterval();
+    this.reloadIntervalNanos = reloadInterval.isNegative() || reloadInterval.isZero()
+        ? Long.MAX_VALUE
+        : reloadInterval.toNanos();
+  }
+
+  /**
+   * アプリケーションの起動完了時に状態遷移表を読み込みます。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    reload();
+  }
+
+  /**
+   * 状態遷移表を返します。まだ読み込んでいなければ読み込みます。
+   * 読み込み直す間隔を過ぎていれば、最初に参照したスレッドだけが読み込み直し、
+   * その間に参照した他のスレッドには読み込み済みの状態遷移表をそのまま返します。
+   *
+   * @return 状態遷移表
+   */
+  public CourseStatusMachine current() {
+    CourseStatusMachine current = machine;
+    if (current == null) {
+      return loadIfAbsent();
+    }
+    if (isStale() && refreshing.compareAndSet(false, true)) {
+      try {
+        // 他のスレッドが読み込み直した直後なら読み込まない
+        return isStale() ? reload() : machine;
+      } catch (RuntimeException e) {
+        // 読み込み済みの状態遷移表を使い続け、次の参照で読み込み直す
+        log.warn("状態遷移表を読み込み直せなかったため、読み込み済みの状態遷移表を使用します", e);
+        return current;
+      } finally {
+        refreshing.set(false);
+      }
+    }
+    return current;
+  }
+
+  /**
+   * ステータスマスタと遷移マスタを読み込み、状態遷移表を作り直します。
+   *
+   * @return 作り直した状態遷移表
+   */
+  public synchronized CourseStatusMachine reload() {
+    CourseStatusMachine reloaded = CourseStatusMachine.compile(
+        statusRepository.findAllStatuses(), statusRepository.findAllTransitions(), dateRules);
+    loadedAtNanos = System.nanoTime();
+    machine = reloaded;
+    return reloaded;
+  }
+
+  /**
+   * 読み込んでから読み込み直す間隔を過ぎているかを返します。
+   */
+  private boolean isStale() {
+    return System.nanoTime() - loadedAtNanos >= reloadIntervalNanos;
+  }
+
+  /**
+   * まだ読み込んでいなければ読み込みます。起動直後に参照が重なっても、読み込みは1回にします。
+   *
+   * @return 状態遷移表
+   */
+  private synchronized CourseStatusMachine loadIfAbsent() {
+    CourseStatusMachine current = machine;
+    return current != null ? current : reload();
+  }
+
+}
@@ -80,18 +80,18 @@ public class SearchFilterValidator implements ConstraintValidator<ValidSearchFil
 
     switch (operator) {
 
-      case BETWEEN -> {
+      case BETWEEN, OVERLAPS -> {
 
         // values 未指定
         if (!hasValues) {
-          addError(context, "values", "BETWEENではvaluesは2件で指定してください。");
+          addError(context, "values", operator + "ではvaluesは2件で指定してください。");
           isValid = false;
           break;
         }
 
         // 要素数チェック
         if (valuesSize != 2) {
-          addError(context, "values", "BETWEENではvaluesは2件で指定してください。");
+          addError(context, "values", operator + "ではvaluesは2件で指定してください。");
           isValid = false;
         }
       }
@@ -136,7 +136,7 @@ public class SearchFilterValidator implements ConstraintValidator<ValidSearchFil
 
     // 演算子に基づいて、チェックすべき値だけをピックアップする
     switch (operator) {
-      case BETWEEN, IN -> {
+      case BETWEEN, OVERLAPS, IN -> {
         if (filter.getValues() != null) {
           filter.getValues().stream()
               .filter(v -> v != null && !v.isBlank())
@@ -0,0 +1,226 @@
+package raisetech.student.management.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.config.StudentDetailCacheProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.testutil.TestDataFactory;
+
+class StudentDetailCacheTest {
+
+  private StudentDetailCache sut;
+
+  private AtomicInteger loadCount;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentDetailCache(new StudentDetailCacheProperties(), new SimpleMeterRegistry());
+    loadCount = new AtomicInteger();
+  }
+
+  private StudentDetail load(int studentId) {
+    loadCount.incrementAndGet();
+    return TestDataFactory.makeCompletedStudentDetail(studentId, studentId);
+  }
+
+  private Map<Integer, StudentDetail> loadAll(List<Integer> studentIds) {
+    Map<Integer, StudentDetail> result = new HashMap<>();
+    studentIds.forEach(id -> result.put(id, load(id)));
+    return result;
+  }
+
+  /**
+   * 年齢を版数として使い、どの時点のデータから組み立てた受講生詳細かを判別できるようにする
+   */
+  private static StudentDetail makeVersionedDetail(int studentId, int version) {
+    Student student = new Student(studentId, "山田太郎", "やまだたろう", "タロー", "taro@email.com",
+        "東京都練馬区", "090-0000-0000", version, "男", "特になし", false);
+    return new StudentDetail(student, List.of());
+  }
+
+  @Test
+  void 単一取得_2回目以降はloaderを呼ばずにキャッシュした受講生詳細を返すこと() {
+    StudentDetail first = sut.getStudentDetail(1, this::load);
+    StudentDetail second = sut.getStudentDetail(1, this::load);
+
+    assertEquals(TestDataFactory.makeCompletedStudentDetail(1, 1), first);
+    assertEquals(first, second);
+    assertEquals(1, loadCount.get());
+  }
+
+  @Test
+  void 単一取得_loaderがnullを返した受講生はキャッシュしないこと() {
+    assertNull(sut.getStudentDetail(999, id -> {
+      loadCount.incrementAndGet();
+      return null;
+    }));
+    sut.getStudentDetail(999, this::load);
+
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  void 一括取得_キャッシュにない受講生IDだけをloaderに渡すこと() {
+    sut.getStudentDetail(1, this::load);
+    List<List<Integer>> requestedIds = new ArrayList<>();
+
+    Map<Integer, StudentDetail> actual = sut.getStudentDetails(List.of(1, 2, 3, 2), ids -> {
+      requestedIds.add(ids);
+      return loadAll(ids);
+    });
+
+    assertEquals(List.of(List.of(2, 3)), requestedIds);
+    assertEquals(3, actual.size());
+    assertEquals(TestDataFactory.makeCompletedStudentDetail(3, 3), actual.get(3));
+  }
+
+  @Test
+  void 一括取得_全てキャッシュにあればloaderを呼ばないこと() {
+    sut.getStudentDetails(List.of(1, 2), this::loadAll);
+    loadCount.set(0);
+
+    Map<Integer, StudentDetail> actual = sut.getStudentDetails(List.of(2, 1), ids -> {
+      throw new AssertionError("loaderは呼ばれないはず");
+    });
+
+    assertEquals(2, actual.size());
+    assertEquals(0, loadCount.get());
+  }
+
+  @Test
+  void 受講生データ変更イベントを受け取るとその受講生たちのエントリだけを破棄すること() {
+    sut.getStudentDetails(List.of(1, 2, 3), this::loadAll);
+
+    sut.onStudentDataChanged(StudentDataChangedEvent.of(List.of(1, 3)));
+    sut.getStudentDetail(1, this::load);
+    sut.getStudentDetail(2, this::load);
+    sut.getStudentDetail(3, this::load);
+
+    assertEquals(5, loadCount.get());
+  }
+
+  @Test
+  void 読み込み中に破棄された受講生詳細はキャッシュしないこと() {
+    // 読み込み中に別トランザクションの更新がコミットされた状況
+    sut.getStudentDetail(1, id -> {
+      StudentDetail detail = load(id);
+      sut.onStudentDataChanged(new StudentDataChangedEvent(id));
+      return detail;
+    });
+    sut.getStudentDetail(1, this::load);
+
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  void キャッシュした受講生詳細の受講生コースのリストは変更できないこと() {
+    StudentDetail actual = sut.getStudentDetail(1, this::load);
+
+    assertThrows(UnsupportedOperationException.class,
+        () -> actual.getStudentCourses().add(TestDataFactory.makeCompletedStudentCourse(1, 2)));
+  }
+
+  @Test
+  void ヒット件数とミス件数と破棄件数をメトリクスとして記録すること() {
+    StudentDetailCacheProperties properties = new StudentDetailCacheProperties();
+    properties.setMaximumSize(2);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    StudentDetailCache smallCache = new StudentDetailCache(properties, registry);
+
+    smallCache.getStudentDetail(1, this::load);
+    smallCache.getStudentDetail(1, this::load);
+    for (int studentId = 2; studentId <= 5; studentId++) {
+      smallCache.getStudentDetail(studentId, this::load);
+    }
+    smallCache.cleanUp();
+
+    assertEquals(1, smallCache.getStats().hitCount());
+    assertEquals(5, smallCache.getStats().missCount());
+    assertEquals(3, smallCache.getStats().evictionCount());
+    assertEquals(1.0, registry.get("cache.gets")
+        .tag("cache", StudentDetailCache.CACHE_NAME).tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(3.0, registry.get("cache.evictions")
+        .tag("cache", StudentDetailCache.CACHE_NAME)
+        .functionCounter().count());
+  }
+
+  @Test
+  void 並行して更新と読み込みが行われても破棄の完了後に更新前の受講生詳細を返さないこと()
+      throws Exception {
+    int studentId = 1;
+    int updateCount = 2000;
+    int readerCount = 4;
+
+    // DB上の受講生データの版数と、コミット後の破棄まで完了した版数
+    AtomicInteger storedVersion = new AtomicInteger(0);
+    AtomicInteger committedVersion = new AtomicInteger(0);
+    AtomicBoolean updating = new AtomicBoolean(true);
+    AtomicInteger staleReads = new AtomicInteger();
+
+    ExecutorService executor = Executors.newFixedThreadPool(readerCount + 1);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < readerCount; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          while (updating.get()) {
+            int floor = committedVersion.get();
+            StudentDetail actual = sut.getStudentDetail(studentId, id -> {
+              StudentDetail detail = makeVersionedDetail(id, storedVersion.get());
+              // DBから読み込んでからキャッシュに登録するまでの間に更新が割り込みやすくする
+              Thread.yield();
+              return detail;
+            });
+            if (actual.getStudent().getAge() < floor) {
+              staleReads.incrementAndGet();
+            }
+          }
+          return null;
+        }));
+      }
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int version = 1; version <= updateCount; version++) {
+          storedVersion.set(version);  // コミット
+          sut.onStudentDataChanged(new StudentDataChangedEvent(studentId));  // コミット後の破棄
+          committedVersion.set(version);
+        }
+        updating.set(false);
+        return null;
+      }));
+
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(0, staleReads.get());
+    StudentDetail latest = sut.getStudentDetail(studentId,
+        id -> makeVersionedDetail(id, storedVersion.get()));
+    assertEquals(updateCount, latest.getStudent().getAge());
+  }
+
+}
@@ -0,0 +1,284 @@
+package raisetech.student.management.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchOperator;
+
+class StudentFilterBitmapCacheTest {
+
+  private StudentFilterBitmapCache sut;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  /** 受講生IDごとのステータスID（DBの代わり） */
+  private final Map<Integer, Integer> statusIds = new TreeMap<>();
+
+  /** 受講生IDごとの削除フラグ（DBの代わり） */
+  private final Map<Integer, Boolean> deletedFlags = new TreeMap<>();
+
+  /** loaderに渡された検索条件 */
+  private final List<StudentSearchCriteria> loadedCriteria = new ArrayList<>();
+
+  /** loaderに渡された候補の受講生ID */
+  private final List<List<Integer>> loadedCandidates = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    // キャッシュにない条件を常に全件検索してキャッシュする動作を検証するため、共通部分での絞り込みは行わない
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getFilterCache().setNarrowMaxStudentIds(0);
+    sut = new StudentFilterBitmapCache(properties, meterRegistry);
+    for (int studentId = 1; studentId <= 10; studentId++) {
+      statusIds.put(studentId, studentId % 3 + 1);
+      deletedFlags.put(studentId, studentId > 8);
+    }
+  }
+
+  private List<Integer> load(StudentSearchCriteria criteria) {
+    loadedCriteria.add(criteria);
+    loadedCandidates.add(criteria.getCandidateStudentIds());
+    return statusIds.keySet().stream()
+        .filter(id -> criteria.getCandidateStudentIds() == null
+            || criteria.getCandidateStudentIds().contains(id))
+        .filter(id -> criteria.getIsDeleted() == null
+            || criteria.getIsDeleted().equals(deletedFlags.get(id)))
+        .filter(id -> criteria.getStatusIdEq() == null
+            || criteria.getStatusIdEq().equals(statusIds.get(id)))
+        .filter(id -> criteria.getAfterStudentId() == null || id > criteria.getAfterStudentId())
+        .limit(criteria.getLimit() == null ? Long.MAX_VALUE : criteria.getLimit())
+        .toList();
+  }
+
+  private static StudentSearchCriteria makeCriteria(String statusId) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    criteria.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, statusId, null));
+    criteria.normalize();
+    return criteria;
+  }
+
+  @Test
+  void 列ごとの条件に分けて検索しキャッシュにない条件だけをloaderで検索すること() {
+    // Act
+    List<Integer> first = sut.findMatchedStudentIds(makeCriteria("2"), this::load);
+    List<Integer> second = sut.findMatchedStudentIds(makeCriteria("3"), this::load);
+
+    // Assert
+    assertThat(first).containsExactly(1, 4, 7);
+    assertThat(second).containsExactly(2, 5, 8);
+    // isDeleted=false は1回目だけ、statusId は値ごとに1回ずつ検索する
+    assertThat(loadedCriteria).hasSize(3);
+    assertThat(loadedCriteria).allMatch(criteria -> criteria.splitByField().size() == 1);
+  }
+
+  @Test
+  void ページング条件はビットマップの共通部分に適用すること() {
+    // Arrange
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    criteria.applyPage(2, 3);
+
+    // Act
+    List<Integer> actual = sut.findMatchedStudentIds(criteria, this::load);
+
+    // Assert
+    assertThat(actual).containsExactly(3, 4, 5);
+    assertThat(loadedCriteria.get(0).getLimit()).isNull();
+  }
+
+  @Test
+  void キャッシュにない条件は一定件数ずつ読み込んでビットマップにすること() {
+    // Arrange
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getFilterCache().setLoadPageSize(3);
+    StudentFilterBitmapCache paged = new StudentFilterBitmapCache(properties, new SimpleMeterRegistry());
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    List<Integer> afterStudentIds = new ArrayList<>();
+
+    // Act
+    List<Integer> actual = paged.findMatchedStudentIds(criteria, part -> {
+      afterStudentIds.add(part.getAfterStudentId());
+      return load(part);
+    });
+
+    // Assert
+    assertThat(actual).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    assertThat(afterStudentIds).containsExactly(null, 3, 6);
+    // 読み込みのページング条件はキャッシュのキーに残さない
+    loadedCriteria.clear();
+    paged.findMatchedStudentIds(criteria, this::load);
+    assertThat(loadedCriteria).isEmpty();
+  }
+
+  @Test
+  void キャッシュにある条件で一致がなくなればキャッシュにない条件は検索しないこと() {
+    // Arrange
+    StudentSearchCriteria deleted = new StudentSearchCriteria();
+    deleted.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "true", null));
+    sut.findMatchedStudentIds(deleted, this::load);
+    StudentSearchCriteria inProgress = new StudentSearchCriteria();
+    inProgress.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, "3", null));
+    sut.findMatchedStudentIds(inProgress, this::load);
+
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "true", null));
+    criteria.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, "3", null));
+    criteria.applySexFilter(new SearchFilter("sex", SearchOperator.EQ, "男", null));
+    loadedCriteria.clear();
+
+    // Act
+    List<Integer> actual = sut.findMatchedStudentIds(criteria, this::load);
+
+    // Assert
+    assertThat(actual).isEmpty();
+    assertThat(loadedCriteria).isEmpty();
+  }
+
+  @Test
+  void キャッシュにある条件の共通部分が少なければキャッシュにない条件はその受講生だけを判定しキャッシュしないこと() {
+    // Arrange
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getFilterCache().setNarrowMaxStudentIds(2);
+    StudentFilterBitmapCache narrowing =
+        new StudentFilterBitmapCache(properties, new SimpleMeterRegistry());
+    StudentSearchCriteria deleted = new StudentSearchCriteria();
+    deleted.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "true", null));
+    narrowing.findMatchedStudentIds(deleted, this::load);
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "true", null));
+    criteria.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, "2", null));
+    criteria.normalize();
+    loadedCandidates.clear();
+
+    // Act
+    List<Integer> first = narrowing.findMatchedStudentIds(criteria, this::load);
+    List<Integer> second = narrowing.findMatchedStudentIds(criteria, this::load);
+
+    // Assert
+    assertThat(first).containsExactly(10);
+    assertThat(second).containsExactly(10);
+    // 絞り込んだ判定結果はキャッシュしないため、毎回共通部分の受講生だけを判定する
+    assertThat(loadedCandidates).containsExactly(List.of(9, 10), List.of(9, 10));
+  }
+
+  @Test
+  void キャッシュにある条件の共通部分が多ければキャッシュにない条件は全件検索してキャッシュすること() {
+    // Arrange
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getFilterCache().setNarrowMaxStudentIds(2);
+    StudentFilterBitmapCache narrowing =
+        new StudentFilterBitmapCache(properties, new SimpleMeterRegistry());
+    StudentSearchCriteria notDeleted = new StudentSearchCriteria();
+    notDeleted.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    narrowing.findMatchedStudentIds(notDeleted, this::load);
+    loadedCandidates.clear();
+
+    // Act
+    List<Integer> first = narrowing.findMatchedStudentIds(makeCriteria("2"), this::load);
+    List<Integer> second = narrowing.findMatchedStudentIds(makeCriteria("2"), this::load);
+
+    // Assert
+    assertThat(first).containsExactly(1, 4, 7);
+    assertThat(second).containsExactly(1, 4, 7);
+    assertThat(loadedCandidates).containsExactly((List<Integer>) null);
+  }
+
+  @Test
+  void 受講生データ変更後はその受講生だけを判定し直すこと() {
+    // Arrange
+    sut.findMatchedStudentIds(makeCriteria("2"), this::load);
+    statusIds.put(2, 2);
+    deletedFlags.put(4, true);
+    sut.onStudentDataChanged(StudentDataChangedEvent.of(List.of(4, 2)));
+    loadedCandidates.clear();
+
+    // Act
+    List<Integer> actual = sut.findMatchedStudentIds(makeCriteria("2"), this::load);
+
+    // Assert
+    assertThat(actual).containsExactly(1, 2, 7);
+    assertThat(loadedCandidates).containsExactly(List.of(2, 4), List.of(2, 4));
+
+    // 判定し直した結果でエントリが置き換わるため、次は検索しない
+    loadedCandidates.clear();
+    assertThat(sut.findMatchedStudentIds(makeCriteria("2"), this::load)).containsExactly(1, 2, 7);
+    assertThat(loadedCandidates).isEmpty();
+  }
+
+  @Test
+  void 再判定待ちが上限件数を超える変更ではエントリを破棄すること() {
+    // Arrange
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getFilterCache().setMaxStaleStudentIds(1);
+    StudentFilterBitmapCache limited =
+        new StudentFilterBitmapCache(properties, new SimpleMeterRegistry());
+    limited.findMatchedStudentIds(makeCriteria("2"), this::load);
+    limited.onStudentDataChanged(StudentDataChangedEvent.of(List.of(2, 4)));
+    loadedCriteria.clear();
+    loadedCandidates.clear();
+
+    // Act
+    limited.findMatchedStudentIds(makeCriteria("2"), this::load);
+
+    // Assert
+    assertThat(loadedCriteria).hasSize(2);
+    assertThat(loadedCandidates).containsOnlyNulls();
+  }
+
+  @Test
+  void 受講生を特定できない変更では全てのエントリを破棄すること() {
+    // Arrange
+    sut.findMatchedStudentIds(makeCriteria("2"), this::load);
+    sut.onStudentDataChanged(new StudentDataChangedEvent(null));
+    loadedCriteria.clear();
+
+    // Act
+    sut.findMatchedStudentIds(makeCriteria("2"), this::load);
+
+    // Assert
+    assertThat(loadedCriteria).hasSize(2);
+  }
+
+  @Test
+  void 保持しているビットマップの大きさをメトリクスとして記録すること() {
+    // Arrange
+    sut.findMatchedStudentIds(makeCriteria("2"), this::load);
+
+    // Act
+    double gauge = meterRegistry.get("student.search.filter-cache.size").gauge().value();
+
+    // Assert
+    assertThat(sut.estimatedSizeInBytes()).isPositive();
+    assertThat(gauge).isEqualTo((double) sut.estimatedSizeInBytes());
+  }
+
+  @Test
+  void 無効に設定されている場合は検索条件をそのままloaderに渡すこと() {
+    // Arrange
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getFilterCache().setEnabled(false);
+    StudentFilterBitmapCache disabled =
+        new StudentFilterBitmapCache(properties, new SimpleMeterRegistry());
+    StudentSearchCriteria criteria = makeCriteria("2");
+
+    // Act
+    disabled.findMatchedStudentIds(criteria, this::load);
+
+    // Assert
+    assertThat(loadedCriteria).containsExactly(criteria);
+  }
+
+}
@@ -0,0 +1,91 @@
+package raisetech.student.management.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StudentIdBitmapTest {
+
+  private final Random random = new Random(42);
+
+  private TreeSet<Integer> randomIds(int count, int range) {
+    TreeSet<Integer> ids = new TreeSet<>();
+    for (int i = 0; i < count; i++) {
+      ids.add(random.nextInt(range) + 1);
+    }
+    return ids;
+  }
+
+  @ParameterizedTest(name = "[{index}] 受講生IDの範囲が{0}のとき")
+  @ValueSource(ints = {5_000, 70_000, 300_000})
+  void 集合演算の結果がTreeSetでの計算と一致すること(int range) {
+    for (int i = 0; i < 20; i++) {
+      // Arrange
+      TreeSet<Integer> left = randomIds(random.nextInt(100_000), range);
+      TreeSet<Integer> right = randomIds(random.nextInt(10_000), range);
+      StudentIdBitmap leftBitmap = StudentIdBitmap.of(left);
+      StudentIdBitmap rightBitmap = StudentIdBitmap.of(right);
+
+      TreeSet<Integer> and = new TreeSet<>(left);
+      and.retainAll(right);
+      TreeSet<Integer> or = new TreeSet<>(left);
+      or.addAll(right);
+      TreeSet<Integer> andNot = new TreeSet<>(left);
+      andNot.removeAll(right);
+
+      // Act & Assert
+      assertThat(leftBitmap.toList(null, Integer.MAX_VALUE)).containsExactlyElementsOf(left);
+      assertThat(leftBitmap.cardinality()).isEqualTo(left.size());
+      assertThat(leftBitmap.and(rightBitmap).toList(null, Integer.MAX_VALUE)).containsExactlyElementsOf(and);
+      assertThat(leftBitmap.or(rightBitmap).toList(null, Integer.MAX_VALUE)).containsExactlyElementsOf(or);
+      assertThat(leftBitmap.andNot(rightBitmap).toList(null, Integer.MAX_VALUE)).containsExactlyElementsOf(andNot);
+    }
+  }
+
+  @Test
+  void 指定した受講生IDより後ろから指定件数だけ受講生ID順に返すこと() {
+    // Arrange
+    TreeSet<Integer> ids = randomIds(50_000, 200_000);
+    StudentIdBitmap sut = StudentIdBitmap.of(ids);
+    int afterStudentId = 65_530;
+
+    // Act
+    List<Integer> actual = sut.toList(afterStudentId, 100);
+
+    // Assert
+    List<Integer> expected = new ArrayList<>(ids.tailSet(afterStudentId, false)).subList(0, 100);
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void 密な集合は1件あたり1ビット程度の大きさで保持すること() {
+    // Arrange
+    List<Integer> ids = IntStream.rangeClosed(1, 1_000_000).boxed().toList();
+
+    // Act
+    StudentIdBitmap sut = StudentIdBitmap.of(ids);
+
+    // Assert
+    assertThat(sut.cardinality()).isEqualTo(1_000_000);
+    assertThat(sut.sizeInBytes()).isLessThan(1_000_000 / 8 + 16 * 1024);
+    assertThat(sut.contains(1)).isTrue();
+    assertThat(sut.contains(1_000_001)).isFalse();
+  }
+
+  @Test
+  void 空のビットマップとの共通部分は空になること() {
+    StudentIdBitmap sut = StudentIdBitmap.of(List.of(3, 1, 2, 2));
+
+    assertThat(sut.toList(null, Integer.MAX_VALUE)).containsExactly(1, 2, 3);
+    assertThat(sut.and(StudentIdBitmap.EMPTY).isEmpty()).isTrue();
+    assertThat(sut.or(StudentIdBitmap.EMPTY).cardinality()).isEqualTo(3);
+  }
+
+}
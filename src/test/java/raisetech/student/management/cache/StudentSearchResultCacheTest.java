@@ -0,0 +1,118 @@
+package raisetech.student.management.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchOperator;
+
+class StudentSearchResultCacheTest {
+
+  private StudentSearchResultCache sut;
+
+  private AtomicInteger loadCount;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentSearchResultCache(new StudentSearchProperties());
+    loadCount = new AtomicInteger();
+  }
+
+  private List<Integer> load(StudentSearchCriteria criteria) {
+    loadCount.incrementAndGet();
+    return List.of(1, 2, 4);
+  }
+
+  private StudentSearchCriteria makeCriteria(String... statusIds) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyStatusIdFilter(
+        new SearchFilter("statusId", SearchOperator.IN, null, List.of(statusIds)));
+    criteria.applyPage(null, 101);
+    criteria.normalize();
+    return criteria;
+  }
+
+  @Test
+  void 同じ条件の2回目以降はloaderを呼ばずにキャッシュした結果を返すこと() {
+    List<Integer> first = sut.getMatchedStudentIds(makeCriteria("3", "5"), this::load);
+    List<Integer> second = sut.getMatchedStudentIds(makeCriteria("3", "5"), this::load);
+
+    assertEquals(List.of(1, 2, 4), first);
+    assertEquals(first, second);
+    assertEquals(1, loadCount.get());
+  }
+
+  @Test
+  void 正規化して同じになる条件はキャッシュエントリを共有すること() {
+    sut.getMatchedStudentIds(makeCriteria("3", "5"), this::load);
+    sut.getMatchedStudentIds(makeCriteria("5", "3", "5"), this::load);
+
+    assertEquals(1, loadCount.get());
+  }
+
+  @Test
+  void ページング条件が異なればキャッシュエントリを共有しないこと() {
+    StudentSearchCriteria nextPage = new StudentSearchCriteria();
+    nextPage.applyStatusIdFilter(
+        new SearchFilter("statusId", SearchOperator.IN, null, List.of("3", "5")));
+    nextPage.applyPage(2, 101);
+    nextPage.normalize();
+
+    sut.getMatchedStudentIds(makeCriteria("3", "5"), this::load);
+    sut.getMatchedStudentIds(nextPage, this::load);
+
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  void 受講生データ変更イベントを受け取ると全てのエントリを破棄すること() {
+    sut.getMatchedStudentIds(makeCriteria("3"), this::load);
+    sut.getMatchedStudentIds(makeCriteria("5"), this::load);
+
+    sut.onStudentDataChanged(new StudentDataChangedEvent(1));
+    sut.getMatchedStudentIds(makeCriteria("3"), this::load);
+    sut.getMatchedStudentIds(makeCriteria("5"), this::load);
+
+    assertEquals(4, loadCount.get());
+  }
+
+  @Test
+  void 検索中に破棄された場合はその検索結果をキャッシュしないこと() {
+    // 検索中に別トランザクションの更新がコミットされた状況
+    sut.getMatchedStudentIds(makeCriteria("3"), criteria -> {
+      List<Integer> ids = load(criteria);
+      sut.invalidateAll();
+      return ids;
+    });
+    sut.getMatchedStudentIds(makeCriteria("3"), this::load);
+
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  void 返却されるリストは変更できないこと() {
+    List<Integer> actual = sut.getMatchedStudentIds(makeCriteria("3"), this::load);
+
+    assertThrows(UnsupportedOperationException.class, () -> actual.add(99));
+  }
+
+  @Test
+  void 無効に設定されている場合は毎回loaderを呼ぶこと() {
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getResultCache().setEnabled(false);
+    StudentSearchResultCache disabled = new StudentSearchResultCache(properties);
+
+    disabled.getMatchedStudentIds(makeCriteria("3"), this::load);
+    disabled.getMatchedStudentIds(makeCriteria("3"), this::load);
+
+    assertEquals(2, loadCount.get());
+  }
+
+}
@@ -0,0 +1,38 @@
+package raisetech.student.management.controller;
+
+import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import raisetech.student.management.exception.handler.ErrorDetailsBuilder;
+import raisetech.student.management.status.CourseStatusMachineRegistry;
+
+@WebMvcTest(CourseStatusController.class)
+class CourseStatusControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private CourseStatusMachineRegistry statusMachineRegistry;
+
+  @MockitoBean
+  private ErrorDetailsBuilder errorDetailsBuilder;
+
+  @Test
+  void ステータス遷移表の再読み込み_204NoContentが返り状態遷移表が読み込み直されること() throws Exception {
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.post("/course-statuses/reload"))
+        .andExpect(status().isNoContent());
+
+    // Assert
+    Mockito.verify(statusMachineRegistry, times(1)).reload();
+  }
+
+}
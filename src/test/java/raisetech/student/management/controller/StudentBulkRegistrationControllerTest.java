@@ -0,0 +1,63 @@
+package raisetech.student.management.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import raisetech.student.management.data.domain.StudentBulkRegistrationResult;
+import raisetech.student.management.data.domain.StudentRegistrationItemResult;
+import raisetech.student.management.exception.handler.ErrorDetailsBuilder;
+import raisetech.student.management.repository.CourseRepository;
+import raisetech.student.management.service.StudentBulkRegistrationService;
+
+@WebMvcTest(StudentBulkRegistrationController.class)
+class StudentBulkRegistrationControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private StudentBulkRegistrationService service;
+
+  @MockitoBean
+  private ErrorDetailsBuilder errorDetailsBuilder;
+
+  @MockitoBean
+  private CourseRepository courseRepository;
+
+  @Test
+  void 受講生一括登録成功_受講生詳細ごとの登録結果と処理速度が返されること() throws Exception {
+    // Arrange
+    StudentBulkRegistrationResult result = new StudentBulkRegistrationResult(2, 1, 1, 0, 20, 50.0,
+        List.of(
+            StudentRegistrationItemResult.created(0, 101),
+            StudentRegistrationItemResult.invalid(1,
+                List.of(Map.of("field", "student.email", "message", "メールアドレスとして正しい形式にしてください")))));
+    Mockito.when(service.registerStudentDetails(any(InputStream.class))).thenReturn(result);
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{}, {}]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalCount").value(2))
+        .andExpect(jsonPath("$.createdCount").value(1))
+        .andExpect(jsonPath("$.rowsPerSecond").value(50.0))
+        .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+        .andExpect(jsonPath("$.items[0].studentId").value(101))
+        .andExpect(jsonPath("$.items[1].status").value("INVALID"))
+        .andExpect(jsonPath("$.items[1].errors[0].field").value("student.email"));
+  }
+
+}
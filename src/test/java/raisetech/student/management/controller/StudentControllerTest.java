@@ -2,14 +2,25 @@ package raisetech.student.management.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,16 +28,31 @@ import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.domain.StudentCourseStatusChange;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeOutcome;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeRequest;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeResult;
 import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.data.domain.StudentDetailBatch;
 import raisetech.student.management.exception.InvalidSearchCriteriaException;
+import raisetech.student.management.exception.StatusUpdateConflictException;
 import raisetech.student.management.exception.TargetNotFoundException;
 import raisetech.student.management.exception.handler.ErrorDetailsBuilder;
 import raisetech.student.management.repository.CourseRepository;
+import raisetech.student.management.search.facet.StudentSearchSummary;
+import raisetech.student.management.search.pagination.StudentDetailPage;
+import raisetech.student.management.search.projection.StudentProjection;
+import raisetech.student.management.search.request.SearchPageRequest;
 import raisetech.student.management.search.request.SearchableField;
+import raisetech.student.management.search.request.StudentBatchGetRequest;
+import raisetech.student.management.search.request.StudentSearchSummaryRequest;
 import raisetech.student.management.search.request.StudentSimpleSearchRequest;
+import raisetech.student.management.search.request.StudentSuggestRequest;
+import raisetech.student.management.search.suggest.StudentSuggestion;
 import raisetech.student.management.service.StudentService;
 import raisetech.student.management.testutil.TestDataFactory;
 
@@ -47,6 +73,10 @@ class StudentControllerTest {
 
   @Test
   void 受講生詳細簡易検索成功_条件未指定で200OKが返り空のリクエストがサービスに渡されること() throws Exception {
+    // Arrange
+    Mockito.when(service.searchStudentDetailsSimple(any(), any()))
+        .thenReturn(new StudentDetailPage(List.of(), null));
+
     // Act
     mockMvc.perform(MockMvcRequestBuilders.get("/students"))
         .andExpect(status().isOk());
@@ -54,7 +84,7 @@ class StudentControllerTest {
     // Assert
     ArgumentCaptor<StudentSimpleSearchRequest> captor =
         ArgumentCaptor.forClass(StudentSimpleSearchRequest.class);
-    Mockito.verify(service, times(1)).searchStudentDetailsSimple(captor.capture());
+    Mockito.verify(service, times(1)).searchStudentDetailsSimple(captor.capture(), any());
 
     StudentSimpleSearchRequest actual = captor.getValue();
     Assertions.assertNull(actual.getFullNameContains());
@@ -75,6 +105,10 @@ class StudentControllerTest {
   @Test
   void 受講生詳細簡易検索成功_クエリパラメータがリクエストオブジェクトにバインドされサービスに渡されること()
       throws Exception {
+    // Arrange
+    Mockito.when(service.searchStudentDetailsSimple(any(), any()))
+        .thenReturn(new StudentDetailPage(List.of(), null));
+
     // Act
     mockMvc.perform(MockMvcRequestBuilders.get("/students")
             .param("fullNameContains", "田中")
@@ -95,7 +129,7 @@ class StudentControllerTest {
     // Assert
     ArgumentCaptor<StudentSimpleSearchRequest> captor =
         ArgumentCaptor.forClass(StudentSimpleSearchRequest.class);
-    Mockito.verify(service, times(1)).searchStudentDetailsSimple(captor.capture());
+    Mockito.verify(service, times(1)).searchStudentDetailsSimple(captor.capture(), any());
 
     StudentSimpleSearchRequest actual = captor.getValue();
     Assertions.assertEquals("田中", actual.getFullNameContains());
@@ -124,7 +158,185 @@ class StudentControllerTest {
         .andExpect(status().isBadRequest());
 
     // Assert
-    Mockito.verify(service, never()).searchStudentDetailsSimple(any(StudentSimpleSearchRequest.class));
+    Mockito.verify(service, never()).searchStudentDetailsSimple(any(StudentSimpleSearchRequest.class), any());
+  }
+
+  @Test
+  void 受講生詳細簡易検索成功_limitとafterがページング条件にバインドされ次ページのカーソルがヘッダーで返ること()
+      throws Exception {
+    // Arrange
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    Mockito.when(service.searchStudentDetailsSimple(any(), any()))
+        .thenReturn(new StudentDetailPage(List.of(studentDetail), "nextCursor"));
+
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("fullNameContains", "山田")
+            .param("limit", "1")
+            .param("after", "currentCursor"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("X-Next-Cursor", "nextCursor"))
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].student.studentId").value(1));
+
+    // Assert
+    ArgumentCaptor<SearchPageRequest> captor = ArgumentCaptor.forClass(SearchPageRequest.class);
+    Mockito.verify(service, times(1)).searchStudentDetailsSimple(any(), captor.capture());
+    Assertions.assertEquals(1, captor.getValue().getLimit());
+    Assertions.assertEquals("currentCursor", captor.getValue().getAfter());
+  }
+
+  @Test
+  void 受講生詳細簡易検索成功_最終ページではカーソルのヘッダーを返さないこと() throws Exception {
+    // Arrange
+    Mockito.when(service.searchStudentDetailsSimple(any(), any()))
+        .thenReturn(new StudentDetailPage(List.of(), null));
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("X-Next-Cursor"));
+  }
+
+  @Test
+  void 受講生詳細簡易検索成功_fieldsを指定すると指定した項目だけが返されること() throws Exception {
+    // Arrange
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    Mockito.when(service.searchStudentDetailsSimple(any(), any()))
+        .thenReturn(new StudentDetailPage(List.of(studentDetail), null));
+
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("fields", "fullName,kanaName"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].student.length()").value(3))
+        .andExpect(jsonPath("$[0].student.studentId").value(1))
+        .andExpect(jsonPath("$[0].student.fullName").value(studentDetail.getStudent().getFullName()))
+        .andExpect(jsonPath("$[0].student.kanaName").value(studentDetail.getStudent().getKanaName()))
+        .andExpect(jsonPath("$[0].studentCourses").doesNotExist());
+
+    // Assert
+    ArgumentCaptor<SearchPageRequest> captor = ArgumentCaptor.forClass(SearchPageRequest.class);
+    Mockito.verify(service, times(1)).searchStudentDetailsSimple(any(), captor.capture());
+    Assertions.assertEquals(List.of("fullName", "kanaName"), captor.getValue().getFields());
+  }
+
+  @Test
+  void 受講生詳細簡易検索失敗_fieldsに存在しない項目を指定すると400エラーが返されサービスが呼び出されないこと()
+      throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("fields", "fullName,password"))
+        .andExpect(status().isBadRequest());
+
+    Mockito.verify(service, never()).searchStudentDetailsSimple(any(), any());
+  }
+
+  @Test
+  void 受講生詳細簡易検索失敗_limitに0以下を指定すると400エラーが返されサービスが呼び出されないこと()
+      throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("limit", "0"))
+        .andExpect(status().isBadRequest());
+
+    Mockito.verify(service, never()).searchStudentDetailsSimple(any(), any());
+  }
+
+  @Test
+  void 受講生詳細簡易検索成功_NDJSONを要求すると一致した受講生詳細が1行1件で返されること()
+      throws Exception {
+    // Arrange
+    doAnswer(invocation -> {
+      Consumer<List<StudentDetail>> consumer = invocation.getArgument(1);
+      consumer.accept(List.of(
+          TestDataFactory.makeCompletedStudentDetail(1, 1),
+          TestDataFactory.makeCompletedStudentDetail(2, 2)));
+      return null;
+    }).when(service).streamStudentDetailsSimple(any(), any());
+
+    // Act
+    MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("courseCode", "JA")
+            .accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+
+    // Assert
+    String[] lines = body.split("\n");
+    Assertions.assertEquals(2, lines.length);
+    Assertions.assertTrue(lines[0].contains("\"studentId\":1"));
+    Assertions.assertTrue(lines[1].contains("\"studentId\":2"));
+
+    ArgumentCaptor<StudentSimpleSearchRequest> captor =
+        ArgumentCaptor.forClass(StudentSimpleSearchRequest.class);
+    Mockito.verify(service, times(1)).streamStudentDetailsSimple(captor.capture(), any());
+    Assertions.assertEquals("JA", captor.getValue().getCourseCode());
+    Mockito.verify(service, never()).searchStudentDetailsSimple(any(), any());
+  }
+
+  @Test
+  void 受講生詳細簡易検索成功_Acceptを指定しない場合はストリーミングではなく通常のJSON配列で返されること()
+      throws Exception {
+    // Arrange
+    Mockito.when(service.searchStudentDetailsSimple(any(), any()))
+        .thenReturn(new StudentDetailPage(List.of(), null));
+
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+    // Assert
+    Mockito.verify(service, never()).streamStudentDetailsSimple(any(), any());
+  }
+
+  @Test
+  void 入力補完成功_フィールドと入力途中の文字列を指定すると候補の一覧が返されること() throws Exception {
+    // Arrange
+    Mockito.when(service.suggestStudents(any()))
+        .thenReturn(List.of(new StudentSuggestion("田中太郎", 2), new StudentSuggestion("田中花子", 1)));
+
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/suggest")
+            .param("field", "fullName")
+            .param("prefix", "田中")
+            .param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].value").value("田中太郎"))
+        .andExpect(jsonPath("$[0].count").value(2))
+        .andExpect(jsonPath("$[1].value").value("田中花子"));
+
+    // Assert
+    ArgumentCaptor<StudentSuggestRequest> captor = ArgumentCaptor.forClass(StudentSuggestRequest.class);
+    Mockito.verify(service, times(1)).suggestStudents(captor.capture());
+    Assertions.assertEquals("fullName", captor.getValue().getField());
+    Assertions.assertEquals("田中", captor.getValue().getPrefix());
+    Assertions.assertEquals(5, captor.getValue().getLimit());
+  }
+
+  @Test
+  void 入力補完失敗_補完できないフィールドを指定すると400エラーが返されサービスが呼び出されないこと()
+      throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/suggest")
+            .param("field", "email")
+            .param("prefix", "taro"))
+        .andExpect(status().isBadRequest());
+
+    Mockito.verify(service, never()).suggestStudents(any());
+  }
+
+  @Test
+  void 入力補完失敗_入力途中の文字列が空のとき400エラーが返されサービスが呼び出されないこと()
+      throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/suggest")
+            .param("field", "fullName")
+            .param("prefix", ""))
+        .andExpect(status().isBadRequest());
+
+    Mockito.verify(service, never()).suggestStudents(any());
   }
 
   @Test
@@ -142,6 +354,25 @@ class StudentControllerTest {
     Mockito.verify(service, times(1)).searchStudentDetail(studentId);
   }
 
+  @Test
+  void 受講生詳細ID単一検索成功_fieldsを指定すると指定した項目と受講生コース情報だけが返されること()
+      throws Exception {
+    // Arrange
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    StudentProjection projection = StudentProjection.of(List.of("nickname", "studentCourses"));
+    Mockito.when(service.searchStudentDetail(1, projection)).thenReturn(studentDetail);
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/1")
+            .param("fields", "nickname,studentCourses"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.student.length()").value(2))
+        .andExpect(jsonPath("$.student.nickname").value(studentDetail.getStudent().getNickname()))
+        .andExpect(jsonPath("$.student.remark").doesNotExist())
+        .andExpect(jsonPath("$.studentCourses.length()").value(1));
+    Mockito.verify(service, never()).searchStudentDetail(Mockito.anyInt());
+  }
+
   @Test
   void 受講生詳細ID単一検索失敗_サービスから例外を受け取り404エラーを返していること() throws Exception {
     // Arrange
@@ -179,9 +410,80 @@ class StudentControllerTest {
     Mockito.verify(service, never()).searchStudentDetail(Mockito.anyInt());
   }
 
+  @Test
+  void 受講生詳細一括取得成功_受講生IDのリストを渡すと受講生詳細と見つからなかった受講生IDが返ること()
+      throws Exception {
+    // Arrange
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(3, 3);
+    Mockito.when(service.searchStudentDetailsByIds(new StudentBatchGetRequest(List.of(3, 999))))
+        .thenReturn(new StudentDetailBatch(List.of(studentDetail), List.of(999)));
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"studentIds": [3, 999]}
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.studentDetails.length()").value(1))
+        .andExpect(jsonPath("$.studentDetails[0].student.studentId").value(3))
+        .andExpect(jsonPath("$.missingStudentIds[0]").value(999));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"{\"studentIds\": []}", "{\"studentIds\": [1, 0]}", "{}"})
+  void 受講生詳細一括取得失敗_受講生IDのリストが空か不正な値を含むと400エラーが返されサービスが呼び出されないこと(
+      String body) throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isBadRequest());
+
+    Mockito.verify(service, never()).searchStudentDetailsByIds(any());
+  }
+
+  @Test
+  void 受講生詳細件数集計成功_集計項目がサービスに渡され件数と集計が返されること() throws Exception {
+    // Arrange
+    Mockito.when(service.summarizeStudentSearch(any(), any()))
+        .thenReturn(new StudentSearchSummary(true, 3L, Map.of("sex", Map.of("女", 2L, "男", 1L))));
+
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/search/summary")
+            .param("facets", "sex")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"filters\": []}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.exists").value(true))
+        .andExpect(jsonPath("$.count").value(3))
+        .andExpect(jsonPath("$.facets.sex['女']").value(2));
+
+    // Assert
+    ArgumentCaptor<StudentSearchSummaryRequest> captor =
+        ArgumentCaptor.forClass(StudentSearchSummaryRequest.class);
+    Mockito.verify(service, times(1)).summarizeStudentSearch(any(), captor.capture());
+    Assertions.assertEquals(List.of("sex"), captor.getValue().getFacets());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"facets=unknown", "facets=sex&existsOnly=true"})
+  void 受講生詳細件数集計失敗_集計項目が不正か有無だけの指定と同時に指定されると400エラーが返されること(
+      String query) throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/search/summary?" + query)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"filters\": []}"))
+        .andExpect(status().isBadRequest());
+
+    Mockito.verify(service, never()).summarizeStudentSearch(any(), any());
+  }
+
   @Test
   void 受講生詳細高度検索成功_妥当なJSONリクエストで200OKが返りサービスが呼び出されること()
       throws Exception {
+    // Arrange
+    Mockito.when(service.searchStudentDetailsAdvanced(any(), any()))
+        .thenReturn(new StudentDetailPage(List.of(), null));
+
     // Act
     mockMvc.perform(MockMvcRequestBuilders.post("/students/search")
             .contentType(MediaType.APPLICATION_JSON)
@@ -201,7 +503,90 @@ class StudentControllerTest {
         .andExpect(status().isOk());
 
     // Assert
-    Mockito.verify(service, times(1)).searchStudentDetailsAdvanced(any());
+    Mockito.verify(service, times(1)).searchStudentDetailsAdvanced(any(), any());
+  }
+
+  @Test
+  void 受講生詳細高度検索一括実行成功_検索条件ごとの検索結果が同じ順で返ること() throws Exception {
+    // Arrange
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    Mockito.when(service.searchStudentDetailsMulti(any(), any())).thenReturn(List.of(
+        new StudentDetailPage(List.of(studentDetail), "nextCursor"),
+        new StudentDetailPage(List.of(), null)));
+
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/search/batch")
+            .param("fields", "fullName")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {
+                  "queries": [
+                    {"filters": [{"field": "courseCode", "operator": "EQ", "value": "JA"}]},
+                    {"filters": [{"field": "statusId", "operator": "EQ", "value": "3"}]}
+                  ]
+                }
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].studentDetails[0].student.length()").value(2))
+        .andExpect(jsonPath("$[0].studentDetails[0].student.fullName").value(studentDetail.getStudent().getFullName()))
+        .andExpect(jsonPath("$[0].nextCursor").value("nextCursor"))
+        .andExpect(jsonPath("$[1].studentDetails.length()").value(0));
+
+    // Assert
+    Mockito.verify(service, times(1)).searchStudentDetailsMulti(any(), any());
+  }
+
+  @Test
+  void 受講生詳細高度検索一括実行失敗_検索条件のリストが空なら400エラーが返されサービスが呼び出されないこと()
+      throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/search/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"queries\": []}"))
+        .andExpect(status().isBadRequest());
+
+    Mockito.verify(service, never()).searchStudentDetailsMulti(any(), any());
+  }
+
+  @Test
+  void 受講生詳細高度検索成功_NDJSONを要求すると一致した受講生詳細が1行1件で返されること()
+      throws Exception {
+    // Arrange
+    doAnswer(invocation -> {
+      Consumer<List<StudentDetail>> consumer = invocation.getArgument(1);
+      consumer.accept(List.of(TestDataFactory.makeCompletedStudentDetail(3, 3)));
+      return null;
+    }).when(service).streamStudentDetailsAdvanced(any(), any());
+
+    // Act
+    MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/students/search")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .content(
+                """
+                {
+                    "filters": [
+                        {
+                            "field": "courseCode",
+                            "operator": "EQ",
+                            "value": "JA"
+                        }
+                    ]
+                }
+                """
+            ))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    // Assert
+    Assertions.assertTrue(body.endsWith("\n"));
+    Assertions.assertEquals(1, body.split("\n").length);
+    Assertions.assertTrue(body.contains("\"studentId\":3"));
+    Mockito.verify(service, times(1)).streamStudentDetailsAdvanced(any(), any());
+    Mockito.verify(service, never()).searchStudentDetailsAdvanced(any(), any());
   }
 
   @Test
@@ -215,7 +600,7 @@ class StudentControllerTest {
         .andExpect(status().isBadRequest());
 
     // Assert
-    Mockito.verify(service, never()).searchStudentDetailsAdvanced(any());
+    Mockito.verify(service, never()).searchStudentDetailsAdvanced(any(), any());
   }
 
   @Test
@@ -241,14 +626,14 @@ class StudentControllerTest {
         .andExpect(status().isBadRequest());
 
     // Assert
-    Mockito.verify(service, never()).searchStudentDetailsAdvanced(any());
+    Mockito.verify(service, never()).searchStudentDetailsAdvanced(any(), any());
   }
 
   @Test
   void 受講生詳細高度検索失敗_サービス層でcriteriaへの変換時に例外が投げられると400エラーが返されること()
       throws Exception {
     // Arrange
-    Mockito.when(service.searchStudentDetailsAdvanced(any()))
+    Mockito.when(service.searchStudentDetailsAdvanced(any(), any()))
         .thenThrow(new InvalidSearchCriteriaException(SearchableField.COURSE_CODE,"許可されていない演算子です"));
     // Act
     mockMvc.perform(MockMvcRequestBuilders.post("/students/search")
@@ -269,7 +654,7 @@ class StudentControllerTest {
         .andExpect(status().isBadRequest());
 
     // Assert
-    Mockito.verify(service, times(1)).searchStudentDetailsAdvanced(any());
+    Mockito.verify(service, times(1)).searchStudentDetailsAdvanced(any(), any());
   }
 
   @Test void 受講生詳細登録成功_妥当なJSONリクエストで201Createdが返りサービスが呼び出されること() throws Exception {
@@ -475,7 +860,7 @@ class StudentControllerTest {
     // Arrange
     Integer studentId = 1;
     Integer scId = 1;
-    Mockito.when(service.updateStudentCourse(any(StudentCourse.class),eq(studentId)))
+    Mockito.when(service.updateStudentCourse(any(StudentCourse.class),eq(studentId),isNull()))
         .thenReturn(TestDataFactory.makeCompletedStudentCourse(studentId,scId));
 
     // Act
@@ -492,7 +877,7 @@ class StudentControllerTest {
         .andExpect(status().isOk());
 
     // Assert
-    Mockito.verify(service, times(1)).updateStudentCourse(any(StudentCourse.class),eq(studentId));
+    Mockito.verify(service, times(1)).updateStudentCourse(any(StudentCourse.class),eq(studentId),isNull());
   }
 
   @Test
@@ -507,14 +892,14 @@ class StudentControllerTest {
         .andExpect(status().isBadRequest());
 
     // Assert
-    Mockito.verify(service, never()).updateStudentCourse(any(StudentCourse.class),eq(studentId));
+    Mockito.verify(service, never()).updateStudentCourse(any(StudentCourse.class),eq(studentId),isNull());
   }
 
   @Test
   void 受講生コース更新失敗_登録されていない受講生IDを指定すると404が返ること() throws Exception {
     // Arrange
     Integer studentId = 99;
-    Mockito.when(service.updateStudentCourse(any(StudentCourse.class),eq(studentId)))
+    Mockito.when(service.updateStudentCourse(any(StudentCourse.class),eq(studentId),isNull()))
         .thenThrow(TargetNotFoundException.class);
 
     // Act
@@ -531,8 +916,105 @@ class StudentControllerTest {
         .andExpect(status().isNotFound());
 
     // Assert
-    Mockito.verify(service, times(1)).updateStudentCourse(any(StudentCourse.class),eq(studentId));
+    Mockito.verify(service, times(1)).updateStudentCourse(any(StudentCourse.class),eq(studentId),isNull());
+
+  }
+
+  @Test
+  void 受講生コース更新失敗_想定した更新前のステータスから変更されていると409が返ること() throws Exception {
+    // Arrange
+    Integer studentId = 1;
+    Mockito.when(service.updateStudentCourse(any(StudentCourse.class),eq(studentId),eq(1)))
+        .thenThrow(new StatusUpdateConflictException(1, 1, 5));
 
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/" + studentId +"/courses")
+            .param("expectedStatusId", "1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                {
+                    "studentCourseId":1,
+                    "statusId": 2
+                }
+                """
+            ))
+        .andExpect(status().isConflict());
+
+    // Assert
+    Mockito.verify(service, times(1)).updateStudentCourse(any(StudentCourse.class),eq(studentId),eq(1));
+  }
+
+  @Test
+  void 受講生コース更新失敗_想定した更新前のステータスを指定せずに競合すると現在のステータスだけを含む409が返ること()
+      throws Exception {
+    // Arrange
+    Integer studentId = 1;
+    Mockito.when(service.updateStudentCourse(any(StudentCourse.class),eq(studentId),isNull()))
+        .thenThrow(new StatusUpdateConflictException(1, null, 3));
+
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/" + studentId +"/courses")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                {
+                    "studentCourseId":1,
+                    "statusId": 2
+                }
+                """
+            ))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.errors[0].field").value("statusId"))
+        .andExpect(jsonPath("$.errors[0].value").value("現在: 3"));
+
+    // Assert
+    Mockito.verify(service, times(1)).updateStudentCourse(any(StudentCourse.class),eq(studentId),isNull());
+  }
+
+  @Test
+  void 受講生コースステータス一括更新成功_受講生コースごとの更新結果が返されること() throws Exception {
+    // Arrange
+    StudentCourseStatusChange updated = new StudentCourseStatusChange(2, 2, 3);
+    StudentCourseStatusChange invalid = new StudentCourseStatusChange(3, 3, 1);
+    Mockito.when(service.updateStudentCourseStatuses(
+            new StudentCourseStatusChangeRequest(List.of(updated, invalid))))
+        .thenReturn(List.of(
+            StudentCourseStatusChangeResult.of(0, updated, StudentCourseStatusChangeOutcome.UPDATED, 2),
+            StudentCourseStatusChangeResult.of(1, invalid,
+                StudentCourseStatusChangeOutcome.INVALID_TRANSITION, 4)));
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                {
+                    "changes": [
+                        {"studentCourseId": 2, "studentId": 2, "toStatusId": 3},
+                        {"studentCourseId": 3, "studentId": 3, "toStatusId": 1}
+                    ]
+                }
+                """
+            ))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].outcome").value("UPDATED"))
+        .andExpect(jsonPath("$[0].fromStatusId").value(2))
+        .andExpect(jsonPath("$[1].outcome").value("INVALID_TRANSITION"))
+        .andExpect(jsonPath("$[1].message").value("許可されていないステータス遷移です"));
+  }
+
+  @Test
+  void 受講生コースステータス一括更新失敗_変更内容が空だと400エラーが返されサービスが呼び出されないこと()
+      throws Exception {
+    // Act
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"changes\": []}"))
+        .andExpect(status().isBadRequest());
+
+    // Assert
+    Mockito.verify(service, never()).updateStudentCourseStatuses(any());
   }
 
-}
\ No newline at end of file
+}
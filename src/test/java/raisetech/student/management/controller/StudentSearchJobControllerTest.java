@@ -0,0 +1,114 @@
+package raisetech.student.management.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import raisetech.student.management.exception.SearchJobNotReadyException;
+import raisetech.student.management.exception.SearchJobRejectedException;
+import raisetech.student.management.exception.handler.ErrorDetailsBuilder;
+import raisetech.student.management.repository.CourseRepository;
+import raisetech.student.management.search.job.SearchJobStatus;
+import raisetech.student.management.search.job.StudentSearchJob;
+import raisetech.student.management.service.StudentSearchJobService;
+
+@WebMvcTest(StudentSearchJobController.class)
+class StudentSearchJobControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private StudentSearchJobService service;
+
+  @MockitoBean
+  private ErrorDetailsBuilder errorDetailsBuilder;
+
+  @MockitoBean
+  private CourseRepository courseRepository;
+
+  @TempDir
+  Path tempDir;
+
+  private static final String REQUEST_BODY = """
+      {
+          "filters": [
+              {
+                  "field": "isDeleted",
+                  "operator": "EQ",
+                  "value": "false"
+              }
+          ]
+      }
+      """;
+
+  @Test
+  void 検索ジョブ受付成功_202とジョブの状態を取得するURLが返されること() throws Exception {
+    // Arrange
+    Mockito.when(service.submit(any()))
+        .thenReturn(StudentSearchJob.queued("job-1", Instant.parse("2026-01-01T00:00:00Z")));
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/search-jobs")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(REQUEST_BODY))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/students/search-jobs/job-1"))
+        .andExpect(jsonPath("$.jobId").value("job-1"))
+        .andExpect(jsonPath("$.status").value("QUEUED"));
+  }
+
+  @Test
+  void 検索ジョブ受付失敗_実行待ちが上限に達していると503エラーが返されること() throws Exception {
+    // Arrange
+    Mockito.when(service.submit(any())).thenThrow(new SearchJobRejectedException(20));
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/search-jobs")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(REQUEST_BODY))
+        .andExpect(status().isServiceUnavailable());
+  }
+
+  @Test
+  void 検索ジョブ結果取得成功_検索結果のファイルがNDJSONで返されること() throws Exception {
+    // Arrange
+    Path resultFile = Files.write(tempDir.resolve("job-1.ndjson"),
+        List.of("{\"student\":{\"studentId\":1}}", "{\"student\":{\"studentId\":2}}"));
+    Mockito.when(service.getResultFile("job-1")).thenReturn(resultFile);
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/search-jobs/job-1/result"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string(
+            "{\"student\":{\"studentId\":1}}\n{\"student\":{\"studentId\":2}}\n"));
+  }
+
+  @Test
+  void 検索ジョブ結果取得失敗_ジョブが完了していないと409エラーが返されること() throws Exception {
+    // Arrange
+    Mockito.when(service.getResultFile("job-1"))
+        .thenThrow(new SearchJobNotReadyException("job-1", SearchJobStatus.RUNNING));
+
+    // Act & Assert
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/search-jobs/job-1/result"))
+        .andExpect(status().isConflict());
+  }
+
+}
@@ -0,0 +1,126 @@
+package raisetech.student.management.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentDataReloaderTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  /** 全件読み込みに受講生だけを使う複製 */
+  @Mock
+  private StudentDataReplica studentsReplica;
+
+  @Mock
+  private StudentDataReplica disabledReplica;
+
+  private final List<StudentDataReloadedEvent> published = new ArrayList<>();
+
+  private StudentDataReloader sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentDataReloader(studentRepository, List.of(studentsReplica, disabledReplica),
+        event -> published.add((StudentDataReloadedEvent) event));
+  }
+
+  private static Student makeStudent(int studentId) {
+    return new Student(studentId, "山田太郎", "やまだたろう", "タロー", "taro@example.com",
+        "東京都練馬区", "090-1111-2222", 20, "男", "", false);
+  }
+
+  private static StudentCourse makeStudentCourse(int studentCourseId, int studentId) {
+    return new StudentCourse(studentCourseId, studentId, "JA", 1, null, null, null, null);
+  }
+
+  @Test
+  void 変更された受講生と受講生コースをまとめて読み直し1つのイベントで配ること() {
+    // Arrange
+    when(studentRepository.searchStudentsByIds(List.of(1, 2, 3)))
+        .thenReturn(List.of(makeStudent(1), makeStudent(2)));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(1, 2, 3)))
+        .thenReturn(List.of(makeStudentCourse(10, 1), makeStudentCourse(11, 1), makeStudentCourse(20, 2)));
+
+    // Act
+    sut.onStudentDataChanged(StudentDataChangedEvent.of(List.of(3, 1, 2, 1)));
+
+    // Assert
+    assertThat(published).hasSize(1);
+    StudentDataReloadedEvent actual = published.get(0);
+    assertThat(actual.isFullReload()).isFalse();
+    assertThat(actual.getStudentIds()).containsExactly(1, 2, 3);
+    assertThat(actual.getStudent(1)).isEqualTo(makeStudent(1));
+    assertThat(actual.getStudent(3)).isNull();
+    assertThat(actual.getStudentCourses(1))
+        .containsExactly(makeStudentCourse(10, 1), makeStudentCourse(11, 1));
+    assertThat(actual.getStudentCourses(3)).isEmpty();
+  }
+
+  @Test
+  void 受講生IDが多い場合はIN句の件数の上限ごとに分けて読み直すこと() {
+    // Arrange
+    List<Integer> studentIds = IntStream.rangeClosed(1, StudentDataReloader.RELOAD_CHUNK_SIZE + 1)
+        .boxed().toList();
+    when(studentRepository.searchStudentsByIds(anyList())).thenReturn(List.of());
+    when(studentRepository.searchStudentCoursesByStudentIds(anyList())).thenReturn(List.of());
+
+    // Act
+    sut.onStudentDataChanged(StudentDataChangedEvent.of(studentIds));
+
+    // Assert
+    verify(studentRepository, times(2)).searchStudentsByIds(anyList());
+    verify(studentRepository, times(2)).searchStudentCoursesByStudentIds(anyList());
+    assertThat(published).hasSize(1);
+  }
+
+  @Test
+  void 受講生を特定できない変更では有効な複製が使う全件を1回だけ読み込んで配ること() {
+    // Arrange
+    when(studentsReplica.isEnabled()).thenReturn(true);
+    when(studentsReplica.usesStudents()).thenReturn(true);
+    when(studentsReplica.usesStudentCourses()).thenReturn(false);
+    when(studentRepository.searchAllStudents()).thenReturn(List.of(makeStudent(1), makeStudent(2)));
+
+    // Act
+    sut.onStudentDataChanged(new StudentDataChangedEvent(null));
+
+    // Assert
+    verify(studentRepository, never()).searchStudentsByIds(anyList());
+    verify(studentRepository, never()).searchAllStudentCourses();
+    assertThat(published).hasSize(1);
+    StudentDataReloadedEvent actual = published.get(0);
+    assertThat(actual.isFullReload()).isTrue();
+    assertThat(actual.getAllStudents()).containsExactly(makeStudent(1), makeStudent(2));
+    assertThat(actual.getAllStudentCourses()).isEmpty();
+  }
+
+  @Test
+  void 起動完了時に有効な複製がなければ全件を読み込まないこと() {
+    // Act
+    sut.onApplicationReady();
+
+    // Assert
+    verify(studentRepository, never()).searchAllStudents();
+    verify(studentRepository, never()).searchAllStudentCourses();
+    assertThat(published).isEmpty();
+  }
+
+}
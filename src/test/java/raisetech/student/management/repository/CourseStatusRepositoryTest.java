@@ -2,10 +2,16 @@ package raisetech.student.management.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import raisetech.student.management.data.master.CourseStatus;
+import raisetech.student.management.data.master.StatusTransition;
+import raisetech.student.management.status.CourseStatusMachine;
 
 @MybatisTest
 class CourseStatusRepositoryTest {
@@ -40,9 +46,38 @@ class CourseStatusRepositoryTest {
       "1,99,false",
       "99,99,false"
   })
-  void ステータス遷移可否を判定できること(int fromStatusId, int toStatusId, boolean expected) {
-    boolean actual = sut.canTransition(fromStatusId, toStatusId);
+  void data_sqlのマスタから作った状態遷移表でステータス遷移可否を判定できること(int fromStatusId,
+      int toStatusId, boolean expected) {
+    CourseStatusMachine machine = CourseStatusMachine.compile(
+        sut.findAllStatuses(), sut.findAllTransitions(), Map.of());
+
+    boolean actual = machine.canTransition(fromStatusId, toStatusId);
 
     assertThat(actual).isEqualTo(expected);
   }
-}
\ No newline at end of file
+
+  @Test
+  void ステータスマスタを全件ステータスID順に取得できること() {
+    List<CourseStatus> actual = sut.findAllStatuses();
+
+    assertThat(actual).containsExactly(
+        new CourseStatus(1, "仮申込", false),
+        new CourseStatus(2, "本申込", false),
+        new CourseStatus(3, "受講中", false),
+        new CourseStatus(4, "受講終了", true),
+        new CourseStatus(5, "キャンセル", true));
+  }
+
+  @Test
+  void 遷移マスタを全件取得できること() {
+    List<StatusTransition> actual = sut.findAllTransitions();
+
+    assertThat(actual).containsExactly(
+        new StatusTransition(1, 2),
+        new StatusTransition(1, 5),
+        new StatusTransition(2, 3),
+        new StatusTransition(2, 5),
+        new StatusTransition(3, 4),
+        new StatusTransition(3, 5));
+  }
+}
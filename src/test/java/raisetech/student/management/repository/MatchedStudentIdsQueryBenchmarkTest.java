@@ -0,0 +1,148 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchOperator;
+
+/**
+ * 条件に一致する受講生IDの検索を、受講生コースを結合して DISTINCT で重複を除く従来のクエリと、
+ * 受講コースの条件を EXISTS で判定し、受講コースの条件がなければ受講生コースを参照しないクエリで比較するベンチマークです。
+ * 1人の受講生が複数の受講コースを持つデータを、テスト用のH2に入れて計測します。
+ * System.nanoTime による中央値の比較で、JMHのような厳密な計測ではなく、MySQLでの実行時間とも異なるため、
+ * クエリの形の違いによる大小を確かめるための目安です。
+ * 実行時間を計測するため通常のテストからは除外しています。./gradlew benchmark で実行します。
+ */
+@Tag("benchmark")
+@MybatisTest
+class MatchedStudentIdsQueryBenchmarkTest {
+
+  private static final int STUDENTS = 20_000;
+  private static final int COURSES_PER_STUDENT = 4;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 15;
+
+  private static final String[] COURSE_CODES = {"JA", "AW", "DE", "WM", "FR"};
+
+  /** 受講生コースを結合して DISTINCT で重複を除く従来のクエリ（受講生の条件のみ） */
+  private static final String JOIN_DISTINCT_STUDENT_QUERY = """
+      SELECT DISTINCT s.student_id
+      FROM students s
+      LEFT JOIN student_courses sc ON s.student_id = sc.student_id
+      WHERE s.sex = ? AND s.is_deleted = ?
+      ORDER BY s.student_id
+      """;
+
+  /** 受講生コースを結合して DISTINCT で重複を除く従来のクエリ（受講生と受講コースの条件） */
+  private static final String JOIN_DISTINCT_COURSE_QUERY = """
+      SELECT DISTINCT s.student_id
+      FROM students s
+      LEFT JOIN student_courses sc ON s.student_id = sc.student_id
+      WHERE s.is_deleted = ? AND sc.course_code = ? AND sc.status_id = ?
+      ORDER BY s.student_id
+      """;
+
+  @Autowired
+  private StudentRepository sut;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    List<Object[]> students = new ArrayList<>();
+    for (int i = 0; i < STUDENTS; i++) {
+      students.add(new Object[]{"受講生" + i, "じゅこうせい" + i, "bench" + i + "@example.com",
+          i % 2 == 0 ? "男" : "女", i % 10 == 0});
+    }
+    jdbcTemplate.batchUpdate("""
+        INSERT INTO students(full_name, kana_name, email, sex, is_deleted)
+        VALUES (?, ?, ?, ?, ?)
+        """, students);
+
+    List<Integer> studentIds = jdbcTemplate.queryForList(
+        "SELECT student_id FROM students WHERE email LIKE 'bench%'", Integer.class);
+    List<Object[]> courses = new ArrayList<>();
+    LocalDate applyAt = LocalDate.of(2024, 4, 1);
+    for (int studentId : studentIds) {
+      for (int j = 0; j < COURSES_PER_STUDENT; j++) {
+        courses.add(new Object[]{studentId, COURSE_CODES[(studentId + j) % COURSE_CODES.length],
+            (studentId + j) % 5 + 1, applyAt.plusDays(j)});
+      }
+    }
+    jdbcTemplate.batchUpdate("""
+        INSERT INTO student_courses(student_id, course_code, status_id, course_apply_at)
+        VALUES (?, ?, ?, ?)
+        """, courses);
+  }
+
+  /**
+   * 処理をウォームアップしたあと繰り返し実行し、1回あたりの実行時間の中央値（ナノ秒）を返します。
+   */
+  private static long medianNanos(Supplier<List<Integer>> task) {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      task.get();
+    }
+    long[] elapsed = new long[MEASURED_ROUNDS];
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      long start = System.nanoTime();
+      task.get();
+      elapsed[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(elapsed);
+    return elapsed[MEASURED_ROUNDS / 2];
+  }
+
+  @Test
+  void 受講生の条件だけの検索は受講生コースを結合しないクエリの方が速いこと() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applySexFilter(new SearchFilter("sex", SearchOperator.EQ, "女", null));
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    Supplier<List<Integer>> joinDistinct =
+        () -> jdbcTemplate.queryForList(JOIN_DISTINCT_STUDENT_QUERY, Integer.class, "女", false);
+    assertThat(sut.findMatchedStudentIds(criteria)).isEqualTo(joinDistinct.get());
+
+    long joinDistinctNanos = medianNanos(joinDistinct);
+    long queryNanos = medianNanos(() -> sut.findMatchedStudentIds(criteria));
+
+    assertThat(queryNanos)
+        .as("結合とDISTINCT %,d us, 結合なし %,d us", joinDistinctNanos / 1_000, queryNanos / 1_000)
+        .isLessThan(joinDistinctNanos);
+  }
+
+  @Test
+  void 受講コースの条件を含む検索はEXISTSでも結合と同じ結果になり大きく遅くならないこと() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    criteria.applyCourseCodeFilter(new SearchFilter("courseCode", SearchOperator.EQ, "JA", null));
+    criteria.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, "3", null));
+    Supplier<List<Integer>> joinDistinct =
+        () -> jdbcTemplate.queryForList(JOIN_DISTINCT_COURSE_QUERY, Integer.class, false, "JA", 3);
+    assertThat(sut.findMatchedStudentIds(criteria)).isEqualTo(joinDistinct.get());
+
+    long joinDistinctNanos = medianNanos(joinDistinct);
+    long queryNanos = medianNanos(() -> sut.findMatchedStudentIds(criteria));
+
+    // 受講コースの条件がある場合はどちらも受講生コースを参照するため、速くなることまでは求めない
+    assertThat(queryNanos)
+        .as("結合とDISTINCT %,d us, EXISTS %,d us", joinDistinctNanos / 1_000, queryNanos / 1_000)
+        .isLessThan(joinDistinctNanos * 2);
+  }
+
+}
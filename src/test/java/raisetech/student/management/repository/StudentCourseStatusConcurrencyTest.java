@@ -0,0 +1,164 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.status.CourseStatusMachine;
+
+/**
+ * 受講生コースのステータスの条件付き更新（compareAndSetStudentCourseStatus）を、複数のスレッドから同時に呼び出しても
+ * 遷移マスタで許可されていない遷移が適用されないことを確かめるテストです。
+ * スレッドごとに別の接続でコミットさせるため、テストメソッドをトランザクションで囲みません。
+ * 使用する受講生コースはテストの前後で data.sql の状態（仮申込）に戻します。
+ */
+@MybatisTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentCourseStatusConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 50;
+
+  /** data.sql の受講生コースID=5（受講生ID=5, 仮申込, 受講開始日などは未設定） */
+  private static final int STUDENT_COURSE_ID = 5;
+  private static final int STUDENT_ID = 5;
+
+  private static final int TEMPORARY = 1;
+  private static final int APPLIED = 2;
+  private static final int CANCELED = 5;
+
+  @Autowired
+  private StudentRepository sut;
+
+  @Autowired
+  private CourseStatusRepository statusRepository;
+
+  private CourseStatusMachine statusMachine;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    statusMachine = CourseStatusMachine.compile(statusRepository.findAllStatuses(),
+        statusRepository.findAllTransitions(), Map.of());
+    executor = Executors.newFixedThreadPool(THREADS);
+    resetStatus();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    resetStatus();
+  }
+
+  /**
+   * 仮申込からの遷移（本申込・キャンセル）は日付を変更しないため、ステータスだけを戻せば data.sql の状態に戻る
+   */
+  private void resetStatus() {
+    sut.compareAndSetStudentCourseStatus(
+        new StudentCourse(STUDENT_COURSE_ID, STUDENT_ID, null, TEMPORARY, null, null, null, null),
+        List.of(TEMPORARY, APPLIED, CANCELED));
+  }
+
+  /**
+   * 全てのスレッドを同時に開始させ、スレッドごとに更新後のステータスへ条件付き更新を行い、それぞれの更新件数を返す
+   *
+   * @param toStatusIds スレッドごとの更新後のステータスID
+   * @param expectedStatusId 遷移前のステータスID。nullなら状態遷移表から求めた遷移前のステータス全てを条件にする
+   */
+  private List<Integer> race(List<Integer> toStatusIds, Integer expectedStatusId) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int toStatusId : toStatusIds) {
+      List<Integer> fromStatusIds = expectedStatusId != null
+          ? List.of(expectedStatusId)
+          : statusMachine.findFromStatusIds(toStatusId);
+      StudentCourse forUpdate = new StudentCourse(STUDENT_COURSE_ID, STUDENT_ID, null, toStatusId,
+          null, null, null, null);
+      futures.add(executor.submit(() -> {
+        start.await();
+        return sut.compareAndSetStudentCourseStatus(forUpdate, fromStatusIds);
+      }));
+    }
+    start.countDown();
+
+    List<Integer> updatedRows = new ArrayList<>();
+    for (Future<Integer> future : futures) {
+      updatedRows.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return updatedRows;
+  }
+
+  private int currentStatusId() {
+    return sut.findStatusId(new StudentCourse(STUDENT_COURSE_ID, STUDENT_ID, null, null, null,
+        null, null, null));
+  }
+
+  private static List<Integer> alternate(int first, int second) {
+    List<Integer> toStatusIds = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      toStatusIds.add(i % 2 == 0 ? first : second);
+    }
+    return toStatusIds;
+  }
+
+  @Test
+  void 更新前のステータスを指定した同時更新では1件だけが成功し最終的なステータスは成功した更新と一致すること() throws Exception {
+    for (int round = 0; round < ROUNDS; round++) {
+      resetStatus();
+
+      List<Integer> toStatusIds = alternate(APPLIED, CANCELED);
+      List<Integer> updatedRows = race(toStatusIds, TEMPORARY);
+
+      assertThat(updatedRows.stream().mapToInt(Integer::intValue).sum())
+          .as("round %d", round).isEqualTo(1);
+      int winner = toStatusIds.get(updatedRows.indexOf(1));
+      assertThat(currentStatusId()).as("round %d", round).isEqualTo(winner);
+    }
+  }
+
+  @Test
+  void 更新前のステータスを指定しない同時更新でも遷移マスタにない遷移は適用されないこと() throws Exception {
+    // 仮申込からは本申込とキャンセルへ、本申込からはキャンセルへ遷移できる。キャンセルは終端
+    for (int round = 0; round < ROUNDS; round++) {
+      resetStatus();
+
+      List<Integer> toStatusIds = alternate(APPLIED, CANCELED);
+      List<Integer> updatedRows = race(toStatusIds, null);
+
+      int appliedCount = 0;
+      int canceledCount = 0;
+      for (int i = 0; i < toStatusIds.size(); i++) {
+        if (updatedRows.get(i) == 1) {
+          if (toStatusIds.get(i) == APPLIED) {
+            appliedCount++;
+          } else {
+            canceledCount++;
+          }
+        }
+      }
+      // 本申込への遷移は仮申込からの1回だけ、キャンセル（終端）への遷移も1回だけ適用される
+      assertThat(appliedCount).as("round %d", round).isLessThanOrEqualTo(1);
+      assertThat(canceledCount).as("round %d", round).isLessThanOrEqualTo(1);
+      assertThat(appliedCount + canceledCount).as("round %d", round).isGreaterThanOrEqualTo(1);
+      // キャンセルの後に本申込へ戻ることはない
+      assertThat(currentStatusId()).as("round %d", round)
+          .isEqualTo(canceledCount == 1 ? CANCELED : APPLIED);
+    }
+  }
+
+}
@@ -5,7 +5,9 @@ import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -13,9 +15,16 @@ import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
 import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSortKey;
+import raisetech.student.management.search.facet.StudentFacetRow;
 import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchFilterGroup;
+import raisetech.student.management.search.request.SearchGroupOperator;
 import raisetech.student.management.search.request.SearchOperator;
+import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import raisetech.student.management.search.suggest.StudentSuggestion;
 import raisetech.student.management.testutil.TestDataFactory;
 
 @MybatisTest
@@ -139,6 +148,37 @@ class StudentRepositoryTest {
     assertThat(actual).containsExactly(1, 2, 4);
   }
 
+  @Test
+  void 条件検索_coursePeriodで指定日に受講中の受講生を受講終了実績日を優先して検索できること() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyCoursePeriodFilter(new SearchFilter(
+        "coursePeriod",
+        SearchOperator.EQ,
+        "2025-02-11",
+        null
+    ));
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    // 受講生3は受講終了予定日（2025-02-12）より前の2025-02-10に受講終了しているため一致しない
+    assertThat(actual).containsExactly(1, 2, 4);
+  }
+
+  @Test
+  void 条件検索_coursePeriodで期間と重なる受講期間を持つ受講生を検索できること() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyCoursePeriodFilter(new SearchFilter(
+        "coursePeriod",
+        SearchOperator.OVERLAPS,
+        null,
+        List.of("2025-04-16", "2025-12-31")
+    ));
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(4);
+  }
+
   @Test
   void 条件検索_isDeleted_trueで削除済み受講生のみ取得できること() {
     StudentSearchCriteria criteria = new StudentSearchCriteria();
@@ -191,6 +231,70 @@ class StudentRepositoryTest {
     assertThat(actual).doesNotHaveDuplicates();
   }
 
+  @Test
+  void 条件検索_受講コースの条件は同じ受講生コースで全て満たす受講生だけを返すこと() {
+    // 受講生4はWMコース（ステータス5）とDEコース（ステータス3）を受講しているが、WMかつステータス3の受講生コースはない
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyCourseCodeFilter(new SearchFilter("courseCode", SearchOperator.EQ, "WM", null));
+    criteria.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, "3", null));
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  void 条件検索_ORグループのいずれかのフィルターを満たす受講生を返すこと() {
+    SearchFilterGroup or = new SearchFilterGroup(SearchGroupOperator.OR, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "JA", null),
+        new SearchFilter("area", SearchOperator.CONTAINS, "北海道", null)
+    ), null);
+    StudentSearchCriteria criteria = new StudentSearchCriteriaConverter()
+        .toCriteria(new StudentAdvancedSearchRequest(null, List.of(or)));
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void 条件検索_NOTグループのフィルターを満たす受講生コースを持つ受講生を除くこと() {
+    // DEコースは受講生3と4が受講している
+    SearchFilterGroup not = new SearchFilterGroup(SearchGroupOperator.NOT, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "DE", null)
+    ), null);
+    StudentSearchCriteria criteria = new StudentSearchCriteriaConverter().toCriteria(
+        new StudentAdvancedSearchRequest(
+            List.of(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null)), List.of(not)));
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(1, 2);
+  }
+
+  @Test
+  void 条件検索_並び順を指定すると受講コースの項目は降順なら受講生ごとの最大値で並べ先頭から指定件数だけ返すこと() {
+    // 受講生ごとの最新の受講申込日: 2=09-18, 5=09-04, 4=08-25, 3=08-07, 1=07-10
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applySort(List.of(StudentSortKey.parse("-courseApplyAt")));
+    criteria.applyPage(null, 3);
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(2, 5, 4);
+  }
+
+  @Test
+  void 条件検索_並び順の項目の値がnullの受講生は最後に並べること() {
+    // 受講生5は受講開始日のある受講生コースを持たない
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applySort(List.of(StudentSortKey.parse("courseStartAt")));
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(1, 4, 3, 2, 5);
+  }
+
   @Test
   void 条件検索_一致するデータがないとき空リストを返すこと() {
     StudentSearchCriteria criteria = new StudentSearchCriteria();
@@ -206,6 +310,151 @@ class StudentRepositoryTest {
     assertThat(actual).isEmpty();
   }
 
+  @Test
+  void 条件検索_ページング条件を指定すると指定IDより後ろを受講生ID順に指定件数だけ返すこと() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyPage(1, 2);
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(2, 3);
+  }
+
+  @Test
+  void 条件検索_受講コース条件で複数行一致してもページング件数は受講生単位で数えること() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyStatusIdFilter(new SearchFilter(
+        "statusId",
+        SearchOperator.IN,
+        null,
+        List.of("3", "5")
+    ));
+    criteria.applyPage(1, 2);
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    // 受講生4は status 3 と 5 の2コースを持つが1件として数える
+    assertThat(actual).containsExactly(2, 4);
+  }
+
+  @Test
+  void 条件検索_候補の受講生IDを指定するとその中から条件に一致する受講生IDだけを返すこと() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyFullNameFilter(new SearchFilter(
+        "fullName",
+        SearchOperator.CONTAINS,
+        "子",
+        null
+    ));
+    // 索引は候補を多めに返すため、条件に一致しない受講生1と存在しない受講生99も候補に含める
+    // 3件の候補はプレースホルダー4つにバインドされ、余った1つには末尾の99が入る
+    criteria.restrictToStudentIds(List.of(1, 2, 99));
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(2);
+  }
+
+  @Test
+  void 入力補完_列の値が前方一致する受講生を値ごとに数えて人数の多い順に取得できること() {
+    sut.registerStudent(new Student(null, "佐藤花子", "さとうはなこ", "ハナ", "hana@example.com",
+        "東京都練馬区", "090-0000-0000", 20, "女", "", false));
+
+    List<StudentSuggestion> actual = sut.suggestStudentValues("fullName", "佐%", 10);
+
+    assertThat(actual).containsExactly(new StudentSuggestion("佐藤花子", 2));
+  }
+
+  @Test
+  void 入力補完_エスケープしたワイルドカードは文字として前方一致すること() {
+    sut.registerStudent(new Student(null, "50%_割引", "ごじゅう", "ハナ", "hana@example.com",
+        "東京都練馬区", "090-0000-0000", 20, "女", "", false));
+    sut.registerStudent(new Student(null, "50円", "ごじゅう", "ハナ", "hana2@example.com",
+        "東京都練馬区", "090-0000-0000", 20, "女", "", false));
+
+    List<StudentSuggestion> actual = sut.suggestStudentValues("fullName", "50\\%\\_%", 10);
+
+    assertThat(actual).containsExactly(new StudentSuggestion("50%_割引", 1));
+  }
+
+  @Test
+  void 入力補完_人数が同じ値は値の順に取得件数の上限まで取得できること() {
+    List<StudentSuggestion> actual = sut.suggestStudentValues("area", "%県%", 2);
+
+    assertThat(actual).containsExactly(
+        new StudentSuggestion("奈良県大和郡山市", 1),
+        new StudentSuggestion("滋賀県甲賀市", 1));
+  }
+
+  @Test
+  void 条件検索_カーソルで一致する受講生IDを受講生ID順に重複なく読み出せること() throws Exception {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyStatusIdFilter(new SearchFilter(
+        "statusId",
+        SearchOperator.EQ,
+        "3",
+        null
+    ));
+
+    List<Integer> actual = new ArrayList<>();
+    try (Cursor<Integer> cursor = sut.streamMatchedStudentIds(criteria)) {
+      cursor.forEach(actual::add);
+    }
+
+    assertThat(actual).containsExactly(1, 2, 4);
+  }
+
+  @Test
+  void 件数検索_受講コースの条件に複数の受講生コースが一致しても受講生の人数を数えること() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyCourseCodeFilter(new SearchFilter("courseCode", SearchOperator.IN, null,
+        List.of("JA", "AW", "DE")));
+    criteria.applyPage(1, 1);
+
+    long actual = sut.countMatchedStudents(criteria);
+
+    assertThat(actual).isEqualTo(4);
+  }
+
+  @Test
+  void 集計検索_一致する受講生の受講生コースを受講生ID順に読み出せること() throws Exception {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    criteria.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, "3", null));
+
+    List<StudentFacetRow> actual = new ArrayList<>();
+    try (Cursor<StudentFacetRow> cursor = sut.streamStudentCourseFacetRows(criteria)) {
+      cursor.forEach(actual::add);
+    }
+
+    assertThat(actual)
+        .extracting(StudentFacetRow::getStudentId)
+        .containsExactly(1, 2, 2, 4, 4);
+    assertThat(actual)
+        .extracting(StudentFacetRow::getCourseCode)
+        .containsExactlyInAnyOrder("JA", "AW", "JA", "WM", "DE");
+    assertThat(actual.get(0))
+        .isEqualTo(new StudentFacetRow(1, "男", "茨城県かすみがうら市", "JA", 3));
+  }
+
+  @Test
+  void 全受講生を受講生ID順に取得できること() {
+    List<Student> actual = sut.searchAllStudents();
+
+    assertThat(actual).containsExactlyElementsOf(MyBatisTestDataFactory.makeDummyStudentList());
+  }
+
+  @Test
+  void 全受講生コースを受講生コースID順に取得できること() {
+    List<StudentCourse> actual = sut.searchAllStudentCourses();
+
+    List<StudentCourse> expected = MyBatisTestDataFactory.makeDummyStudentDetailList().stream()
+        .flatMap(detail -> detail.getStudentCourses().stream())
+        .sorted(Comparator.comparing(StudentCourse::getStudentCourseId))
+        .toList();
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
   @Test
   void 受講生IDに紐づく受講生コースの一覧を検索できること() {
     int studentId = 2;
@@ -227,6 +476,38 @@ class StudentRepositoryTest {
     assertThat(actual).isEmpty();
   }
 
+  @Test
+  void 受講生IDリストに一致する受講生を一括検索できること() {
+    List<Student> actual = sut.searchStudentsByIds(List.of(4, 2, 999));
+
+    assertThat(actual).containsExactlyInAnyOrder(
+        MyBatisTestDataFactory.makeDummyStudentDetail2().getStudent(),
+        MyBatisTestDataFactory.makeDummyStudentDetail4().getStudent());
+  }
+
+  @Test
+  void 受講生IDリストに一致する受講生を指定された列だけ一括検索できること() {
+    List<Student> actual = sut.searchStudentColumnsByIds(List.of(4, 2, 999),
+        List.of("student_id", "full_name", "kana_name"));
+
+    assertThat(actual).containsExactlyInAnyOrder(
+        new Student(2, "佐藤花子", "さとうはなこ", null, null, null, null, null, null, null, null),
+        new Student(4, "鈴木佑一", "すずきゆういち", null, null, null, null, null, null, null, null));
+  }
+
+  @Test
+  void 受講生IDリストに紐づく受講生コースを受講生ID順に一括検索できること() {
+    List<StudentCourse> actual = sut.searchStudentCoursesByStudentIds(List.of(4, 2, 999));
+
+    List<StudentCourse> expected = new ArrayList<>();
+    expected.addAll(MyBatisTestDataFactory.makeDummyStudentDetail2().getStudentCourses());
+    expected.addAll(MyBatisTestDataFactory.makeDummyStudentDetail4().getStudentCourses());
+    expected.sort(Comparator.comparing(StudentCourse::getStudentId)
+        .thenComparing(StudentCourse::getStudentCourseId));
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
   @Test
   void 受講生登録が行えること() {
     // Arrange
@@ -332,6 +613,41 @@ class StudentRepositoryTest {
     assertThat(afterRegister.getCourseFinishedAt()).isNull();
   }
 
+  @Test
+  void 受講生の一括登録を行うことができ_採番された受講生IDが各受講生にセットされていること() {
+    // Arrange
+    Student student1 = new Student(null, "佐藤一郎", "さとういちろう", "イチ", "ichiro@example.com",
+        "東京都練馬区", "090-0000-0001", 20, "男", "", false);
+    Student student2 = new Student(null, "佐藤二郎", "さとうじろう", "ジロ", "jiro@example.com",
+        "東京都練馬区", "090-0000-0002", 21, "男", "", false);
+
+    // Act
+    sut.registerStudents(List.of(student1, student2));
+
+    // Assert
+    assertThat(student1.getStudentId()).isNotNull();
+    assertThat(student2.getStudentId()).isGreaterThan(student1.getStudentId());
+    assertThat(sut.searchStudent(student1.getStudentId())).isEqualTo(student1);
+    assertThat(sut.searchStudent(student2.getStudentId())).isEqualTo(student2);
+  }
+
+  @Test
+  void 受講生コースの一括登録を行うことができ_採番された受講生コースIDが各受講生コースにセットされていること() {
+    // Arrange
+    LocalDate today = LocalDate.now();
+    StudentCourse studentCourse1 = new StudentCourse(null, 1, "AW", 1, today, null, null, null);
+    StudentCourse studentCourse2 = new StudentCourse(null, 2, "DE", 1, today, null, null, null);
+
+    // Act
+    sut.registerStudentCourses(List.of(studentCourse1, studentCourse2));
+
+    // Assert
+    assertThat(studentCourse1.getStudentCourseId()).isNotNull();
+    assertThat(studentCourse2.getStudentCourseId()).isGreaterThan(studentCourse1.getStudentCourseId());
+    assertThat(sut.searchStudentCourses(1)).contains(studentCourse1);
+    assertThat(sut.searchStudentCourses(2)).contains(studentCourse2);
+  }
+
   @Test
   void コースコードがnullの受講生コースを登録しようとすると例外が発生すること() {
     Integer studentId = 1;
@@ -459,7 +775,7 @@ class StudentRepositoryTest {
     );
 
     // Act
-    Integer updated = sut.updateStudentCourseStatus(forUpdate);
+    Integer updated = sut.compareAndSetStudentCourseStatus(forUpdate, List.of(original.getStatusId()));
 
     StudentCourse actual = sut.searchStudentCourses(studentId).stream()
         .filter(sc -> sc.getStudentCourseId().equals(scId))
@@ -503,7 +819,7 @@ class StudentRepositoryTest {
     );
 
     // Act
-    Integer updated = sut.updateStudentCourseStatus(forUpdate);
+    Integer updated = sut.compareAndSetStudentCourseStatus(forUpdate, List.of(original.getStatusId()));
 
     StudentCourse actual = sut.searchStudentCourses(studentId).stream()
         .filter(sc -> sc.getStudentCourseId().equals(scId))
@@ -527,7 +843,7 @@ class StudentRepositoryTest {
     int studentId = 99;
     StudentCourse course = TestDataFactory.makeCompletedStudentCourse(studentId, scId);
 
-    int actual = sut.updateStudentCourseStatus(course);
+    int actual = sut.compareAndSetStudentCourseStatus(course, List.of(course.getStatusId()));
 
     assertThat(actual).isZero();
   }
@@ -537,11 +853,84 @@ class StudentRepositoryTest {
     int scId = 999;
     StudentCourse course = TestDataFactory.makeCompletedStudentCourse(1, scId);
 
-    int actual = sut.updateStudentCourseStatus(course);
+    int actual = sut.compareAndSetStudentCourseStatus(course, List.of(course.getStatusId()));
 
     assertThat(actual).isZero();
   }
 
+  @Test
+  void 受講生コース条件付き更新成功_現在のステータスが遷移前のステータスのいずれかなら更新できること() {
+    // data.sql の受講生コースID=2（受講生ID=2）は本申込
+    StudentCourse forUpdate = new StudentCourse(2, 2, null, 3, null,
+        LocalDate.of(2025, 4, 1), LocalDate.of(2026, 4, 1), null);
+
+    int updated = sut.compareAndSetStudentCourseStatus(forUpdate, List.of(1, 2));
+
+    StudentCourse actual = sut.searchStudentCourses(2).stream()
+        .filter(sc -> sc.getStudentCourseId().equals(2))
+        .findFirst()
+        .orElseThrow();
+    assertThat(updated).isEqualTo(1);
+    assertThat(actual.getStatusId()).isEqualTo(3);
+    assertThat(actual.getCourseStartAt()).isEqualTo(LocalDate.of(2025, 4, 1));
+    assertThat(actual.getCoursePlannedEndAt()).isEqualTo(LocalDate.of(2026, 4, 1));
+  }
+
+  @Test
+  void 受講生コース条件付き更新失敗_現在のステータスが遷移前のステータスのいずれとも一致しなければ更新件数が0件であること() {
+    StudentCourse forUpdate = new StudentCourse(2, 2, null, 3, null, null, null, null);
+
+    int updated = sut.compareAndSetStudentCourseStatus(forUpdate, List.of(1, 3));
+
+    assertThat(updated).isZero();
+    assertThat(sut.findStatusId(forUpdate)).isEqualTo(2);
+  }
+
+  @Test
+  void 受講生コース条件付き更新失敗_受講生IDが紐づかなければ更新件数が0件であること() {
+    StudentCourse forUpdate = new StudentCourse(2, 99, null, 3, null, null, null, null);
+
+    int updated = sut.compareAndSetStudentCourseStatus(forUpdate, List.of(2));
+
+    assertThat(updated).isZero();
+  }
+
+  @Test
+  void 受講生コース一括更新成功_遷移前のステータスが一致する受講生コースだけを更新できること() {
+    // Arrange
+    LocalDate today = LocalDate.now();
+    StudentCourse reflected = new StudentCourse(null, null, null, 3, null, today, today.plusYears(1), null);
+    StudentCourse before = sut.searchStudentCourses(4).stream()
+        .filter(sc -> sc.getStudentCourseId() == 7)
+        .findFirst()
+        .orElseThrow();
+
+    // Act
+    // 受講生コースID=2は本申込、7は受講中
+    int actual = sut.updateStudentCourseStatuses(List.of(2, 7), 2, reflected);
+
+    // Assert
+    assertThat(actual).isEqualTo(1);
+    StudentCourse updated = sut.searchStudentCourses(2).stream()
+        .filter(sc -> sc.getStudentCourseId() == 2)
+        .findFirst()
+        .orElseThrow();
+    assertThat(updated.getStatusId()).isEqualTo(3);
+    assertThat(updated.getCourseStartAt()).isEqualTo(today);
+    assertThat(updated.getCoursePlannedEndAt()).isEqualTo(today.plusYears(1));
+    assertThat(updated.getCourseFinishedAt()).isNull();
+    assertThat(sut.searchStudentCourses(4)).contains(before);
+  }
+
+  @Test
+  void 受講生コースIDリストに一致する受講生コースの受講生IDと現在のステータスIDを一括で取得できること() {
+    List<StudentCourse> actual = sut.findStudentCourseStatuses(List.of(2, 6, 999));
+
+    assertThat(actual).containsExactlyInAnyOrder(
+        new StudentCourse(2, 2, null, 2, null, null, null, null),
+        new StudentCourse(6, 2, null, 3, null, null, null, null));
+  }
+
   @Test
   void 受講生コースIDと受講生IDに紐づく現在のステータスIDを取得できること() {
     // student_course_id=1 のレコードは student_id=1, status_id=3
@@ -0,0 +1,125 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.parsing.XPathParser;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchOperator;
+
+/**
+ * 受講生ID検索のSQLの組み立て（getBoundSql）を、XMLマッパーの動的SQL（&lt;if test&gt; のOGNL式の評価）と
+ * StudentSearchSqlProvider（条件の組み合わせごとにキャッシュしたSQL）で比較するベンチマークです。
+ * DBには接続せず、SQLとパラメータの組み立てにかかる時間だけを計測します。
+ * System.nanoTime による中央値の比較で、JMHのような厳密な計測ではなく、両者の大小を確かめるための目安です。
+ * 実行時間を計測するため通常のテストからは除外しています。./gradlew benchmark で実行します。
+ */
+@Tag("benchmark")
+class StudentSearchSqlProviderBenchmarkTest {
+
+  private static final int CALLS_PER_ROUND = 1_000;
+  private static final int WARMUP_ROUNDS = 50;
+  private static final int MEASURED_ROUNDS = 100;
+
+  private static final String[] NAMES = {"田中", "佐藤", "鈴木", "高橋"};
+
+  private static Configuration configuration;
+  private static SqlSource xmlSqlSource;
+  private static SqlSource providerSqlSource;
+  private static List<StudentSearchCriteria> criteriaList;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    configuration = new Configuration();
+    configuration.addMapper(StudentRepository.class);
+    providerSqlSource = configuration
+        .getMappedStatement(StudentRepository.class.getName() + ".findMatchedStudentIds")
+        .getSqlSource();
+    try (InputStream xml = StudentSearchSqlProviderBenchmarkTest.class
+        .getResourceAsStream("/benchmark/MatchedStudentIdsDynamicQuery.xml")) {
+      xmlSqlSource = new XMLLanguageDriver().createSqlSource(configuration,
+          new XPathParser(xml, false, null, null).evalNode("/select"), StudentSearchCriteria.class);
+    }
+    criteriaList = Arrays.stream(NAMES).map(StudentSearchSqlProviderBenchmarkTest::makeCriteria).toList();
+  }
+
+  private static StudentSearchCriteria makeCriteria(String fullName) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyFullNameFilter(new SearchFilter("fullName", SearchOperator.CONTAINS, fullName, null));
+    criteria.applyAgeFilter(new SearchFilter("age", SearchOperator.BETWEEN, null, List.of("20", "39")));
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    criteria.applyCourseCodeFilter(new SearchFilter("courseCode", SearchOperator.IN, null, List.of("JA", "DE")));
+    criteria.applyStatusIdFilter(new SearchFilter("statusId", SearchOperator.EQ, "3", null));
+    criteria.normalize();
+    criteria.applyPage(100, 21);
+    return criteria;
+  }
+
+  /**
+   * JDBCのプレースホルダーに順にバインドされる値を、MyBatisのDefaultParameterHandlerと同じ方法で取り出します。
+   */
+  private static List<Object> boundValues(BoundSql boundSql, StudentSearchCriteria criteria) {
+    MetaObject metaObject = configuration.newMetaObject(criteria);
+    return boundSql.getParameterMappings().stream()
+        .map(ParameterMapping::getProperty)
+        .map(property -> boundSql.hasAdditionalParameter(property)
+            ? boundSql.getAdditionalParameter(property)
+            : metaObject.getValue(property))
+        .toList();
+  }
+
+  /**
+   * 処理をウォームアップしたあと繰り返し実行し、getBoundSql 1回あたりの実行時間の中央値（ナノ秒）を返します。
+   */
+  private static long medianNanos(Function<StudentSearchCriteria, BoundSql> task) {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      runRound(task);
+    }
+    long[] elapsed = new long[MEASURED_ROUNDS];
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      long start = System.nanoTime();
+      runRound(task);
+      elapsed[i] = (System.nanoTime() - start) / CALLS_PER_ROUND;
+    }
+    Arrays.sort(elapsed);
+    return elapsed[MEASURED_ROUNDS / 2];
+  }
+
+  private static int runRound(Function<StudentSearchCriteria, BoundSql> task) {
+    int parameters = 0;
+    for (int i = 0; i < CALLS_PER_ROUND; i++) {
+      parameters += task.apply(criteriaList.get(i % criteriaList.size())).getParameterMappings().size();
+    }
+    return parameters;
+  }
+
+  @Test
+  void SQLの組み立てはキャッシュしたSQLを使う方がXMLの動的SQLより速いこと() {
+    for (StudentSearchCriteria criteria : criteriaList) {
+      assertThat(boundValues(providerSqlSource.getBoundSql(criteria), criteria))
+          .isEqualTo(boundValues(xmlSqlSource.getBoundSql(criteria), criteria));
+    }
+
+    long xmlNanos = medianNanos(xmlSqlSource::getBoundSql);
+    long providerNanos = medianNanos(providerSqlSource::getBoundSql);
+
+    assertThat(providerNanos)
+        .as("getBoundSql 1回あたり: XMLの動的SQL %,d ns, キャッシュしたSQL %,d ns", xmlNanos, providerNanos)
+        .isLessThan(xmlNanos);
+  }
+
+}
@@ -0,0 +1,190 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSortKey;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchFilterGroup;
+import raisetech.student.management.search.request.SearchGroupOperator;
+import raisetech.student.management.search.request.SearchOperator;
+import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+
+class StudentSearchSqlProviderTest {
+
+  private static StudentSearchCriteria makeCriteria(String fullName, String... courseCodes) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyFullNameFilter(new SearchFilter("fullName", SearchOperator.CONTAINS, fullName, null));
+    criteria.applyIsDeletedFilter(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    criteria.applyCourseCodeFilter(new SearchFilter("courseCode", SearchOperator.IN, null, List.of(courseCodes)));
+    criteria.applyPage(10, 21);
+    return criteria;
+  }
+
+  @Test
+  void 条件未指定のとき受講生テーブルだけを受講生ID順に検索するSQLを返すこと() {
+    String actual = StudentSearchSqlProvider.findMatchedStudentIds(new StudentSearchCriteria());
+
+    assertThat(actual).isEqualTo("SELECT s.student_id FROM students s ORDER BY s.student_id");
+  }
+
+  @Test
+  void 受講コースの条件はEXISTSの中で同じ受講生コースに対する条件としてまとめること() {
+    // Act
+    String actual = StudentSearchSqlProvider.findMatchedStudentIds(makeCriteria("田中", "JA", "DE"));
+
+    // Assert
+    assertThat(actual).isEqualTo("SELECT s.student_id FROM students s"
+        + " WHERE s.full_name LIKE #{fullNameLike} AND s.is_deleted = #{isDeleted}"
+        + " AND EXISTS (SELECT 1 FROM student_courses sc WHERE sc.student_id = s.student_id"
+        + " AND sc.course_code IN (#{paddedCourseCodeIn[0]}, #{paddedCourseCodeIn[1]}))"
+        + " AND s.student_id > #{afterStudentId}"
+        + " ORDER BY s.student_id LIMIT #{limit}");
+  }
+
+  @Test
+  void 指定されている条件の組み合わせが同じなら値が違っても同じSQLを使い回すこと() {
+    // Act
+    String first = StudentSearchSqlProvider.findMatchedStudentIds(makeCriteria("田中", "JA", "DE"));
+    String second = StudentSearchSqlProvider.findMatchedStudentIds(makeCriteria("佐藤", "AW", "WM"));
+    String third = StudentSearchSqlProvider.findMatchedStudentIds(makeCriteria("佐藤", "AW", "WM", "FR"));
+
+    // Assert
+    assertThat(second).isSameAs(first);
+    assertThat(third).isNotEqualTo(first).contains("#{paddedCourseCodeIn[3]}");
+  }
+
+  @Test
+  void INのリストの件数は2のべき乗に切り上げて件数が近い検索では同じSQLを使い回すこと() {
+    // Arrange
+    StudentSearchCriteria five = new StudentSearchCriteria();
+    five.restrictToStudentIds(List.of(1, 2, 3, 4, 5));
+    StudentSearchCriteria eight = new StudentSearchCriteria();
+    eight.restrictToStudentIds(List.of(1, 2, 3, 4, 5, 6, 7, 8));
+
+    // Act
+    String fiveSql = StudentSearchSqlProvider.findMatchedStudentIds(five);
+    String eightSql = StudentSearchSqlProvider.findMatchedStudentIds(eight);
+
+    // Assert
+    assertThat(eightSql).isSameAs(fiveSql);
+    assertThat(fiveSql).contains("#{paddedCandidateStudentIds[7]})")
+        .doesNotContain("#{paddedCandidateStudentIds[8]}");
+    assertThat(five.getPaddedCandidateStudentIds()).containsExactly(1, 2, 3, 4, 5, 5, 5, 5);
+  }
+
+  @Test
+  void 指定されている条件ごとに異なるビットを立てること() {
+    // Arrange
+    StudentSearchCriteria fullName = new StudentSearchCriteria();
+    fullName.applyFullNameFilter(new SearchFilter("fullName", SearchOperator.CONTAINS, "田中", null));
+    StudentSearchCriteria courseCode = new StudentSearchCriteria();
+    courseCode.applyCourseCodeFilter(new SearchFilter("courseCode", SearchOperator.EQ, "JA", null));
+
+    // Act
+    long fullNameMask = StudentSearchSqlProvider.maskOf(fullName);
+    long courseCodeMask = StudentSearchSqlProvider.maskOf(courseCode);
+    long combinedMask = StudentSearchSqlProvider.maskOf(makeCriteria("田中", "JA", "DE"));
+
+    // Assert
+    assertThat(StudentSearchSqlProvider.maskOf(new StudentSearchCriteria())).isZero();
+    assertThat(Long.bitCount(fullNameMask)).isEqualTo(1);
+    assertThat(Long.bitCount(courseCodeMask)).isEqualTo(1);
+    assertThat(fullNameMask & courseCodeMask).isZero();
+    assertThat(combinedMask & fullNameMask).isEqualTo(fullNameMask);
+    assertThat(Long.bitCount(combinedMask)).isEqualTo(5);
+  }
+
+  @Test
+  void 候補の受講生IDが空のとき一致しない条件にすること() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.restrictToStudentIds(List.of());
+
+    String actual = StudentSearchSqlProvider.findMatchedStudentIds(criteria);
+
+    assertThat(actual).contains("WHERE 1 = 0");
+  }
+
+  @Test
+  void 検索フィルターグループの条件の木を1つの述語にして受講コース条件だけのNOTはNOT_EXISTSにすること() {
+    // Arrange
+    SearchFilterGroup or = new SearchFilterGroup(SearchGroupOperator.OR, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "JA", null),
+        new SearchFilter("area", SearchOperator.CONTAINS, "北海道", null)
+    ), null);
+    SearchFilterGroup not = new SearchFilterGroup(SearchGroupOperator.NOT, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "DE", null)
+    ), null);
+    StudentSearchCriteria criteria = new StudentSearchCriteriaConverter()
+        .toCriteria(new StudentAdvancedSearchRequest(null, List.of(or, not)));
+
+    // Act
+    String actual = StudentSearchSqlProvider.findMatchedStudentIds(criteria);
+
+    // Assert
+    assertThat(actual).isEqualTo("SELECT s.student_id FROM students s WHERE"
+        + " ((EXISTS (SELECT 1 FROM student_courses sc WHERE sc.student_id = s.student_id"
+        + " AND sc.course_code = #{filterTree.children[0].children[0].criteria.courseCodeEq})"
+        + " OR s.area LIKE #{filterTree.children[0].children[1].criteria.areaLike})"
+        + " AND NOT EXISTS (SELECT 1 FROM student_courses sc WHERE sc.student_id = s.student_id"
+        + " AND sc.course_code = #{filterTree.children[1].child.criteria.courseCodeEq}))"
+        + " ORDER BY s.student_id");
+  }
+
+  @Test
+  void 受講生の条件を含むNOTは値がnullの受講生も一致するようIS_NOT_TRUEで否定すること() {
+    SearchFilterGroup not = new SearchFilterGroup(SearchGroupOperator.NOT, List.of(
+        new SearchFilter("area", SearchOperator.CONTAINS, "北海道", null)
+    ), null);
+    StudentSearchCriteria criteria = new StudentSearchCriteriaConverter()
+        .toCriteria(new StudentAdvancedSearchRequest(null, List.of(not)));
+
+    String actual = StudentSearchSqlProvider.findMatchedStudentIds(criteria);
+
+    assertThat(actual).contains("WHERE (s.area LIKE #{filterTree.child.criteria.areaLike}) IS NOT TRUE");
+  }
+
+  @Test
+  void 並び順はnullを最後にする式と受講コースの項目を受講生ごとに集約するサブクエリでORDER_BYに加えること() {
+    // Arrange
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applySort(List.of(StudentSortKey.parse("-courseApplyAt"), StudentSortKey.parse("kanaName"),
+        StudentSortKey.parse("age")));
+    criteria.applyPage(null, 50);
+
+    // Act
+    String actual = StudentSearchSqlProvider.findMatchedStudentIds(criteria);
+
+    // Assert
+    String courseApplyAt =
+        "(SELECT MAX(sc.course_apply_at) FROM student_courses sc WHERE sc.student_id = s.student_id)";
+    assertThat(actual).isEqualTo("SELECT s.student_id FROM students s"
+        + " ORDER BY " + courseApplyAt + " IS NULL, " + courseApplyAt + " DESC,"
+        + " s.kana_name, s.age IS NULL, s.age, s.student_id LIMIT #{limit}");
+  }
+
+
+  @Test
+  void 件数と集計のSQLは検索条件の述語を使い回し並び順とページング条件を無視すること() {
+    // Arrange
+    StudentSearchCriteria criteria = makeCriteria("田中", "JA", "DE");
+    String predicates = " WHERE s.full_name LIKE #{fullNameLike} AND s.is_deleted = #{isDeleted}"
+        + " AND EXISTS (SELECT 1 FROM student_courses sc WHERE sc.student_id = s.student_id"
+        + " AND sc.course_code IN (#{paddedCourseCodeIn[0]}, #{paddedCourseCodeIn[1]}))";
+
+    // Act & Assert
+    assertThat(StudentSearchSqlProvider.countMatchedStudents(criteria))
+        .isEqualTo("SELECT COUNT(*) FROM students s" + predicates);
+    assertThat(StudentSearchSqlProvider.findStudentFacetRows(criteria))
+        .isEqualTo("SELECT s.student_id, s.sex, s.area FROM students s" + predicates
+            + " ORDER BY s.student_id");
+    assertThat(StudentSearchSqlProvider.findStudentCourseFacetRows(criteria))
+        .isEqualTo("SELECT s.student_id, s.sex, s.area, fc.course_code, fc.status_id"
+            + " FROM students s LEFT JOIN student_courses fc ON fc.student_id = s.student_id"
+            + predicates + " ORDER BY s.student_id");
+  }
+
+}
@@ -1,6 +1,7 @@
 package raisetech.student.management.search.converter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -15,7 +16,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSearchPredicate;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.And;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Match;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Not;
+import raisetech.student.management.search.criteria.StudentSearchPredicate.Or;
 import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchFilterGroup;
+import raisetech.student.management.search.request.SearchGroupOperator;
 import raisetech.student.management.search.request.SearchOperator;
 import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
 import raisetech.student.management.search.request.StudentSimpleSearchRequest;
@@ -263,4 +271,81 @@ class StudentSearchCriteriaConverterTest {
     assertEquals(expected,actual);
 
   }
-}
\ No newline at end of file
+
+  @Test
+  void ORグループの同じフィールドのEQとINを1つのINにまとめること() {
+    // Arrange
+    SearchFilterGroup group = new SearchFilterGroup(SearchGroupOperator.OR, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "JA", null),
+        new SearchFilter("area", SearchOperator.CONTAINS, "北海道", null),
+        new SearchFilter("courseCode", SearchOperator.IN, null, List.of("DE", "JA"))
+    ), null);
+    StudentAdvancedSearchRequest input = new StudentAdvancedSearchRequest(null, List.of(group));
+
+    // Act
+    StudentSearchCriteria actual = sut.toCriteria(input);
+
+    // Assert
+    Or or = assertInstanceOf(Or.class, actual.getFilterTree());
+    assertEquals(2, or.getChildren().size());
+    StudentSearchCriteria courseCode = ((Match) or.getChildren().get(0)).getCriteria();
+    assertIterableEquals(List.of("DE", "JA"), courseCode.getCourseCodeIn());
+    StudentSearchCriteria area = ((Match) or.getChildren().get(1)).getCriteria();
+    assertEquals("%北海道%", area.getAreaLike());
+  }
+
+  @Test
+  void NOTグループはフィルターを全て満たすMatchの否定に変換し二重否定は取り除くこと() {
+    // Arrange
+    SearchFilterGroup inner = new SearchFilterGroup(SearchGroupOperator.NOT, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "DE", null)
+    ), null);
+    SearchFilterGroup not = new SearchFilterGroup(SearchGroupOperator.NOT, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "JA", null),
+        new SearchFilter("statusId", SearchOperator.EQ, "3", null)
+    ), null);
+    SearchFilterGroup doubleNot = new SearchFilterGroup(SearchGroupOperator.NOT, null, List.of(inner));
+
+    // Act
+    StudentSearchCriteria actual = sut.toCriteria(
+        new StudentAdvancedSearchRequest(null, List.of(not, doubleNot)));
+
+    // Assert
+    And and = assertInstanceOf(And.class, actual.getFilterTree());
+    Match reverted = assertInstanceOf(Match.class, and.getChildren().get(0));
+    assertEquals("DE", reverted.getCriteria().getCourseCodeEq());
+    Not negated = assertInstanceOf(Not.class, and.getChildren().get(1));
+    StudentSearchCriteria sameCourse = ((Match) negated.getChild()).getCriteria();
+    assertEquals("JA", sameCourse.getCourseCodeEq());
+    assertEquals(3, sameCourse.getStatusIdEq());
+  }
+
+  @Test
+  void ANDの子ノードは絞り込みが強いと見込まれるMatchから並べてNOTを最後にすること() {
+    // Arrange
+    SearchFilterGroup not = new SearchFilterGroup(SearchGroupOperator.NOT, List.of(
+        new SearchFilter("courseCode", SearchOperator.EQ, "DE", null)
+    ), null);
+    SearchFilterGroup or = new SearchFilterGroup(SearchGroupOperator.OR, List.of(
+        new SearchFilter("sex", SearchOperator.EQ, "女", null),
+        new SearchFilter("age", SearchOperator.GTE, "30", null)
+    ), null);
+    SearchFilterGroup and = new SearchFilterGroup(SearchGroupOperator.AND, List.of(
+        new SearchFilter("isDeleted", SearchOperator.EQ, "false", null)
+    ), List.of(new SearchFilterGroup(SearchGroupOperator.AND, List.of(
+        new SearchFilter("email", SearchOperator.EQ, "taro@example.com", null)
+    ), null)));
+
+    // Act
+    StudentSearchCriteria actual = sut.toCriteria(
+        new StudentAdvancedSearchRequest(null, List.of(not, or, and)));
+
+    // Assert
+    List<StudentSearchPredicate> children = ((And) actual.getFilterTree()).getChildren();
+    assertEquals(4, children.size());
+    assertEquals("taro@example.com", ((Match) children.get(0)).getCriteria().getEmailEq());
+    assertEquals(false, ((Match) children.get(1)).getCriteria().getIsDeleted());
+    assertInstanceOf(Or.class, children.get(2));
+    assertInstanceOf(Not.class, children.get(3));
+  }
+}
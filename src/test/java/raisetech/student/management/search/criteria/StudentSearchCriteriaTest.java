@@ -2,9 +2,11 @@ package raisetech.student.management.search.criteria;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import raisetech.student.management.exception.InvalidSearchCriteriaException;
 import raisetech.student.management.search.request.SearchFilter;
@@ -103,6 +106,10 @@ class StudentSearchCriteriaTest {
     map.put("courseFinishedAt:From", StudentSearchCriteria::getCourseFinishedAtFrom);
     map.put("courseFinishedAt:To", StudentSearchCriteria::getCourseFinishedAtTo);
 
+    // 受講期間 (Course Period)
+    map.put("coursePeriod:From", StudentSearchCriteria::getCoursePeriodFrom);
+    map.put("coursePeriod:To", StudentSearchCriteria::getCoursePeriodTo);
+
     GETTER_MAP = Collections.unmodifiableMap(map);
   }
 
@@ -128,6 +135,7 @@ class StudentSearchCriteriaTest {
     map.put("courseStartAt", StudentSearchCriteria::applyCourseStartAtFilter);
     map.put("coursePlannedEndAt", StudentSearchCriteria::applyCoursePlannedEndAtFilter);
     map.put("courseFinishedAt", StudentSearchCriteria::applyCourseFinishedAtFilter);
+    map.put("coursePeriod", StudentSearchCriteria::applyCoursePeriodFilter);
 
     APPLIER_MAP = Collections.unmodifiableMap(map);
   }
@@ -594,6 +602,101 @@ class StudentSearchCriteriaTest {
     assertThrows(InvalidSearchCriteriaException.class, () -> applyFilter(sut,filter));
   }
 
+  @Test
+  void 受講期間_EQで指定日を期間の始端と終端の両方にセットできること() {
+    SearchFilter filter = new SearchFilter("coursePeriod", SearchOperator.EQ, "2026-04-01", null);
+
+    applyFilter(sut,filter);
+
+    assertEquals(LocalDate.of(2026, 4, 1), getValue(sut,"coursePeriod","From"));
+    assertEquals(LocalDate.of(2026, 4, 1), getValue(sut,"coursePeriod","To"));
+  }
+
+  @ParameterizedTest(name = "[{index}] applyCoursePeriodFilter_OVERLAPSで{0}と{1}を昇順でセットできること")
+  @CsvSource({
+      "2026-04-10,2026-04-01,2026-04-01,2026-04-10",
+      "2026-04-01,2026-04-01,2026-04-01,2026-04-01"
+  })
+  void 受講期間_OVERLAPSで期間の始端と終端に昇順でセットできること(String first, String second,
+      LocalDate expectedFrom, LocalDate expectedTo) {
+    SearchFilter filter = new SearchFilter("coursePeriod", SearchOperator.OVERLAPS, null,
+        List.of(first, second));
+
+    applyFilter(sut,filter);
+
+    assertEquals(expectedFrom, getValue(sut,"coursePeriod","From"));
+    assertEquals(expectedTo, getValue(sut,"coursePeriod","To"));
+  }
+
+  @ParameterizedTest(name = "[{index}] applyCoursePeriodFilter_{0}のとき例外を投げること")
+  @EnumSource(value = SearchOperator.class, names = {"GTE", "LTE", "BETWEEN", "CONTAINS"})
+  void 受講期間_EQとOVERLAPS以外の演算子のとき例外を投げること(SearchOperator operator) {
+    SearchFilter filter = new SearchFilter("coursePeriod", operator, "2026-04-01",
+        List.of("2026-04-01", "2026-04-10"));
+
+    assertThrows(InvalidSearchCriteriaException.class, () -> applyFilter(sut,filter));
+  }
+
+  @Test
+  void 受講期間_重複指定したとき例外を投げること() {
+    applyFilter(sut, new SearchFilter("coursePeriod", SearchOperator.EQ, "2026-04-01", null));
+    SearchFilter filter = new SearchFilter("coursePeriod", SearchOperator.OVERLAPS, null,
+        List.of("2026-04-01", "2026-04-10"));
+
+    assertThrows(InvalidSearchCriteriaException.class, () -> applyFilter(sut,filter));
+  }
+
+  @Test
+  void 分割_受講生の条件は列ごとに分け受講コースの条件は1つにまとめること() {
+    applyFilter(sut, new SearchFilter("age", SearchOperator.GTE, "20", null));
+    applyFilter(sut, new SearchFilter("age", SearchOperator.LTE, "30", null));
+    applyFilter(sut, new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    applyFilter(sut, new SearchFilter("courseCode", SearchOperator.EQ, "JA", null));
+    applyFilter(sut, new SearchFilter("statusId", SearchOperator.IN, null, List.of("2", "3")));
+    sut.applyPage(10, 21);
+
+    List<StudentSearchCriteria> actual = sut.splitByField();
+
+    StudentSearchCriteria age = new StudentSearchCriteria();
+    applyFilter(age, new SearchFilter("age", SearchOperator.BETWEEN, null, List.of("20", "30")));
+    StudentSearchCriteria isDeleted = new StudentSearchCriteria();
+    applyFilter(isDeleted, new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    StudentSearchCriteria course = new StudentSearchCriteria();
+    applyFilter(course, new SearchFilter("courseCode", SearchOperator.EQ, "JA", null));
+    applyFilter(course, new SearchFilter("statusId", SearchOperator.IN, null, List.of("2", "3")));
+    assertIterableEquals(List.of(age, isDeleted, course), actual);
+  }
+
+  @Test
+  void 分割_条件がなければ空のリストを返すこと() {
+    sut.applyPage(10, 21);
+
+    assertEquals(List.of(), sut.splitByField());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "courseCode, JA",
+      "statusId, 3",
+      "courseFinishedAt, 2025-02-10",
+      "coursePeriod, 2025-02-10"
+  })
+  void 受講コース条件の有無_受講コースの条件があればtrueを返すこと(String field, String value) {
+    applyFilter(sut, new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    applyFilter(sut, new SearchFilter(field, SearchOperator.EQ, value, null));
+
+    assertTrue(sut.hasCourseCondition());
+  }
+
+  @Test
+  void 受講コース条件の有無_受講生の条件だけならfalseを返すこと() {
+    applyFilter(sut, new SearchFilter("isDeleted", SearchOperator.EQ, "false", null));
+    applyFilter(sut, new SearchFilter("age", SearchOperator.GTE, "20", null));
+    sut.applyPage(10, 21);
+
+    assertFalse(sut.hasCourseCondition());
+  }
+
   @Test
   void StudentSimpleSearchRequestを受け取り適切なフィールドをだけをセットしたcriteriaに変換できること(){
     StudentSimpleSearchRequest input = new StudentSimpleSearchRequest();
@@ -630,4 +733,82 @@ class StudentSearchCriteriaTest {
     });
   }
 
-}
\ No newline at end of file
+  @Test
+  void 正規化_BETWEENとGTEおよびLTEの組み合わせが同じcriteriaになること() {
+    StudentSearchCriteria between = new StudentSearchCriteria();
+    applyFilter(between, new SearchFilter("age", SearchOperator.BETWEEN, null, List.of("40", "20")));
+    between.normalize();
+
+    StudentSearchCriteria gteAndLte = new StudentSearchCriteria();
+    applyFilter(gteAndLte, new SearchFilter("age", SearchOperator.LTE, "40", null));
+    applyFilter(gteAndLte, new SearchFilter("age", SearchOperator.GTE, "20", null));
+    gteAndLte.normalize();
+
+    assertEquals(between, gteAndLte);
+    assertEquals(between.hashCode(), gteAndLte.hashCode());
+  }
+
+  @Test
+  void 正規化_INのリストは重複を除いて昇順に並べ替えられること() {
+    StudentSearchCriteria reordered = new StudentSearchCriteria();
+    applyFilter(reordered, new SearchFilter("statusId", SearchOperator.IN, null, List.of("5", "1", "3", "1")));
+    applyFilter(reordered, new SearchFilter("courseCode", SearchOperator.IN, null, List.of("JA", "AW")));
+    reordered.normalize();
+
+    StudentSearchCriteria ordered = new StudentSearchCriteria();
+    applyFilter(ordered, new SearchFilter("statusId", SearchOperator.IN, null, List.of("1", "3", "5")));
+    applyFilter(ordered, new SearchFilter("courseCode", SearchOperator.IN, null, List.of("AW", "JA")));
+    ordered.normalize();
+
+    assertIterableEquals(List.of(1, 3, 5), reordered.getStatusIdIn());
+    assertIterableEquals(List.of("AW", "JA"), reordered.getCourseCodeIn());
+    assertEquals(ordered, reordered);
+  }
+
+  @Test
+  void 正規化_1件だけのINはEQに置き換えられること() {
+    StudentSearchCriteria in = new StudentSearchCriteria();
+    applyFilter(in, new SearchFilter("sex", SearchOperator.IN, null, List.of("女", "女")));
+    in.normalize();
+
+    StudentSearchCriteria eq = new StudentSearchCriteria();
+    applyFilter(eq, new SearchFilter("sex", SearchOperator.EQ, "女", null));
+    eq.normalize();
+
+    assertEquals("女", in.getSexEq());
+    assertNull(in.getSexIn());
+    assertEquals(eq, in);
+  }
+
+  @Test
+  void 正規化_下限と上限が同じ範囲検索はEQに置き換えられること() {
+    StudentSearchCriteria range = new StudentSearchCriteria();
+    applyFilter(range, new SearchFilter("courseApplyAt", SearchOperator.GTE, "2026-04-01", null));
+    applyFilter(range, new SearchFilter("courseApplyAt", SearchOperator.LTE, "2026-04-01", null));
+    range.normalize();
+
+    StudentSearchCriteria eq = new StudentSearchCriteria();
+    applyFilter(eq, new SearchFilter("courseApplyAt", SearchOperator.EQ, "2026-04-01", null));
+    eq.normalize();
+
+    assertEquals(LocalDate.of(2026, 4, 1), range.getCourseApplyAtEq());
+    assertNull(range.getCourseApplyAtFrom());
+    assertNull(range.getCourseApplyAtTo());
+    assertEquals(eq, range);
+  }
+
+  @Test
+  void 候補の受講生IDは等価性の判定に含まれないこと() {
+    StudentSearchCriteria restricted = new StudentSearchCriteria();
+    applyFilter(restricted, new SearchFilter("fullName", SearchOperator.CONTAINS, "田中", null));
+    restricted.restrictToStudentIds(List.of(1, 2));
+
+    StudentSearchCriteria plain = new StudentSearchCriteria();
+    applyFilter(plain, new SearchFilter("fullName", SearchOperator.CONTAINS, "田中", null));
+
+    assertEquals(List.of(1, 2), restricted.getCandidateStudentIds());
+    assertEquals(plain, restricted);
+    assertEquals(plain.hashCode(), restricted.hashCode());
+  }
+
+}
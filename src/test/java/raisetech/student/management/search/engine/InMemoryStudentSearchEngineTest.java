@@ -0,0 +1,389 @@
+package raisetech.student.management.search.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.event.StudentDataReloader;
+import raisetech.student.management.repository.StudentRepository;
+import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSortKey;
+import raisetech.student.management.search.facet.StudentFacet;
+import raisetech.student.management.search.facet.StudentFacetCounter;
+import raisetech.student.management.search.facet.StudentFacetRow;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchFilterGroup;
+import raisetech.student.management.search.request.SearchGroupOperator;
+import raisetech.student.management.search.request.SearchOperator;
+import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import raisetech.student.management.testutil.TestDataFactory;
+
+/**
+ * インメモリ検索エンジンの検索結果が、同じ検索条件でのDB検索（findMatchedStudentIds）の結果と一致することを検証します。
+ */
+@MybatisTest
+class InMemoryStudentSearchEngineTest {
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  private InMemoryStudentSearchEngine sut;
+
+  /** 変更された受講生を読み直し、検索エンジンに反映させる */
+  private StudentDataReloader reloader;
+
+  private final StudentSearchCriteriaConverter converter = new StudentSearchCriteriaConverter();
+
+  @BeforeEach
+  void setUp() {
+    // H2の比較は大文字・小文字や仮名の違いを区別するため揃える
+    sut = newEngine(false);
+    reloader = new StudentDataReloader(studentRepository, List.of(sut),
+        event -> sut.onStudentDataReloaded((StudentDataReloadedEvent) event));
+  }
+
+  private InMemoryStudentSearchEngine newEngine(boolean ignoreCase) {
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getInMemoryEngine().setEnabled(true);
+    properties.getInMemoryEngine().setIgnoreCase(ignoreCase);
+    // 少ない件数でも分割して並列走査させる
+    properties.getInMemoryEngine().setChunkRows(64);
+    InMemoryStudentSearchEngine engine = new InMemoryStudentSearchEngine(studentRepository, properties);
+    engine.load(studentRepository.searchAllStudents(), studentRepository.searchAllStudentCourses());
+    return engine;
+  }
+
+  private StudentSearchCriteria toCriteria(List<SearchFilter> filters) {
+    return converter.toCriteria(new StudentAdvancedSearchRequest(filters));
+  }
+
+  private static SearchFilter filter(String field, SearchOperator operator, String value) {
+    return new SearchFilter(field, operator, value, null);
+  }
+
+  private static SearchFilter filter(String field, SearchOperator operator, List<String> values) {
+    return new SearchFilter(field, operator, null, values);
+  }
+
+  static Stream<Arguments> searchFilters() {
+    return Stream.of(
+        Arguments.of("条件なし", List.of()),
+        Arguments.of("氏名完全一致", List.of(filter("fullName", SearchOperator.EQ, "田中太郎"))),
+        Arguments.of("氏名部分一致", List.of(filter("fullName", SearchOperator.CONTAINS, "藤"))),
+        Arguments.of("よみがな前方一致", List.of(filter("kanaName", SearchOperator.STARTS_WITH, "さ"))),
+        Arguments.of("ニックネーム後方一致", List.of(filter("nickname", SearchOperator.ENDS_WITH, "くん"))),
+        Arguments.of("メール後方一致", List.of(filter("email", SearchOperator.ENDS_WITH, "@gmail.com"))),
+        Arguments.of("地域完全一致", List.of(filter("area", SearchOperator.EQ, "北海道登別市"))),
+        Arguments.of("地域前方一致", List.of(filter("area", SearchOperator.STARTS_WITH, "福島県"))),
+        Arguments.of("電話番号部分一致", List.of(filter("telephone", SearchOperator.CONTAINS, "1234"))),
+        Arguments.of("LIKEのワイルドカードを含む値", List.of(filter("telephone", SearchOperator.CONTAINS, "080-1_4"))),
+        Arguments.of("年齢完全一致", List.of(filter("age", SearchOperator.EQ, "27"))),
+        Arguments.of("年齢範囲", List.of(filter("age", SearchOperator.BETWEEN, List.of("22", "32")))),
+        Arguments.of("年齢下限", List.of(filter("age", SearchOperator.GTE, "30"))),
+        Arguments.of("性別IN", List.of(filter("sex", SearchOperator.IN, List.of("女", "その他")))),
+        Arguments.of("備考完全一致", List.of(filter("remark", SearchOperator.EQ, ""))),
+        Arguments.of("削除済み", List.of(filter("isDeleted", SearchOperator.EQ, "true"))),
+        Arguments.of("コースコード完全一致", List.of(filter("courseCode", SearchOperator.EQ, "DE"))),
+        Arguments.of("コースコードIN", List.of(filter("courseCode", SearchOperator.IN, List.of("JA", "WM")))),
+        Arguments.of("ステータスIN", List.of(filter("statusId", SearchOperator.IN, List.of("3", "5")))),
+        Arguments.of("申込日範囲", List.of(filter("courseApplyAt", SearchOperator.BETWEEN, List.of("2024-07-01", "2024-07-31")))),
+        Arguments.of("受講開始日完全一致", List.of(filter("courseStartAt", SearchOperator.EQ, "2024-08-12"))),
+        Arguments.of("受講終了予定日下限", List.of(filter("coursePlannedEndAt", SearchOperator.GTE, "2025-04-01"))),
+        Arguments.of("受講終了実績日上限", List.of(filter("courseFinishedAt", SearchOperator.LTE, "2025-12-31"))),
+        Arguments.of("受講期間に指定日を含む", List.of(filter("coursePeriod", SearchOperator.EQ, "2025-02-11"))),
+        Arguments.of("受講期間の重なり", List.of(filter("coursePeriod", SearchOperator.OVERLAPS, List.of("2025-04-16", "2025-12-31")))),
+        Arguments.of("受講生条件と受講コース条件の併用", List.of(
+            filter("isDeleted", SearchOperator.EQ, "false"),
+            filter("statusId", SearchOperator.EQ, "3"),
+            filter("sex", SearchOperator.EQ, "男"))),
+        Arguments.of("受講コース条件は同じ受講生コースで満たすこと", List.of(
+            filter("courseCode", SearchOperator.EQ, "AW"),
+            filter("statusId", SearchOperator.EQ, "3"))),
+        Arguments.of("一致なし", List.of(filter("fullName", SearchOperator.EQ, "存在しない受講生")))
+    );
+  }
+
+  @ParameterizedTest(name = "[{index}] {0}")
+  @MethodSource("searchFilters")
+  void DB検索と同じ受講生IDを受講生ID順に返すこと(String description, List<SearchFilter> filters) {
+    List<Integer> expected = studentRepository.findMatchedStudentIds(toCriteria(filters));
+
+    List<Integer> actual = sut.findMatchedStudentIds(toCriteria(filters));
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  private static SearchFilterGroup group(SearchGroupOperator operator, List<SearchFilter> filters,
+      SearchFilterGroup... groups) {
+    return new SearchFilterGroup(operator, filters, List.of(groups));
+  }
+
+  static Stream<Arguments> filterGroups() {
+    return Stream.of(
+        Arguments.of("OR", group(SearchGroupOperator.OR, List.of(
+            filter("courseCode", SearchOperator.EQ, "JA"),
+            filter("area", SearchOperator.CONTAINS, "北海道")))),
+        Arguments.of("受講コース条件だけのNOT", group(SearchGroupOperator.NOT, List.of(
+            filter("courseCode", SearchOperator.EQ, "DE")))),
+        Arguments.of("受講生条件のNOT", group(SearchGroupOperator.NOT, List.of(
+            filter("sex", SearchOperator.EQ, "男"),
+            filter("age", SearchOperator.GTE, "30")))),
+        Arguments.of("ORの中のNOT", group(SearchGroupOperator.OR, List.of(
+                filter("statusId", SearchOperator.EQ, "2")),
+            group(SearchGroupOperator.NOT, List.of(filter("courseCode", SearchOperator.IN, List.of("JA", "DE")))))),
+        Arguments.of("ANDの中のOR", group(SearchGroupOperator.AND, List.of(
+                filter("isDeleted", SearchOperator.EQ, "false")),
+            group(SearchGroupOperator.OR, List.of(
+                filter("statusId", SearchOperator.EQ, "3"),
+                filter("statusId", SearchOperator.EQ, "5")))))
+    );
+  }
+
+  @ParameterizedTest(name = "[{index}] {0}")
+  @MethodSource("filterGroups")
+  void 検索フィルターグループを指定してもDB検索と同じ受講生IDを返すこと(String description,
+      SearchFilterGroup group) {
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(null, List.of(group));
+    List<Integer> expected = studentRepository.findMatchedStudentIds(converter.toCriteria(request));
+
+    List<Integer> actual = sut.findMatchedStudentIds(converter.toCriteria(request));
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @ParameterizedTest(name = "[{index}] sort={0}")
+  @ValueSource(strings = {"-age", "kanaName", "-nickname", "area", "-sex,age", "-isDeleted",
+      "-courseApplyAt", "courseStartAt", "-courseFinishedAt", "coursePeriod", "-statusId,-courseCode"})
+  void 並び順を指定してもDB検索と同じ順で上位の受講生IDを返すこと(String sort) {
+    List<StudentSortKey> sortKeys = StudentSortKey.parseAll(List.of(sort.split(",")));
+    for (Integer limit : Arrays.asList(null, 3)) {
+      StudentSearchCriteria expectedCriteria = toCriteria(List.of());
+      expectedCriteria.applySort(sortKeys);
+      expectedCriteria.applyPage(null, limit);
+      List<Integer> expected = studentRepository.findMatchedStudentIds(expectedCriteria);
+
+      StudentSearchCriteria criteria = toCriteria(List.of());
+      criteria.applySort(sortKeys);
+      criteria.applyPage(null, limit);
+      List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+      assertThat(actual).containsExactlyElementsOf(expected);
+    }
+  }
+
+  /**
+   * DBの照合順序（utf8mb4_0900_ai_ci）では、表記を変えた検索値（3番目）も元の表記の検索値（2番目）と同じ受講生に一致します。
+   * H2はこの照合順序を再現できないため、元の表記でのDB検索の結果を期待値にします。
+   */
+  static Stream<Arguments> collationVariants() {
+    return Stream.of(
+        Arguments.of("カタカナ",
+            filter("kanaName", SearchOperator.EQ, "たなかたろう"),
+            filter("kanaName", SearchOperator.EQ, "タナカタロウ")),
+        Arguments.of("半角カタカナ",
+            filter("kanaName", SearchOperator.STARTS_WITH, "さとう"),
+            filter("kanaName", SearchOperator.STARTS_WITH, "ｻﾄｳ")),
+        Arguments.of("濁点の有無",
+            filter("kanaName", SearchOperator.STARTS_WITH, "すずき"),
+            filter("kanaName", SearchOperator.STARTS_WITH, "すすき")),
+        Arguments.of("小書きの仮名",
+            filter("kanaName", SearchOperator.CONTAINS, "はっと"),
+            filter("kanaName", SearchOperator.CONTAINS, "ハツト")),
+        Arguments.of("半角カタカナの部分一致",
+            filter("nickname", SearchOperator.CONTAINS, "ハット"),
+            filter("nickname", SearchOperator.CONTAINS, "ﾊｯﾄ")),
+        Arguments.of("大文字・小文字",
+            filter("nickname", SearchOperator.EQ, "Yuu"),
+            filter("nickname", SearchOperator.EQ, "YUU")),
+        Arguments.of("全角英字の後方一致",
+            filter("email", SearchOperator.ENDS_WITH, "@gmail.com"),
+            filter("email", SearchOperator.ENDS_WITH, "＠ＧＭＡＩＬ．ｃｏｍ")),
+        Arguments.of("全角数字の部分一致",
+            filter("telephone", SearchOperator.CONTAINS, "1234"),
+            filter("telephone", SearchOperator.CONTAINS, "１２３４")),
+        Arguments.of("辞書の列のカタカナ",
+            filter("area", SearchOperator.CONTAINS, "かすみがうら"),
+            filter("area", SearchOperator.CONTAINS, "カスミガウラ")),
+        Arguments.of("辞書の列の半角カタカナと濁点",
+            filter("area", SearchOperator.CONTAINS, "かすみがうら"),
+            filter("area", SearchOperator.CONTAINS, "ｶｽﾐｶｳﾗ")),
+        Arguments.of("辞書の列のIN",
+            filter("courseCode", SearchOperator.IN, List.of("JA", "WM")),
+            filter("courseCode", SearchOperator.IN, List.of("ja", "ＷＭ")))
+    );
+  }
+
+  @ParameterizedTest(name = "[{index}] {0}")
+  @MethodSource("collationVariants")
+  void 照合順序で同じとみなされる表記の違いを区別せずDB検索と同じ受講生IDを返すこと(String description,
+      SearchFilter canonical, SearchFilter variant) {
+    InMemoryStudentSearchEngine collationSut = newEngine(true);
+    List<Integer> expected = studentRepository.findMatchedStudentIds(toCriteria(List.of(canonical)));
+
+    List<Integer> actual = collationSut.findMatchedStudentIds(toCriteria(List.of(variant)));
+
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void 照合順序で同じとみなされる表記に変えられた値は元の表記と同じ順位に並べること() {
+    InMemoryStudentSearchEngine collationSut = newEngine(true);
+    StudentDataReloader collationReloader = new StudentDataReloader(studentRepository,
+        List.of(collationSut),
+        event -> collationSut.onStudentDataReloaded((StudentDataReloadedEvent) event));
+    List<StudentSortKey> sortKeys = StudentSortKey.parseAll(List.of("kanaName"));
+    StudentSearchCriteria expectedCriteria = toCriteria(List.of());
+    expectedCriteria.applySort(sortKeys);
+    List<Integer> expected = studentRepository.findMatchedStudentIds(expectedCriteria);
+
+    // よみがなをカタカナと半角カタカナの表記に変える。DBの照合順序では元の表記と同じ値
+    updateKanaName(2, "サトウハナコ");
+    updateKanaName(4, "ｽｽﾞｷﾕｳｲﾁ");
+    collationReloader.onStudentDataChanged(StudentDataChangedEvent.of(List.of(2, 4)));
+
+    StudentSearchCriteria criteria = toCriteria(List.of());
+    criteria.applySort(sortKeys);
+    List<Integer> actual = collationSut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  private void updateKanaName(int studentId, String kanaName) {
+    Student student = studentRepository.searchStudent(studentId);
+    studentRepository.updateStudent(new Student(student.getStudentId(), student.getFullName(),
+        kanaName, student.getNickname(), student.getEmail(), student.getArea(),
+        student.getTelephone(), student.getAge(), student.getSex(), student.getRemark(),
+        student.getIsDeleted()));
+  }
+
+  @Test
+  void ページング条件を指定すると指定IDより後ろを受講生ID順に指定件数だけ返すこと() {
+    StudentSearchCriteria criteria = toCriteria(
+        List.of(filter("statusId", SearchOperator.IN, List.of("3", "5"))));
+    criteria.applyPage(1, 2);
+
+    List<Integer> actual = sut.findMatchedStudentIds(criteria);
+
+    assertThat(actual).containsExactly(2, 4);
+  }
+
+  @Test
+  void 複数の検索条件をまとめて検索しても検索条件ごとにDB検索と同じ受講生IDを返すこと() {
+    List<List<SearchFilter>> filterLists = searchFilters()
+        .map(arguments -> (List<SearchFilter>) arguments.get()[1])
+        .toList();
+    List<StudentSearchCriteria> criteriaList = new ArrayList<>();
+    List<List<Integer>> expected = new ArrayList<>();
+    for (List<SearchFilter> filters : filterLists) {
+      criteriaList.add(toCriteria(filters));
+      expected.add(studentRepository.findMatchedStudentIds(toCriteria(filters)));
+    }
+    // 開始行の異なる検索条件を混ぜても、それぞれのページング条件が適用されること
+    StudentSearchCriteria paged = toCriteria(List.of(filter("statusId", SearchOperator.IN, List.of("3", "5"))));
+    paged.applyPage(1, 2);
+    criteriaList.add(paged);
+    expected.add(List.of(2, 4));
+
+    List<List<Integer>> actual = sut.findAllMatchedStudentIds(criteriaList);
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @ParameterizedTest(name = "[{index}] {0}")
+  @MethodSource("searchFilters")
+  void 件数と集計はDBから読み出した行を数えた結果と一致すること(String description,
+      List<SearchFilter> filters) {
+    Set<StudentFacet> facets = EnumSet.allOf(StudentFacet.class);
+    StudentFacetCounter expected = new StudentFacetCounter(facets);
+    try (Cursor<StudentFacetRow> cursor =
+        studentRepository.streamStudentCourseFacetRows(toCriteria(filters))) {
+      cursor.forEach(expected::addRow);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    StudentFacetCounter actual = new StudentFacetCounter(facets);
+    sut.countFacets(toCriteria(filters), actual);
+
+    assertThat(actual.toSummary()).isEqualTo(expected.toSummary());
+  }
+
+  @Test
+  void 受講生データ変更イベントを受け取ると登録された受講生と受講生コースを検索対象に反映すること() {
+    Student student = TestDataFactory.makeCompletedStudent(null);
+    studentRepository.registerStudent(student);
+    StudentCourse studentCourse = TestDataFactory.makeCompletedStudentCourse(student.getStudentId(), null);
+    studentRepository.registerStudentCourse(studentCourse);
+
+    reloader.onStudentDataChanged(new StudentDataChangedEvent(student.getStudentId()));
+
+    List<Integer> actual = sut.findMatchedStudentIds(toCriteria(List.of(
+        filter("fullName", SearchOperator.EQ, "山田太郎"),
+        filter("courseCode", SearchOperator.EQ, "JA"))));
+    assertThat(actual).containsExactly(student.getStudentId());
+  }
+
+  @Test
+  void 受講生データ変更イベントを受け取ると更新された受講生と受講生コースを検索対象に反映すること() {
+    Student student = studentRepository.searchStudent(3);
+    studentRepository.updateStudent(new Student(student.getStudentId(), student.getFullName(),
+        student.getKanaName(), student.getNickname(), student.getEmail(), student.getArea(),
+        student.getTelephone(), student.getAge(), student.getSex(), student.getRemark(), true));
+
+    reloader.onStudentDataChanged(new StudentDataChangedEvent(3));
+
+    List<Integer> actual = sut.findMatchedStudentIds(toCriteria(
+        List.of(filter("isDeleted", SearchOperator.EQ, "true"))));
+    assertThat(actual).containsExactly(3, 5);
+  }
+
+  @Test
+  void 受講生コースが一覧から消えた受講生はその受講生コースだけを検索対象から外すこと() {
+    Student student = studentRepository.searchStudent(2);
+    List<StudentCourse> studentCourses = studentRepository.searchStudentCourses(2);
+    List<StudentCourse> remaining = studentCourses.stream()
+        .filter(studentCourse -> studentCourse.getCourseCode().equals("JA"))
+        .toList();
+
+    sut.onStudentDataReloaded(new StudentDataReloadedEvent(List.of(2), Map.of(2, student),
+        Map.of(2, remaining)));
+
+    assertThat(sut.findMatchedStudentIds(toCriteria(
+        List.of(filter("courseCode", SearchOperator.EQ, "AW"))))).isEmpty();
+    assertThat(sut.findMatchedStudentIds(toCriteria(
+        List.of(filter("courseCode", SearchOperator.EQ, "JA"))))).containsExactly(1, 2);
+    assertThat(sut.findMatchedStudentIds(toCriteria(
+        List.of(filter("courseCode", SearchOperator.EQ, "DE"))))).containsExactly(3, 4);
+
+    // 一覧に戻った受講生コースは、再び受講生に紐づく
+    sut.onStudentDataReloaded(new StudentDataReloadedEvent(List.of(2), Map.of(2, student),
+        Map.of(2, studentCourses)));
+
+    assertThat(sut.findMatchedStudentIds(toCriteria(
+        List.of(filter("courseCode", SearchOperator.EQ, "AW"))))).containsExactly(2);
+  }
+
+}
@@ -0,0 +1,58 @@
+package raisetech.student.management.search.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class LikePatternTest {
+
+  @ParameterizedTest(name = "[{index}] ''{1}'' LIKE ''{0}'' は {2}")
+  @CsvSource({
+      "%田中%, 田中太郎, true",
+      "%田中%, 山田中子, true",
+      "%田中%, 佐藤花子, false",
+      "田中%, 田中太郎, true",
+      "田中%, 山田中子, false",
+      "%太郎, 田中太郎, true",
+      "%太郎, 太郎丸, false",
+      "田中太郎, 田中太郎, true",
+      "田_太郎, 田中太郎, true",
+      "田_太郎, 田太郎, false",
+      "%a%a%b, aaab, true",
+      "%a%a%b, abab, true",
+      "%a%a%b, aab, true",
+      "%a%a%b, abb, false",
+      "%%, '', true",
+      "%, '', true",
+      "_, '', false",
+      "'%\\%%', 100%達成, true",
+      "'%\\%%', 100達成, false",
+      "'%\\_%', a_b, true",
+      "'%\\_%', ab, false"
+  })
+  void SQLのLIKEと同じ規則で照合すること(String pattern, String text, boolean expected) {
+    assertEquals(expected, LikePattern.compile(pattern, false).matches(text));
+  }
+
+  @ParameterizedTest(name = "[{index}] ignoreCase={2} で ''{1}'' LIKE ''{0}'' は {3}")
+  @CsvSource({
+      "%@EXAMPLE.com, taro@example.COM, true, true",
+      "%@EXAMPLE.com, taro@example.COM, false, false",
+      "%タナカ%, たなかたろう, true, true",
+      "%タナカ%, たなかたろう, false, false",
+      "ﾀﾅｶ%, たなかたろう, true, true",
+      "%すすき_, すずきゆ, true, true",
+      "%はつと%, はっとりじろう, true, true",
+      "%１２３４, 080-1234, true, true",
+      "'%\\_%', Ａ＿Ｂ, true, true",
+      "%たなか%, さとうはなこ, true, false"
+  })
+  void 照合順序で同じとみなされる表記の違いの区別を設定で切り替えられること(String pattern, String text,
+      boolean ignoreCase, boolean expected) {
+    String key = StudentColumnStore.collationKey(text, ignoreCase);
+
+    assertEquals(expected, LikePattern.compile(pattern, ignoreCase).matches(key));
+  }
+
+}
@@ -0,0 +1,88 @@
+package raisetech.student.management.search.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.search.criteria.StudentSortKey;
+
+/**
+ * 受講申込日の新しい順の先頭50件を、件数50のヒープ（上位K件）と、一致した全件の並べ替えで比較するベンチマークです。
+ * 実行時間を計測するため通常のテストからは除外しています。./gradlew benchmark で実行します。
+ */
+@Tag("benchmark")
+class StudentRowSorterBenchmarkTest {
+
+  private static final int STUDENTS = 500_000;
+  private static final int TOP_K = 50;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 15;
+
+  private static final List<StudentSortKey> SORT_KEYS =
+      List.of(StudentSortKey.parse("-courseApplyAt"), StudentSortKey.parse("kanaName"));
+
+  private static StudentColumnStore store;
+  private static BitSet allRows;
+  private static StudentRowSorter sorter;
+
+  @BeforeAll
+  static void setUp() {
+    Random random = new Random(42);
+    LocalDate base = LocalDate.of(2020, 1, 1);
+    List<Student> students = new ArrayList<>(STUDENTS);
+    List<StudentCourse> studentCourses = new ArrayList<>(STUDENTS);
+    for (int id = 1; id <= STUDENTS; id++) {
+      students.add(new Student(id, "受講生" + id, "じゅこうせい" + id, null, "student" + id + "@example.com",
+          "東京都", null, 20 + id % 40, id % 2 == 0 ? "男" : "女", "", false));
+      studentCourses.add(new StudentCourse(id, id, "JA", 3, base.plusDays(random.nextInt(2_000)),
+          null, null, null));
+    }
+    store = StudentColumnStore.build(students, studentCourses, false);
+    allRows = new BitSet();
+    allRows.set(0, store.studentCount());
+    sorter = new StudentRowSorter(false);
+  }
+
+  /**
+   * 処理をウォームアップしたあと繰り返し実行し、1回あたりの実行時間の中央値（ナノ秒）を返します。
+   */
+  private static long medianNanos(Supplier<List<Integer>> task) {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      task.get();
+    }
+    long[] elapsed = new long[MEASURED_ROUNDS];
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      long start = System.nanoTime();
+      task.get();
+      elapsed[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(elapsed);
+    return elapsed[MEASURED_ROUNDS / 2];
+  }
+
+  @Test
+  void 並び順の先頭K件はヒープで求める方が全件を並べ替えるより速いこと() {
+    Supplier<List<Integer>> topK = () -> sorter.topK(store, allRows, SORT_KEYS, TOP_K);
+    Supplier<List<Integer>> fullSort =
+        () -> sorter.topK(store, allRows, SORT_KEYS, STUDENTS).subList(0, TOP_K);
+    assertThat(topK.get()).isEqualTo(fullSort.get());
+
+    long fullSortNanos = medianNanos(fullSort);
+    long topKNanos = medianNanos(topK);
+
+    System.out.printf("top %d of %,d rows by -courseApplyAt,kanaName: full sort %,d us, bounded heap %,d us (x%.1f)%n",
+        TOP_K, STUDENTS, fullSortNanos / 1_000, topKNanos / 1_000, (double) fullSortNanos / topKNanos);
+    assertThat(topKNanos).isLessThan(fullSortNanos);
+  }
+
+}
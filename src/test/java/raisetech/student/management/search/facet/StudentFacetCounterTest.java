@@ -0,0 +1,73 @@
+package raisetech.student.management.search.facet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class StudentFacetCounterTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "東京都練馬区, 東京都",
+      "北海道登別市, 北海道",
+      "京都府京都市, 京都府",
+      "大阪府大阪市, 大阪府",
+      "奈良県大和郡山市, 奈良県",
+      "神奈川県横浜市, 神奈川県",
+      "鹿児島県鹿児島市, 鹿児島県",
+      "ニューヨーク, その他"
+  })
+  void 地域の先頭から都道府県名を取り出すこと(String area, String expected) {
+    assertThat(StudentFacet.prefectureOf(area)).isEqualTo(expected);
+  }
+
+  @Test
+  void 受講生の人数と集計項目の値ごとの人数を人数の多い順に数えること() {
+    // Arrange
+    StudentFacetCounter sut = new StudentFacetCounter(EnumSet.allOf(StudentFacet.class));
+
+    // Act
+    sut.addRow(new StudentFacetRow(1, "男", "東京都練馬区", "JA", 3));
+    sut.addRow(new StudentFacetRow(1, "男", "東京都練馬区", "JA", 4));
+    sut.addRow(new StudentFacetRow(2, "女", "東京都港区", "AW", 3));
+    sut.addRow(new StudentFacetRow(2, "女", "東京都港区", "JA", 3));
+    sut.addRow(new StudentFacetRow(3, "女", "大阪府大阪市", null, null));
+    StudentSearchSummary actual = sut.toSummary();
+
+    // Assert
+    Map<String, Map<String, Long>> expected = new LinkedHashMap<>();
+    expected.put("sex", orderedMap("女", 2L, "男", 1L));
+    expected.put("statusId", orderedMap("3", 2L, "4", 1L));
+    expected.put("courseCode", orderedMap("JA", 2L, "AW", 1L));
+    expected.put("prefecture", orderedMap("東京都", 2L, "大阪府", 1L));
+    assertThat(actual).isEqualTo(new StudentSearchSummary(true, 3L, expected));
+    assertThat(actual.getFacets().get("sex").keySet()).containsExactly("女", "男");
+  }
+
+  @Test
+  void 集計項目を指定しなければ人数だけを数えること() {
+    // Arrange
+    StudentFacetCounter sut = new StudentFacetCounter(Set.of());
+
+    // Act
+    sut.addStudents(0);
+    StudentSearchSummary actual = sut.toSummary();
+
+    // Assert
+    assertThat(actual).isEqualTo(new StudentSearchSummary(false, 0L, null));
+  }
+
+  private static Map<String, Long> orderedMap(String key1, Long value1, String key2, Long value2) {
+    Map<String, Long> map = new LinkedHashMap<>();
+    map.put(key1, value1);
+    map.put(key2, value2);
+    return map;
+  }
+
+}
@@ -0,0 +1,86 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.search.suggest.StudentSuggestion;
+
+class CompletionRadixTreeTest {
+
+  private CompletionRadixTree sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new CompletionRadixTree();
+  }
+
+  @Test
+  void 接頭辞に続く値を人数の多い順に返すこと() {
+    sut.add("田中太郎");
+    sut.add("田中花子");
+    sut.add("田中花子");
+    sut.add("田村一郎");
+    sut.add("佐藤花子");
+
+    assertThat(sut.complete("田", 10)).containsExactly(
+        new StudentSuggestion("田中花子", 2),
+        new StudentSuggestion("田中太郎", 1),
+        new StudentSuggestion("田村一郎", 1));
+    assertThat(sut.complete("田中", 10)).containsExactly(
+        new StudentSuggestion("田中花子", 2),
+        new StudentSuggestion("田中太郎", 1));
+    assertThat(sut.complete("鈴木", 10)).isEmpty();
+  }
+
+  @Test
+  void 上限件数までの候補を返すこと() {
+    sut.add("田中");
+    sut.add("田中太郎");
+    sut.add("田中太郎");
+    sut.add("田中太一");
+
+    assertThat(sut.complete("田中", 2)).containsExactly(
+        new StudentSuggestion("田中太郎", 2),
+        new StudentSuggestion("田中", 1));
+  }
+
+  @Test
+  void 辺の途中で終わる接頭辞でも補完できること() {
+    sut.add("北海道登別市");
+    sut.add("北海道札幌市");
+
+    assertThat(sut.complete("北海", 10)).containsExactly(
+        new StudentSuggestion("北海道札幌市", 1),
+        new StudentSuggestion("北海道登別市", 1));
+    assertThat(sut.complete("北海道登", 10)).containsExactly(
+        new StudentSuggestion("北海道登別市", 1));
+    assertThat(sut.complete("北海道登米市", 10)).isEmpty();
+  }
+
+  @Test
+  void 取り除いた値は候補に含まれず残った値は補完できること() {
+    sut.add("田中太郎");
+    sut.add("田中花子");
+    sut.add("田中花子");
+
+    sut.remove("田中花子");
+    sut.remove("田中花子");
+    sut.remove("存在しない値");
+
+    assertThat(sut.complete("田", 10)).containsExactly(new StudentSuggestion("田中太郎", 1));
+    assertThat(sut.complete("田中太", 10)).containsExactly(new StudentSuggestion("田中太郎", 1));
+  }
+
+  @Test
+  void 大文字小文字とカタカナひらがなの違いは同じ値として数え多い方の表記を返すこと() {
+    sut.add("Yuu");
+    sut.add("yuu");
+    sut.add("Yuu");
+    sut.add("ハナチャン");
+
+    assertThat(sut.complete("YU", 10)).containsExactly(new StudentSuggestion("Yuu", 3));
+    assertThat(sut.complete("はな", 10)).containsExactly(new StudentSuggestion("ハナチャン", 1));
+  }
+
+}
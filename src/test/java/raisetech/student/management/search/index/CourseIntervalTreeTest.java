@@ -0,0 +1,97 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class CourseIntervalTreeTest {
+
+  private static final int COUNT = 2_000;
+
+  private final Random random = new Random(42);
+
+  @Test
+  void 重なり検索と受講開始日の範囲検索の結果が全件走査と一致すること() {
+    // Arrange
+    int[] studentIds = new int[COUNT];
+    int[] starts = new int[COUNT];
+    int[] ends = new int[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      studentIds[i] = random.nextInt(COUNT / 2) + 1;
+      starts[i] = random.nextInt(1_000);
+      ends[i] = random.nextInt(10) == 0 ? CourseIntervalTree.NO_END : starts[i] + random.nextInt(200);
+    }
+    CourseIntervalTree sut = CourseIntervalTree.of(studentIds, starts, ends);
+
+    for (int query = 0; query < 200; query++) {
+      int from = random.nextInt(1_200) - 100;
+      int to = from + random.nextInt(100);
+
+      // Act
+      int[] overlapping = sut.overlapping(from, to);
+      int[] startingBetween = sut.startingBetween(from, to);
+
+      // Assert
+      TreeSet<Integer> expectedOverlapping = new TreeSet<>();
+      TreeSet<Integer> expectedStartingBetween = new TreeSet<>();
+      for (int i = 0; i < COUNT; i++) {
+        if (starts[i] <= to && ends[i] != CourseIntervalTree.NO_END && ends[i] >= from) {
+          expectedOverlapping.add(studentIds[i]);
+        }
+        if (starts[i] >= from && starts[i] <= to) {
+          expectedStartingBetween.add(studentIds[i]);
+        }
+      }
+      assertThat(overlapping).containsExactlyElementsOf(expectedOverlapping);
+      assertThat(startingBetween).containsExactlyElementsOf(expectedStartingBetween);
+    }
+  }
+
+  @Test
+  void 受講生の区間を置き換えると古い区間は返さず新しい区間を返すこと() {
+    // Arrange
+    CourseIntervalTree tree = CourseIntervalTree.of(
+        new int[]{1, 2, 1}, new int[]{10, 20, 30}, new int[]{15, 25, 35});
+
+    // Act
+    CourseIntervalTree sut = tree.replace(1, new int[]{40, 5}, new int[]{45, 8});
+
+    // Assert
+    assertThat(sut.size()).isEqualTo(3);
+    assertThat(sut.overlapping(10, 35)).containsExactly(2);
+    assertThat(sut.overlapping(0, 100)).containsExactly(1, 2);
+    assertThat(sut.startingBetween(0, 10)).containsExactly(1);
+    assertThat(tree.overlapping(10, 12)).containsExactly(1);
+  }
+
+  @Test
+  void 複数の受講生の区間を1回でまとめて置き換えられること() {
+    // Arrange
+    CourseIntervalTree tree = CourseIntervalTree.of(
+        new int[]{1, 2, 3}, new int[]{10, 20, 30}, new int[]{15, 25, 35});
+
+    // Act
+    CourseIntervalTree sut = tree.replaceAll(Set.of(1, 3, 4),
+        new int[]{4, 1}, new int[]{50, 5}, new int[]{55, 8});
+
+    // Assert
+    assertThat(sut.size()).isEqualTo(3);
+    assertThat(sut.overlapping(0, 100)).containsExactly(1, 2, 4);
+    assertThat(sut.overlapping(30, 35)).isEmpty();
+    assertThat(sut.startingBetween(0, 10)).containsExactly(1);
+  }
+
+  @Test
+  void 区間を全て取り除くと空の区間木になること() {
+    CourseIntervalTree sut = CourseIntervalTree.EMPTY
+        .replace(1, new int[]{10}, new int[]{20})
+        .replace(1, new int[0], new int[0]);
+
+    assertThat(sut.size()).isZero();
+    assertThat(sut.overlapping(0, 100)).isEmpty();
+  }
+
+}
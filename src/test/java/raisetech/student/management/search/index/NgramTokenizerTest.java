@@ -0,0 +1,66 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class NgramTokenizerTest {
+
+  @Test
+  void 登録する文字列は全ての1文字と連続する2文字に分解されること() {
+    assertThat(NgramTokenizer.tokenize("田中太郎"))
+        .containsExactlyInAnyOrder("田", "中", "太", "郎", "田中", "中太", "太郎");
+  }
+
+  @Test
+  void 部分一致のパターンは2文字ずつのn_gramに分解されること() {
+    assertThat(NgramTokenizer.queryGrams("%田中太%")).containsExactly("田中", "中太");
+  }
+
+  @Test
+  void 一文字の部分一致は1文字のn_gramになること() {
+    assertThat(NgramTokenizer.queryGrams("%藤%")).containsExactly("藤");
+  }
+
+  @Test
+  void ワイルドカードで区切られた文字の並びごとにn_gramを取り出すこと() {
+    assertThat(NgramTokenizer.queryGrams("田中%_太郎")).containsExactly("田中", "太郎");
+  }
+
+  @Test
+  void エスケープされたワイルドカードは文字として扱うこと() {
+    assertThat(NgramTokenizer.queryGrams("%100\\%%")).containsExactly("10", "00", "0%");
+  }
+
+  @Test
+  void 文字を含まないパターンからはn_gramを取り出さないこと() {
+    assertThat(NgramTokenizer.queryGrams("%%")).isEmpty();
+  }
+
+  @Test
+  void 大文字は小文字にカタカナはひらがなに小書きの仮名は通常の仮名に正規化されること() {
+    assertThat(NgramTokenizer.normalize("ハットリKun")).isEqualTo("はつとりkun");
+  }
+
+  @Test
+  void 全角英数字と半角カタカナは半角英数字とひらがなに正規化されること() {
+    assertThat(NgramTokenizer.normalize("ＴＡＮＡＫＡ１２３")).isEqualTo("tanaka123");
+    assertThat(NgramTokenizer.normalize("ﾀﾅｶ")).isEqualTo("たなか");
+  }
+
+  @Test
+  void 濁点と半濁点とアクセント記号は取り除かれること() {
+    assertThat(NgramTokenizer.normalize("ガッコウ")).isEqualTo("かつこう");
+    assertThat(NgramTokenizer.normalize("ｶﾞｯｺｳ")).isEqualTo("かつこう");
+    assertThat(NgramTokenizer.normalize("ぱんだ")).isEqualTo("はんた");
+    assertThat(NgramTokenizer.normalize("Café")).isEqualTo("cafe");
+  }
+
+  @Test
+  void 全角や濁音で検索しても照合順序で一致する文字列のn_gramを取り出すこと() {
+    assertThat(NgramTokenizer.tokenize("ﾊﾞｰﾄﾞ tanaka"))
+        .containsAll(NgramTokenizer.queryGrams("%ばーど%"))
+        .containsAll(NgramTokenizer.queryGrams("%ＴＡＮＡＫＡ%"));
+  }
+
+}
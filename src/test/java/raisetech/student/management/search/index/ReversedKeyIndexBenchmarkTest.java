@@ -0,0 +1,79 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 後方一致検索を、全件の文字列比較（LIKE '%x' の全件走査に相当）と逆順キー索引の範囲検索で比較するベンチマークです。
+ * 実行時間を計測するため通常のテストからは除外しています。./gradlew benchmark で実行します。
+ */
+@Tag("benchmark")
+class ReversedKeyIndexBenchmarkTest {
+
+  private static final int ROWS = 200_000;
+  private static final int DOMAINS = 500;
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int MEASURED_ROUNDS = 50;
+
+  private static String[] emails;
+  private static ReversedKeyIndex index;
+
+  @BeforeAll
+  static void setUp() {
+    emails = new String[ROWS];
+    index = new ReversedKeyIndex();
+    for (int id = 0; id < ROWS; id++) {
+      emails[id] = "student" + id + "@school" + (id % DOMAINS) + ".example.co.jp";
+      index.put(id, emails[id]);
+    }
+  }
+
+  private static int[] scan(String suffix) {
+    String normalized = suffix.toLowerCase(Locale.ROOT);
+    IntStream.Builder matched = IntStream.builder();
+    for (int id = 0; id < emails.length; id++) {
+      if (emails[id].toLowerCase(Locale.ROOT).endsWith(normalized)) {
+        matched.add(id);
+      }
+    }
+    return matched.build().toArray();
+  }
+
+  /**
+   * 処理をウォームアップしたあと繰り返し実行し、1回あたりの実行時間の中央値（ナノ秒）を返します。
+   */
+  private static long medianNanos(Supplier<int[]> task) {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      task.get();
+    }
+    long[] elapsed = new long[MEASURED_ROUNDS];
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      long start = System.nanoTime();
+      task.get();
+      elapsed[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(elapsed);
+    return elapsed[MEASURED_ROUNDS / 2];
+  }
+
+  @Test
+  void メールアドレスのドメインによる後方一致検索は索引の範囲検索の方が全件走査より速いこと() {
+    String suffix = "@school123.example.co.jp";
+    assertThat(index.endingWith(suffix)).isEqualTo(scan(suffix));
+
+    long scanNanos = medianNanos(() -> scan(suffix));
+    long indexNanos = medianNanos(() -> index.endingWith(suffix));
+
+    System.out.printf("ENDS_WITH %s over %,d rows: full scan %,d us, reversed-key index %,d us (x%.1f)%n",
+        suffix, ROWS, scanNanos / 1_000, indexNanos / 1_000, (double) scanNanos / indexNanos);
+    assertThat(indexNanos * 10).isLessThan(scanNanos);
+  }
+
+}
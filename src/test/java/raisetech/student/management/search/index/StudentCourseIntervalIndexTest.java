@@ -0,0 +1,117 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchOperator;
+
+class StudentCourseIntervalIndexTest {
+
+  private StudentCourseIntervalIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getIntervalIndex().setMaxCandidates(3);
+    sut = new StudentCourseIntervalIndex(properties);
+  }
+
+  private static StudentCourse makeStudentCourse(int studentId, String startAt,
+      String plannedEndAt, String finishedAt) {
+    return new StudentCourse(null, studentId, "JA", 3, LocalDate.parse("2024-01-01"),
+        startAt == null ? null : LocalDate.parse(startAt),
+        plannedEndAt == null ? null : LocalDate.parse(plannedEndAt),
+        finishedAt == null ? null : LocalDate.parse(finishedAt));
+  }
+
+  private void load(StudentCourse... studentCourses) {
+    sut.load(List.of(), List.of(studentCourses));
+  }
+
+  private static StudentSearchCriteria activeOn(String date) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyCoursePeriodFilter(
+        new SearchFilter("coursePeriod", SearchOperator.EQ, date, null));
+    return criteria;
+  }
+
+  private static StudentSearchCriteria overlaps(String from, String to) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyCoursePeriodFilter(
+        new SearchFilter("coursePeriod", SearchOperator.OVERLAPS, null, List.of(from, to)));
+    return criteria;
+  }
+
+  @Test
+  void 指定日に受講中の受講生IDを受講生ID順に返すこと() {
+    load(makeStudentCourse(3, "2024-07-15", "2025-01-15", null),
+        makeStudentCourse(1, "2024-04-01", "2025-04-01", "2024-09-30"),
+        makeStudentCourse(2, "2024-10-01", "2025-04-01", null),
+        makeStudentCourse(4, null, null, null));
+
+    assertThat(sut.isAvailable()).isTrue();
+    assertThat(sut.findCandidateStudentIds(activeOn("2024-09-30"))).containsExactly(1, 3);
+    assertThat(sut.findCandidateStudentIds(activeOn("2024-10-01"))).containsExactly(2, 3);
+    assertThat(sut.findCandidateStudentIds(activeOn("2025-04-02"))).isEmpty();
+  }
+
+  @Test
+  void 期間と1日でも重なる受講期間を持つ受講生IDを返すこと() {
+    load(makeStudentCourse(1, "2024-04-01", "2024-06-30", null),
+        makeStudentCourse(2, "2024-07-01", "2024-09-30", null),
+        makeStudentCourse(2, "2025-01-01", "2025-03-31", null));
+
+    assertThat(sut.findCandidateStudentIds(overlaps("2024-06-30", "2024-07-01"))).containsExactly(1, 2);
+    assertThat(sut.findCandidateStudentIds(overlaps("2024-10-01", "2024-12-31"))).isEmpty();
+    assertThat(sut.findCandidateStudentIds(overlaps("2025-03-31", "2024-10-01"))).containsExactly(2);
+  }
+
+  @Test
+  void 受講開始日の範囲検索も区間索引で絞り込むこと() {
+    load(makeStudentCourse(1, "2024-04-01", "2025-04-01", null),
+        makeStudentCourse(2, "2024-07-01", null, null));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyCourseStartAtFilter(
+        new SearchFilter("courseStartAt", SearchOperator.GTE, "2024-05-01", null));
+
+    assertThat(sut.findCandidateStudentIds(criteria)).containsExactly(2);
+  }
+
+  @Test
+  void 受講期間と受講開始日の条件がない場合と候補が上限件数を超える場合はnullを返すこと() {
+    load(makeStudentCourse(1, "2024-04-01", "2025-04-01", null),
+        makeStudentCourse(2, "2024-04-01", "2025-04-01", null),
+        makeStudentCourse(3, "2024-04-01", "2025-04-01", null),
+        makeStudentCourse(4, "2024-04-01", "2025-04-01", null));
+
+    assertThat(sut.findCandidateStudentIds(new StudentSearchCriteria())).isNull();
+    assertThat(sut.findCandidateStudentIds(activeOn("2024-10-01"))).isNull();
+  }
+
+  @Test
+  void 読み直した受講生コースをまとめて受け取ると索引に反映すること() {
+    load(makeStudentCourse(1, "2024-04-01", "2025-04-01", null),
+        makeStudentCourse(2, "2024-04-01", "2025-04-01", null),
+        makeStudentCourse(3, "2024-04-01", "2025-04-01", null));
+
+    // 受講生ID=3は受講生コースがなくなった
+    sut.onStudentDataReloaded(new StudentDataReloadedEvent(List.of(1, 3, 4), Map.of(), Map.of(
+        1, List.of(
+            makeStudentCourse(1, "2024-04-01", "2025-04-01", "2024-08-31"),
+            makeStudentCourse(1, "2025-01-01", "2025-06-30", null)),
+        4, List.of(makeStudentCourse(4, "2024-09-01", "2025-09-01", null)))));
+
+    assertThat(sut.findCandidateStudentIds(activeOn("2024-10-01"))).containsExactly(2, 4);
+    assertThat(sut.findCandidateStudentIds(activeOn("2025-05-01"))).containsExactly(1, 4);
+  }
+
+}
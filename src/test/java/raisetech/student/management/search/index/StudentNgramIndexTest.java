@@ -0,0 +1,127 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchOperator;
+
+class StudentNgramIndexTest {
+
+  private StudentNgramIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getNgramIndex().setMaxCandidates(3);
+    sut = new StudentNgramIndex(properties);
+  }
+
+  private static Student makeStudent(int studentId, String fullName, String kanaName, String area) {
+    return new Student(studentId, fullName, kanaName, "ニックネーム", "test@example.com", area,
+        "090-0000-0000", 20, "男", "", false);
+  }
+
+  private void load(Student... students) {
+    sut.load(List.of(students), List.of());
+  }
+
+  private static StudentSearchCriteria contains(String field, String value) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    SearchFilter filter = new SearchFilter(field, SearchOperator.CONTAINS, value, null);
+    switch (field) {
+      case "fullName" -> criteria.applyFullNameFilter(filter);
+      case "kanaName" -> criteria.applyKanaNameFilter(filter);
+      case "area" -> criteria.applyAreaFilter(filter);
+      default -> criteria.applyRemarkFilter(filter);
+    }
+    return criteria;
+  }
+
+  @Test
+  void 全件読み込み前は使用可能でないこと() {
+    assertThat(sut.isAvailable()).isFalse();
+  }
+
+  @Test
+  void 部分一致の文字列を含む受講生IDを受講生ID順に返すこと() {
+    load(makeStudent(1, "田中太郎", "たなかたろう", "東京都練馬区"),
+        makeStudent(2, "山田中子", "やまだなかこ", "大阪府大阪市"),
+        makeStudent(3, "佐藤花子", "さとうはなこ", "東京都港区"));
+
+    assertThat(sut.isAvailable()).isTrue();
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "田中"))).containsExactly(1, 2);
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "子"))).containsExactly(2, 3);
+    assertThat(sut.findCandidateStudentIds(contains("area", "東京都"))).containsExactly(1, 3);
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "鈴木"))).isEmpty();
+  }
+
+  @Test
+  void 複数の列の部分一致条件は全てを満たす候補に絞り込むこと() {
+    load(makeStudent(1, "田中太郎", "たなかたろう", "東京都練馬区"),
+        makeStudent(2, "山田中子", "やまだなかこ", "東京都港区"));
+    StudentSearchCriteria criteria = contains("fullName", "田中");
+    criteria.applyKanaNameFilter(new SearchFilter("kanaName", SearchOperator.CONTAINS, "なか", null));
+    criteria.applyAreaFilter(new SearchFilter("area", SearchOperator.CONTAINS, "練馬", null));
+
+    assertThat(sut.findCandidateStudentIds(criteria)).containsExactly(1);
+  }
+
+  @Test
+  void カタカナと大文字小文字の違いは候補に含めること() {
+    load(makeStudent(1, "ハナコ Smith", "はなこすみす", "東京都練馬区"));
+
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "はなこ"))).containsExactly(1);
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "SMITH"))).containsExactly(1);
+  }
+
+  @Test
+  void 全角英数字や半角カタカナと濁音半濁音の違いは候補に含めること() {
+    load(makeStudent(1, "ｽﾐｽ Ｊｏｈｎ", "ばんぱいあ", "東京都練馬区"));
+
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "スミス"))).containsExactly(1);
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "john"))).containsExactly(1);
+    assertThat(sut.findCandidateStudentIds(contains("kanaName", "はんはい"))).containsExactly(1);
+    assertThat(sut.findCandidateStudentIds(contains("kanaName", "パンパイア"))).containsExactly(1);
+  }
+
+  @Test
+  void afterStudentIdより後ろの候補だけを返すこと() {
+    load(makeStudent(1, "田中太郎", "", ""), makeStudent(2, "田中次郎", "", ""),
+        makeStudent(3, "田中三郎", "", ""));
+    StudentSearchCriteria criteria = contains("fullName", "田中");
+    criteria.applyPage(1, 10);
+
+    assertThat(sut.findCandidateStudentIds(criteria)).containsExactly(2, 3);
+  }
+
+  @Test
+  void 候補が上限件数を超える場合と部分一致条件がない場合はnullを返すこと() {
+    load(makeStudent(1, "田中太郎", "", ""), makeStudent(2, "田中次郎", "", ""),
+        makeStudent(3, "田中三郎", "", ""), makeStudent(4, "田中四郎", "", ""));
+
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "田中"))).isNull();
+    assertThat(sut.findCandidateStudentIds(new StudentSearchCriteria())).isNull();
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "%"))).isNull();
+  }
+
+  @Test
+  void 読み直した受講生をまとめて受け取ると索引に反映すること() {
+    load(makeStudent(1, "田中太郎", "", ""), makeStudent(2, "佐藤花子", "", ""));
+
+    sut.onStudentDataReloaded(new StudentDataReloadedEvent(List.of(1, 3),
+        Map.of(1, makeStudent(1, "鈴木太郎", "", ""), 3, makeStudent(3, "鈴木一郎", "", "")),
+        Map.of()));
+
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "田中"))).isEmpty();
+    assertThat(sut.findCandidateStudentIds(contains("fullName", "鈴木"))).containsExactly(1, 3);
+  }
+
+}
@@ -0,0 +1,105 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.request.SearchFilter;
+import raisetech.student.management.search.request.SearchOperator;
+
+class StudentSuffixIndexTest {
+
+  private StudentSuffixIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getSuffixIndex().setMaxCandidates(3);
+    sut = new StudentSuffixIndex(properties);
+  }
+
+  private static Student makeStudent(int studentId, String email, String telephone) {
+    return new Student(studentId, "山田太郎", "やまだたろう", "タロー", email, "東京都練馬区",
+        telephone, 20, "男", "", false);
+  }
+
+  private void load(Student... students) {
+    sut.load(List.of(students), List.of());
+  }
+
+  private static StudentSearchCriteria endsWith(String field, String value) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    SearchFilter filter = new SearchFilter(field, SearchOperator.ENDS_WITH, value, null);
+    if (field.equals("email")) {
+      criteria.applyEmailFilter(filter);
+    } else {
+      criteria.applyTelephoneFilter(filter);
+    }
+    return criteria;
+  }
+
+  @ParameterizedTest(name = "[{index}] ''{0}'' の末尾の文字列は ''{1}''")
+  @CsvSource({
+      "'%@example.co.jp', '@example.co.jp'",
+      "'%\\_jp', '_jp'",
+      "'%example%', ",
+      "'%ex_mple', ",
+      "'example%', ",
+      "'%', "
+  })
+  void 後方一致のパターンからだけ末尾の文字列を取り出すこと(String likePattern, String expected) {
+    assertThat(ReversedKeyIndex.literalSuffix(likePattern)).isEqualTo(expected);
+  }
+
+  @Test
+  void 後方一致の文字列で終わる受講生IDを受講生ID順に返すこと() {
+    load(makeStudent(1, "taro@example.co.jp", "090-1111-2222"),
+        makeStudent(2, "hanako@gmail.com", "080-3333-2222"),
+        makeStudent(3, "jiro@sub.example.co.jp", "070-4444-5555"));
+
+    assertThat(sut.isAvailable()).isTrue();
+    assertThat(sut.findCandidateStudentIds(endsWith("email", "@example.co.jp"))).containsExactly(1);
+    assertThat(sut.findCandidateStudentIds(endsWith("email", "example.co.jp"))).containsExactly(1, 3);
+    assertThat(sut.findCandidateStudentIds(endsWith("email", "@EXAMPLE.CO.JP"))).containsExactly(1);
+    assertThat(sut.findCandidateStudentIds(endsWith("telephone", "2222"))).containsExactly(1, 2);
+    assertThat(sut.findCandidateStudentIds(endsWith("email", "@yahoo.co.jp"))).isEmpty();
+  }
+
+  @Test
+  void 部分一致や前方一致の条件では絞り込まないこと() {
+    load(makeStudent(1, "taro@example.co.jp", "090-1111-2222"));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.applyEmailFilter(new SearchFilter("email", SearchOperator.CONTAINS, "example", null));
+    criteria.applyTelephoneFilter(new SearchFilter("telephone", SearchOperator.STARTS_WITH, "090", null));
+
+    assertThat(sut.findCandidateStudentIds(criteria)).isNull();
+  }
+
+  @Test
+  void 候補が上限件数を超える場合はnullを返すこと() {
+    load(makeStudent(1, "a@gmail.com", ""), makeStudent(2, "b@gmail.com", ""),
+        makeStudent(3, "c@gmail.com", ""), makeStudent(4, "d@gmail.com", ""));
+
+    assertThat(sut.findCandidateStudentIds(endsWith("email", "@gmail.com"))).isNull();
+  }
+
+  @Test
+  void 読み直した受講生を受け取ると索引に反映すること() {
+    load(makeStudent(1, "taro@example.co.jp", ""), makeStudent(2, "hanako@gmail.com", ""));
+
+    sut.onStudentDataReloaded(new StudentDataReloadedEvent(List.of(1),
+        Map.of(1, makeStudent(1, "taro@gmail.com", "")), Map.of()));
+
+    assertThat(sut.findCandidateStudentIds(endsWith("email", "@example.co.jp"))).isEmpty();
+    assertThat(sut.findCandidateStudentIds(endsWith("email", "@gmail.com"))).containsExactly(1, 2);
+  }
+
+}
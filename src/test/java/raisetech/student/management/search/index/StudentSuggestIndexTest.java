@@ -0,0 +1,68 @@
+package raisetech.student.management.search.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.event.StudentDataReloadedEvent;
+import raisetech.student.management.search.request.SearchableField;
+import raisetech.student.management.search.suggest.StudentSuggestion;
+
+class StudentSuggestIndexTest {
+
+  private StudentSuggestIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentSuggestIndex(new StudentSearchProperties());
+  }
+
+  private static Student makeStudent(int studentId, String fullName, String nickname, String area) {
+    return new Student(studentId, fullName, "よみがな", nickname, "test@example.com", area,
+        "090-0000-0000", 20, "男", "", false);
+  }
+
+  @Test
+  void 全件読み込み前は使用可能でないこと() {
+    assertThat(sut.isAvailable()).isFalse();
+  }
+
+  @Test
+  void 列ごとに入力途中の文字列に続く値を人数の多い順に返すこと() {
+    sut.load(List.of(
+        makeStudent(1, "田中太郎", "タロー", "東京都練馬区"),
+        makeStudent(2, "田中花子", "ハナ", "東京都港区"),
+        makeStudent(3, "田村次郎", "タロー", "東京都練馬区")), List.of());
+
+    assertThat(sut.isAvailable()).isTrue();
+    assertThat(sut.suggest(SearchableField.FULL_NAME, "田中", 10)).containsExactly(
+        new StudentSuggestion("田中花子", 1), new StudentSuggestion("田中太郎", 1));
+    assertThat(sut.suggest(SearchableField.NICKNAME, "タ", 10)).containsExactly(
+        new StudentSuggestion("タロー", 2));
+    assertThat(sut.suggest(SearchableField.AREA, "東京都", 1)).containsExactly(
+        new StudentSuggestion("東京都練馬区", 2));
+  }
+
+  @Test
+  void 読み直した受講生をまとめて受け取ると古い値を取り除き新しい値を追加すること() {
+    sut.load(List.of(
+        makeStudent(1, "田中太郎", "タロー", "東京都練馬区"),
+        makeStudent(2, "田中花子", "ハナ", "東京都港区")), List.of());
+
+    sut.onStudentDataReloaded(new StudentDataReloadedEvent(List.of(1, 3), Map.of(
+        1, makeStudent(1, "鈴木太郎", "タロー", "東京都港区"),
+        3, makeStudent(3, "鈴木一郎", "イチ", "大阪府大阪市")), Map.of()));
+
+    assertThat(sut.suggest(SearchableField.FULL_NAME, "田中", 10)).containsExactly(
+        new StudentSuggestion("田中花子", 1));
+    assertThat(sut.suggest(SearchableField.FULL_NAME, "鈴木", 10)).containsExactly(
+        new StudentSuggestion("鈴木一郎", 1), new StudentSuggestion("鈴木太郎", 1));
+    assertThat(sut.suggest(SearchableField.AREA, "東京都", 10)).containsExactly(
+        new StudentSuggestion("東京都港区", 2));
+  }
+
+}
@@ -0,0 +1,51 @@
+package raisetech.student.management.search.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChunkedNdjsonWriterTest {
+
+  @TempDir
+  Path tempDir;
+
+  private static byte[] bytes(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void バッファに収まる行はバッファが一杯になるまでファイルに書き出さないこと() throws Exception {
+    // Arrange
+    Path file = tempDir.resolve("result.ndjson");
+
+    // Act & Assert
+    try (ChunkedNdjsonWriter sut = new ChunkedNdjsonWriter(file, 16)) {
+      sut.writeLine(bytes("{\"id\":1}"));
+      assertEquals(0, Files.size(file));
+
+      sut.writeLine(bytes("{\"id\":2}"));
+      assertEquals(List.of("{\"id\":1}"), Files.readAllLines(file));
+      assertEquals(2, sut.getLineCount());
+    }
+    assertEquals(List.of("{\"id\":1}", "{\"id\":2}"), Files.readAllLines(file));
+  }
+
+  @Test
+  void バッファより大きい行はそのままファイルに書き出すこと() throws Exception {
+    // Arrange
+    Path file = tempDir.resolve("result.ndjson");
+
+    // Act & Assert
+    try (ChunkedNdjsonWriter sut = new ChunkedNdjsonWriter(file, 8)) {
+      sut.writeLine(bytes("{\"id\":1}"));
+      sut.writeLine(bytes("{\"fullName\":\"山田太郎\"}"));
+      assertEquals(List.of("{\"id\":1}", "{\"fullName\":\"山田太郎\"}"), Files.readAllLines(file));
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+package raisetech.student.management.search.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import raisetech.student.management.exception.InvalidPageCursorException;
+
+class PageCursorTest {
+
+  @Test
+  void エンコードしたカーソルをデコードすると元の受講生IDに戻ること() {
+    String cursor = PageCursor.encode(12345);
+
+    assertEquals(12345, PageCursor.decode(cursor));
+  }
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(strings = {"  "})
+  void カーソル未指定ならnullを返すこと(String cursor) {
+    assertNull(PageCursor.decode(cursor));
+  }
+
+  @Test
+  void カーソルは受講生IDをそのまま含まない不透明な文字列であること() {
+    String cursor = PageCursor.encode(100);
+
+    assertEquals(-1, cursor.indexOf("100"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"%%%", "not-a-cursor", "djE6YWJj"}) // 最後は "v1:abc" のBase64
+  void 解析できないカーソルならInvalidPageCursorExceptionを送出すること(String cursor) {
+    assertThrows(InvalidPageCursorException.class, () -> PageCursor.decode(cursor));
+  }
+
+  @Test
+  void バージョン接頭辞のないカーソルならInvalidPageCursorExceptionを送出すること() {
+    String cursor = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString("100".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(InvalidPageCursorException.class, () -> PageCursor.decode(cursor));
+  }
+
+  @Test
+  void エンコードしたオフセットのカーソルをデコードすると元の件数に戻ること() {
+    String cursor = PageCursor.encodeOffset(150);
+
+    assertEquals(150, PageCursor.decodeOffset(cursor, 1000));
+  }
+
+  @Test
+  void オフセットが並び替えの範囲を超えるカーソルならInvalidPageCursorExceptionを送出すること() {
+    assertEquals(999, PageCursor.decodeOffset(PageCursor.encodeOffset(999), 1000));
+    assertThrows(InvalidPageCursorException.class,
+        () -> PageCursor.decodeOffset(PageCursor.encodeOffset(1000), 1000));
+    assertThrows(InvalidPageCursorException.class,
+        () -> PageCursor.decodeOffset(PageCursor.encodeOffset(2_000_000_000), 1000));
+  }
+
+  @Test
+  void 受講生IDのカーソルとオフセットのカーソルは取り違えるとInvalidPageCursorExceptionを送出すること() {
+    assertThrows(InvalidPageCursorException.class,
+        () -> PageCursor.decodeOffset(PageCursor.encode(100), 1000));
+    assertThrows(InvalidPageCursorException.class,
+        () -> PageCursor.decode(PageCursor.encodeOffset(100)));
+  }
+}
@@ -0,0 +1,52 @@
+package raisetech.student.management.search.projection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.testutil.TestDataFactory;
+
+class StudentProjectionTest {
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  void 取得項目の指定がなければnullを返すこと(List<String> fields) {
+    assertNull(StudentProjection.of(fields));
+  }
+
+  @Test
+  void 受講生IDを常に含め指定された項目の列を受講生テーブルの列順で返すこと() {
+    StudentProjection projection = StudentProjection.of(List.of("remark", "fullName"));
+
+    assertEquals(List.of("student_id", "full_name", "remark"), projection.studentColumns());
+    assertFalse(projection.includesStudentCourses());
+  }
+
+  @Test
+  void 指定された項目だけを受講生詳細と同じ形のMapに取り出すこと() {
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+
+    Map<String, Object> actual =
+        StudentProjection.of(List.of("isDeleted", "studentCourses")).project(studentDetail);
+
+    assertEquals(Map.of(
+        "student", Map.of("studentId", 1, "isDeleted", false),
+        "studentCourses", studentDetail.getStudentCourses()), actual);
+  }
+
+  @Test
+  void 存在しない項目が指定されたら受け付けないこと() {
+    assertTrue(StudentProjection.isValidField("studentCourses"));
+    assertFalse(StudentProjection.isValidField("student_id"));
+    assertThrows(IllegalArgumentException.class, () -> StudentProjection.of(List.of("password")));
+  }
+
+}
@@ -0,0 +1,187 @@
+package raisetech.student.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.domain.StudentBulkRegistrationResult;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.data.domain.StudentRegistrationItemResult;
+import raisetech.student.management.data.domain.StudentRegistrationStatus;
+import raisetech.student.management.exception.handler.ErrorDetailsBuilder;
+import raisetech.student.management.validation.CreateGroup;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class StudentBulkRegistrationServiceTest {
+
+  @Mock
+  private StudentService studentService;
+
+  @Mock
+  private Validator validator;
+
+  @Mock
+  private ErrorDetailsBuilder errorDetailsBuilder;
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+  private StudentBulkRegistrationService sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new StudentBulkRegistrationService(studentService, objectMapper, validator,
+        errorDetailsBuilder);
+  }
+
+  /**
+   * メールアドレスが番号ごとに異なる、登録前の受講生詳細を作る
+   */
+  private static StudentDetail makeStudentDetail(int number) {
+    Student student = new Student(null, "山田太郎", "やまだたろう", "タロー",
+        "taro" + number + "@example.com", "東京都練馬区", "090-0000-0000", 20, "男", "特になし", null);
+    return new StudentDetail(student,
+        List.of(new StudentCourse(null, null, "JA", null, null, null, null, null)));
+  }
+
+  private InputStream toJson(List<StudentDetail> studentDetails) {
+    return new ByteArrayInputStream(objectMapper.writeValueAsBytes(studentDetails));
+  }
+
+  /**
+   * 受け取った受講生詳細に、受講生IDを 100 から順に採番したものとして返す
+   */
+  private void givenRegisterStudentDetailsAssignsIds() {
+    when(studentService.registerStudentDetails(anyList())).thenAnswer(invocation -> {
+      List<StudentDetail> studentDetails = invocation.getArgument(0);
+      return IntStream.range(0, studentDetails.size())
+          .mapToObj(i -> new StudentDetail(new Student(100 + i, null, null, null, null, null,
+              null, null, null, null, false), studentDetails.get(i).getStudentCourses()))
+          .toList();
+    });
+  }
+
+  @Test
+  void 一括登録成功_入力値の正しい受講生詳細をまとめて登録し不正な受講生詳細はINVALIDとすること() {
+    // Arrange
+    StudentDetail invalid = makeStudentDetail(2);
+    ConstraintViolation<StudentDetail> violation = mock();
+    when(validator.validate(any(StudentDetail.class), eq(CreateGroup.class))).thenAnswer(
+        invocation -> invalid.equals(invocation.getArgument(0)) ? Set.of(violation) : Set.of());
+    List<Map<String, String>> errors = List.of(Map.of("field", "student.email", "message", "不正です"));
+    when(errorDetailsBuilder.buildErrorDetails(any(ConstraintViolationException.class)))
+        .thenReturn(errors);
+    givenRegisterStudentDetailsAssignsIds();
+
+    // Act
+    StudentBulkRegistrationResult actual = sut.registerStudentDetails(
+        toJson(List.of(makeStudentDetail(1), invalid, makeStudentDetail(3))));
+
+    // Assert
+    verify(studentService, times(1)).registerStudentDetails(
+        List.of(makeStudentDetail(1), makeStudentDetail(3)));
+    assertEquals(List.of(
+        StudentRegistrationItemResult.created(0, 100),
+        StudentRegistrationItemResult.invalid(1, errors),
+        StudentRegistrationItemResult.created(2, 101)), actual.getItems());
+    assertEquals(3, actual.getTotalCount());
+    assertEquals(2, actual.getCreatedCount());
+    assertEquals(1, actual.getInvalidCount());
+    assertEquals(0, actual.getFailedCount());
+  }
+
+  @Test
+  void 一括登録成功_CHUNK_SIZE件ごとにまとめて登録すること() {
+    // Arrange
+    givenRegisterStudentDetailsAssignsIds();
+    int total = StudentBulkRegistrationService.CHUNK_SIZE + 1;
+
+    // Act
+    StudentBulkRegistrationResult actual = sut.registerStudentDetails(toJson(
+        IntStream.range(0, total).mapToObj(StudentBulkRegistrationServiceTest::makeStudentDetail).toList()));
+
+    // Assert
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<StudentDetail>> captor = ArgumentCaptor.forClass(List.class);
+    verify(studentService, times(2)).registerStudentDetails(captor.capture());
+    assertEquals(List.of(StudentBulkRegistrationService.CHUNK_SIZE, 1),
+        captor.getAllValues().stream().map(List::size).toList());
+    assertEquals(total, actual.getCreatedCount());
+    assertEquals(IntStream.range(0, total).boxed().toList(),
+        actual.getItems().stream().map(StudentRegistrationItemResult::getIndex).toList());
+  }
+
+  @Test
+  void 一括登録_まとめての登録に失敗したら1件ずつ登録し直し失敗した受講生詳細だけFAILEDとすること() {
+    // Arrange
+    when(studentService.registerStudentDetails(anyList()))
+        .thenThrow(new DuplicateKeyException("duplicate email"));
+    when(studentService.registerStudentDetail(makeStudentDetail(1)))
+        .thenReturn(new StudentDetail(new Student(100, null, null, null, null, null, null, null,
+            null, null, false), List.of()));
+    when(studentService.registerStudentDetail(makeStudentDetail(2)))
+        .thenThrow(new DuplicateKeyException("duplicate email"));
+
+    // Act
+    StudentBulkRegistrationResult actual = sut.registerStudentDetails(
+        toJson(List.of(makeStudentDetail(1), makeStudentDetail(2))));
+
+    // Assert
+    assertEquals(StudentRegistrationItemResult.created(0, 100), actual.getItems().get(0));
+    StudentRegistrationItemResult failed = actual.getItems().get(1);
+    assertEquals(StudentRegistrationStatus.FAILED, failed.getStatus());
+    assertNull(failed.getStudentId());
+    assertEquals(1, actual.getCreatedCount());
+    assertEquals(1, actual.getFailedCount());
+  }
+
+  @Test
+  void 一括登録_JSONの構文が壊れていたらその位置をINVALIDとしそれまでの受講生詳細は登録すること() {
+    // Arrange
+    givenRegisterStudentDetailsAssignsIds();
+    List<Map<String, String>> errors = List.of(Map.of("details", "JSONの解析に失敗しました。"));
+    when(errorDetailsBuilder.buildErrorDetails(any(JacksonException.class))).thenReturn(errors);
+    String valid = new String(objectMapper.writeValueAsBytes(makeStudentDetail(1)),
+        StandardCharsets.UTF_8);
+    InputStream body = new ByteArrayInputStream(
+        ("[" + valid + ", {\"student\": {\"fullName\": ").getBytes(StandardCharsets.UTF_8));
+
+    // Act
+    StudentBulkRegistrationResult actual = sut.registerStudentDetails(body);
+
+    // Assert
+    assertEquals(List.of(
+        StudentRegistrationItemResult.created(0, 100),
+        StudentRegistrationItemResult.invalid(1, errors)), actual.getItems());
+    verify(studentService, never()).registerStudentDetail(any(StudentDetail.class));
+  }
+
+}
@@ -0,0 +1,222 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.cache.StudentDetailCache;
+import raisetech.student.management.cache.StudentFilterBitmapCache;
+import raisetech.student.management.cache.StudentSearchResultCache;
+import raisetech.student.management.config.CourseStatusProperties;
+import raisetech.student.management.config.StudentSearchProperties;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.exception.InvalidStatusTransitionException;
+import raisetech.student.management.exception.StatusUpdateConflictException;
+import raisetech.student.management.exception.TargetNotFoundException;
+import raisetech.student.management.repository.CourseStatusRepository;
+import raisetech.student.management.repository.StudentRepository;
+import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
+import raisetech.student.management.search.engine.InMemoryStudentSearchEngine;
+import raisetech.student.management.search.index.StudentCourseIntervalIndex;
+import raisetech.student.management.search.index.StudentNgramIndex;
+import raisetech.student.management.search.index.StudentSuffixIndex;
+import raisetech.student.management.search.index.StudentSuggestIndex;
+import raisetech.student.management.status.CourseStatusMachineRegistry;
+
+/**
+ * 受講生コースの更新（updateStudentCourse）を複数のスレッドから同時に呼び出し、
+ * DBから読み込んだ状態遷移表での判定、条件付き更新、失敗理由の判定を通して、
+ * 各呼び出しが成功・400・404・409のいずれかに正しく分かれることを確かめるテストです。
+ * スレッドごとに別の接続でコミットさせるため、テストメソッドをトランザクションで囲みません。
+ * 使用する受講生コースはテストの前後で data.sql の状態（仮申込）に戻します。
+ */
+@MybatisTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentCourseStatusUpdateConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 20;
+
+  /** data.sql の受講生コースID=5（受講生ID=5, 仮申込, 受講開始日などは未設定） */
+  private static final int STUDENT_COURSE_ID = 5;
+  private static final int STUDENT_ID = 5;
+
+  private static final int TEMPORARY = 1;
+  private static final int APPLIED = 2;
+  private static final int CANCELED = 5;
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  @Autowired
+  private CourseStatusRepository statusRepository;
+
+  private StudentService sut;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    CourseStatusMachineRegistry statusMachineRegistry =
+        new CourseStatusMachineRegistry(statusRepository, new CourseStatusProperties());
+    // 受講生コースの更新で使わない検索用の依存はモックにする
+    sut = new StudentService(studentRepository, statusMachineRegistry,
+        mock(StudentSearchCriteriaConverter.class), new StudentSearchProperties(),
+        mock(StudentSearchResultCache.class), mock(StudentDetailCache.class),
+        mock(StudentFilterBitmapCache.class), mock(InMemoryStudentSearchEngine.class),
+        mock(StudentNgramIndex.class), mock(StudentSuffixIndex.class),
+        mock(StudentCourseIntervalIndex.class), mock(StudentSuggestIndex.class),
+        mock(ApplicationEventPublisher.class));
+    executor = Executors.newFixedThreadPool(THREADS);
+    resetStatus();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    resetStatus();
+  }
+
+  /**
+   * 仮申込からの遷移（本申込・キャンセル）は日付を変更しないため、ステータスだけを戻せば data.sql の状態に戻る
+   */
+  private void resetStatus() {
+    studentRepository.compareAndSetStudentCourseStatus(
+        new StudentCourse(STUDENT_COURSE_ID, STUDENT_ID, null, TEMPORARY, null, null, null, null),
+        List.of(TEMPORARY, APPLIED, CANCELED));
+  }
+
+  /**
+   * 全てのスレッドを同時に開始させ、スレッドごとに更新後のステータスへ受講生コースを更新し、
+   * それぞれの結果を StudentExceptionHandler が返すHTTPステータスに置き換えて返す
+   *
+   * @param studentCourseId 更新する受講生コースID
+   * @param toStatusIds スレッドごとの更新後のステータスID
+   * @param expectedStatusId 遷移前のステータスID。nullなら指定しない
+   * @param conflicts 409になった呼び出しの例外の書き込み先
+   */
+  private List<HttpStatus> race(int studentCourseId, List<Integer> toStatusIds,
+      Integer expectedStatusId, List<StatusUpdateConflictException> conflicts) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<HttpStatus>> futures = new ArrayList<>();
+    for (int toStatusId : toStatusIds) {
+      StudentCourse studentCourse = new StudentCourse(studentCourseId, null, null, toStatusId,
+          null, null, null, null);
+      futures.add(executor.submit(() -> {
+        start.await();
+        try {
+          sut.updateStudentCourse(studentCourse, STUDENT_ID, expectedStatusId);
+          return HttpStatus.OK;
+        } catch (InvalidStatusTransitionException e) {
+          return HttpStatus.BAD_REQUEST;
+        } catch (TargetNotFoundException e) {
+          return HttpStatus.NOT_FOUND;
+        } catch (StatusUpdateConflictException e) {
+          synchronized (conflicts) {
+            conflicts.add(e);
+          }
+          return HttpStatus.CONFLICT;
+        }
+      }));
+    }
+    start.countDown();
+
+    List<HttpStatus> statuses = new ArrayList<>();
+    for (Future<HttpStatus> future : futures) {
+      statuses.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return statuses;
+  }
+
+  private int currentStatusId() {
+    return studentRepository.findStatusId(new StudentCourse(STUDENT_COURSE_ID, STUDENT_ID, null,
+        null, null, null, null, null));
+  }
+
+  private static List<Integer> alternate(int first, int second) {
+    List<Integer> toStatusIds = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      toStatusIds.add(i % 2 == 0 ? first : second);
+    }
+    return toStatusIds;
+  }
+
+  @Test
+  void 更新前のステータスを指定した同時更新では1件だけが成功し残りは現在のステータスを含む409になること() throws Exception {
+    for (int round = 0; round < ROUNDS; round++) {
+      resetStatus();
+      List<StatusUpdateConflictException> conflicts = new ArrayList<>();
+
+      List<Integer> toStatusIds = alternate(APPLIED, CANCELED);
+      List<HttpStatus> statuses = race(STUDENT_COURSE_ID, toStatusIds, TEMPORARY, conflicts);
+
+      assertThat(statuses).as("round %d", round)
+          .containsOnly(HttpStatus.OK, HttpStatus.CONFLICT)
+          .containsOnlyOnce(HttpStatus.OK);
+      int winner = toStatusIds.get(statuses.indexOf(HttpStatus.OK));
+      assertThat(currentStatusId()).as("round %d", round).isEqualTo(winner);
+      assertThat(conflicts).as("round %d", round).hasSize(THREADS - 1)
+          .allSatisfy(conflict -> {
+            assertThat(conflict.getExpectedStatusId()).isEqualTo(TEMPORARY);
+            assertThat(conflict.getActualStatusId()).isEqualTo(winner);
+          });
+    }
+  }
+
+  @Test
+  void 更新前のステータスを指定しない同時更新では遷移できなくなった更新が400になること() throws Exception {
+    // 仮申込からは本申込とキャンセルへ、本申込からはキャンセルへ遷移できる。キャンセルは終端
+    for (int round = 0; round < ROUNDS; round++) {
+      resetStatus();
+      List<StatusUpdateConflictException> conflicts = new ArrayList<>();
+
+      List<Integer> toStatusIds = alternate(APPLIED, CANCELED);
+      List<HttpStatus> statuses = race(STUDENT_COURSE_ID, toStatusIds, null, conflicts);
+
+      int appliedCount = 0;
+      int canceledCount = 0;
+      for (int i = 0; i < toStatusIds.size(); i++) {
+        if (statuses.get(i) == HttpStatus.OK) {
+          if (toStatusIds.get(i) == APPLIED) {
+            appliedCount++;
+          } else {
+            canceledCount++;
+          }
+        }
+      }
+      // 失敗した更新は、失敗後に読み込んだ現在のステータス（本申込かキャンセル）から遷移できないため400になる
+      assertThat(statuses).as("round %d", round)
+          .containsOnly(HttpStatus.OK, HttpStatus.BAD_REQUEST);
+      assertThat(appliedCount).as("round %d", round).isLessThanOrEqualTo(1);
+      assertThat(canceledCount).as("round %d", round).isLessThanOrEqualTo(1);
+      assertThat(appliedCount + canceledCount).as("round %d", round).isGreaterThanOrEqualTo(1);
+      assertThat(currentStatusId()).as("round %d", round)
+          .isEqualTo(canceledCount == 1 ? CANCELED : APPLIED);
+    }
+  }
+
+  @Test
+  void 存在しない受講生コースへの同時更新は全て404になること() throws Exception {
+    // Act
+    List<HttpStatus> statuses = race(999, alternate(APPLIED, CANCELED), null, new ArrayList<>());
+
+    // Assert
+    assertThat(statuses).containsOnly(HttpStatus.NOT_FOUND);
+  }
+
+}
@@ -0,0 +1,173 @@
+package raisetech.student.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import raisetech.student.management.config.StudentSearchJobProperties;
+import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.exception.SearchJobNotReadyException;
+import raisetech.student.management.exception.SearchJobRejectedException;
+import raisetech.student.management.exception.TargetNotFoundException;
+import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
+import raisetech.student.management.search.job.SearchJobStatus;
+import raisetech.student.management.search.job.StudentSearchJob;
+import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import raisetech.student.management.testutil.TestDataFactory;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSearchJobServiceTest {
+
+  @Mock
+  private StudentService studentService;
+
+  @Mock
+  private StudentSearchCriteriaConverter converter;
+
+  @TempDir
+  Path tempDir;
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+  private StudentSearchJobProperties properties;
+
+  private StudentSearchJobService sut;
+
+  @BeforeEach
+  void setUp() {
+    properties = new StudentSearchJobProperties();
+    properties.setWorkerThreads(1);
+    properties.setQueueCapacity(1);
+    properties.setMemoryBudget(DataSize.ofBytes(64));
+    properties.setDirectory(tempDir);
+    sut = new StudentSearchJobService(studentService, converter, objectMapper, properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    sut.shutdown();
+  }
+
+  /**
+   * ジョブが終了するまで状態を取得し直し、終了したジョブを返す
+   */
+  private StudentSearchJob awaitFinished(String jobId) throws InterruptedException {
+    for (int i = 0; i < 500; i++) {
+      StudentSearchJob job = sut.getJob(jobId);
+      if (job.getStatus().isFinished()) {
+        return job;
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("検索ジョブが終了しませんでした: " + jobId);
+  }
+
+  @Test
+  void 検索ジョブ_一致した受講生詳細を1行1件でファイルに書き出して完了すること() throws Exception {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest();
+    List<StudentDetail> details = List.of(
+        TestDataFactory.makeCompletedStudentDetail(1, 1),
+        TestDataFactory.makeCompletedStudentDetail(2, 2),
+        TestDataFactory.makeCompletedStudentDetail(3, 3));
+    doAnswer(invocation -> {
+      Consumer<List<StudentDetail>> consumer = invocation.getArgument(1);
+      consumer.accept(details);
+      return null;
+    }).when(studentService).streamStudentDetailsAdvanced(any(), any());
+
+    // Act
+    StudentSearchJob submitted = sut.submit(request);
+    StudentSearchJob finished = awaitFinished(submitted.getJobId());
+
+    // Assert
+    assertEquals(SearchJobStatus.QUEUED, submitted.getStatus());
+    assertEquals(SearchJobStatus.SUCCEEDED, finished.getStatus());
+    assertEquals(3, finished.getResultCount());
+    List<String> expected = details.stream().map(objectMapper::writeValueAsString).toList();
+    assertEquals(expected, Files.readAllLines(sut.getResultFile(submitted.getJobId())));
+  }
+
+  @Test
+  void 起動時_前回の起動時に残った検索結果のファイルを削除し他のファイルは残すこと() throws Exception {
+    // Arrange
+    sut.shutdown();
+    Path result = Files.writeString(tempDir.resolve("old-job.ndjson"), "{}");
+    Path part = Files.writeString(tempDir.resolve("broken-job.ndjson.part"), "{");
+    Path other = Files.writeString(tempDir.resolve("readme.txt"), "keep");
+
+    // Act
+    sut = new StudentSearchJobService(studentService, converter, objectMapper, properties);
+
+    // Assert
+    assertFalse(Files.exists(result));
+    assertFalse(Files.exists(part));
+    assertTrue(Files.exists(other));
+  }
+
+  @Test
+  void 検索ジョブ_検索中に例外が発生したら例外の内容を返さずに失敗とし書き出し中のファイルを残さないこと() throws Exception {
+    // Arrange
+    doThrow(new IllegalStateException("DB接続エラー"))
+        .when(studentService).streamStudentDetailsAdvanced(any(), any());
+
+    // Act
+    StudentSearchJob submitted = sut.submit(new StudentAdvancedSearchRequest());
+    StudentSearchJob finished = awaitFinished(submitted.getJobId());
+
+    // Assert
+    assertEquals(SearchJobStatus.FAILED, finished.getStatus());
+    assertEquals(StudentSearchJobService.FAILED_MESSAGE, finished.getErrorMessage());
+    try (var files = Files.list(tempDir)) {
+      assertFalse(files.findAny().isPresent());
+    }
+    assertThrows(SearchJobNotReadyException.class, () -> sut.getResultFile(submitted.getJobId()));
+  }
+
+  @Test
+  void 検索ジョブ_実行中と実行待ちが上限に達していたら受け付けないこと() throws Exception {
+    // Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      release.await();
+      return null;
+    }).when(studentService).streamStudentDetailsAdvanced(any(), any());
+
+    // Act & Assert
+    StudentSearchJob running = sut.submit(new StudentAdvancedSearchRequest());
+    StudentSearchJob queued = sut.submit(new StudentAdvancedSearchRequest());
+    assertThrows(SearchJobRejectedException.class,
+        () -> sut.submit(new StudentAdvancedSearchRequest()));
+    assertThrows(SearchJobNotReadyException.class, () -> sut.getResultFile(queued.getJobId()));
+
+    release.countDown();
+    assertEquals(SearchJobStatus.SUCCEEDED, awaitFinished(running.getJobId()).getStatus());
+    assertEquals(SearchJobStatus.SUCCEEDED, awaitFinished(queued.getJobId()).getStatus());
+  }
+
+  @Test
+  void 検索ジョブ_存在しないジョブIDを指定したら例外を送出すること() {
+    assertThrows(TargetNotFoundException.class, () -> sut.getJob("unknown"));
+    assertThrows(TargetNotFoundException.class, () -> sut.getResultFile("unknown"));
+  }
+
+}
@@ -3,15 +3,22 @@ package raisetech.student.management.service;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,21 +28,58 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import raisetech.student.management.cache.StudentDetailCache;
+import raisetech.student.management.cache.StudentFilterBitmapCache;
+import raisetech.student.management.cache.StudentSearchResultCache;
+import raisetech.student.management.config.StudentDetailCacheProperties;
+import raisetech.student.management.config.StudentSearchProperties;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.domain.StudentCourseStatusChange;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeOutcome;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeRequest;
+import raisetech.student.management.data.domain.StudentCourseStatusChangeResult;
 import raisetech.student.management.data.domain.StudentDetail;
+import raisetech.student.management.data.domain.StudentDetailBatch;
+import raisetech.student.management.data.master.CourseStatus;
+import raisetech.student.management.data.master.StatusTransition;
+import raisetech.student.management.event.StudentDataChangedEvent;
+import raisetech.student.management.exception.InvalidPageCursorException;
 import raisetech.student.management.exception.InvalidSearchCriteriaException;
 import raisetech.student.management.exception.InvalidStatusTransitionException;
+import raisetech.student.management.exception.StatusUpdateConflictException;
 import raisetech.student.management.exception.TargetNotFoundException;
-import raisetech.student.management.repository.CourseStatusRepository;
 import raisetech.student.management.repository.StudentRepository;
 import raisetech.student.management.search.converter.StudentSearchCriteriaConverter;
 import raisetech.student.management.search.criteria.StudentSearchCriteria;
+import raisetech.student.management.search.criteria.StudentSortKey;
+import raisetech.student.management.search.engine.InMemoryStudentSearchEngine;
+import raisetech.student.management.search.facet.StudentFacetRow;
+import raisetech.student.management.search.facet.StudentSearchSummary;
+import raisetech.student.management.search.index.StudentCourseIntervalIndex;
+import raisetech.student.management.search.index.StudentNgramIndex;
+import raisetech.student.management.search.index.StudentSuffixIndex;
+import raisetech.student.management.search.index.StudentSuggestIndex;
+import raisetech.student.management.search.pagination.PageCursor;
+import raisetech.student.management.search.pagination.StudentDetailPage;
+import raisetech.student.management.search.projection.StudentProjection;
 import raisetech.student.management.search.request.SearchFilter;
 import raisetech.student.management.search.request.SearchOperator;
+import raisetech.student.management.search.request.SearchPageRequest;
+import raisetech.student.management.search.request.SearchableField;
 import raisetech.student.management.search.request.StudentAdvancedSearchRequest;
+import raisetech.student.management.search.request.StudentBatchGetRequest;
+import raisetech.student.management.search.request.StudentMultiSearchRequest;
+import raisetech.student.management.search.request.StudentSearchSummaryRequest;
 import raisetech.student.management.search.request.StudentSimpleSearchRequest;
+import raisetech.student.management.search.request.StudentSuggestRequest;
+import raisetech.student.management.search.suggest.StudentSuggestion;
+import raisetech.student.management.status.CourseDateRule;
+import raisetech.student.management.status.CourseStatusMachine;
+import raisetech.student.management.status.CourseStatusMachineRegistry;
 import raisetech.student.management.testutil.TestDataFactory;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,14 +89,56 @@ class StudentServiceTest {
   private StudentRepository studentRepository;
 
   @Mock
-  private CourseStatusRepository statusRepository;
+  private CourseStatusMachineRegistry statusMachineRegistry;
 
   @Mock
   private StudentSearchCriteriaConverter converter;
 
+  @Spy
+  private StudentSearchProperties searchProperties = new StudentSearchProperties();
+
+  @Spy
+  private StudentSearchResultCache searchResultCache =
+      new StudentSearchResultCache(new StudentSearchProperties());
+
+  @Spy
+  private StudentDetailCache studentDetailCache =
+      new StudentDetailCache(new StudentDetailCacheProperties(), new SimpleMeterRegistry());
+
+  @Spy
+  private StudentFilterBitmapCache filterBitmapCache =
+      new StudentFilterBitmapCache(disabledFilterCacheProperties(), new SimpleMeterRegistry());
+
+  @Mock
+  private InMemoryStudentSearchEngine searchEngine;
+
+  @Mock
+  private StudentNgramIndex ngramIndex;
+
+  @Mock
+  private StudentSuffixIndex suffixIndex;
+
+  @Mock
+  private StudentCourseIntervalIndex intervalIndex;
+
+  @Mock
+  private StudentSuggestIndex suggestIndex;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private StudentService sut;// System Under Test テスト対象システム
 
+  /**
+   * 検索条件がそのままリポジトリに渡ることを検証するため、条件ごとのビットマップキャッシュは無効にします。
+   */
+  private static StudentSearchProperties disabledFilterCacheProperties() {
+    StudentSearchProperties properties = new StudentSearchProperties();
+    properties.getFilterCache().setEnabled(false);
+    return properties;
+  }
+
   @Test
   void 簡易検索成功_条件未指定なら空のcriteriaで検索し一致する受講生詳細一覧を返すこと() {
     // Arrange
@@ -67,24 +153,188 @@ class StudentServiceTest {
     StudentDetail studentDetail1 = TestDataFactory.makeCompletedStudentDetail(studentId1, scId1);
     StudentDetail studentDetail2 = TestDataFactory.makeCompletedStudentDetail(studentId2, scId2);
 
+    List<Integer> studentIds = List.of(studentId1, studentId2);
+
     when(converter.toCriteria(request)).thenReturn(criteria);
-    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(studentId1, studentId2));
-    when(studentRepository.searchStudent(studentId1)).thenReturn(studentDetail1.getStudent());
-    when(studentRepository.searchStudentCourses(studentId1)).thenReturn(studentDetail1.getStudentCourses());
-    when(studentRepository.searchStudent(studentId2)).thenReturn(studentDetail2.getStudent());
-    when(studentRepository.searchStudentCourses(studentId2)).thenReturn(studentDetail2.getStudentCourses());
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(studentIds);
+    when(studentRepository.searchStudentsByIds(studentIds))
+        .thenReturn(List.of(studentDetail1.getStudent(), studentDetail2.getStudent()));
+    when(studentRepository.searchStudentCoursesByStudentIds(studentIds))
+        .thenReturn(List.of(studentDetail1.getStudentCourses().get(0), studentDetail2.getStudentCourses().get(0)));
 
     // Act
-    List<StudentDetail> actual = sut.searchStudentDetailsSimple(request);
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, new SearchPageRequest());
 
     // Assert
-    Assertions.assertEquals(List.of(studentDetail1, studentDetail2), actual);
+    Assertions.assertEquals(new StudentDetailPage(List.of(studentDetail1, studentDetail2), null), actual);
     verify(converter, times(1)).toCriteria(request);
     verify(studentRepository, times(1)).findMatchedStudentIds(criteria);
-    verify(studentRepository, times(1)).searchStudent(studentId1);
-    verify(studentRepository, times(1)).searchStudentCourses(studentId1);
-    verify(studentRepository, times(1)).searchStudent(studentId2);
-    verify(studentRepository, times(1)).searchStudentCourses(studentId2);
+    verify(studentRepository, times(1)).searchStudentsByIds(studentIds);
+    verify(studentRepository, times(1)).searchStudentCoursesByStudentIds(studentIds);
+    verify(studentRepository, never()).searchStudent(anyInt());
+    verify(studentRepository, never()).searchStudentCourses(anyInt());
+  }
+
+  @Test
+  void 簡易検索成功_インメモリ検索エンジンが利用可能なときはエンジンで受講生IDを絞り込むこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    List<Integer> studentIds = List.of(1);
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(searchEngine.isAvailable()).thenReturn(true);
+    when(searchEngine.findMatchedStudentIds(criteria)).thenReturn(studentIds);
+    when(studentRepository.searchStudentsByIds(studentIds))
+        .thenReturn(List.of(studentDetail.getStudent()));
+    when(studentRepository.searchStudentCoursesByStudentIds(studentIds))
+        .thenReturn(studentDetail.getStudentCourses());
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, new SearchPageRequest());
+
+    // Assert
+    Assertions.assertEquals(new StudentDetailPage(List.of(studentDetail), null), actual);
+    verify(searchEngine, times(1)).findMatchedStudentIds(criteria);
+    verify(studentRepository, never()).findMatchedStudentIds(any(StudentSearchCriteria.class));
+  }
+
+  @Test
+  void 簡易検索成功_n_gram索引が使用可能なときは候補の受講生IDに絞り込んでDBで検索すること() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    request.setFullNameContains("田中");
+    StudentSearchCriteria criteria = new StudentSearchCriteria(request);
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    List<Integer> studentIds = List.of(1);
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(ngramIndex.isAvailable()).thenReturn(true);
+    when(ngramIndex.findCandidateStudentIds(criteria)).thenReturn(List.of(1, 7));
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(studentIds);
+    when(studentRepository.searchStudentsByIds(studentIds))
+        .thenReturn(List.of(studentDetail.getStudent()));
+    when(studentRepository.searchStudentCoursesByStudentIds(studentIds))
+        .thenReturn(studentDetail.getStudentCourses());
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, new SearchPageRequest());
+
+    // Assert
+    Assertions.assertEquals(new StudentDetailPage(List.of(studentDetail), null), actual);
+    ArgumentCaptor<StudentSearchCriteria> captor = ArgumentCaptor.forClass(StudentSearchCriteria.class);
+    verify(studentRepository, times(1)).findMatchedStudentIds(captor.capture());
+    Assertions.assertEquals(List.of(1, 7), captor.getValue().getCandidateStudentIds());
+  }
+
+  @Test
+  void 高度検索成功_部分一致と後方一致の索引の候補は両方に含まれる受講生IDに絞り込むこと() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(List.of(
+        new SearchFilter("fullName", SearchOperator.CONTAINS, "田中", null),
+        new SearchFilter("email", SearchOperator.ENDS_WITH, "@example.co.jp", null)));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(ngramIndex.isAvailable()).thenReturn(true);
+    when(ngramIndex.findCandidateStudentIds(criteria)).thenReturn(List.of(1, 3, 5));
+    when(suffixIndex.isAvailable()).thenReturn(true);
+    when(suffixIndex.findCandidateStudentIds(criteria)).thenReturn(List.of(2, 3, 5, 8));
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of());
+
+    // Act
+    sut.searchStudentDetailsAdvanced(request, new SearchPageRequest());
+
+    // Assert
+    ArgumentCaptor<StudentSearchCriteria> captor = ArgumentCaptor.forClass(StudentSearchCriteria.class);
+    verify(studentRepository, times(1)).findMatchedStudentIds(captor.capture());
+    Assertions.assertEquals(List.of(3, 5), captor.getValue().getCandidateStudentIds());
+  }
+
+  @Test
+  void 高度検索成功_受講期間の条件は区間索引の候補に絞り込んでDBで検索すること() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(List.of(
+        new SearchFilter("coursePeriod", SearchOperator.EQ, "2025-03-01", null)));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(intervalIndex.isAvailable()).thenReturn(true);
+    when(intervalIndex.findCandidateStudentIds(criteria)).thenReturn(List.of(1, 2, 4));
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of());
+
+    // Act
+    sut.searchStudentDetailsAdvanced(request, new SearchPageRequest());
+
+    // Assert
+    ArgumentCaptor<StudentSearchCriteria> captor = ArgumentCaptor.forClass(StudentSearchCriteria.class);
+    verify(studentRepository, times(1)).findMatchedStudentIds(captor.capture());
+    Assertions.assertEquals(List.of(1, 2, 4), captor.getValue().getCandidateStudentIds());
+  }
+
+  @Test
+  void 簡易検索成功_n_gram索引の候補が0件のときはDBで検索せずに空リストを返すこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    request.setFullNameContains("存在しない氏名");
+    StudentSearchCriteria criteria = new StudentSearchCriteria(request);
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(ngramIndex.isAvailable()).thenReturn(true);
+    when(ngramIndex.findCandidateStudentIds(criteria)).thenReturn(List.of());
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, new SearchPageRequest());
+
+    // Assert
+    Assertions.assertEquals(new StudentDetailPage(List.of(), null), actual);
+    verify(studentRepository, never()).findMatchedStudentIds(any(StudentSearchCriteria.class));
+    verify(studentRepository, never()).searchStudentsByIds(anyList());
+  }
+
+  @Test
+  void 入力補完成功_索引が使用可能なときは索引から候補を返しDBを使わないこと() {
+    // Arrange
+    StudentSuggestRequest request = new StudentSuggestRequest("fullName", "田中", null);
+    List<StudentSuggestion> suggestions = List.of(new StudentSuggestion("田中太郎", 1));
+    when(suggestIndex.isAvailable()).thenReturn(true);
+    when(suggestIndex.suggest(SearchableField.FULL_NAME, "田中", 10)).thenReturn(suggestions);
+
+    // Act
+    List<StudentSuggestion> actual = sut.suggestStudents(request);
+
+    // Assert
+    Assertions.assertEquals(suggestions, actual);
+    verify(studentRepository, never()).suggestStudentValues(any(), any(), anyInt());
+  }
+
+  @Test
+  void 入力補完成功_索引が使用可能でないときはDBで前方一致の値を集計して返すこと() {
+    // Arrange
+    StudentSuggestRequest request = new StudentSuggestRequest("area", "東京都", 5);
+    List<StudentSuggestion> suggestions = List.of(new StudentSuggestion("東京都練馬区", 2));
+    when(studentRepository.suggestStudentValues("area", "東京都%", 5)).thenReturn(suggestions);
+
+    // Act
+    List<StudentSuggestion> actual = sut.suggestStudents(request);
+
+    // Assert
+    Assertions.assertEquals(suggestions, actual);
+    verify(suggestIndex, never()).suggest(any(), any(), anyInt());
+  }
+
+  @Test
+  void 入力補完成功_DBで集計するときは入力途中の文字列のワイルドカードとエスケープ文字をエスケープすること() {
+    // Arrange
+    StudentSuggestRequest request = new StudentSuggestRequest("fullName", "50%_\\", 5);
+    when(studentRepository.suggestStudentValues("fullName", "50\\%\\_\\\\%", 5)).thenReturn(List.of());
+
+    // Act
+    List<StudentSuggestion> actual = sut.suggestStudents(request);
+
+    // Assert
+    Assertions.assertEquals(List.of(), actual);
   }
 
   @Test
@@ -98,14 +348,14 @@ class StudentServiceTest {
     when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of());
 
     // Act
-    List<StudentDetail> actual = sut.searchStudentDetailsSimple(request);
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, new SearchPageRequest());
 
     // Assert
-    Assertions.assertEquals(List.of(), actual);
+    Assertions.assertEquals(new StudentDetailPage(List.of(), null), actual);
     verify(converter, times(1)).toCriteria(request);
     verify(studentRepository, times(1)).findMatchedStudentIds(criteria);
-    verify(studentRepository, never()).searchStudent(anyInt());
-    verify(studentRepository, never()).searchStudentCourses(anyInt());
+    verify(studentRepository, never()).searchStudentsByIds(anyList());
+    verify(studentRepository, never()).searchStudentCoursesByStudentIds(anyList());
   }
 
   // 簡易検索はconverterで例外を投げないので高度検索のように例外をそのまま送出するテストはしない
@@ -133,6 +383,213 @@ class StudentServiceTest {
     Assertions.assertEquals(expected, actual);
   }
 
+  @Test
+  void 受講生単一検索成功_2回目以降は受講生詳細キャッシュから返しリポジトリを呼ばないこと() {
+    // Arrange
+    Integer studentId = 1;
+    StudentDetail expected = TestDataFactory.makeCompletedStudentDetail(studentId, 1);
+    when(studentRepository.searchStudent(studentId)).thenReturn(expected.getStudent());
+    when(studentRepository.searchStudentCourses(studentId)).thenReturn(expected.getStudentCourses());
+
+    // Act
+    StudentDetail first = sut.searchStudentDetail(studentId);
+    StudentDetail second = sut.searchStudentDetail(studentId);
+
+    // Assert
+    Assertions.assertEquals(expected, first);
+    Assertions.assertEquals(expected, second);
+    verify(studentRepository, times(1)).searchStudent(studentId);
+    verify(studentRepository, times(1)).searchStudentCourses(studentId);
+    Assertions.assertEquals(1, studentDetailCache.getStats().hitCount());
+    Assertions.assertEquals(1, studentDetailCache.getStats().missCount());
+  }
+
+  @Test
+  void 受講生単一検索成功_受講生データの変更がコミットされた後は再検索すること() {
+    // Arrange
+    Integer studentId = 1;
+    StudentDetail expected = TestDataFactory.makeCompletedStudentDetail(studentId, 1);
+    when(studentRepository.searchStudent(studentId)).thenReturn(expected.getStudent());
+    when(studentRepository.searchStudentCourses(studentId)).thenReturn(expected.getStudentCourses());
+
+    // Act
+    sut.searchStudentDetail(studentId);
+    studentDetailCache.onStudentDataChanged(new StudentDataChangedEvent(studentId));
+    sut.searchStudentDetail(studentId);
+
+    // Assert
+    verify(studentRepository, times(2)).searchStudent(studentId);
+    verify(studentRepository, times(2)).searchStudentCourses(studentId);
+  }
+
+  @Test
+  void 受講生単一検索失敗_存在しない受講生はキャッシュせず毎回検索すること() {
+    // Arrange
+    Integer studentId = 999;
+    when(studentRepository.searchStudent(studentId)).thenReturn(null);
+    when(studentRepository.searchStudentCourses(studentId)).thenReturn(List.of());
+
+    // Act & Assert
+    assertThrows(TargetNotFoundException.class, () -> sut.searchStudentDetail(studentId));
+    assertThrows(TargetNotFoundException.class, () -> sut.searchStudentDetail(studentId));
+    verify(studentRepository, times(2)).searchStudent(studentId);
+  }
+
+  @Test
+  void 高度検索成功_受講生詳細キャッシュにない受講生IDだけをまとめて検索すること() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(
+        List.of(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null)));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    StudentDetail cachedDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    StudentDetail loadedDetail = TestDataFactory.makeCompletedStudentDetail(2, 2);
+
+    // 受講生1は単一検索でキャッシュ済み
+    when(studentRepository.searchStudent(1)).thenReturn(cachedDetail.getStudent());
+    when(studentRepository.searchStudentCourses(1)).thenReturn(cachedDetail.getStudentCourses());
+    sut.searchStudentDetail(1);
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(1, 2));
+    when(studentRepository.searchStudentsByIds(List.of(2))).thenReturn(List.of(loadedDetail.getStudent()));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(2)))
+        .thenReturn(loadedDetail.getStudentCourses());
+
+    // Act
+    List<StudentDetail> actual =
+        sut.searchStudentDetailsAdvanced(request, new SearchPageRequest(10, null)).getStudentDetails();
+
+    // Assert
+    Assertions.assertEquals(List.of(cachedDetail, loadedDetail), actual);
+    verify(studentRepository, times(1)).searchStudentsByIds(List.of(2));
+    verify(studentRepository, times(1)).searchStudentCoursesByStudentIds(List.of(2));
+  }
+
+  @Test
+  void 簡易検索成功_取得項目に受講生コース情報がなければ指定された列だけを検索し受講生コースは検索しないこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    Student student = new Student(1, "田中太郎", "たなかたろう", null, null, null, null, null, null, null, null);
+    List<String> columns = List.of("student_id", "full_name", "kana_name");
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(1));
+    when(studentRepository.searchStudentColumnsByIds(List.of(1), columns)).thenReturn(List.of(student));
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request,
+        new SearchPageRequest(null, null, null, List.of("fullName", "kanaName")));
+
+    // Assert
+    Assertions.assertEquals(new StudentDetailPage(List.of(new StudentDetail(student, null)), null), actual);
+    verify(studentRepository, never()).searchStudentsByIds(anyList());
+    verify(studentRepository, never()).searchStudentCoursesByStudentIds(anyList());
+  }
+
+  @Test
+  void 受講生単一検索成功_取得項目を指定すると指定された列と受講生コースを検索し受講生詳細キャッシュには登録しないこと() {
+    // Arrange
+    StudentDetail studentDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    Student student = new Student(1, null, null, "タロウ", null, null, null, null, null, null, null);
+    List<String> columns = List.of("student_id", "nickname");
+
+    when(studentRepository.searchStudentColumnsByIds(List.of(1), columns)).thenReturn(List.of(student));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(1)))
+        .thenReturn(studentDetail.getStudentCourses());
+    when(studentRepository.searchStudent(1)).thenReturn(studentDetail.getStudent());
+    when(studentRepository.searchStudentCourses(1)).thenReturn(studentDetail.getStudentCourses());
+
+    // Act
+    StudentDetail projected = sut.searchStudentDetail(1,
+        StudentProjection.of(List.of("nickname", "studentCourses")));
+    StudentDetail full = sut.searchStudentDetail(1);
+
+    // Assert
+    Assertions.assertEquals(new StudentDetail(student, studentDetail.getStudentCourses()), projected);
+    Assertions.assertEquals(studentDetail, full);
+    verify(studentRepository, times(1)).searchStudent(1);
+  }
+
+  @Test
+  void 高度検索一括実行成功_同じ検索条件は1回だけ検索し受講生詳細は各ページの受講生IDの和集合をまとめて組み立てること() {
+    // Arrange
+    StudentAdvancedSearchRequest sameRequest = new StudentAdvancedSearchRequest(
+        List.of(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null)));
+    StudentAdvancedSearchRequest otherRequest = new StudentAdvancedSearchRequest(
+        List.of(new SearchFilter("fullName", SearchOperator.CONTAINS, "田中", null)));
+    StudentSimpleSearchRequest simpleRequest = new StudentSimpleSearchRequest();
+    simpleRequest.setFullNameContains("田中");
+    StudentSearchCriteria otherCriteria = new StudentSearchCriteria(simpleRequest);
+    StudentDetail studentDetail1 = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    StudentDetail studentDetail2 = TestDataFactory.makeCompletedStudentDetail(2, 2);
+
+    when(converter.toCriteria(sameRequest))
+        .thenReturn(new StudentSearchCriteria(), new StudentSearchCriteria());
+    when(converter.toCriteria(otherRequest)).thenReturn(otherCriteria);
+    when(studentRepository.findMatchedStudentIds(any(StudentSearchCriteria.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0).equals(otherCriteria)
+            ? List.of(2, 3) : List.of(1, 2));
+    when(studentRepository.searchStudentsByIds(List.of(1, 2)))
+        .thenReturn(List.of(studentDetail1.getStudent(), studentDetail2.getStudent()));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(1, 2))).thenReturn(List.of(
+        studentDetail1.getStudentCourses().get(0), studentDetail2.getStudentCourses().get(0)));
+
+    // Act
+    List<StudentDetailPage> actual = sut.searchStudentDetailsMulti(
+        new StudentMultiSearchRequest(List.of(sameRequest, otherRequest, sameRequest)),
+        new SearchPageRequest(1, null));
+
+    // Assert
+    Assertions.assertEquals(List.of(
+        new StudentDetailPage(List.of(studentDetail1), PageCursor.encode(1)),
+        new StudentDetailPage(List.of(studentDetail2), PageCursor.encode(2)),
+        new StudentDetailPage(List.of(studentDetail1), PageCursor.encode(1))), actual);
+    verify(converter, times(3)).toCriteria(any(StudentAdvancedSearchRequest.class));
+    verify(studentRepository, times(2)).findMatchedStudentIds(any(StudentSearchCriteria.class));
+    verify(studentRepository, times(1)).searchStudentsByIds(anyList());
+  }
+
+  @Test
+  void 受講生詳細一括取得成功_指定された順に受講生詳細を返し見つからなかった受講生IDを報告すること() {
+    // Arrange
+    StudentDetail cachedDetail = TestDataFactory.makeCompletedStudentDetail(1, 1);
+    StudentDetail loadedDetail = TestDataFactory.makeCompletedStudentDetail(3, 3);
+
+    // 受講生1は単一検索でキャッシュ済み
+    when(studentRepository.searchStudent(1)).thenReturn(cachedDetail.getStudent());
+    when(studentRepository.searchStudentCourses(1)).thenReturn(cachedDetail.getStudentCourses());
+    sut.searchStudentDetail(1);
+
+    when(studentRepository.searchStudentsByIds(List.of(3, 999)))
+        .thenReturn(List.of(loadedDetail.getStudent()));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(3, 999)))
+        .thenReturn(loadedDetail.getStudentCourses());
+
+    // Act
+    StudentDetailBatch actual =
+        sut.searchStudentDetailsByIds(new StudentBatchGetRequest(List.of(3, 999, 1, 3)));
+
+    // Assert
+    Assertions.assertEquals(
+        new StudentDetailBatch(List.of(loadedDetail, cachedDetail), List.of(999)), actual);
+    verify(studentRepository, times(1)).searchStudentsByIds(List.of(3, 999));
+    verify(studentRepository, times(1)).searchStudentCoursesByStudentIds(List.of(3, 999));
+    verify(studentRepository, times(1)).searchStudent(anyInt());
+  }
+
+  @Test
+  void 受講生単一検索失敗_取得項目を指定したとき受講生が存在しなければ例外を投げること() {
+    // Arrange
+    when(studentRepository.searchStudentColumnsByIds(List.of(999), List.of("student_id")))
+        .thenReturn(List.of());
+
+    // Act & Assert
+    assertThrows(TargetNotFoundException.class,
+        () -> sut.searchStudentDetail(999, StudentProjection.of(List.of("studentId"))));
+    verify(studentRepository, never()).searchStudentCoursesByStudentIds(anyList());
+  }
+
   @Test
   void 受講生単一検索失敗_リポジトリのsearchStudentメソッドの返り値がnullのとき例外を投げていること(){
     // Arrange
@@ -169,26 +626,67 @@ class StudentServiceTest {
     StudentDetail studentDetail1 = TestDataFactory.makeCompletedStudentDetail(studentId1, scId1);
     StudentDetail studentDetail2 = TestDataFactory.makeCompletedStudentDetail(studentId2, scId2);
 
+    List<Integer> studentIds = List.of(studentId1, studentId2);
+
     // converterがどういうロジックでcriteriaを作るかはこのテストでは関知しないためスタブは空のインスタンスを返す
     Mockito.when(converter.toCriteria(request)).thenReturn(criteria);
-    Mockito.when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(studentId1, studentId2));
+    Mockito.when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(studentIds);
 
-    Mockito.when(studentRepository.searchStudent(studentId1)).thenReturn(studentDetail1.getStudent());
-    Mockito.when(studentRepository.searchStudentCourses(studentId1)).thenReturn(studentDetail1.getStudentCourses());
-    Mockito.when(studentRepository.searchStudent(studentId2)).thenReturn(studentDetail2.getStudent());
-    Mockito.when(studentRepository.searchStudentCourses(studentId2)).thenReturn(studentDetail2.getStudentCourses());
+    // 一括検索の返却順は保証されないため、あえて逆順で返す
+    Mockito.when(studentRepository.searchStudentsByIds(studentIds))
+        .thenReturn(List.of(studentDetail2.getStudent(), studentDetail1.getStudent()));
+    Mockito.when(studentRepository.searchStudentCoursesByStudentIds(studentIds))
+        .thenReturn(List.of(studentDetail2.getStudentCourses().get(0), studentDetail1.getStudentCourses().get(0)));
 
     // Act
-    List<StudentDetail> actual = sut.searchStudentDetailsAdvanced(request);
+    StudentDetailPage actual = sut.searchStudentDetailsAdvanced(request, new SearchPageRequest());
 
     // Assert
-    Assertions.assertEquals(List.of(studentDetail1, studentDetail2), actual);
+    Assertions.assertEquals(new StudentDetailPage(List.of(studentDetail1, studentDetail2), null), actual);
     verify(converter, times(1)).toCriteria(request);
     verify(studentRepository, times(1)).findMatchedStudentIds(criteria);
-    verify(studentRepository, times(1)).searchStudent(studentId1);
-    verify(studentRepository, times(1)).searchStudentCourses(studentId1);
-    verify(studentRepository, times(1)).searchStudent(studentId2);
-    verify(studentRepository, times(1)).searchStudentCourses(studentId2);
+    verify(studentRepository, times(1)).searchStudentsByIds(studentIds);
+    verify(studentRepository, times(1)).searchStudentCoursesByStudentIds(studentIds);
+    verify(studentRepository, never()).searchStudent(anyInt());
+    verify(studentRepository, never()).searchStudentCourses(anyInt());
+  }
+
+  @Test
+  void 高度検索成功_一致件数が増えてもクエリ発行回数はIDの分割数に比例すること() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(
+        List.of(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null)));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+
+    // 分割単位を超える件数（2チャンク + 端数1チャンク）を1ページで取得する
+    int matchedCount = StudentService.ID_CHUNK_SIZE * 2 + 1;
+    List<Integer> studentIds = IntStream.rangeClosed(1, matchedCount).boxed().toList();
+    searchProperties.setMaxPageSize(matchedCount);
+    SearchPageRequest page = new SearchPageRequest(matchedCount, null);
+
+    Mockito.when(converter.toCriteria(request)).thenReturn(criteria);
+    Mockito.when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(studentIds);
+    Mockito.when(studentRepository.searchStudentsByIds(anyList())).thenAnswer(invocation -> {
+      List<Integer> chunk = invocation.getArgument(0);
+      return chunk.stream().map(TestDataFactory::makeCompletedStudent).toList();
+    });
+    Mockito.when(studentRepository.searchStudentCoursesByStudentIds(anyList())).thenAnswer(invocation -> {
+      List<Integer> chunk = invocation.getArgument(0);
+      return chunk.stream().map(id -> TestDataFactory.makeCompletedStudentCourse(id, id)).toList();
+    });
+
+    // Act
+    List<StudentDetail> actual = sut.searchStudentDetailsAdvanced(request, page).getStudentDetails();
+
+    // Assert
+    Assertions.assertEquals(matchedCount, actual.size());
+    Assertions.assertEquals(studentIds,
+        actual.stream().map(detail -> detail.getStudent().getStudentId()).toList());
+    Assertions.assertEquals(1, actual.get(0).getStudentCourses().size());
+    verify(studentRepository, times(3)).searchStudentsByIds(anyList());
+    verify(studentRepository, times(3)).searchStudentCoursesByStudentIds(anyList());
+    verify(studentRepository, never()).searchStudent(anyInt());
+    verify(studentRepository, never()).searchStudentCourses(anyInt());
   }
 
   @Test
@@ -208,10 +706,10 @@ class StudentServiceTest {
     Mockito.when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of());
 
     // Act
-    List<StudentDetail> actual = sut.searchStudentDetailsAdvanced(request);
+    StudentDetailPage actual = sut.searchStudentDetailsAdvanced(request, new SearchPageRequest());
 
     // Assert
-    Assertions.assertEquals(List.of(), actual);
+    Assertions.assertEquals(new StudentDetailPage(List.of(), null), actual);
     verify(converter, times(1)).toCriteria(request);
     verify(studentRepository, times(1)).findMatchedStudentIds(criteria);
     verify(studentRepository, never()).searchStudent(anyInt());
@@ -233,13 +731,377 @@ class StudentServiceTest {
 
     // Act & Assert
     assertThrows(InvalidSearchCriteriaException.class,
-        () -> sut.searchStudentDetailsAdvanced(request));
+        () -> sut.searchStudentDetailsAdvanced(request, new SearchPageRequest()));
     verify(converter, times(1)).toCriteria(request);
     verify(studentRepository, never()).findMatchedStudentIds(any(StudentSearchCriteria.class));
     verify(studentRepository, never()).searchStudent(anyInt());
     verify(studentRepository, never()).searchStudentCourses(anyInt());
   }
 
+  @Test
+  void ページング_limitより多く一致したとき1件多く取得して次ページのカーソルを返すこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    SearchPageRequest page = new SearchPageRequest(2, null);
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(3, 5, 8));
+    when(studentRepository.searchStudentsByIds(List.of(3, 5)))
+        .thenReturn(List.of(TestDataFactory.makeCompletedStudent(3), TestDataFactory.makeCompletedStudent(5)));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(3, 5))).thenReturn(List.of());
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, page);
+
+    // Assert
+    Assertions.assertEquals(List.of(3, 5),
+        actual.getStudentDetails().stream().map(detail -> detail.getStudent().getStudentId()).toList());
+    Assertions.assertEquals(PageCursor.encode(5), actual.getNextCursor());
+    Assertions.assertNull(criteria.getAfterStudentId());
+    Assertions.assertEquals(3, criteria.getLimit());
+  }
+
+  @Test
+  void ページング_カーソルを指定するとその受講生IDより後ろを検索すること() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(
+        List.of(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null)));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    SearchPageRequest page = new SearchPageRequest(10, PageCursor.encode(5));
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(8));
+    when(studentRepository.searchStudentsByIds(List.of(8)))
+        .thenReturn(List.of(TestDataFactory.makeCompletedStudent(8)));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(8))).thenReturn(List.of());
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsAdvanced(request, page);
+
+    // Assert
+    Assertions.assertEquals(1, actual.getStudentDetails().size());
+    Assertions.assertNull(actual.getNextCursor());
+    Assertions.assertEquals(5, criteria.getAfterStudentId());
+    Assertions.assertEquals(11, criteria.getLimit());
+  }
+
+  @Test
+  void ページング_並び順を指定すると先頭から次ページ末尾までの上位K件を検索しオフセットのカーソルを返すこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    SearchPageRequest page = new SearchPageRequest(2, PageCursor.encodeOffset(2), List.of("-age", "kanaName"));
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(8, 3, 5, 9, 1));
+    when(studentRepository.searchStudentsByIds(List.of(5, 9)))
+        .thenReturn(List.of(TestDataFactory.makeCompletedStudent(9), TestDataFactory.makeCompletedStudent(5)));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(5, 9))).thenReturn(List.of());
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, page);
+
+    // Assert
+    Assertions.assertEquals(List.of(5, 9),
+        actual.getStudentDetails().stream().map(detail -> detail.getStudent().getStudentId()).toList());
+    Assertions.assertEquals(PageCursor.encodeOffset(4), actual.getNextCursor());
+    Assertions.assertEquals(List.of(new StudentSortKey(SearchableField.AGE, true),
+        new StudentSortKey(SearchableField.KANA_NAME, false)), criteria.getSortKeys());
+    Assertions.assertNull(criteria.getAfterStudentId());
+    Assertions.assertEquals(5, criteria.getLimit());
+  }
+
+  @Test
+  void ページング_並び順を指定した検索では並び替えの範囲までしか検索せず範囲の末尾で次ページのカーソルを返さないこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    SearchPageRequest page = new SearchPageRequest(2, PageCursor.encodeOffset(3), List.of("-age"));
+    searchProperties.setSortWindow(4);
+
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(8, 3, 5, 9, 1));
+    when(studentRepository.searchStudentsByIds(List.of(9)))
+        .thenReturn(List.of(TestDataFactory.makeCompletedStudent(9)));
+    when(studentRepository.searchStudentCoursesByStudentIds(List.of(9))).thenReturn(List.of());
+
+    // Act
+    StudentDetailPage actual = sut.searchStudentDetailsSimple(request, page);
+
+    // Assert
+    Assertions.assertEquals(1, actual.getStudentDetails().size());
+    Assertions.assertNull(actual.getNextCursor());
+    Assertions.assertEquals(5, criteria.getLimit());
+  }
+
+  @Test
+  void ページング_並び替えの範囲を超えるオフセットのカーソルを指定するとInvalidPageCursorExceptionを送出し検索しないこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    when(converter.toCriteria(request)).thenReturn(new StudentSearchCriteria());
+    SearchPageRequest page = new SearchPageRequest(10, PageCursor.encodeOffset(2_000_000_000),
+        List.of("-age"));
+
+    // Act & Assert
+    assertThrows(InvalidPageCursorException.class,
+        () -> sut.searchStudentDetailsSimple(request, page));
+    verify(studentRepository, never()).findMatchedStudentIds(any(StudentSearchCriteria.class));
+  }
+
+  @Test
+  void ページング_limit未指定なら既定件数で上限を超えるlimitは上限件数に切り詰めること() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    StudentSearchCriteria defaultCriteria = new StudentSearchCriteria();
+    StudentSearchCriteria clampedCriteria = new StudentSearchCriteria();
+    searchProperties.setDefaultPageSize(20);
+    searchProperties.setMaxPageSize(50);
+
+    when(converter.toCriteria(request)).thenReturn(defaultCriteria, clampedCriteria);
+    when(studentRepository.findMatchedStudentIds(any(StudentSearchCriteria.class))).thenReturn(List.of());
+
+    // Act
+    sut.searchStudentDetailsSimple(request, new SearchPageRequest());
+    sut.searchStudentDetailsSimple(request, new SearchPageRequest(100_000, null));
+
+    // Assert
+    Assertions.assertEquals(21, defaultCriteria.getLimit());
+    Assertions.assertEquals(51, clampedCriteria.getLimit());
+  }
+
+  @Test
+  void ページング_不正なカーソルを指定するとInvalidPageCursorExceptionを送出し検索しないこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    when(converter.toCriteria(request)).thenReturn(new StudentSearchCriteria());
+
+    // Act & Assert
+    assertThrows(InvalidPageCursorException.class,
+        () -> sut.searchStudentDetailsSimple(request, new SearchPageRequest(10, "not-a-cursor")));
+    verify(studentRepository, never()).findMatchedStudentIds(any(StudentSearchCriteria.class));
+  }
+
+  @Test
+  void 検索結果キャッシュ_同じ条件で再検索すると受講生IDの検索をせずキャッシュした結果を使うこと() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(
+        List.of(new SearchFilter("statusId", SearchOperator.IN, null, List.of("3", "1"))));
+    SearchPageRequest page = new SearchPageRequest(10, null);
+    List<Integer> studentIds = List.of(1, 2);
+
+    // リクエストごとに新しいcriteriaが生成される
+    when(converter.toCriteria(request)).thenAnswer(invocation -> {
+      StudentSearchCriteria criteria = new StudentSearchCriteria();
+      criteria.applyStatusIdFilter(request.getFilters().get(0));
+      return criteria;
+    });
+    when(studentRepository.findMatchedStudentIds(any(StudentSearchCriteria.class)))
+        .thenReturn(studentIds);
+    when(studentRepository.searchStudentsByIds(studentIds)).thenReturn(List.of(
+        TestDataFactory.makeCompletedStudent(1), TestDataFactory.makeCompletedStudent(2)));
+    when(studentRepository.searchStudentCoursesByStudentIds(studentIds)).thenReturn(List.of());
+
+    // Act
+    List<StudentDetail> first = sut.searchStudentDetailsAdvanced(request, page).getStudentDetails();
+    List<StudentDetail> second = sut.searchStudentDetailsAdvanced(request, page).getStudentDetails();
+
+    // Assert
+    Assertions.assertEquals(first, second);
+    verify(studentRepository, times(1)).findMatchedStudentIds(any(StudentSearchCriteria.class));
+    // 受講生詳細も2回目は受講生詳細キャッシュから組み立てる
+    verify(studentRepository, times(1)).searchStudentsByIds(studentIds);
+  }
+
+  @Test
+  void 検索結果キャッシュ_受講生データの変更がコミットされた後は受講生IDを検索しなおすこと() {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    SearchPageRequest page = new SearchPageRequest(10, null);
+
+    when(converter.toCriteria(request)).thenAnswer(invocation -> new StudentSearchCriteria());
+    when(studentRepository.findMatchedStudentIds(any(StudentSearchCriteria.class)))
+        .thenReturn(List.of());
+
+    // Act
+    sut.searchStudentDetailsSimple(request, page);
+    searchResultCache.onStudentDataChanged(new StudentDataChangedEvent(1));
+    sut.searchStudentDetailsSimple(request, page);
+
+    // Assert
+    verify(studentRepository, times(2)).findMatchedStudentIds(any(StudentSearchCriteria.class));
+  }
+
+  @Test
+  void ストリーミング検索成功_カーソルから読み出したIDを分割単位ごとにキャッシュを使わず組み立て順に渡しカーソルを閉じること()
+      throws Exception {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(
+        List.of(new SearchFilter("isDeleted", SearchOperator.EQ, "false", null)));
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+
+    // 分割単位を超える件数（1チャンク + 端数1チャンク）を読み出す
+    int matchedCount = StudentService.STREAM_CHUNK_SIZE + 1;
+    List<Integer> studentIds = IntStream.rangeClosed(1, matchedCount).boxed().toList();
+
+    @SuppressWarnings("unchecked")
+    Cursor<Integer> cursor = Mockito.mock(Cursor.class);
+    when(cursor.iterator()).thenReturn(studentIds.iterator());
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.streamMatchedStudentIds(criteria)).thenReturn(cursor);
+    when(studentRepository.searchStudentsByIds(anyList())).thenAnswer(invocation -> {
+      List<Integer> chunk = invocation.getArgument(0);
+      return chunk.stream().map(TestDataFactory::makeCompletedStudent).toList();
+    });
+    when(studentRepository.searchStudentCoursesByStudentIds(anyList())).thenReturn(List.of());
+
+    List<Integer> received = new ArrayList<>();
+    List<Integer> chunkSizes = new ArrayList<>();
+
+    // Act
+    sut.streamStudentDetailsAdvanced(request, chunk -> {
+      chunkSizes.add(chunk.size());
+      chunk.forEach(detail -> received.add(detail.getStudent().getStudentId()));
+    });
+
+    // Assert
+    Assertions.assertEquals(studentIds, received);
+    Assertions.assertEquals(List.of(StudentService.STREAM_CHUNK_SIZE, 1), chunkSizes);
+    verify(studentRepository, times(2)).searchStudentsByIds(anyList());
+    verify(studentRepository, times(2)).searchStudentCoursesByStudentIds(anyList());
+    verify(studentRepository, never()).findMatchedStudentIds(any(StudentSearchCriteria.class));
+    verify(studentDetailCache, never()).getStudentDetails(anyList(), any());
+    verify(studentDetailCache, never()).getPresentStudentDetails(anyList());
+    verify(cursor, times(1)).close();
+  }
+
+  @Test
+  void ストリーミング検索成功_一致する受講生IDがないとき詳細を取得せずカーソルを閉じること()
+      throws Exception {
+    // Arrange
+    StudentSimpleSearchRequest request = new StudentSimpleSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+
+    @SuppressWarnings("unchecked")
+    Cursor<Integer> cursor = Mockito.mock(Cursor.class);
+    when(cursor.iterator()).thenReturn(List.<Integer>of().iterator());
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.streamMatchedStudentIds(criteria)).thenReturn(cursor);
+
+    List<List<StudentDetail>> received = new ArrayList<>();
+
+    // Act
+    sut.streamStudentDetailsSimple(request, received::add);
+
+    // Assert
+    Assertions.assertTrue(received.isEmpty());
+    verify(studentRepository, never()).searchStudentsByIds(anyList());
+    verify(studentRepository, never()).searchStudentCoursesByStudentIds(anyList());
+    verify(cursor, times(1)).close();
+  }
+
+  @Test
+  void 件数集計_集計項目がなければ受講生詳細を組み立てずにDBで人数だけを数えること() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.countMatchedStudents(criteria)).thenReturn(42L);
+
+    // Act
+    StudentSearchSummary actual =
+        sut.summarizeStudentSearch(request, new StudentSearchSummaryRequest(null, null));
+
+    // Assert
+    Assertions.assertEquals(new StudentSearchSummary(true, 42L, null), actual);
+    verify(studentRepository, never()).searchStudentsByIds(anyList());
+    verify(studentRepository, never()).streamStudentFacetRows(any());
+  }
+
+  @Test
+  void 件数集計_受講コースの集計項目があれば受講生コースを結合した行を1回だけ読み出して数えること() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+
+    @SuppressWarnings("unchecked")
+    Cursor<StudentFacetRow> cursor = Mockito.mock(Cursor.class);
+    when(cursor.iterator()).thenReturn(List.of(
+        new StudentFacetRow(1, "男", "東京都練馬区", "JA", 3),
+        new StudentFacetRow(2, "女", "大阪府大阪市", "JA", 3),
+        new StudentFacetRow(2, "女", "大阪府大阪市", "AW", 2)).iterator());
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.streamStudentCourseFacetRows(criteria)).thenReturn(cursor);
+
+    // Act
+    StudentSearchSummary actual = sut.summarizeStudentSearch(request,
+        new StudentSearchSummaryRequest(List.of("courseCode", "prefecture"), null));
+
+    // Assert
+    Assertions.assertEquals(2L, actual.getCount());
+    Assertions.assertEquals(Map.of("JA", 2L, "AW", 1L), actual.getFacets().get("courseCode"));
+    Assertions.assertEquals(Map.of("東京都", 1L, "大阪府", 1L), actual.getFacets().get("prefecture"));
+    verify(studentRepository, never()).countMatchedStudents(any());
+    verify(cursor, times(1)).close();
+  }
+
+  @Test
+  void 件数集計_有無だけを指定すると1件だけ検索して一致する受講生がいるかを返すこと() {
+    // Arrange
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest();
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    when(converter.toCriteria(request)).thenReturn(criteria);
+    when(studentRepository.findMatchedStudentIds(criteria)).thenReturn(List.of(3));
+
+    // Act
+    StudentSearchSummary actual =
+        sut.summarizeStudentSearch(request, new StudentSearchSummaryRequest(null, true));
+
+    // Assert
+    Assertions.assertEquals(StudentSearchSummary.ofExists(true), actual);
+    Assertions.assertEquals(1, criteria.getLimit());
+    verify(studentRepository, never()).countMatchedStudents(any());
+    // 列ごとのビットマップは一致する受講生IDを全て読み込むため、有無の検索では使わない
+    verify(filterBitmapCache, never()).findMatchedStudentIds(any(StudentSearchCriteria.class), any());
+  }
+
+  @Test
+  void ページング_ビットマップの再判定ではn_gram索引の候補と再判定待ちの受講生IDの共通部分だけをDBで検索すること() {
+    // Arrange
+    StudentFilterBitmapCache enabledFilterBitmapCache =
+        new StudentFilterBitmapCache(new StudentSearchProperties(), new SimpleMeterRegistry());
+    doAnswer(invocation -> enabledFilterBitmapCache.findMatchedStudentIds(
+        invocation.getArgument(0), invocation.getArgument(1)))
+        .when(filterBitmapCache).findMatchedStudentIds(any(StudentSearchCriteria.class), any());
+    StudentAdvancedSearchRequest request = new StudentAdvancedSearchRequest(List.of(
+        new SearchFilter("fullName", SearchOperator.CONTAINS, "田中", null)));
+    when(converter.toCriteria(request)).thenAnswer(invocation -> {
+      StudentSearchCriteria criteria = new StudentSearchCriteria();
+      criteria.applyFullNameFilter(request.getFilters().get(0));
+      return criteria;
+    });
+    when(ngramIndex.isAvailable()).thenReturn(true);
+    when(ngramIndex.findCandidateStudentIds(any(StudentSearchCriteria.class))).thenReturn(List.of(1, 3, 5));
+    // 検索条件のインスタンスは検索後に候補が戻されるため、検索した時点の候補を記録する
+    List<List<Integer>> searchedCandidates = new ArrayList<>();
+    when(studentRepository.findMatchedStudentIds(any(StudentSearchCriteria.class))).thenAnswer(invocation -> {
+      List<Integer> candidates = invocation.<StudentSearchCriteria>getArgument(0).getCandidateStudentIds();
+      searchedCandidates.add(candidates);
+      return candidates.stream().filter(id -> id <= 3).toList();
+    });
+    SearchPageRequest page = new SearchPageRequest(10, null);
+    sut.searchStudentDetailsAdvanced(request, page);
+    StudentDataChangedEvent changed = StudentDataChangedEvent.of(List.of(3, 4));
+    enabledFilterBitmapCache.onStudentDataChanged(changed);
+    searchResultCache.onStudentDataChanged(changed);
+
+    // Act
+    sut.searchStudentDetailsAdvanced(request, page);
+
+    // Assert
+    Assertions.assertEquals(List.of(List.of(1, 3, 5), List.of(3)), searchedCandidates);
+  }
+
   /**
    * registerStudentDetail(StudentDetail studentDetail)の正常系テスト
    */
@@ -265,10 +1127,12 @@ class StudentServiceTest {
     // Assert
     verify(studentRepository, times(1)).registerStudent(student);
 
-    ArgumentCaptor<StudentCourse> captor = ArgumentCaptor.forClass(StudentCourse.class);
-    verify(studentRepository, times(rawCourseList.size())).registerStudentCourse(captor.capture());
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<StudentCourse>> captor = ArgumentCaptor.forClass(List.class);
+    verify(studentRepository, times(1)).registerStudentCourses(captor.capture());
+    verify(studentRepository, never()).registerStudentCourse(any(StudentCourse.class));
 
-    List<StudentCourse> registeredCourses = captor.getAllValues();
+    List<StudentCourse> registeredCourses = captor.getValue();
 
     Assertions.assertEquals(2, registeredCourses.size());
 
@@ -288,6 +1152,44 @@ class StudentServiceTest {
 
     Assertions.assertEquals(student, result.getStudent());
     Assertions.assertEquals(registeredCourses, result.getStudentCourses());
+    verify(eventPublisher, times(1)).publishEvent(new StudentDataChangedEvent(studentId));
+  }
+
+  /**
+   * registerStudentDetails(List<StudentDetail> studentDetails)の正常系テスト
+   */
+  @Test
+  void 受講生詳細一括登録成功_受講生と初期化した受講生コースをそれぞれまとめてリポジトリに渡していること() {
+    // Arrange
+    Student student1 = TestDataFactory.makeCompletedStudent(1);
+    Student student2 = TestDataFactory.makeCompletedStudent(2);
+    StudentDetail input1 = new StudentDetail(student1, List.of(
+        new StudentCourse(null, null, "JA", null, null, null, null, null),
+        new StudentCourse(null, null, "PY", null, null, null, null, null)));
+    StudentDetail input2 = new StudentDetail(student2, List.of(
+        new StudentCourse(null, null, "AW", null, null, null, null, null)));
+
+    LocalDate today = LocalDate.now();
+
+    // Act
+    List<StudentDetail> result = sut.registerStudentDetails(List.of(input1, input2));
+
+    // Assert
+    verify(studentRepository, times(1)).registerStudents(List.of(student1, student2));
+    verify(studentRepository, never()).registerStudent(any(Student.class));
+
+    List<StudentCourse> expectedCourses = List.of(
+        new StudentCourse(null, 1, "JA", 1, today, null, null, null),
+        new StudentCourse(null, 1, "PY", 1, today, null, null, null),
+        new StudentCourse(null, 2, "AW", 1, today, null, null, null));
+    verify(studentRepository, times(1)).registerStudentCourses(expectedCourses);
+    verify(studentRepository, never()).registerStudentCourse(any(StudentCourse.class));
+
+    Assertions.assertEquals(List.of(
+        new StudentDetail(student1, expectedCourses.subList(0, 2)),
+        new StudentDetail(student2, expectedCourses.subList(2, 3))), result);
+    verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    verify(eventPublisher).publishEvent(StudentDataChangedEvent.of(List.of(1, 2)));
   }
 
   @Test
@@ -306,11 +1208,12 @@ class StudentServiceTest {
         () -> sut.registerStudentDetail(input));
 
     verify(studentRepository, times(1)).registerStudent(student);
-    verify(studentRepository, never()).registerStudentCourse(any(StudentCourse.class));
+    verify(studentRepository, never()).registerStudentCourses(anyList());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
   }
 
   @Test
-  void 受講生詳細登録失敗_受講生コース登録の途中で例外が発生したら例外を送出すること() {
+  void 受講生詳細登録失敗_受講生コース登録時に例外が発生したら例外を送出すること() {
     // Arrange
     Student student = TestDataFactory.makeCompletedStudent(1);
     StudentCourse course1 =
@@ -320,16 +1223,16 @@ class StudentServiceTest {
 
     StudentDetail input = new StudentDetail(student, List.of(course1, course2));
 
-    doNothing()
-        .doThrow(new RuntimeException("DB error"))
-        .when(studentRepository).registerStudentCourse(any(StudentCourse.class));
+    doThrow(new RuntimeException("DB error"))
+        .when(studentRepository).registerStudentCourses(anyList());
 
     // Act & Assert
     assertThrows(RuntimeException.class,
         () -> sut.registerStudentDetail(input));
 
     verify(studentRepository, times(1)).registerStudent(student);
-    verify(studentRepository, times(2)).registerStudentCourse(any(StudentCourse.class));
+    verify(studentRepository, times(1)).registerStudentCourses(anyList());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
   }
 
   @Test
@@ -357,6 +1260,7 @@ class StudentServiceTest {
     Assertions.assertNull(registered.getCoursePlannedEndAt()); // courseEndAtがnullになっている
 
     Assertions.assertEquals(registered, result);
+    verify(eventPublisher, times(1)).publishEvent(new StudentDataChangedEvent(studentId));
   }
 
   @Test
@@ -403,6 +1307,7 @@ class StudentServiceTest {
 
     // Assert
     verify(studentRepository, times(1)).updateStudent(student);
+    verify(eventPublisher, times(1)).publishEvent(new StudentDataChangedEvent(studentId));
   }
 
   @Test
@@ -416,17 +1321,18 @@ class StudentServiceTest {
     assertThrows(TargetNotFoundException.class, () -> {
       sut.updateStudent(student);
     });
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
   }
 
   @ParameterizedTest(name = "[{index}] statusIdを{0}に更新するとき、受講開始日、受講終了日、受講終了実績日に適切な値をセットすること")
   @CsvSource({
-      "1,true,true,true",//実際にはcanTransitionで通る組み合わせはない
+      "1,true,true,true",//実際には遷移マスタで通る組み合わせはない
       "2,true,true,true",
       "3,false,false,true",
       "4,true,true,false",
       "5,true,true,true"
   })
-  void 受講生コース更新成功_リポジトリの処理を呼び出していること_ステータス遷移に合わせて適切に日付フィールドがセットされた受講生コースを渡していること(
+  void 受講生コース更新成功_条件付きの更新を1回だけ呼び出していること_ステータス遷移に合わせて適切に日付フィールドがセットされた受講生コースを渡していること(
       int toStatusId, boolean isStartAtNull, boolean isPlannedEndAtNull, boolean isFinishedAtNull ){
     // Arrange
     Integer studentId = 1;
@@ -442,18 +1348,24 @@ class StudentServiceTest {
         isPlannedEndAtNull ? null : now.plusYears(1),
         isFinishedAtNull ? null : now
     );
-    Mockito.when(studentRepository.findStatusId(any(StudentCourse.class))).thenReturn(1);//返り値はnullでなければ良い
-    Mockito.when(statusRepository.canTransition(anyInt(),anyInt())).thenReturn(true);
-    Mockito.when(studentRepository.updateStudentCourseStatus(any(StudentCourse.class))).thenReturn(1);
+    // 仮申込から全てのステータスへ遷移できる状態遷移表で、日付のルールだけを検証する
+    Mockito.when(statusMachineRegistry.current()).thenReturn(CourseStatusMachine.compile(
+        defaultStatuses().stream()
+            .map(status -> new CourseStatus(status.getStatusId(), status.getStatusName(), false))
+            .toList(),
+        IntStream.rangeClosed(1, 5).mapToObj(to -> new StatusTransition(1, to)).toList(),
+        Map.of(3, CourseDateRule.START, 4, CourseDateRule.FINISH)));
+    Mockito.when(studentRepository.compareAndSetStudentCourseStatus(any(StudentCourse.class), anyList()))
+        .thenReturn(1);
 
     // Act
-    sut.updateStudentCourse(studentCourse,studentId);
+    sut.updateStudentCourse(studentCourse,studentId,null);
 
     // Assert
-    verify(studentRepository,times(1)).findStatusId(any(StudentCourse.class));
-    verify(statusRepository,times(1)).canTransition(anyInt(),anyInt());
+    verify(statusMachineRegistry,times(1)).current();
+    verify(studentRepository, never()).findStatusId(any(StudentCourse.class));
     ArgumentCaptor<StudentCourse> captor = ArgumentCaptor.forClass(StudentCourse.class);
-    verify(studentRepository, times(1)).updateStudentCourseStatus(captor.capture());
+    verify(studentRepository, times(1)).compareAndSetStudentCourseStatus(captor.capture(), eq(List.of(1)));
 
     StudentCourse updated = captor.getValue();
     Assertions.assertEquals(studentId, updated.getStudentId());
@@ -464,61 +1376,229 @@ class StudentServiceTest {
     Assertions.assertEquals(isStartAtNull ? null : now, updated.getCourseStartAt());
     Assertions.assertEquals(isPlannedEndAtNull ? null : now.plusYears(1), updated.getCoursePlannedEndAt());
     Assertions.assertEquals(isFinishedAtNull ? null : now, updated.getCourseFinishedAt());
+    verify(eventPublisher, times(1)).publishEvent(new StudentDataChangedEvent(studentId));
 
   }
 
   @Test
-  void 受講生コース更新失敗_更新前ステータスが取得できないならTargetNotFoundExceptionを送出してのちの処理を呼ばないこと() {
+  void 受講生コース更新成功_更新前のステータスを指定しなければ更新後のステータスへ遷移できる全てのステータスを条件に更新すること() {
+    // Arrange
+    Integer studentId = 1;
+    StudentCourse studentCourse = new StudentCourse(1, studentId, null, 5, null, null, null, null);
+    givenDefaultStatusMachine();
+    Mockito.when(studentRepository.compareAndSetStudentCourseStatus(any(StudentCourse.class), anyList()))
+        .thenReturn(1);
+
+    // Act
+    sut.updateStudentCourse(studentCourse, studentId, null);
+
+    // Assert
+    verify(studentRepository, times(1)).compareAndSetStudentCourseStatus(
+        new StudentCourse(1, studentId, null, 5, null, null, null, null), List.of(1, 2, 3));
+  }
+
+  @Test
+  void 受講生コース更新失敗_受講生コースが存在しないならTargetNotFoundExceptionを送出すること() {
     // Arrange
     Integer studentId = 99;
     Integer scId = 1;
     StudentCourse studentCourse = TestDataFactory.makeCompletedStudentCourse(studentId, scId);
+    givenDefaultStatusMachine();
+    Mockito.when(studentRepository.compareAndSetStudentCourseStatus(any(StudentCourse.class), anyList()))
+        .thenReturn(0); // 更新件数が0件=更新失敗
     Mockito.when(studentRepository.findStatusId(any(StudentCourse.class))).thenReturn(null);
 
     // Act & Assert
     assertThrows(TargetNotFoundException.class, () -> {
-      sut.updateStudentCourse(studentCourse, studentId);
+      sut.updateStudentCourse(studentCourse, studentId, null);
     });
+    verify(studentRepository, times(1)).compareAndSetStudentCourseStatus(any(StudentCourse.class), anyList());
     verify(studentRepository, times(1)).findStatusId(any(StudentCourse.class));
-    verify(statusRepository, never()).canTransition(anyInt(), anyInt());
-    verify(studentRepository, never()).updateStudentCourseStatus(any(StudentCourse.class));
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void 受講生コース更新失敗_現在のステータスから遷移できないならInvalidStatusTransitionExceptionを送出すること(){
+    // Arrange
+    Integer studentId = 1;
+    Integer scId = 1;
+    StudentCourse studentCourse = TestDataFactory.makeCompletedStudentCourse(studentId,scId);
+    givenDefaultStatusMachine();
+    Mockito.when(studentRepository.compareAndSetStudentCourseStatus(any(StudentCourse.class), anyList()))
+        .thenReturn(0);
+    Mockito.when(studentRepository.findStatusId(any(StudentCourse.class))).thenReturn(1);// 仮申込から受講中へは遷移できない
+
+    // Act & Assert
+    InvalidStatusTransitionException actual = assertThrows(InvalidStatusTransitionException.class, () -> {
+      sut.updateStudentCourse(studentCourse,studentId,null);
+    });
+    Assertions.assertEquals(1, actual.getFromStatusId());
+    Assertions.assertEquals(3, actual.getToStatusId());
+    // 受講中へは本申込からのみ遷移できる
+    verify(studentRepository, times(1)).compareAndSetStudentCourseStatus(any(StudentCourse.class), eq(List.of(2)));
   }
 
   @Test
-  void 受講生コース更新失敗_ステータス遷移が不可能ならInvalidStatusTransitionExceptionを送出しリポジトリの更新処理を呼ばないこと(){
+  void 受講生コース更新失敗_指定した更新前のステータスから遷移できないならリポジトリを呼ばずにInvalidStatusTransitionExceptionを送出すること(){
     // Arrange
     Integer studentId = 1;
     Integer scId = 1;
     StudentCourse studentCourse = TestDataFactory.makeCompletedStudentCourse(studentId,scId);
-    Mockito.when(studentRepository.findStatusId(any(StudentCourse.class))).thenReturn(1);
-    Mockito.when(statusRepository.canTransition(anyInt(),anyInt())).thenReturn(false);
+    givenDefaultStatusMachine();
 
     // Act & Assert
     assertThrows(InvalidStatusTransitionException.class, () -> {
-      sut.updateStudentCourse(studentCourse,studentId);
+      sut.updateStudentCourse(studentCourse,studentId,1);
     });
-    verify(studentRepository,times(1)).findStatusId(any(StudentCourse.class));
-    verify(statusRepository,times(1)).canTransition(anyInt(),anyInt());
-    verify(studentRepository, never()).updateStudentCourseStatus(any(StudentCourse.class));
+    verify(studentRepository, never()).compareAndSetStudentCourseStatus(any(StudentCourse.class), anyList());
+    verify(studentRepository, never()).findStatusId(any(StudentCourse.class));
   }
 
   @Test
-  void 受講生コース更新失敗_update件数が0ならTargetNotFoundExceptionを送出すること(){
+  void 受講生コース更新失敗_指定した更新前のステータスから他の更新で変更されていたらStatusUpdateConflictExceptionを送出すること(){
     // Arrange
-    Integer studentId = 99;
+    Integer studentId = 1;
     Integer scId = 1;
     StudentCourse studentCourse = TestDataFactory.makeCompletedStudentCourse(studentId,scId);
-    Mockito.when(studentRepository.findStatusId(any(StudentCourse.class))).thenReturn(4);
-    Mockito.when(statusRepository.canTransition(anyInt(),anyInt())).thenReturn(true);
-    Mockito.when(studentRepository.updateStudentCourseStatus(any(StudentCourse.class))).thenReturn(0); // 更新件数が0件=更新失敗
+    givenDefaultStatusMachine();
+    Mockito.when(studentRepository.compareAndSetStudentCourseStatus(any(StudentCourse.class), anyList()))
+        .thenReturn(0);
+    Mockito.when(studentRepository.findStatusId(any(StudentCourse.class))).thenReturn(5);// 他の更新でキャンセルされた
 
     // Act & Assert
-    assertThrows(TargetNotFoundException.class, () -> {
-      sut.updateStudentCourse(studentCourse,studentId);
+    StatusUpdateConflictException actual = assertThrows(StatusUpdateConflictException.class, () -> {
+      sut.updateStudentCourse(studentCourse,studentId,2);
+    });
+    Assertions.assertEquals(2, actual.getExpectedStatusId());
+    Assertions.assertEquals(5, actual.getActualStatusId());
+    verify(studentRepository, times(1)).compareAndSetStudentCourseStatus(any(StudentCourse.class), eq(List.of(2)));
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  /**
+   * ステータスマスタの内容（data.sql と同じ）
+   */
+  private static List<CourseStatus> defaultStatuses() {
+    return List.of(
+        new CourseStatus(1, "仮申込", false),
+        new CourseStatus(2, "本申込", false),
+        new CourseStatus(3, "受講中", false),
+        new CourseStatus(4, "受講終了", true),
+        new CourseStatus(5, "キャンセル", true));
+  }
+
+  /**
+   * ステータスマスタと遷移マスタの内容（data.sql と同じ）から作った状態遷移表を返すようにする
+   */
+  private void givenDefaultStatusMachine() {
+    Mockito.when(statusMachineRegistry.current()).thenReturn(CourseStatusMachine.compile(
+        defaultStatuses(),
+        List.of(
+            new StatusTransition(1, 2), new StatusTransition(1, 5),
+            new StatusTransition(2, 3), new StatusTransition(2, 5),
+            new StatusTransition(3, 4), new StatusTransition(3, 5)),
+        Map.of(3, CourseDateRule.START, 4, CourseDateRule.FINISH)));
+  }
+
+  @Test
+  void 受講生コースステータス一括更新成功_遷移可否をメモリ上で判定しステータスの組み合わせごとにまとめて更新すること() {
+    // Arrange
+    givenDefaultStatusMachine();
+    List<StudentCourseStatusChange> changes = List.of(
+        new StudentCourseStatusChange(2, 2, 3),   // 本申込 -> 受講中
+        new StudentCourseStatusChange(6, 2, 3),   // 受講中 -> 受講中 は遷移不可
+        new StudentCourseStatusChange(99, 1, 2),  // 存在しない受講生コース
+        new StudentCourseStatusChange(7, 1, 4),   // 受講生IDが紐づかない
+        new StudentCourseStatusChange(2, 2, 5),   // 同じ受講生コースの2回目
+        new StudentCourseStatusChange(8, 4, 4));  // 受講中 -> 受講終了
+    Mockito.when(studentRepository.findStudentCourseStatuses(List.of(2, 6, 99, 7, 8))).thenReturn(List.of(
+        new StudentCourse(2, 2, null, 2, null, null, null, null),
+        new StudentCourse(6, 2, null, 3, null, null, null, null),
+        new StudentCourse(7, 4, null, 3, null, null, null, null),
+        new StudentCourse(8, 4, null, 3, null, null, null, null)));
+    Mockito.when(studentRepository.updateStudentCourseStatuses(anyList(), anyInt(), any(StudentCourse.class)))
+        .thenReturn(1);
+    LocalDate today = LocalDate.now();
+
+    // Act
+    List<StudentCourseStatusChangeResult> actual =
+        sut.updateStudentCourseStatuses(new StudentCourseStatusChangeRequest(changes));
+
+    // Assert
+    Assertions.assertEquals(List.of(
+        StudentCourseStatusChangeResult.of(0, changes.get(0), StudentCourseStatusChangeOutcome.UPDATED, 2),
+        StudentCourseStatusChangeResult.of(1, changes.get(1), StudentCourseStatusChangeOutcome.INVALID_TRANSITION, 3),
+        StudentCourseStatusChangeResult.of(2, changes.get(2), StudentCourseStatusChangeOutcome.NOT_FOUND, null),
+        StudentCourseStatusChangeResult.of(3, changes.get(3), StudentCourseStatusChangeOutcome.NOT_FOUND, null),
+        StudentCourseStatusChangeResult.of(4, changes.get(4), StudentCourseStatusChangeOutcome.DUPLICATE, null),
+        StudentCourseStatusChangeResult.of(5, changes.get(5), StudentCourseStatusChangeOutcome.UPDATED, 3)),
+        actual);
+    verify(statusMachineRegistry, times(1)).current();
+    verify(studentRepository, times(1)).updateStudentCourseStatuses(List.of(2), 2,
+        new StudentCourse(null, null, null, 3, null, today, today.plusYears(1), null));
+    verify(studentRepository, times(1)).updateStudentCourseStatuses(List.of(8), 3,
+        new StudentCourse(null, null, null, 4, null, null, null, today));
+    verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    verify(eventPublisher).publishEvent(StudentDataChangedEvent.of(List.of(2, 4)));
+  }
+
+  @Test
+  void 受講生コースステータス一括更新_読み込んだ後にステータスが変わっていた受講生コースはCONFLICTとすること() {
+    // Arrange
+    givenDefaultStatusMachine();
+    List<StudentCourseStatusChange> changes = List.of(
+        new StudentCourseStatusChange(2, 2, 3),
+        new StudentCourseStatusChange(5, 5, 2));
+    Mockito.when(studentRepository.findStudentCourseStatuses(List.of(2, 5))).thenReturn(List.of(
+        new StudentCourse(2, 2, null, 2, null, null, null, null),
+        new StudentCourse(5, 5, null, 1, null, null, null, null)));
+    Mockito.when(studentRepository.updateStudentCourseStatuses(anyList(), anyInt(), any(StudentCourse.class)))
+        .thenReturn(0);
+    // 受講生コースID=2は他の更新でキャンセルされている
+    Mockito.when(studentRepository.findStudentCourseStatuses(List.of(2))).thenReturn(List.of(
+        new StudentCourse(2, 2, null, 5, null, null, null, null)));
+    Mockito.when(studentRepository.findStudentCourseStatuses(List.of(5))).thenReturn(List.of(
+        new StudentCourse(5, 5, null, 5, null, null, null, null)));
+
+    // Act
+    List<StudentCourseStatusChangeResult> actual =
+        sut.updateStudentCourseStatuses(new StudentCourseStatusChangeRequest(changes));
+
+    // Assert
+    Assertions.assertEquals(List.of(
+        StudentCourseStatusChangeOutcome.CONFLICT, StudentCourseStatusChangeOutcome.CONFLICT),
+        actual.stream().map(StudentCourseStatusChangeResult::getOutcome).toList());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void 受講生コースステータス一括更新成功_SQLの実行回数は件数ではなくまとまりの数で決まること() {
+    // Arrange
+    givenDefaultStatusMachine();
+    int total = StudentService.STATUS_CHUNK_SIZE + 1;
+    List<StudentCourseStatusChange> changes = IntStream.rangeClosed(1, total)
+        .mapToObj(id -> new StudentCourseStatusChange(id, id, 3))
+        .toList();
+    Mockito.when(studentRepository.findStudentCourseStatuses(anyList())).thenAnswer(invocation -> {
+      List<Integer> ids = invocation.getArgument(0);
+      return ids.stream().map(id -> new StudentCourse(id, id, null, 2, null, null, null, null)).toList();
     });
-    verify(studentRepository,times(1)).findStatusId(any(StudentCourse.class));
-    verify(statusRepository,times(1)).canTransition(anyInt(),anyInt());
-    verify(studentRepository, times(1)).updateStudentCourseStatus(any(StudentCourse.class));
+    Mockito.when(studentRepository.updateStudentCourseStatuses(anyList(), anyInt(), any(StudentCourse.class)))
+        .thenAnswer(invocation -> invocation.<List<Integer>>getArgument(0).size());
+
+    // Act
+    List<StudentCourseStatusChangeResult> actual =
+        sut.updateStudentCourseStatuses(new StudentCourseStatusChangeRequest(changes));
+
+    // Assert
+    Assertions.assertTrue(actual.stream().allMatch(result -> result.getOutcome().isSucceeded()));
+    verify(studentRepository, times(2)).findStudentCourseStatuses(anyList());
+    verify(studentRepository, times(2)).updateStudentCourseStatuses(anyList(), anyInt(), any(StudentCourse.class));
+    // 受講生データ変更イベントも受講生ごとではなくまとまりごとに発行する
+    verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    verify(eventPublisher).publishEvent(StudentDataChangedEvent.of(
+        IntStream.rangeClosed(1, StudentService.STATUS_CHUNK_SIZE).boxed().toList()));
+    verify(eventPublisher).publishEvent(StudentDataChangedEvent.of(List.of(total)));
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package raisetech.student.management.status;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.config.CourseStatusProperties;
+import raisetech.student.management.data.master.CourseStatus;
+import raisetech.student.management.data.master.StatusTransition;
+import raisetech.student.management.repository.CourseStatusRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CourseStatusMachineRegistryTest {
+
+  @Mock
+  private CourseStatusRepository statusRepository;
+
+  private CourseStatusMachineRegistry createSut(Duration reloadInterval) {
+    CourseStatusProperties properties = new CourseStatusProperties();
+    properties.setReloadInterval(reloadInterval);
+    return new CourseStatusMachineRegistry(statusRepository, properties);
+  }
+
+  private void givenMasters(List<StatusTransition> transitions) {
+    when(statusRepository.findAllStatuses()).thenReturn(List.of(
+        new CourseStatus(1, "仮申込", false),
+        new CourseStatus(2, "本申込", false)));
+    when(statusRepository.findAllTransitions()).thenReturn(transitions);
+  }
+
+  @Test
+  void 読み込み直す間隔を過ぎるまでは同じ状態遷移表を返しマスタを読み込まないこと() {
+    // Arrange
+    givenMasters(List.of(new StatusTransition(1, 2)));
+    CourseStatusMachineRegistry sut = createSut(Duration.ofMinutes(10));
+    sut.onApplicationReady();
+
+    // Act
+    CourseStatusMachine first = sut.current();
+    CourseStatusMachine second = sut.current();
+
+    // Assert
+    assertSame(first, second);
+    assertTrue(first.canTransition(1, 2));
+    verify(statusRepository, times(1)).findAllStatuses();
+    verify(statusRepository, times(1)).findAllTransitions();
+  }
+
+  @Test
+  void 読み込み直すとマスタの変更が反映されること() {
+    // Arrange
+    givenMasters(List.of(new StatusTransition(1, 2)));
+    CourseStatusMachineRegistry sut = createSut(Duration.ZERO);
+    CourseStatusMachine before = sut.current();
+    when(statusRepository.findAllTransitions()).thenReturn(List.of());
+
+    // Act
+    sut.reload();
+    CourseStatusMachine after = sut.current();
+
+    // Assert
+    assertNotSame(before, after);
+    assertTrue(before.canTransition(1, 2));
+    assertFalse(after.canTransition(1, 2));
+  }
+
+  @Test
+  void 読み込み直す間隔を過ぎたら次の参照で読み込み直すこと() throws InterruptedException {
+    // Arrange
+    givenMasters(List.of(new StatusTransition(1, 2)));
+    CourseStatusMachineRegistry sut = createSut(Duration.ofMillis(1));
+    CourseStatusMachine before = sut.current();
+    Thread.sleep(5);
+
+    // Act
+    CourseStatusMachine after = sut.current();
+
+    // Assert
+    assertNotSame(before, after);
+    verify(statusRepository, times(2)).findAllTransitions();
+  }
+
+  @Test
+  void 読み込み直している間に参照したスレッドには読み込み済みの状態遷移表を待たずに返すこと() throws Exception {
+    // Arrange
+    givenMasters(List.of(new StatusTransition(1, 2)));
+    CourseStatusMachineRegistry sut = createSut(Duration.ofMillis(1));
+    CourseStatusMachine before = sut.current();
+    Thread.sleep(5);
+    CountDownLatch reloading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(statusRepository.findAllTransitions()).thenAnswer(invocation -> {
+      reloading.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return List.of();
+    });
+    CompletableFuture<CourseStatusMachine> refreshed = CompletableFuture.supplyAsync(sut::current);
+    assertTrue(reloading.await(10, TimeUnit.SECONDS));
+
+    // Act
+    CourseStatusMachine duringReload = sut.current();
+    release.countDown();
+
+    // Assert
+    assertSame(before, duringReload);
+    CourseStatusMachine after = refreshed.get(10, TimeUnit.SECONDS);
+    assertNotSame(before, after);
+    assertFalse(after.canTransition(1, 2));
+    verify(statusRepository, times(2)).findAllTransitions();
+  }
+
+  @Test
+  void 読み込み直しに失敗した場合は読み込み済みの状態遷移表を返し次の参照で読み込み直すこと() throws Exception {
+    // Arrange
+    givenMasters(List.of(new StatusTransition(1, 2)));
+    CourseStatusMachineRegistry sut = createSut(Duration.ofMillis(1));
+    CourseStatusMachine before = sut.current();
+    Thread.sleep(5);
+    when(statusRepository.findAllTransitions())
+        .thenThrow(new IllegalStateException("DBに接続できません"))
+        .thenReturn(List.of());
+
+    // Act
+    CourseStatusMachine failed = sut.current();
+    CourseStatusMachine after = sut.current();
+
+    // Assert
+    assertSame(before, failed);
+    assertNotSame(before, after);
+    assertFalse(after.canTransition(1, 2));
+    verify(statusRepository, times(3)).findAllTransitions();
+  }
+
+}
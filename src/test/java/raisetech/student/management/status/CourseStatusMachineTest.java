@@ -0,0 +1,127 @@
+package raisetech.student.management.status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import raisetech.student.management.data.master.CourseStatus;
+import raisetech.student.management.data.master.StatusTransition;
+
+class CourseStatusMachineTest {
+
+  /**
+   * data.sql と同じステータスマスタと遷移マスタから作った状態遷移表
+   */
+  private static CourseStatusMachine compileDefault() {
+    return CourseStatusMachine.compile(
+        List.of(
+            new CourseStatus(1, "仮申込", false),
+            new CourseStatus(2, "本申込", false),
+            new CourseStatus(3, "受講中", false),
+            new CourseStatus(4, "受講終了", true),
+            new CourseStatus(5, "キャンセル", true)),
+        List.of(
+            new StatusTransition(1, 2), new StatusTransition(1, 5),
+            new StatusTransition(2, 3), new StatusTransition(2, 5),
+            new StatusTransition(3, 4), new StatusTransition(3, 5),
+            // 終端のステータスからの遷移は定義されていても遷移できない
+            new StatusTransition(4, 1),
+            // ステータスマスタにないステータスへの遷移は遷移できない
+            new StatusTransition(1, 99)),
+        Map.of(3, CourseDateRule.START, 4, CourseDateRule.FINISH));
+  }
+
+  @ParameterizedTest(name = "[{index}] fromStatusId={0}, toStatusId={1} のとき {2} が返る")
+  @CsvSource({
+      "1,2,true",
+      "1,5,true",
+      "2,3,true",
+      "2,5,true",
+      "3,4,true",
+      "3,5,true",
+      "1,3,false",
+      "1,4,false",
+      "2,4,false",
+      "3,2,false",
+      "4,1,false",
+      "4,5,false",
+      "5,1,false",
+      "5,3,false",
+      "99,1,false",
+      "1,99,false",
+      "99,99,false",
+      "-1,1,false",
+      "1,-1,false"
+  })
+  void 終端でないステータスから遷移マスタに定義された遷移だけを遷移可能と判定できること(int fromStatusId,
+      int toStatusId, boolean expected) {
+    CourseStatusMachine sut = compileDefault();
+
+    assertEquals(expected, sut.canTransition(fromStatusId, toStatusId));
+  }
+
+  @Test
+  void 遷移できる場合は遷移後のステータスの日付のルールを返し遷移できない場合はnullを返すこと() {
+    CourseStatusMachine sut = compileDefault();
+
+    assertEquals(CourseDateRule.NONE, sut.findTransition(1, 2));
+    assertEquals(CourseDateRule.START, sut.findTransition(2, 3));
+    assertEquals(CourseDateRule.FINISH, sut.findTransition(3, 4));
+    assertEquals(CourseDateRule.NONE, sut.findTransition(3, 5));
+    assertNull(sut.findTransition(2, 4));
+  }
+
+  @Test
+  void 遷移後のステータスへ遷移できる遷移前のステータスと日付のルールを返すこと() {
+    CourseStatusMachine sut = compileDefault();
+
+    assertEquals(List.of(1), sut.findFromStatusIds(2));
+    assertEquals(List.of(2), sut.findFromStatusIds(3));
+    assertEquals(List.of(1, 2, 3), sut.findFromStatusIds(5));
+    assertEquals(List.of(), sut.findFromStatusIds(1));
+    assertEquals(List.of(), sut.findFromStatusIds(99));
+    assertEquals(CourseDateRule.START, sut.findDateRule(3));
+    assertEquals(CourseDateRule.NONE, sut.findDateRule(5));
+    assertNull(sut.findDateRule(99));
+  }
+
+  @Test
+  void 終端のステータスを判定できること() {
+    CourseStatusMachine sut = compileDefault();
+
+    assertFalse(sut.isTerminal(1));
+    assertTrue(sut.isTerminal(4));
+    assertTrue(sut.isTerminal(5));
+    assertFalse(sut.isTerminal(99));
+  }
+
+  @Test
+  void 負のステータスIDがあれば例外を送出すること() {
+    assertThrows(IllegalStateException.class, () -> CourseStatusMachine.compile(
+        List.of(new CourseStatus(-1, "不正", false)), List.of(), Map.of()));
+  }
+
+  @Test
+  void 日付のルールに従って受講生コースの日付を求められること() {
+    LocalDate today = LocalDate.of(2025, 4, 1);
+
+    assertEquals(today, CourseDateRule.START.courseStartAt(today));
+    assertEquals(LocalDate.of(2026, 4, 1), CourseDateRule.START.coursePlannedEndAt(today));
+    assertNull(CourseDateRule.START.courseFinishedAt(today));
+    assertNull(CourseDateRule.FINISH.courseStartAt(today));
+    assertNull(CourseDateRule.FINISH.coursePlannedEndAt(today));
+    assertEquals(today, CourseDateRule.FINISH.courseFinishedAt(today));
+    assertNull(CourseDateRule.NONE.courseStartAt(today));
+    assertNull(CourseDateRule.NONE.coursePlannedEndAt(today));
+    assertNull(CourseDateRule.NONE.courseFinishedAt(today));
+  }
+
+}
@@ -96,8 +96,8 @@ class SearchFilterValidatorTest {
 
 
   @ParameterizedTest(name = "[{index}] operatorが{0}のときvaluesがnullだとfalseを返すこと")
-  @EnumSource(value = SearchOperator.class, names = {"BETWEEN", "IN"})
-  void operatorがINとBETWEENのときvaluesがnullだとfalseを返すこと(SearchOperator operator) {
+  @EnumSource(value = SearchOperator.class, names = {"BETWEEN", "IN", "OVERLAPS"})
+  void operatorがINとBETWEENとOVERLAPSのときvaluesがnullだとfalseを返すこと(SearchOperator operator) {
     SearchFilter filter = new SearchFilter("age", operator, "1", null);
     stubAddError();
 